@@ -31,6 +31,12 @@ import java.lang.annotation.Target;
  * Annotation {@code DataProvider} can be used to mark method which provides data to test case
  * 
  * <p>
+ * Data provider method can return all rows as {@code Object[][]} or return rows lazily as {@code Iterator<Object[]>}, {@code Iterable<Object[]>} or
+ * {@code Stream<Object[]>}. Lazy rows are pulled one at a time while test is executing, so very large or generated parameter sets do not need to be
+ * held in memory. Stream is closed once all rows are consumed.
+ * </p>
+ * 
+ * <p>
  * Annotation {@code RetentionPolicy.RUNTIME} is recorded in the class file by the compiler and retained by the VM at run time, so it may be read
  * reflectively.
  * </p>
@@ -70,4 +70,12 @@ public @interface Unit {
 	 */
 	String dataprovider() default "";
 
+	/**
+	 * Number of data provider rows executed concurrently. Each row is executed with its own parameterised objects and test unit status, results are
+	 * reported in data provider row order. Ignored if data provider is not specified.
+	 * 
+	 * @return data provider thread count, 1 = sequential execution
+	 */
+	int dataproviderthreadcount() default 1;
+
 }
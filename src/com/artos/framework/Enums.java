@@ -169,6 +169,121 @@ public class Enums {
 
 	}
 
+	/**
+	 * Enum for receive queue overflow policy, decides what happens to a message which arrives when queue is full
+	 * 
+	 * <PRE>
+	 * BLOCK = receiver thread waits until space is available
+	 * DROP_NEWEST = arriving message is discarded
+	 * DROP_OLDEST = oldest message in the queue is discarded to make space
+	 * </PRE>
+	 */
+	public enum QueueOverflowPolicy {
+
+		// @formatter:off
+		
+		BLOCK(0),
+		DROP_NEWEST(1),
+		DROP_OLDEST(2);
+		
+		// @formatter:on
+
+		private final int policy;
+
+		QueueOverflowPolicy(int policy) {
+			this.policy = policy;
+		}
+
+		public int getValue() {
+			return policy;
+		}
+
+		public String getEnumName(int policy) {
+			for (QueueOverflowPolicy e : QueueOverflowPolicy.values()) {
+				if (policy == e.getValue()) {
+					return e.name();
+				}
+			}
+			return null;
+		}
+
+	}
+
+	/**
+	 * Enum for test case execution order
+	 * 
+	 * <PRE>
+	 * SEQUENCE = test cases are executed in test script order, or sorted by sequence number within their package if test list is not provided
+	 * LONGEST_FIRST = test cases with longest duration in previous runs are executed first, test cases without history are executed before all others
+	 * FAILED_FIRST = test cases which failed in previous run are executed first
+	 * </PRE>
+	 */
+	public enum TestExecutionOrder {
+
+		// @formatter:off
+		
+		SEQUENCE(0),
+		LONGEST_FIRST(1),
+		FAILED_FIRST(2);
+		
+		// @formatter:on
+
+		private final int order;
+
+		TestExecutionOrder(int order) {
+			this.order = order;
+		}
+
+		public int getValue() {
+			return order;
+		}
+
+		public String getEnumName(int order) {
+			for (TestExecutionOrder e : TestExecutionOrder.values()) {
+				if (order == e.getValue()) {
+					return e.name();
+				}
+			}
+			return null;
+		}
+
+	}
+
+	/**
+	 * Direction of a binary capture record, value is stored in capture file so existing values must not change
+	 */
+	public enum CaptureDirection {
+
+		// @formatter:off
+		
+		SEND(0),
+		RECEIVE(1),
+		CONNECTED(2),
+		DISCONNECTED(3);
+		
+		// @formatter:on
+
+		private final int direction;
+
+		CaptureDirection(int direction) {
+			this.direction = direction;
+		}
+
+		public int getValue() {
+			return direction;
+		}
+
+		public String getEnumName(int direction) {
+			for (CaptureDirection e : CaptureDirection.values()) {
+				if (direction == e.getValue()) {
+					return e.name();
+				}
+			}
+			return null;
+		}
+
+	}
+
 	public enum Gherkin {
 
 		// @formatter:off
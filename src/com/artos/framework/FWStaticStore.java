@@ -54,6 +54,7 @@ public class FWStaticStore {
 	public static final String CONFIG_BASE_DIR = "." + File.separator + "conf" + File.separator;
 	public static final String TEMPLATE_BASE_DIR = "." + File.separator + "template" + File.separator;
 	public static final String LOG_BASE_DIR = "." + File.separator + "reporting" + File.separator;
+	public static final String CACHE_BASE_DIR = "." + File.separator + "cache" + File.separator;
 
 	// Must be kept after default paths initialised
 	public static FrameworkConfigParser frameworkConfig = null;
@@ -65,7 +66,7 @@ public class FWStaticStore {
 	public static final String GLOBAL_ANNOTATED_TEST_MAP = "ANNOTATED_TEST_MAP";
 
 	public static void logDebug(String log) {
-		if (frameworkConfig.isEnableArtosDebug()) {
+		if (null != frameworkConfig && frameworkConfig.isEnableArtosDebug()) {
 			System.err.println("[DEBUG] " + log);
 		}
 	}
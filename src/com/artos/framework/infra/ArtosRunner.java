@@ -24,6 +24,7 @@ package com.artos.framework.infra;
 import java.io.InvalidObjectException;
 import java.lang.reflect.InvocationTargetException;
 import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
 import java.util.concurrent.Callable;
 import java.util.concurrent.ExecutionException;
@@ -31,16 +32,17 @@ import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
-import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 import com.artos.framework.Enums.Importance;
 import com.artos.framework.Enums.ScriptFileType;
+import com.artos.framework.Enums.TestExecutionOrder;
 import com.artos.framework.Enums.TestStatus;
 import com.artos.framework.FWStaticStore;
 import com.artos.framework.listener.ExtentReportListener;
+import com.artos.framework.listener.StreamReportListener;
 import com.artos.framework.listener.TestExecutionEventListener;
 import com.artos.framework.parser.TestScriptParser;
-import com.artos.interfaces.TestExecutable;
 import com.artos.interfaces.TestProgress;
 import com.artos.interfaces.TestRunnable;
 import com.artos.utils.Transform;
@@ -63,12 +65,14 @@ public class ArtosRunner {
 	 * Constructor responsible for initialising and registering required listeners. 
 	 * TestExecutionEventListener is responsible for printing information during test execution
 	 * ExtentReportListener is responsible for Extent report generation
+	 * StreamReportListener is responsible for stream report generation
 	 * </PRE>
 	 * 
 	 * @param context TestContext object
 	 * @see TestContext
 	 * @see TestExecutionEventListener
 	 * @see ExtentReportListener
+	 * @see StreamReportListener
 	 */
 	protected ArtosRunner(TestContext context) {
 		this.context = context;
@@ -85,6 +89,13 @@ public class ArtosRunner {
 			context.registerListener(extentListener);
 		}
 
+		// Register stream reporting listener
+		if (FWStaticStore.frameworkConfig.isEnableStreamReport()) {
+			StreamReportListener streamListener = new StreamReportListener(context);
+			registerListener(streamListener);
+			context.registerListener(streamListener);
+		}
+
 	}
 
 	// ==================================================================================
@@ -128,15 +139,12 @@ public class ArtosRunner {
 
 		LogWrapper logger = context.getLogger();
 
-		// TODO : Parallel running test case can not work with current
-		// architecture so should not enable this feature until solution is
-		// found
-		boolean enableParallelTestRunning = false;
-		if (enableParallelTestRunning) {
-			runParallelThread(transformedTestList, context);
-		} else {
-			runSingleThread(transformedTestList, context);
+		// Test script/Runner value takes priority over framework configuration
+		int parallelThreadCount = context.getTestSuite().getParallelThreadCount();
+		if (parallelThreadCount < 1) {
+			parallelThreadCount = FWStaticStore.frameworkConfig.getParallelTestThreadCount();
 		}
+		runTestSuite(transformedTestList, context, parallelThreadCount);
 
 		// Print Test results
 		StringBuilder sb = new StringBuilder();
@@ -181,6 +189,7 @@ public class ArtosRunner {
 
 		// HighLight Failed Test Cases
 		List<TestObjectWrapper> failedTestList = highlightFailure(transformedTestList);
+		highlightDurationRegression();
 
 		if (FWStaticStore.frameworkConfig.isGenerateTestScript()) {
 			// Create Script file for failed test cases
@@ -192,68 +201,21 @@ public class ArtosRunner {
 	}
 
 	private void PrintTotalUnitResult(List<TestObjectWrapper> transformedTestList, StringBuilder sb) {
-		int totalUnitPassCount = 0;
-		int totalUnitFailCount = 0;
-		int totalSkipCount = 0;
-		int totalKTFCount = 0;
-		int totalExecuted = 0;
-
-		int totalFatal = 0;
-		int totalCritical = 0;
-		int totalHigh = 0;
-		int totalMedium = 0;
-		int totalLow = 0;
-		int totalUndefined = 0;
-		for (TestObjectWrapper t : transformedTestList) {
-			for (TestUnitObjectWrapper unit : t.getTestUnitList()) {
-				if (unit.getTestUnitOutcomeList().isEmpty()) {
-					continue;
-				}
-				for (int j = 0; j < unit.getTestUnitOutcomeList().size(); j++) {
-					totalExecuted++;
-					if (unit.getTestUnitOutcomeList().get(j) == TestStatus.PASS) {
-						totalUnitPassCount++;
-					} else if (unit.getTestUnitOutcomeList().get(j) == TestStatus.FAIL) {
-						totalUnitFailCount++;
-
-						if (unit.getTestImportance() == Importance.FATAL) {
-							totalFatal++;
-						} else if (unit.getTestImportance() == Importance.CRITICAL) {
-							totalCritical++;
-						} else if (unit.getTestImportance() == Importance.HIGH) {
-							totalHigh++;
-						} else if (unit.getTestImportance() == Importance.MEDIUM) {
-							totalMedium++;
-						} else if (unit.getTestImportance() == Importance.LOW) {
-							totalLow++;
-						} else if (unit.getTestImportance() == Importance.UNDEFINED) {
-							totalUndefined++;
-						}
-					} else if (unit.getTestUnitOutcomeList().get(j) == TestStatus.SKIP) {
-						totalSkipCount++;
-					} else if (unit.getTestUnitOutcomeList().get(j) == TestStatus.KTF) {
-						totalKTFCount++;
-					}
-
-				}
-			}
-		}
-
 		// Print Test results
 		sb.append("\n");
 		sb.append("[TestUnits] ");
-		sb.append("EXECUTED:" + String.format("%-" + 4 + "s", totalExecuted));
-		sb.append(" PASS:" + String.format("%-" + 4 + "s", totalUnitPassCount));
-		sb.append(" SKIP:" + String.format("%-" + 4 + "s", totalSkipCount));
-		sb.append(" KTF:" + String.format("%-" + 4 + "s", totalKTFCount));
-		sb.append(" FAIL:" + String.format("%-" + 4 + "s", totalUnitFailCount));
+		sb.append("EXECUTED:" + String.format("%-" + 4 + "s", context.getTotalUnitTestCount()));
+		sb.append(" PASS:" + String.format("%-" + 4 + "s", context.getCurrentUnitPassCount()));
+		sb.append(" SKIP:" + String.format("%-" + 4 + "s", context.getCurrentUnitSkipCount()));
+		sb.append(" KTF:" + String.format("%-" + 4 + "s", context.getCurrentUnitKTFCount()));
+		sb.append(" FAIL:" + String.format("%-" + 4 + "s", context.getCurrentUnitFailCount()));
 		sb.append(" [");
-		sb.append("FATAL:" + String.format("%-" + 4 + "s", totalFatal));
-		sb.append(" CRITICAL:" + String.format("%-" + 4 + "s", totalCritical));
-		sb.append(" HIGH:" + String.format("%-" + 4 + "s", totalHigh));
-		sb.append(" MEDIUM:" + String.format("%-" + 4 + "s", totalMedium));
-		sb.append(" LOW:" + String.format("%-" + 4 + "s", totalLow));
-		sb.append(" UNDEFINED:" + String.format("%-" + 4 + "s", totalUndefined));
+		sb.append("FATAL:" + String.format("%-" + 4 + "s", context.getTotalUnitFatalCount()));
+		sb.append(" CRITICAL:" + String.format("%-" + 4 + "s", context.getTotalUnitCriticalCount()));
+		sb.append(" HIGH:" + String.format("%-" + 4 + "s", context.getTotalUnitHighCount()));
+		sb.append(" MEDIUM:" + String.format("%-" + 4 + "s", context.getTotalUnitMediumCount()));
+		sb.append(" LOW:" + String.format("%-" + 4 + "s", context.getTotalUnitLowCount()));
+		sb.append(" UNDEFINED:" + String.format("%-" + 4 + "s", context.getTotalUnitUndefinedCount()));
 		sb.append("]");
 	}
 
@@ -331,7 +293,39 @@ public class ArtosRunner {
 		return failedTestList;
 	}
 
-	private void runSingleThread(List<TestObjectWrapper> testList, TestContext context)
+	/**
+	 * Highlight test cases and test units whose duration regressed compared to previous runs
+	 */
+	private void highlightDurationRegression() {
+		List<String> regressionList = context.getDurationRegressionList();
+		if (regressionList.isEmpty()) {
+			return;
+		}
+		StringBuilder sb = new StringBuilder();
+		sb.append(FWStaticStore.ARTOS_LINE_BREAK_1);
+		sb.append("\n");
+		sb.append("                 DURATION REGRESSION (" + regressionList.size() + ")");
+		sb.append("\n\n");
+		sb.append(FWStaticStore.ARTOS_LINE_BREAK_1);
+		for (int i = 0; i < regressionList.size(); i++) {
+			sb.append("\n");
+			sb.append(String.format("%-4s%s", i + 1, regressionList.get(i)));
+		}
+		sb.append("\n");
+		sb.append(FWStaticStore.ARTOS_LINE_BREAK_1);
+		context.getLogger().info(sb.toString());
+		context.getLogger().getSummaryLogger().info(sb.toString());
+	}
+
+	/**
+	 * Runs test suite. Test cases are executed sequentially if parallelThreadCount is 1, otherwise test cases are executed by a pool of
+	 * parallelThreadCount threads
+	 * 
+	 * @param testList test object list
+	 * @param context test context
+	 * @param parallelThreadCount number of test cases executed in parallel
+	 */
+	private void runTestSuite(List<TestObjectWrapper> testList, TestContext context, int parallelThreadCount)
 			throws InstantiationException, IllegalAccessException, Exception {
 		// ********************************************************************************************
 		// TestSuite Start
@@ -346,7 +340,7 @@ public class ArtosRunner {
 			// Run prior to each test suite
 			if (null != context.getBeforeTestSuite()) {
 				notifyBeforeTestSuiteMethodExecutionStarted(context.getBeforeTestSuite().getName(), context.getPrePostRunnableObj().getName());
-				context.getBeforeTestSuite().invoke(context.getPrePostRunnableObj().newInstance(), context);
+				context.getBeforeTestSuiteInvoker().invoke(context.getTestClassInstance(context.getPrePostRunnableObj()), context);
 				notifyBeforeTestSuiteMethodExecutionFinished(context.getPrePostRunnableObj().getName());
 			}
 
@@ -356,26 +350,10 @@ public class ArtosRunner {
 			for (int index = 0; index < loopCount; index++) {
 				notifyTestExecutionLoopCount(index);
 				// --------------------------------------------------------------------------------------------
-				// Go through each test case and execute it
-				for (TestObjectWrapper t : testList) {
-
-					// If "stop on fail" is enabled then stop test execution
-					if (FWStaticStore.frameworkConfig.isStopOnFail()) {
-						if (context.getCurrentFailCount() > 0) {
-							break;
-						}
-					}
-
-					// Print test case header and test plan in the log file
-					notifyPrintTestPlan(t);
-
-					// if data provider is not specified
-					if (null == t.getDataProviderName() || "".equals(t.getDataProviderName())) {
-						runIndividualTest(t);
-					} else { // if data provider is specified
-						runParameterizedTest(t);
-					}
-
+				if (parallelThreadCount > 1) {
+					runParallelThread(testList, context, parallelThreadCount);
+				} else {
+					runSingleThread(testList);
 				}
 				// --------------------------------------------------------------------------------------------
 			}
@@ -383,7 +361,7 @@ public class ArtosRunner {
 			// Run at the end of each test suit
 			if (null != context.getAfterTestSuite()) {
 				notifyAfterTestSuiteMethodExecutionStarted(context.getAfterTestSuite().getName(), context.getPrePostRunnableObj().getName());
-				context.getAfterTestSuite().invoke(context.getPrePostRunnableObj().newInstance(), context);
+				context.getAfterTestSuiteInvoker().invoke(context.getTestClassInstance(context.getPrePostRunnableObj()), context);
 				notifyAfterTestSuiteMethodExecutionFinished(context.getPrePostRunnableObj().getName());
 			}
 
@@ -408,6 +386,97 @@ public class ArtosRunner {
 		// ********************************************************************************************
 	}
 
+	/**
+	 * Go through each test case and execute it one after another
+	 * 
+	 * @param testList test object list
+	 */
+	private void runSingleThread(List<TestObjectWrapper> testList) {
+		for (TestObjectWrapper t : testList) {
+
+			// If "stop on fail" is enabled then stop test execution
+			if (FWStaticStore.frameworkConfig.isStopOnFail()) {
+				if (context.getCurrentFailCount() > 0) {
+					break;
+				}
+			}
+
+			runTestCase(t);
+		}
+	}
+
+	/**
+	 * Go through each test case and execute them in parallel using fixed size thread pool. Each test case is executed by its own worker context so
+	 * test status, counters and parameterised objects are not shared between threads. Unless failed test cases are requested first, test cases are
+	 * handed to the pool longest expected duration first so a long test case does not start last and extend the run. Results are merged into test
+	 * suite context in test list order once all test cases are finished.
+	 * 
+	 * @param testList test object list
+	 * @param context test context
+	 * @param parallelThreadCount maximum number of test cases executed in parallel
+	 * @throws Exception if thread is interrupted or test case thread could not complete
+	 */
+	private void runParallelThread(List<TestObjectWrapper> testList, TestContext context, int parallelThreadCount) throws Exception {
+		if (testList.isEmpty()) {
+			return;
+		}
+
+		ExecutorService service = Executors.newFixedThreadPool(Math.min(parallelThreadCount, testList.size()));
+		List<TestContext> workerContextList = new ArrayList<>();
+		List<Future<?>> futures = new ArrayList<>();
+		// Used to implement "stop on fail" across all workers
+		AtomicBoolean failureDetected = new AtomicBoolean(context.getCurrentFailCount() > 0);
+
+		try {
+			for (int i = 0; i < testList.size(); i++) {
+				workerContextList.add(context.createWorkerContext());
+			}
+
+			List<Integer> dispatchOrder = new ArrayList<>();
+			for (int i = 0; i < testList.size(); i++) {
+				dispatchOrder.add(i);
+			}
+			if (TestExecutionOrder.FAILED_FIRST != FWStaticStore.frameworkConfig.getTestExecutionOrder()) {
+				Comparator<TestObjectWrapper> longestFirst = TestOrdering.longestFirst(TestHistory.get());
+				dispatchOrder.sort((i, j) -> longestFirst.compare(testList.get(i), testList.get(j)));
+			}
+
+			for (int i : dispatchOrder) {
+				futures.add(service.submit(new ParallelTestTask(workerContextList.get(i), testList.get(i), failureDetected)));
+			}
+
+			// wait for all tasks to complete before continuing
+			for (Future<?> f : futures) {
+				f.get();
+			}
+		} finally {
+			// shut down the executor service so that threads can exit
+			service.shutdownNow();
+
+			// Merge in test list order so summary does not depend on thread finishing order
+			for (TestContext workerContext : workerContextList) {
+				context.mergeWorkerContext(workerContext);
+			}
+		}
+	}
+
+	/**
+	 * Prints test plan and executes test case with or without data provider
+	 * 
+	 * @param t TestCase in format {@code TestObjectWrapper}
+	 */
+	void runTestCase(TestObjectWrapper t) {
+		// Print test case header and test plan in the log file
+		notifyPrintTestPlan(t);
+
+		// if data provider is not specified
+		if (null == t.getDataProviderName() || "".equals(t.getDataProviderName())) {
+			runIndividualTest(t);
+		} else { // if data provider is specified
+			runParameterizedTest(t);
+		}
+	}
+
 	/**
 	 * Responsible for execution individual test cases
 	 * 
@@ -419,7 +488,7 @@ public class ArtosRunner {
 			// Run Pre Method prior to any test Execution
 			if (null != context.getBeforeTest()) {
 				notifyGlobalBeforeTestCaseMethodExecutionStarted(context.getBeforeTest().getName(), t);
-				context.getBeforeTest().invoke(context.getPrePostRunnableObj().newInstance(), context);
+				context.getBeforeTestInvoker().invoke(context.getTestClassInstance(context.getPrePostRunnableObj()), context);
 				notifyGlobalBeforeTestCaseMethodExecutionFinished(t);
 			}
 		} catch (Throwable e) {
@@ -462,7 +531,7 @@ public class ArtosRunner {
 			// Run Post Method prior to any test Execution
 			if (null != context.getAfterTest()) {
 				notifyGlobalAfterTestCaseMethodExecutionStarted(context.getAfterTest().getName(), t);
-				context.getAfterTest().invoke(context.getPrePostRunnableObj().newInstance(), context);
+				context.getAfterTestInvoker().invoke(context.getTestClassInstance(context.getPrePostRunnableObj()), context);
 				notifyGlobalAfterTestCaseMethodExecutionFinished(t);
 			}
 		} catch (Throwable e) {
@@ -481,14 +550,14 @@ public class ArtosRunner {
 	}
 
 	/**
-	 * Responsible for executing data provider method which upon successful execution returns an array of parameters. TestCase will be re-run using
-	 * all parameters available in the parameter array. If data provider method returns empty array or null then test case will be executed only once
-	 * with null arguments.
+	 * Responsible for executing data provider method which upon successful execution returns parameter rows. TestCase will be re-run using all
+	 * parameter rows, rows are pulled from data provider one at a time so iterator or stream based data provider does not need to hold all rows in
+	 * memory. If data provider method returns null or no rows then test case will be executed only once with null arguments.
 	 * 
 	 * @param t TestCase in format {@code TestObjectWrapper}
 	 */
 	private void runParameterizedTest(TestObjectWrapper t) {
-		Object[][] data;
+		Object data;
 		TestDataProvider dataProviderObj;
 
 		try {
@@ -505,10 +574,10 @@ public class ArtosRunner {
 			// Handle it because this executes method
 			try {
 				if (dataProviderObj.isStaticMethod()) {
-					data = (Object[][]) dataProviderObj.getMethod().invoke(null, context);
+					data = dataProviderObj.getInvoker().invoke(null, context);
 				} else {
 					/* NonStatic data provider method needs an instance */
-					data = (Object[][]) dataProviderObj.getMethod().invoke(dataProviderObj.getClassOfTheMethod().newInstance(), context);
+					data = dataProviderObj.getInvoker().invoke(context.getTestClassInstance(dataProviderObj.getClassOfTheMethod()), context);
 				}
 			} catch (InvocationTargetException e) {
 				context.getLogger().info(FWStaticStore.ARTOS_DATAPROVIDER_FAIL_STAMP);
@@ -521,13 +590,15 @@ public class ArtosRunner {
 				}
 			}
 
-			// If data provider method returns null or empty object then execute test with
-			// null parameter
-			if (null == data || data.length == 0) {
-				executeChildTest(t, new String[][] { {} }, 0);
-			} else {
-				for (int i = 0; i < data.length; i++) {
-					executeChildTest(t, data, i);
+			try (DataProviderRows rows = new DataProviderRows(data)) {
+				// If data provider method returns null or empty object then execute test with
+				// null parameter
+				if (!rows.hasNext()) {
+					executeChildTest(t, new Object[0], 0);
+				} else {
+					for (int i = 0; rows.hasNext(); i++) {
+						executeChildTest(t, rows.next(), i);
+					}
 				}
 			}
 		} catch (Exception e) {
@@ -566,23 +637,19 @@ public class ArtosRunner {
 	 * @throws Throwable Exception during test execution
 	 */
 	private void runTestWithTimeout(TestObjectWrapper t) throws Throwable {
-		ExecutorService executor = Executors.newSingleThreadExecutor();
-		Future<String> future = executor.submit(new Callable<String>() {
+		Callable<String> task = new Callable<String>() {
 			@Override
 			public String call() throws Exception {
 				runSimpleTest(t);
 				return "TEST CASE FINISHED WITHIN TIME";
 			}
-		});
+		};
 
 		try {
-			// System.out.println(future.get(t.getTestTimeout(), TimeUnit.MILLISECONDS));
-			future.get(t.getTestTimeout(), TimeUnit.MILLISECONDS);
-		} catch (TimeoutException e) {
-			future.cancel(true);
-			context.setTestStatus(TestStatus.FAIL, "TEST CASE TIMED OUT");
+			if (!TestTimeoutExecutor.run(task, t.getTestTimeout(), "test case " + t.getTestClassObject().getName(), context.getLogger())) {
+				context.setTestStatus(TestStatus.FAIL, "TEST CASE TIMED OUT");
+			}
 		} catch (ExecutionException e) {
-			future.cancel(true);
 			if (null == e.getCause()) {
 				// If no cause is listed then throw parent exception
 				throw e;
@@ -594,24 +661,25 @@ public class ArtosRunner {
 	}
 
 	/**
-	 * Responsible for execution of test cases (Considered as child test case) with given parameter. Parameterised object array index and value(s)
+	 * Responsible for execution of test cases (Considered as child test case) with given parameter. Parameterised object row index and value(s)
 	 * class type(s) will be printed prior to test execution for user's benefit.
 	 * 
 	 * @param t TestCase in format {@code TestObjectWrapper}
-	 * @param data Array of parameters
-	 * @param arrayIndex Parameter array index
+	 * @param row parameters of this row
+	 * @param arrayIndex Parameter row index
 	 */
-	private void executeChildTest(TestObjectWrapper t, Object[][] data, int arrayIndex) {
+	private void executeChildTest(TestObjectWrapper t, Object[] row, int arrayIndex) {
 		String userInfo = "DataProvider(" + arrayIndex + ")  : ";
-		if (data[arrayIndex].length == 2) {
-			context.setParameterisedObject1(null == data[arrayIndex][0] ? null : data[arrayIndex][0]);
-			context.setParameterisedObject2(null == data[arrayIndex][1] ? null : data[arrayIndex][1]);
+		context.setTestParameterIndex(arrayIndex);
+		if (row.length == 2) {
+			context.setParameterisedObject1(row[0]);
+			context.setParameterisedObject2(row[1]);
 			String firstType = (context.getParameterisedObject1().getClass().getSimpleName());
 			String secondType = (context.getParameterisedObject2().getClass().getSimpleName());
 			userInfo += "[" + firstType + "][" + secondType + "]";
 
-		} else if (data[arrayIndex].length == 1) {
-			context.setParameterisedObject1(null == data[arrayIndex][0] ? null : data[arrayIndex][0]);
+		} else if (row.length == 1) {
+			context.setParameterisedObject1(row[0]);
 			context.setParameterisedObject2(null);
 			String firstType = (context.getParameterisedObject1().getClass().getSimpleName());
 			userInfo += "[" + firstType + "][]";
@@ -709,61 +777,6 @@ public class ArtosRunner {
 		}
 	}
 
-	@SuppressWarnings("unchecked")
-	private void runParallelThread(List<TestObjectWrapper> testList, TestContext context)
-			throws InstantiationException, IllegalAccessException, Exception {
-		// ********************************************************************************************
-		// Test Start
-		// ********************************************************************************************
-		notifyTestSuiteExecutionStarted(context.getPrePostRunnableObj().getName());
-		context.setTestSuiteStartTime(System.currentTimeMillis());
-		ScanTestSuite scan = new ScanTestSuite();
-		scan.scanForBeforeAfterMethods(context);
-
-		// Run prior to each test suite
-		if (null != context.getBeforeTestSuite()) {
-			notifyBeforeTestSuiteMethodExecutionStarted(context.getBeforeTestSuite().getName(), context.getPrePostRunnableObj().getName());
-			context.getBeforeTestSuite().invoke(context.getPrePostRunnableObj().newInstance(), context);
-			notifyBeforeTestSuiteMethodExecutionFinished(context.getPrePostRunnableObj().getName());
-		}
-
-		// get loop count from testSuite
-		int loopCount = context.getTestSuite().getLoopCount();
-
-		for (int index = 0; index < loopCount; index++) {
-			notifyTestExecutionLoopCount(index);
-			// --------------------------------------------------------------------------------------------
-			ExecutorService service = Executors.newFixedThreadPool(1000);
-			List<Future<Runnable>> futures = new ArrayList<>();
-
-			for (TestObjectWrapper t : testList) {
-
-				Future<?> f = service.submit(new runTestInParallel(context, t, scan));
-				futures.add((Future<Runnable>) f);
-
-			}
-
-			// wait for all tasks to complete before continuing
-			for (Future<Runnable> f : futures) {
-				f.get();
-			}
-
-			// shut down the executor service so that this thread can exit
-			service.shutdownNow();
-			// --------------------------------------------------------------------------------------------
-		}
-
-		// Run at the end of each test suit
-		if (null != context.getAfterTestSuite()) {
-			notifyAfterTestSuiteMethodExecutionStarted(context.getAfterTestSuite().getName(), context.getPrePostRunnableObj().getName());
-			context.getAfterTestSuite().invoke(context.getPrePostRunnableObj().newInstance(), context);
-			notifyAfterTestSuiteMethodExecutionFinished(context.getPrePostRunnableObj().getName());
-		}
-		// ********************************************************************************************
-		// Test Finish
-		// ********************************************************************************************
-	}
-
 	// ==================================================================================
 	// Register, deRegister and Notify Event Listeners
 	// ==================================================================================
@@ -907,55 +920,44 @@ public class ArtosRunner {
 	}
 }
 
-class runTestInParallel implements Runnable {
+/**
+ * Runnable class which will be used by thread pool to execute test case in parallel. Each test case is executed by its own {@code ArtosRunner} using
+ * worker context
+ */
+class ParallelTestTask implements Runnable {
 
-	ScanTestSuite scan;
-	TestContext context;
+	TestContext workerContext;
 	TestObjectWrapper t;
+	AtomicBoolean failureDetected;
 
-	public runTestInParallel(TestContext context, TestObjectWrapper test, ScanTestSuite scan) {
-		this.context = context;
-		this.t = test;
-		this.scan = scan;
+	/**
+	 * Constructor for Runnable
+	 * 
+	 * @param workerContext worker context created by test suite context
+	 * @param t TestCase in format {@code TestObjectWrapper}
+	 * @param failureDetected shared flag which is set once any test case fails
+	 */
+	public ParallelTestTask(TestContext workerContext, TestObjectWrapper t, AtomicBoolean failureDetected) {
+		this.workerContext = workerContext;
+		this.t = t;
+		this.failureDetected = failureDetected;
 	}
 
 	@Override
 	public void run() {
-		try {
-			// notifyTestExecutionStarted(t);
-			// Run Pre Method prior to any test Execution
-			context.getBeforeTest().invoke(context.getPrePostRunnableObj().newInstance(), context);
-
-			runIndividualTest(t);
-
-			// Run Post Method prior to any test Execution
-			context.getAfterTestSuite().invoke(context.getPrePostRunnableObj().newInstance(), context);
-			// notifyTestExecutionFinished(t);
-		} catch (Exception e) {
-			e.printStackTrace();
+		// If "stop on fail" is enabled then do not start new test case once failure is detected
+		if (FWStaticStore.frameworkConfig.isStopOnFail() && failureDetected.get()) {
+			return;
 		}
-	}
 
-	private void runIndividualTest(TestObjectWrapper t) {
-		t.setTestStartTime(System.currentTimeMillis());
 		try {
-			// Set Default Known to fail information
-			context.setKnownToFail(t.isKTF(), t.getBugTrackingNumber());
-
-			// --------------------------------------------------------------------------------------------
-			// get test objects new instance and cast it to TestExecutable type
-			((TestExecutable) t.getTestClassObject().newInstance()).execute(context);
-			// --------------------------------------------------------------------------------------------
+			new ArtosRunner(workerContext).runTestCase(t);
+		} catch (Throwable e) {
+			UtilsFramework.writePrintStackTrace(workerContext, e);
+		}
 
-		} catch (Exception e) {
-			context.setTestStatus(TestStatus.FAIL, e.getMessage());
-			UtilsFramework.writePrintStackTrace(context, e);
-		} catch (Throwable ex) {
-			context.setTestStatus(TestStatus.FAIL, ex.getMessage());
-			UtilsFramework.writePrintStackTrace(context, ex);
-		} finally {
-			t.setTestFinishTime(System.currentTimeMillis());
-			context.generateTestSummary(t);
+		if (workerContext.getCurrentFailCount() > 0) {
+			failureDetected.set(true);
 		}
 	}
 }
@@ -25,15 +25,22 @@ import java.io.File;
 import java.lang.reflect.InvocationTargetException;
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.IdentityHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 import com.artos.framework.Enums.Importance;
 import com.artos.framework.Enums.TestStatus;
 import com.artos.framework.FWStaticStore;
 import com.artos.framework.listener.ExtentReportListener;
+import com.artos.framework.listener.StreamReportListener;
 import com.artos.framework.listener.TestExecutionEventListener;
 import com.artos.framework.parser.BDDFeatureFileParser;
 import com.artos.interfaces.TestProgress;
@@ -46,9 +53,13 @@ import com.artos.utils.UtilsFramework;
  */
 public class BDDRunner {
 
+	// Scenarios tagged with @parallel are allowed to run in parallel with each other
+	static final String PARALLEL_TAG = "PARALLEL";
+
 	TestContext context;
 	List<TestProgress> listenerList = new ArrayList<TestProgress>();
 	Map<String, TestUnitObjectWrapper> stepDefinitionMap = null;
+	BDDStepMatcher stepMatcher = null;
 
 	// ==================================================================================
 	// Constructor (Starting point of framework)
@@ -59,12 +70,14 @@ public class BDDRunner {
 	 * Constructor responsible for initialising and registering required listeners. 
 	 * TestExecutionEventListener is responsible for printing information during test execution
 	 * ExtentReportListener is responsible for Extent report generation
+	 * StreamReportListener is responsible for stream report generation
 	 * </PRE>
 	 * 
 	 * @param context TestContext object
 	 * @see TestContext
 	 * @see TestExecutionEventListener
 	 * @see ExtentReportListener
+	 * @see StreamReportListener
 	 */
 	protected BDDRunner(TestContext context) {
 		this.context = context;
@@ -81,6 +94,25 @@ public class BDDRunner {
 			context.registerListener(extentListener);
 		}
 
+		// Register stream reporting listener
+		if (FWStaticStore.frameworkConfig.isEnableStreamReport()) {
+			StreamReportListener streamListener = new StreamReportListener(context);
+			registerListener(streamListener);
+			context.registerListener(streamListener);
+		}
+
+	}
+
+	/**
+	 * Constructor used to execute one example row of a Scenario Outline in parallel with other rows. Listeners are not created, caller provides
+	 * listeners which report the row under Scenario Outline node.
+	 * 
+	 * @param context row context
+	 * @param listenerList listeners to be notified
+	 */
+	BDDRunner(TestContext context, List<TestProgress> listenerList) {
+		this.context = context;
+		this.listenerList = listenerList;
 	}
 
 	// ==================================================================================
@@ -102,28 +134,18 @@ public class BDDRunner {
 		// Find unitGroupList
 		List<String> groupList = context.getTestSuite().getTestUnitGroupList();
 
-		// Iterate through each of the provided feature file and find scenarios
-		for (BDDFeatureObjectWrapper featureObj : featureObjectWrapperList) {
-			// Parse file, If any issue then stop execution
-			File featureFile = featureObj.getFeatureFile();
-			BDDFeatureFileParser featureFileParser = new BDDFeatureFileParser(featureFile, groupList);
-			// print(featureFileParser.getScenarioList());
-
+		// Parse all feature files, scenarios are kept in feature file order
+		for (BDDFeatureFileParser featureFileParser : parseFeatureFiles(featureObjectWrapperList, groupList)) {
 			// get feature scenarios which contains all methods filtered by the group list
-			if (null == scenarioList || scenarioList.isEmpty()) {
-				// If it is first feature file then following line will be exercised
-				scenarioList = featureFileParser.getFeature().getScenarios();
-			} else {
-				// If more feature files are processed then add them all to the scenario list
-				List<BDDScenario> newScenarioList = featureFileParser.getFeature().getScenarios();
-				if (null != newScenarioList && !newScenarioList.isEmpty()) {
-					scenarioList.addAll(newScenarioList);
-				}
+			List<BDDScenario> newScenarioList = featureFileParser.getFeature().getScenarios();
+			if (null != newScenarioList && !newScenarioList.isEmpty()) {
+				scenarioList.addAll(newScenarioList);
 			}
 		}
 
 		// Transform TestUnitList into TestUnitObjectWrapper Map
 		this.stepDefinitionMap = new BDDTransformToTestObjectWrapper(context).getStepDefinitionMap();
+		this.stepMatcher = new BDDStepMatcher(stepDefinitionMap);
 
 		// find and populate all methods against test steps
 		mapTestStepMethods(scenarioList);
@@ -158,15 +180,17 @@ public class BDDRunner {
 
 		for (BDDScenario sc : scenarioList) {
 			for (BDDStep st : sc.getSteplist()) {
-				String description = st.getStepDescription().trim().replaceAll("\\\".*?\\\"", "\"\"");
-
-				TestUnitObjectWrapper unit = stepDefinitionMap.get(description);
-				if (null == unit) {
+				BDDStepMatcher.Match match = stepMatcher.match(st.getStepDescription());
+				if (null == match) {
 					missingStepMethods = true;
 					// System.err.println("[Warning] Step \"" + st.getStepDescription() + "\" can not be found in a step file");
 					sb.append(buildMockFunction(mockMethodNames, st.getStepDescription().trim()));
+					st.setUnit(null);
+				} else {
+					st.setUnit(match.getUnit());
+					// In-line parameters are extracted by the same pass which resolved the step
+					st.setInlineParameterList(match.getParameterList());
 				}
-				st.setUnit(unit);
 			}
 		}
 
@@ -246,7 +270,9 @@ public class BDDRunner {
 	}
 
 	/**
-	 * This method executes test cases
+	 * This method executes test cases. Scenarios tagged with {@code @parallel} are executed in parallel with neighbouring {@code @parallel}
+	 * scenarios if parallel thread count is more than 1 (test script value takes priority over framework configuration), all other scenarios are
+	 * executed one after another.
 	 * 
 	 * @param feature test feature
 	 * @throws Exception
@@ -255,15 +281,12 @@ public class BDDRunner {
 
 		LogWrapper logger = context.getLogger();
 
-		// TODO : Parallel running test case can not work with current
-		// architecture so should not enable this feature until solution is
-		// found
-		boolean enableParallelTestRunning = false;
-		if (enableParallelTestRunning) {
-			runParallelThread(scenarioList, context);
-		} else {
-			runSingleThread(scenarioList, context);
+		// Test script/Runner value takes priority over framework configuration
+		int parallelThreadCount = context.getTestSuite().getParallelThreadCount();
+		if (parallelThreadCount < 1) {
+			parallelThreadCount = FWStaticStore.frameworkConfig.getParallelTestThreadCount();
 		}
+		runSingleThread(scenarioList, context, parallelThreadCount);
 
 		// Print Test results
 		StringBuilder sb = new StringBuilder();
@@ -402,7 +425,7 @@ public class BDDRunner {
 		}
 	}
 
-	private void runSingleThread(List<BDDScenario> scenarioList, TestContext context)
+	private void runSingleThread(List<BDDScenario> scenarioList, TestContext context, int parallelThreadCount)
 			throws InstantiationException, IllegalAccessException, Exception {
 		// ********************************************************************************************
 		// TestSuite Start
@@ -417,7 +440,7 @@ public class BDDRunner {
 			// Run prior to each test suite
 			if (null != context.getBeforeTestSuite()) {
 				notifyBeforeTestSuiteMethodExecutionStarted(context.getBeforeTestSuite().getName(), context.getPrePostRunnableObj().getName());
-				context.getBeforeTestSuite().invoke(context.getPrePostRunnableObj().newInstance(), context);
+				context.getBeforeTestSuiteInvoker().invoke(context.getTestClassInstance(context.getPrePostRunnableObj()), context);
 				notifyBeforeTestSuiteMethodExecutionFinished(context.getPrePostRunnableObj().getName());
 			}
 
@@ -427,31 +450,21 @@ public class BDDRunner {
 			for (int index = 0; index < loopCount; index++) {
 				notifyTestExecutionLoopCount(index);
 				// --------------------------------------------------------------------------------------------
-				// Go through each test case and execute it
-				for (BDDScenario scenario : scenarioList) {
-
-					// reset parameterised index
-					context.setTestParameterIndex(0);
-
-					// If "stop on fail" is enabled then stop test execution
-					if (FWStaticStore.frameworkConfig.isStopOnFail()) {
-						if (context.getCurrentFailCount() > 0) {
-							break;
+				if (parallelThreadCount > 1) {
+					runParallelThread(scenarioList, context, parallelThreadCount);
+				} else {
+					// Go through each test case and execute it
+					for (BDDScenario scenario : scenarioList) {
+
+						// If "stop on fail" is enabled then stop test execution
+						if (FWStaticStore.frameworkConfig.isStopOnFail()) {
+							if (context.getCurrentFailCount() > 0) {
+								break;
+							}
 						}
-					}
-
-					// Print test case header and test plan in the log file
-					notifyPrintTestPlan(scenario);
 
-					notifyTestCaseExecutionStarted(scenario);
-					// if global data table is not specified
-					if (null == scenario.getGlobalDataTable() || scenario.getGlobalDataTable().isEmpty()) {
-						runIndividualTest(scenario);
-					} else { // if data provider is specified
-						runParameterizedTest(scenario);
+						runScenario(scenario);
 					}
-					notifyTestCaseExecutionFinished(scenario);
-
 				}
 				// --------------------------------------------------------------------------------------------
 			}
@@ -459,7 +472,7 @@ public class BDDRunner {
 			// Run at the end of each test suit
 			if (null != context.getAfterTestSuite()) {
 				notifyAfterTestSuiteMethodExecutionStarted(context.getAfterTestSuite().getName(), context.getPrePostRunnableObj().getName());
-				context.getAfterTestSuite().invoke(context.getPrePostRunnableObj().newInstance(), context);
+				context.getAfterTestSuiteInvoker().invoke(context.getTestClassInstance(context.getPrePostRunnableObj()), context);
 				notifyAfterTestSuiteMethodExecutionFinished(context.getPrePostRunnableObj().getName());
 			}
 
@@ -484,6 +497,75 @@ public class BDDRunner {
 		// ********************************************************************************************
 	}
 
+	/**
+	 * Prints test plan and executes scenario with or without global data table
+	 * 
+	 * @param scenario test scenario
+	 */
+	void runScenario(BDDScenario scenario) {
+		startScenario(scenario);
+		// if global data table is not specified
+		if (null == scenario.getGlobalDataTable() || scenario.getGlobalDataTable().isEmpty()) {
+			runIndividualTest(scenario);
+		} else { // if data provider is specified
+			runParameterizedTest(scenario);
+		}
+		finishScenario(scenario);
+	}
+
+	/**
+	 * Prints test plan and starts scenario node in the report
+	 * 
+	 * @param scenario test scenario
+	 */
+	void startScenario(BDDScenario scenario) {
+		// reset parameterised index
+		context.setTestParameterIndex(0);
+
+		// Print test case header and test plan in the log file
+		notifyPrintTestPlan(scenario);
+
+		notifyTestCaseExecutionStarted(scenario);
+	}
+
+	/**
+	 * Finishes scenario node in the report
+	 * 
+	 * @param scenario test scenario
+	 */
+	void finishScenario(BDDScenario scenario) {
+		notifyTestCaseExecutionFinished(scenario);
+	}
+
+	/**
+	 * Executes one example row of a Scenario Outline, scenario must be started using {@link #startScenario(BDDScenario)} by this runner or by the
+	 * runner which provided listeners of this runner
+	 * 
+	 * @param scenario Scenario Outline
+	 * @param index example row index
+	 */
+	void runExampleRow(BDDScenario scenario, int index) {
+		// Create Empty Map every iteration
+		context.setStepParameter(new HashMap<>());
+		// set current iteration index
+		context.setTestParameterIndex(index);
+		// execute child scenario
+		executeChildTest(scenario);
+	}
+
+	/**
+	 * Returns number of example rows of a Scenario Outline
+	 * 
+	 * @param scenario test scenario
+	 * @return number of example rows, 0 if scenario is not an outline
+	 */
+	static int getExampleRowCount(BDDScenario scenario) {
+		if (null == scenario.getGlobalDataTable() || scenario.getGlobalDataTable().isEmpty()) {
+			return 0;
+		}
+		return scenario.getGlobalDataTable().values().iterator().next().size();
+	}
+
 	/**
 	 * Responsible for execution individual test scenario
 	 * 
@@ -495,7 +577,7 @@ public class BDDRunner {
 			// Run Pre Method prior to any scenario Execution
 			if (null != context.getBeforeTest()) {
 				notifyGlobalBeforeTestCaseMethodExecutionStarted(context.getBeforeTest().getName(), scenario);
-				context.getBeforeTest().invoke(context.getPrePostRunnableObj().newInstance(), context);
+				context.getBeforeTestInvoker().invoke(context.getTestClassInstance(context.getPrePostRunnableObj()), context);
 				notifyGlobalBeforeTestCaseMethodExecutionFinished(scenario);
 			}
 		} catch (Throwable e) {
@@ -533,7 +615,7 @@ public class BDDRunner {
 			// Run Post Method prior to any test Execution
 			if (null != context.getAfterTest()) {
 				notifyGlobalAfterTestCaseMethodExecutionStarted(context.getAfterTest().getName(), scenario);
-				context.getAfterTest().invoke(context.getPrePostRunnableObj().newInstance(), context);
+				context.getAfterTestInvoker().invoke(context.getTestClassInstance(context.getPrePostRunnableObj()), context);
 				notifyGlobalAfterTestCaseMethodExecutionFinished(scenario);
 			}
 		} catch (Throwable e) {
@@ -563,15 +645,9 @@ public class BDDRunner {
 		try {
 
 			// Find the length of dataList, which will tell us how many time to iterate child test cases
-			List<String> firstSet = scenario.getGlobalDataTable().values().iterator().next();
-			for (int i = 0; i < firstSet.size(); i++) {
-
-				// Create Empty Map every iteration
-				context.setStepParameter(new HashMap<>());
-				// set current iteration index
-				context.setTestParameterIndex(i);
-				// execute child scenario
-				executeChildTest(scenario);
+			int rowCount = getExampleRowCount(scenario);
+			for (int i = 0; i < rowCount; i++) {
+				runExampleRow(scenario, i);
 			}
 
 		} catch (Exception e) {
@@ -637,15 +713,173 @@ public class BDDRunner {
 		// ********************************************************************************************
 	}
 
-	private void runParallelThread(List<BDDScenario> testScenarioList, TestContext context)
-			throws InstantiationException, IllegalAccessException, Exception {
-		// ********************************************************************************************
-		// Test Start
-		// ********************************************************************************************
+	/**
+	 * Parses provided feature files. If more than one feature file is provided then files are parsed in parallel, each file is parsed by a single
+	 * thread so parsing within a file remains sequential.
+	 * 
+	 * @param featureObjectWrapperList feature file list
+	 * @param groupList unit group list used to filter scenarios
+	 * @return parser list in the same order as feature file list
+	 * @throws Exception if parsing thread is interrupted or parser could not complete
+	 */
+	private List<BDDFeatureFileParser> parseFeatureFiles(List<BDDFeatureObjectWrapper> featureObjectWrapperList, List<String> groupList) throws Exception {
+		List<BDDFeatureFileParser> parserList = new ArrayList<>();
+		if (featureObjectWrapperList.size() <= 1) {
+			for (BDDFeatureObjectWrapper featureObj : featureObjectWrapperList) {
+				parserList.add(new BDDFeatureFileParser(featureObj.getFeatureFile(), groupList));
+			}
+			return parserList;
+		}
 
-		// ********************************************************************************************
-		// Test Finish
-		// ********************************************************************************************
+		int threadCount = Math.min(featureObjectWrapperList.size(), Runtime.getRuntime().availableProcessors());
+		ExecutorService service = Executors.newFixedThreadPool(threadCount);
+		try {
+			List<Future<BDDFeatureFileParser>> futureList = new ArrayList<>();
+			for (BDDFeatureObjectWrapper featureObj : featureObjectWrapperList) {
+				File featureFile = featureObj.getFeatureFile();
+				futureList.add(service.submit(() -> new BDDFeatureFileParser(featureFile, groupList)));
+			}
+			for (Future<BDDFeatureFileParser> future : futureList) {
+				parserList.add(future.get());
+			}
+		} finally {
+			service.shutdownNow();
+		}
+		return parserList;
+	}
+
+	/**
+	 * Go through scenario list and execute neighbouring {@code @parallel} scenarios in parallel using fixed size thread pool. Background is always
+	 * executed by the same thread just before the scenario it belongs to. Scenarios without {@code @parallel} tag are executed by this thread once
+	 * all previous scenarios are finished. Each parallel scenario is executed by its own worker context using its own copy of the scenario, so test
+	 * status, step parameters and step outcomes are not shared between threads. Results are merged into test suite context in scenario list order.
+	 * Example rows of a {@code @parallel} Scenario Outline are executed in parallel as well, see
+	 * {@link #runParallelGroups(ExecutorService, List, AtomicBoolean)}.
+	 * 
+	 * @param scenarioList scenario list
+	 * @param context test context
+	 * @param parallelThreadCount maximum number of scenarios executed in parallel
+	 * @throws Exception if thread is interrupted or scenario thread could not complete
+	 */
+	private void runParallelThread(List<BDDScenario> scenarioList, TestContext context, int parallelThreadCount) throws Exception {
+		ExecutorService service = Executors.newFixedThreadPool(parallelThreadCount);
+		// Used to implement "stop on fail" across all workers
+		AtomicBoolean failureDetected = new AtomicBoolean(context.getCurrentFailCount() > 0);
+		List<List<BDDScenario>> parallelGroupList = new ArrayList<>();
+
+		try {
+			int start = 0;
+			while (start < scenarioList.size()) {
+				// Background(s) and the scenario they belong to are one group
+				int end = start;
+				while (end < scenarioList.size() - 1 && scenarioList.get(end).isBackground()) {
+					end++;
+				}
+				List<BDDScenario> group = scenarioList.subList(start, end + 1);
+				start = end + 1;
+
+				if (group.get(group.size() - 1).getGroupList().contains(PARALLEL_TAG)) {
+					parallelGroupList.add(group);
+					continue;
+				}
+
+				// Sequential scenario waits for all previous parallel scenarios
+				runParallelGroups(service, parallelGroupList, failureDetected);
+				parallelGroupList.clear();
+
+				for (BDDScenario scenario : group) {
+					// If "stop on fail" is enabled then stop test execution
+					if (FWStaticStore.frameworkConfig.isStopOnFail() && context.getCurrentFailCount() > 0) {
+						return;
+					}
+					runScenario(scenario);
+				}
+			}
+			runParallelGroups(service, parallelGroupList, failureDetected);
+		} finally {
+			// shut down the executor service so that threads can exit
+			service.shutdownNow();
+		}
+	}
+
+	/**
+	 * Executes scenario groups in parallel and waits for all of them to finish. Each example row of a Scenario Outline is a task of its own, rows
+	 * are started once background(s) of the outline are executed and outline node is added to the report, outline node is finished once all rows
+	 * are finished. Each row is executed by its own row context using its own copy of the outline. Results are merged in group list order, example
+	 * rows in row order, so summary report is the same as in sequential run irrespective of thread finishing order.
+	 * 
+	 * @param service executor service
+	 * @param parallelGroupList list of background and scenario groups
+	 * @param failureDetected shared flag which is set once any scenario fails
+	 * @throws Exception if thread is interrupted or scenario thread could not complete
+	 */
+	void runParallelGroups(ExecutorService service, List<List<BDDScenario>> parallelGroupList, AtomicBoolean failureDetected)
+			throws Exception {
+		if (parallelGroupList.isEmpty()) {
+			return;
+		}
+		failureDetected.compareAndSet(false, context.getCurrentFailCount() > 0);
+
+		List<TestContext> workerContextList = new ArrayList<>();
+		List<List<BDDScenario>> copyGroupList = new ArrayList<>();
+		List<List<ParallelExampleRowTask>> rowTaskGroupList = new ArrayList<>();
+		List<Future<?>> futures = new ArrayList<>();
+
+		try {
+			for (List<BDDScenario> group : parallelGroupList) {
+				TestContext workerContext = context.createWorkerContext();
+				List<BDDScenario> copyGroup = new ArrayList<>();
+				for (BDDScenario scenario : group) {
+					copyGroup.add(scenario.copyForExecution());
+				}
+				workerContextList.add(workerContext);
+				copyGroupList.add(copyGroup);
+
+				BDDScenario outline = copyGroup.get(copyGroup.size() - 1);
+				int rowCount = getExampleRowCount(outline);
+				List<ParallelExampleRowTask> rowTaskList = new ArrayList<>();
+				rowTaskGroupList.add(rowTaskList);
+				if (rowCount == 0) {
+					futures.add(service.submit(new ParallelScenarioTask(workerContext, copyGroup, failureDetected)));
+					continue;
+				}
+
+				// Rows are chained to the outline task so no pool thread is blocked waiting for other tasks
+				ParallelScenarioTask outlineTask = new ParallelScenarioTask(workerContext, copyGroup, failureDetected, true);
+				CompletableFuture<Void> outlineFuture = CompletableFuture.runAsync(outlineTask, service);
+				CompletableFuture<?>[] rowFutures = new CompletableFuture<?>[rowCount];
+				for (int i = 0; i < rowCount; i++) {
+					ParallelExampleRowTask rowTask = new ParallelExampleRowTask(outlineTask, context.createWorkerContext(), outline.copyForExecution(), i);
+					rowTaskList.add(rowTask);
+					rowFutures[i] = outlineFuture.thenRunAsync(rowTask, service);
+				}
+				futures.add(CompletableFuture.allOf(rowFutures).whenComplete((result, e) -> outlineTask.finishOutline()));
+			}
+
+			// wait for all tasks to complete before continuing
+			for (Future<?> f : futures) {
+				f.get();
+			}
+		} finally {
+			// Merge in scenario list order so summary does not depend on thread finishing order
+			for (int i = 0; i < workerContextList.size(); i++) {
+				context.mergeWorkerContext(workerContextList.get(i));
+
+				// Copy outcome back so failure highlight can find failed scenarios
+				List<BDDScenario> group = parallelGroupList.get(i);
+				List<BDDScenario> copyGroup = copyGroupList.get(i);
+				for (int j = 0; j < group.size(); j++) {
+					group.get(j).getTestOutcomeList().addAll(copyGroup.get(j).getTestOutcomeList());
+				}
+
+				// Example rows in row order
+				BDDScenario outline = group.get(group.size() - 1);
+				for (ParallelExampleRowTask rowTask : rowTaskGroupList.get(i)) {
+					context.mergeWorkerContext(rowTask.rowContext);
+					outline.getTestOutcomeList().addAll(rowTask.rowScenario.getTestOutcomeList());
+				}
+			}
+		}
 	}
 
 	// ==================================================================================
@@ -789,4 +1023,131 @@ public class BDDRunner {
 			listener.testSuiteFailureHighlight(description);
 		}
 	}
-}
\ No newline at end of file
+}
+
+/**
+ * Executes background and scenario group using worker context. If example rows of a Scenario Outline are executed by
+ * {@link ParallelExampleRowTask} then this task only starts outline node in the report, rows must be submitted once this task is finished and
+ * {@link #finishOutline()} must be called once all rows are finished.
+ */
+class ParallelScenarioTask implements Runnable {
+
+	TestContext workerContext;
+	List<BDDScenario> scenarioGroup;
+	AtomicBoolean failureDetected;
+	boolean outlineRowsDispatched;
+	volatile BDDRunner runner = null;
+	volatile boolean outlineStarted = false;
+
+	/**
+	 * Constructor for Runnable
+	 * 
+	 * @param workerContext worker context created by test suite context
+	 * @param scenarioGroup background(s) followed by the scenario they belong to
+	 * @param failureDetected shared flag which is set once any scenario fails
+	 */
+	public ParallelScenarioTask(TestContext workerContext, List<BDDScenario> scenarioGroup, AtomicBoolean failureDetected) {
+		this(workerContext, scenarioGroup, failureDetected, false);
+	}
+
+	/**
+	 * Constructor for Runnable
+	 * 
+	 * @param workerContext worker context created by test suite context
+	 * @param scenarioGroup background(s) followed by the scenario they belong to
+	 * @param failureDetected shared flag which is set once any scenario fails
+	 * @param outlineRowsDispatched true if example rows of the Scenario Outline are executed by {@link ParallelExampleRowTask}
+	 */
+	public ParallelScenarioTask(TestContext workerContext, List<BDDScenario> scenarioGroup, AtomicBoolean failureDetected,
+			boolean outlineRowsDispatched) {
+		this.workerContext = workerContext;
+		this.scenarioGroup = scenarioGroup;
+		this.failureDetected = failureDetected;
+		this.outlineRowsDispatched = outlineRowsDispatched;
+	}
+
+	@Override
+	public void run() {
+		// If "stop on fail" is enabled then do not start new scenario once failure is detected
+		if (FWStaticStore.frameworkConfig.isStopOnFail() && failureDetected.get()) {
+			return;
+		}
+
+		try {
+			runner = new BDDRunner(workerContext);
+			for (int i = 0; i < scenarioGroup.size(); i++) {
+				if (outlineRowsDispatched && i == scenarioGroup.size() - 1) {
+					runner.startScenario(scenarioGroup.get(i));
+					outlineStarted = true;
+				} else {
+					runner.runScenario(scenarioGroup.get(i));
+				}
+			}
+		} catch (Throwable e) {
+			UtilsFramework.writePrintStackTrace(workerContext, e);
+		}
+
+		if (workerContext.getCurrentFailCount() > 0) {
+			failureDetected.set(true);
+		}
+	}
+
+	/**
+	 * Finishes Scenario Outline node in the report if outline was started by this task
+	 */
+	void finishOutline() {
+		if (outlineStarted) {
+			runner.finishScenario(scenarioGroup.get(scenarioGroup.size() - 1));
+		}
+	}
+}
+
+/**
+ * Executes one example row of a Scenario Outline started by {@link ParallelScenarioTask} using row context. Report listeners of the row append
+ * row to the outline node of the outline task, all other listeners are shared.
+ */
+class ParallelExampleRowTask implements Runnable {
+
+	ParallelScenarioTask outlineTask;
+	TestContext rowContext;
+	BDDScenario rowScenario;
+	int index;
+
+	/**
+	 * Constructor for Runnable
+	 * 
+	 * @param outlineTask task which starts Scenario Outline
+	 * @param rowContext worker context created by test suite context
+	 * @param rowScenario copy of the Scenario Outline used only by this row
+	 * @param index example row index
+	 */
+	public ParallelExampleRowTask(ParallelScenarioTask outlineTask, TestContext rowContext, BDDScenario rowScenario, int index) {
+		this.outlineTask = outlineTask;
+		this.rowContext = rowContext;
+		this.rowScenario = rowScenario;
+		this.index = index;
+	}
+
+	@Override
+	public void run() {
+		// Outline is not started if "stop on fail" skipped it or its background failed unexpectedly
+		if (!outlineTask.outlineStarted) {
+			return;
+		}
+
+		try {
+			// Row listeners take outline node from listeners of the outline task, so they must be created once outline is started
+			Map<TestProgress, TestProgress> rowListenerMap = new IdentityHashMap<>();
+			rowContext.listenerList = RunnerTestUnits.createRowListenerList(outlineTask.workerContext.listenerList, rowContext, rowListenerMap);
+			BDDRunner rowRunner = new BDDRunner(rowContext, RunnerTestUnits.createRowListenerList(outlineTask.runner.listenerList, rowContext,
+					rowListenerMap));
+			rowRunner.runExampleRow(rowScenario, index);
+		} catch (Throwable e) {
+			UtilsFramework.writePrintStackTrace(rowContext, e);
+		}
+
+		if (rowContext.getCurrentFailCount() > 0) {
+			outlineTask.failureDetected.set(true);
+		}
+	}
+}
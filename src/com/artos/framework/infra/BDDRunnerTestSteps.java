@@ -121,7 +121,7 @@ public class BDDRunnerTestSteps {
 			// Run global before method prior to each test unit execution
 			if (null != context.getBeforeTestUnit()) {
 				notifyGlobalBeforeTestUnitMethodExecutionStarted(step.getStepAction() + " " + step.getStepDescription(), step);
-				context.getBeforeTestUnit().invoke(context.getPrePostRunnableObj().newInstance(), context);
+				context.getBeforeTestUnitInvoker().invoke(context.getTestClassInstance(context.getPrePostRunnableObj()), context);
 				notifyGlobalBeforeTestUnitMethodExecutionFinished(step);
 			}
 		} catch (Throwable e) {
@@ -154,7 +154,7 @@ public class BDDRunnerTestSteps {
 			// Run global after method post each test unit execution
 			if (null != context.getAfterTestUnit()) {
 				notifyGlobalAfterTestUnitMethodExecutionStarted(step.getStepAction() + " " + step.getStepDescription(), step);
-				context.getAfterTestUnit().invoke(context.getPrePostRunnableObj().newInstance(), context);
+				context.getAfterTestUnitInvoker().invoke(context.getTestClassInstance(context.getPrePostRunnableObj()), context);
 				notifyGlobalAfterTestUnitMethodExecutionFinished(step);
 			}
 		} catch (Throwable e) {
@@ -220,7 +220,7 @@ public class BDDRunnerTestSteps {
 
 			// Run single unit
 			TestUnitObjectWrapper unit = step.getUnit();
-			unit.getTestUnitMethod().invoke(unit.getTestUnitMethod().getDeclaringClass().newInstance(), context);
+			unit.getTestUnitInvoker().invoke(context.getTestClassInstance(unit.getTestUnitMethod().getDeclaringClass()), context);
 
 			notifyTestUnitExecutionFinished(step);
 
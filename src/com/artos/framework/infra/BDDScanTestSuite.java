@@ -26,13 +26,9 @@ import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 
-import org.reflections.Reflections;
-import org.reflections.scanners.MethodAnnotationsScanner;
-import org.reflections.scanners.SubTypesScanner;
-import org.reflections.scanners.TypeAnnotationsScanner;
-
 import com.artos.annotation.ExpectedException;
 import com.artos.annotation.Group;
 import com.artos.annotation.KnownToFail;
@@ -50,8 +46,12 @@ import javassist.Modifier;
  */
 public class BDDScanTestSuite {
 
+	// Cucumber style parameter "([^"]*)"
+	private static final Pattern CUCUMBER_PARAMETER_PATTERN = Pattern.compile("\\\"\\(\\[\\^\\\"\\]\\*\\)\\\"");
+	// Anything between quotes "xyz"
+	private static final Pattern INLINE_PARAMETER_PATTERN = Pattern.compile("\\\".*?\\\"");
+
 	TestContext context;
-	Reflections reflection;
 	Map<String, TestUnitObjectWrapper> stepDefinitionsMap = new HashMap<>();
 
 	/**
@@ -75,11 +75,11 @@ public class BDDScanTestSuite {
 	 */
 	private void scan(String packageName) {
 
-		// Find all annotation
-		reflection = new Reflections(packageName, new MethodAnnotationsScanner(), new TypeAnnotationsScanner(), new SubTypesScanner(false));
+		// Find all annotation (scan index is shared by all test suites and reused if classpath has not changed)
+		ScanIndex index = ScanIndex.get(packageName);
 
 		// GetAllStepDefMethods => Filter Public methods => Get UpperCase StepDef => Store it
-		reflection.getMethodsAnnotatedWith(StepDefinition.class).stream().filter(method -> Modifier.isPublic(method.getModifiers()))
+		index.getStepDefinitionList().stream().filter(method -> Modifier.isPublic(method.getModifiers()))
 				.forEach(method -> {
 
 					TestPlan testplan = method.getAnnotation(TestPlan.class);
@@ -161,15 +161,15 @@ public class BDDScanTestSuite {
 						// If cucumber was used to generate the argument then do the following
 						if (stepDefKey.startsWith("^") && stepDefKey.endsWith("$")) {
 							// Replace "([^"]*)"
-							stepDefKey = stepDefKey.replaceAll("\\\"\\(\\[\\^\\\"\\]\\*\\)\\\"", "\"\"").trim();
+							stepDefKey = CUCUMBER_PARAMETER_PATTERN.matcher(stepDefKey).replaceAll("\"\"").trim();
 							// Replace $
-							stepDefKey = stepDefKey.replaceAll("\\$", "").trim();
+							stepDefKey = stepDefKey.replace("$", "").trim();
 							// Replace ^
-							stepDefKey = stepDefKey.replaceAll("\\^", "").trim();
+							stepDefKey = stepDefKey.replace("^", "").trim();
 							
 						} else { // otherwise do this
 							// Replace anything between quotes to empty string "xyz" => ""
-							stepDefKey = stepDefKey.replaceAll("\\\".*?\\\"", "\"\"").trim();
+							stepDefKey = INLINE_PARAMETER_PATTERN.matcher(stepDefKey).replaceAll("\"\"").trim();
 						}
 
 						testUnitObj.setStepDefinition(stepDefKey);
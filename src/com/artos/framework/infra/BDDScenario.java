@@ -49,6 +49,25 @@ public class BDDScenario {
 	// Background
 	boolean background = false;
 
+	/**
+	 * Creates copy of this scenario which has its own steps, execution time and outcome list, so same scenario (for example background) can be
+	 * executed by more than one thread at the same time. Data tables are shared because they are not modified during execution.
+	 * 
+	 * @return copy of this scenario
+	 */
+	BDDScenario copyForExecution() {
+		BDDScenario copy = new BDDScenario();
+		copy.testImportance = testImportance;
+		copy.scenarioDescription = scenarioDescription;
+		copy.groupList = groupList;
+		copy.globalDataTable = globalDataTable;
+		copy.background = background;
+		for (BDDStep step : steplist) {
+			copy.steplist.add(step.copyForExecution());
+		}
+		return copy;
+	}
+
 	public String getScenarioDescription() {
 		return scenarioDescription;
 	}
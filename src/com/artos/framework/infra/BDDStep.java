@@ -45,6 +45,19 @@ public class BDDStep {
 		this.localDataTable = localDataTable;
 	}
 
+	/**
+	 * Creates copy of this step with its own copy of test unit, so same step can be executed by more than one thread at the same time
+	 * 
+	 * @return copy of this step
+	 */
+	BDDStep copyForExecution() {
+		BDDStep copy = new BDDStep(stepAction, stepDescription, localDataTable);
+		copy.unit = (null == unit) ? null : unit.copyForExecution();
+		copy.inlineParameterList = inlineParameterList;
+		copy.hasGlobalReference = hasGlobalReference;
+		return copy;
+	}
+
 	public String getStepDescription() {
 		return stepDescription;
 	}
@@ -0,0 +1,169 @@
+/*******************************************************************************
+ * Copyright (C) 2018-2019 Arpit Shah and Artos Contributors
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ ******************************************************************************/
+package com.artos.framework.infra;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+
+/**
+ * Resolves BDD step description to step definition method. All step definitions are compiled once into a prefix tree (trie) where literal characters
+ * and in-line parameter slots ({@code ""}) are edges, so steps which share leading words share the same path. Step description is resolved by
+ * walking the tree once from left to right, anything between double quotes is consumed as a single parameter slot and captured at the same time.
+ * Matching cost depends only on length of the step description and not on number of step definitions.
+ * 
+ * <PRE>
+ * Step definition  : I have "" apples in "" basket
+ * Step description : I have "5" apples in "red" basket
+ * Match            : unit of step definition, parameters [5, red]
+ * </PRE>
+ * 
+ * Step definition keys are expected to be normalised by {@link BDDScanTestSuite} (in-line values are replaced with {@code ""}).
+ */
+public class BDDStepMatcher {
+
+	private static final char QUOTE = '"';
+
+	private final Node root = new Node();
+	private int stepDefinitionCount = 0;
+
+	/**
+	 * Constructor
+	 * 
+	 * @param stepDefinitionMap normalised step definition key and test unit map
+	 */
+	public BDDStepMatcher(Map<String, TestUnitObjectWrapper> stepDefinitionMap) {
+		for (Entry<String, TestUnitObjectWrapper> entry : stepDefinitionMap.entrySet()) {
+			add(entry.getKey(), entry.getValue());
+		}
+	}
+
+	/**
+	 * Adds step definition to the matcher. If same step definition is already added then it is replaced.
+	 * 
+	 * @param stepDefinition normalised step definition
+	 * @param unit test unit which implements step definition
+	 */
+	public void add(String stepDefinition, TestUnitObjectWrapper unit) {
+		String key = stepDefinition.trim();
+		Node node = root;
+		for (int i = 0; i < key.length(); i++) {
+			char c = key.charAt(i);
+			if (c == QUOTE && i + 1 < key.length() && key.charAt(i + 1) == QUOTE) {
+				// parameter slot
+				if (null == node.parameter) {
+					node.parameter = new Node();
+				}
+				node = node.parameter;
+				i++;
+			} else {
+				node = node.child(c, true);
+			}
+		}
+		if (null == node.unit) {
+			stepDefinitionCount++;
+		}
+		node.unit = unit;
+	}
+
+	/**
+	 * Finds step definition for provided step description and extracts in-line parameters in the same pass
+	 * 
+	 * @param stepDescription step description as written in feature file (without keyword)
+	 * @return match or null if step definition is not found
+	 */
+	public Match match(String stepDescription) {
+		String description = stepDescription.trim();
+		List<String> parameterList = new ArrayList<>();
+		Node node = root;
+		int length = description.length();
+
+		for (int i = 0; i < length && null != node; i++) {
+			char c = description.charAt(i);
+			int closingQuote = (c == QUOTE) ? description.indexOf(QUOTE, i + 1) : -1;
+			if (closingQuote != -1) {
+				// Anything between quotes is a parameter
+				parameterList.add(description.substring(i + 1, closingQuote));
+				node = node.parameter;
+				i = closingQuote;
+			} else {
+				node = node.child(c, false);
+			}
+		}
+
+		if (null == node || null == node.unit) {
+			return null;
+		}
+		return new Match(node.unit, parameterList);
+	}
+
+	/**
+	 * Returns number of step definitions known to this matcher
+	 * 
+	 * @return step definition count
+	 */
+	public int getStepDefinitionCount() {
+		return stepDefinitionCount;
+	}
+
+	/**
+	 * Result of successful step match
+	 */
+	public static class Match {
+		private final TestUnitObjectWrapper unit;
+		private final List<String> parameterList;
+
+		Match(TestUnitObjectWrapper unit, List<String> parameterList) {
+			this.unit = unit;
+			this.parameterList = parameterList;
+		}
+
+		public TestUnitObjectWrapper getUnit() {
+			return unit;
+		}
+
+		public List<String> getParameterList() {
+			return parameterList;
+		}
+	}
+
+	private static class Node {
+		// Literal characters are few per node, so small map is cheaper than an array for full char range
+		Map<Character, Node> children = null;
+		Node parameter = null;
+		TestUnitObjectWrapper unit = null;
+
+		Node child(char c, boolean create) {
+			Node next = (null == children) ? null : children.get(c);
+			if (null == next && create) {
+				if (null == children) {
+					children = new HashMap<>(4);
+				}
+				next = new Node();
+				children.put(c, next);
+			}
+			return next;
+		}
+	}
+}
@@ -0,0 +1,218 @@
+/*******************************************************************************
+ * Copyright (C) 2018-2019 Arpit Shah and Artos Contributors
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ ******************************************************************************/
+package com.artos.framework.infra;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InvalidObjectException;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.BaseStream;
+
+/**
+ * Adapts value returned by {@code DataProvider} method into parameter rows which are pulled one at a time. Runner only holds reference to the row
+ * which is being executed, so data provider which generates rows on demand or reads them from a file keeps memory usage flat and first row can start
+ * as soon as it is available.
+ * 
+ * <PRE>
+ * Supported data provider return types:
+ * - Object[][] (fully materialised rows)
+ * - Iterator&lt;Object[]&gt;
+ * - Iterable&lt;Object[]&gt;
+ * - Stream&lt;Object[]&gt; (stream is closed once all rows are consumed or execution is aborted)
+ * - null (no rows)
+ * Row which is not an Object[] is considered single parameter row, null row is considered row without parameters.
+ * </PRE>
+ */
+public class DataProviderRows implements Iterator<Object[]>, Closeable {
+
+	private final Iterator<?> iterator;
+	private final AutoCloseable resource;
+
+	/**
+	 * Constructor
+	 * 
+	 * @param data value returned by data provider method
+	 * @throws InvalidObjectException if data provider returned unsupported type
+	 */
+	public DataProviderRows(Object data) throws InvalidObjectException {
+		if (null == data) {
+			iterator = Collections.emptyIterator();
+			resource = null;
+		} else if (data instanceof Object[][]) {
+			iterator = Arrays.asList((Object[][]) data).iterator();
+			resource = null;
+		} else if (data instanceof BaseStream) {
+			iterator = ((BaseStream<?, ?>) data).iterator();
+			resource = (BaseStream<?, ?>) data;
+		} else if (data instanceof Iterable) {
+			iterator = ((Iterable<?>) data).iterator();
+			resource = (data instanceof AutoCloseable) ? (AutoCloseable) data : null;
+		} else if (data instanceof Iterator) {
+			iterator = (Iterator<?>) data;
+			resource = (data instanceof AutoCloseable) ? (AutoCloseable) data : null;
+		} else {
+			throw new InvalidObjectException("DataProvider returned unsupported type : " + data.getClass().getName()
+					+ ", supported types are Object[][], Iterator<Object[]>, Iterable<Object[]> and Stream<Object[]>");
+		}
+	}
+
+	@Override
+	public boolean hasNext() {
+		return iterator.hasNext();
+	}
+
+	@Override
+	public Object[] next() {
+		if (!iterator.hasNext()) {
+			throw new NoSuchElementException();
+		}
+		Object row = iterator.next();
+		if (null == row) {
+			return new Object[0];
+		}
+		if (row instanceof Object[]) {
+			return (Object[]) row;
+		}
+		return new Object[] { row };
+	}
+
+	/**
+	 * Executes remaining rows in parallel using fixed size thread pool. Rows are pulled only when there is room in the execution window (twice the
+	 * thread count) and finished rows are merged on the calling thread in row order as soon as all preceding rows are merged, so outcome does not
+	 * depend on thread finishing order and memory usage does not grow with row count. If execution stops early (data provider failure, failed row
+	 * or interrupt) then rows which already finished are still merged in row order, rows which did not finish are aborted instead and their
+	 * outcome is never merged.
+	 * 
+	 * @param threadCount number of rows executed at the same time
+	 * @param factory creates execution of each row, called on the calling thread in row order
+	 * @throws Exception if row could not be pulled, row execution failed or thread is interrupted
+	 */
+	public void runConcurrently(int threadCount, ConcurrentRowFactory factory) throws Exception {
+		int windowSize = threadCount * 2;
+		ExecutorService service = Executors.newFixedThreadPool(threadCount);
+		// Rows which are submitted but not merged yet, in row order
+		Deque<Future<?>> futures = new ArrayDeque<>(windowSize);
+		Deque<ConcurrentRow> pendingRows = new ArrayDeque<>(windowSize);
+
+		try {
+			for (int i = 0; hasNext(); i++) {
+				// wait for oldest row if window is full
+				if (futures.size() == windowSize) {
+					futures.peek().get();
+					futures.poll();
+					pendingRows.poll().merge();
+				}
+				ConcurrentRow row = factory.create(next(), i);
+				futures.add(service.submit(() -> {
+					row.run();
+					return null;
+				}));
+				pendingRows.add(row);
+			}
+
+			// wait for remaining rows to complete before continuing
+			while (!futures.isEmpty()) {
+				futures.peek().get();
+				futures.poll();
+				pendingRows.poll().merge();
+			}
+		} finally {
+			// shut down the executor service so that threads can exit
+			service.shutdownNow();
+
+			// Row which is still running keeps changing its outcome, so only finished rows are merged
+			while (!futures.isEmpty()) {
+				if (futures.poll().isDone()) {
+					pendingRows.poll().merge();
+				} else {
+					pendingRows.poll().abort();
+				}
+			}
+		}
+	}
+
+	/**
+	 * Execution of one row by {@link DataProviderRows#runConcurrently(int, ConcurrentRowFactory)}
+	 */
+	public interface ConcurrentRow {
+
+		/**
+		 * Executes row, called on pool thread
+		 * 
+		 * @throws Exception if row execution failed
+		 */
+		void run() throws Exception;
+
+		/**
+		 * Merges outcome of finished row, called on the calling thread in row order
+		 */
+		void merge();
+
+		/**
+		 * Reports row which was not started or did not finish before execution stopped, called on the calling thread in row order
+		 */
+		void abort();
+	}
+
+	/**
+	 * Creates {@link ConcurrentRow} for a row pulled from data provider
+	 */
+	public interface ConcurrentRowFactory {
+
+		/**
+		 * @param row parameters of the row
+		 * @param index row index
+		 * @return row execution
+		 */
+		ConcurrentRow create(Object[] row, int index);
+	}
+
+	/**
+	 * Releases underlying stream or closeable source, rows which are not consumed yet are discarded
+	 * 
+	 * @throws IOException if source could not be closed, failure which is not an IOException is wrapped
+	 */
+	@Override
+	public void close() throws IOException {
+		if (null == resource) {
+			return;
+		}
+		try {
+			resource.close();
+		} catch (IOException | RuntimeException e) {
+			throw e;
+		} catch (Exception e) {
+			if (e instanceof InterruptedException) {
+				Thread.currentThread().interrupt();
+			}
+			throw new IOException("DataProvider source could not be closed", e);
+		}
+	}
+}
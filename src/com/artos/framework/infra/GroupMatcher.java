@@ -0,0 +1,166 @@
+/*******************************************************************************
+ * Copyright (C) 2018-2019 Arpit Shah and Artos Contributors
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ ******************************************************************************/
+package com.artos.framework.infra;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
+
+/**
+ * Decides if a test case, test unit or scenario belongs to user selected group(s). Group expressions are compiled once, so evaluating a test only
+ * costs one lookup per group name the test belongs to.
+ * 
+ * <PRE>
+ * Each group expression is made up of one or more terms joined with "&amp;", any term can be negated with "!"
+ * - SMOKE              : test belongs to SMOKE group
+ * - SMOKE &amp; !SLOW      : test belongs to SMOKE group but not to SLOW group
+ * - !SLOW              : single negated term excludes tests which belong to SLOW group, regardless of other expressions
+ * - REGRESSION_.*      : term is matched as exact group name or as regular expression
+ * 
+ * Test is selected if it matches at least one expression and is not excluded. If all expressions are exclusions then all other tests are selected.
+ * </PRE>
+ * 
+ * Matcher is thread safe, result of matching a group name against all terms is remembered, so regular expressions are evaluated at most once per
+ * distinct group name.
+ */
+public final class GroupMatcher {
+
+	private final List<String> refGroupList;
+	private final List<String> termLiteralList = new ArrayList<>();
+	private final List<Pattern> termPatternList = new ArrayList<>();
+	// Term index of each expression, negated term is stored as ~index
+	private final List<int[]> includeList = new ArrayList<>();
+	private final BitSet excludeTerms = new BitSet();
+	// Group name => terms matched by group name
+	private final ConcurrentMap<String, BitSet> groupCache = new ConcurrentHashMap<>();
+
+	/**
+	 * Compiles provided group expressions
+	 * 
+	 * @param refGroupList list of user defined group expressions, null means nothing is selected
+	 */
+	public GroupMatcher(List<String> refGroupList) {
+		this.refGroupList = refGroupList;
+		if (null == refGroupList) {
+			return;
+		}
+
+		for (String refGroup : refGroupList) {
+			if (null == refGroup) {
+				continue;
+			}
+			String[] termArray = refGroup.split("&");
+			if (termArray.length == 1 && isNegated(termArray[0])) {
+				excludeTerms.set(getTermIndex(termArray[0].trim().substring(1).trim()));
+				continue;
+			}
+
+			int[] expression = new int[termArray.length];
+			for (int i = 0; i < termArray.length; i++) {
+				String term = termArray[i].trim();
+				expression[i] = isNegated(term) ? ~getTermIndex(term.substring(1).trim()) : getTermIndex(term);
+			}
+			includeList.add(expression);
+		}
+	}
+
+	private static boolean isNegated(String term) {
+		return term.trim().startsWith("!");
+	}
+
+	private int getTermIndex(String term) {
+		int index = termLiteralList.indexOf(term);
+		if (index >= 0) {
+			return index;
+		}
+
+		// Group name may or may not be a valid regular expression (Example : "*")
+		Pattern pattern = null;
+		try {
+			pattern = Pattern.compile(term);
+		} catch (PatternSyntaxException e) {
+			// match literally
+		}
+		termLiteralList.add(term);
+		termPatternList.add(pattern);
+		return termLiteralList.size() - 1;
+	}
+
+	/**
+	 * Validate if test belongs to any user defined group expression
+	 * 
+	 * @param testGroupList list of group test belongs to
+	 * @return true if test matches at least one of the group expressions and none of the exclusions, otherwise false
+	 */
+	public boolean matches(List<String> testGroupList) {
+		if (null == refGroupList || null == testGroupList) {
+			return false;
+		}
+
+		BitSet matchedTerms = new BitSet();
+		for (String group : testGroupList) {
+			matchedTerms.or(groupCache.computeIfAbsent(group, this::matchTerms));
+		}
+
+		if (matchedTerms.intersects(excludeTerms)) {
+			return false;
+		}
+		if (includeList.isEmpty()) {
+			// Only exclusions are provided
+			return !excludeTerms.isEmpty();
+		}
+		for (int[] expression : includeList) {
+			if (matches(expression, matchedTerms)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private static boolean matches(int[] expression, BitSet matchedTerms) {
+		for (int term : expression) {
+			if (term >= 0 ? !matchedTerms.get(term) : matchedTerms.get(~term)) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private BitSet matchTerms(String group) {
+		BitSet matchedTerms = new BitSet(termLiteralList.size());
+		for (int i = 0; i < termLiteralList.size(); i++) {
+			Pattern pattern = termPatternList.get(i);
+			if (termLiteralList.get(i).equals(group) || (null != pattern && pattern.matcher(group).matches())) {
+				matchedTerms.set(i);
+			}
+		}
+		return matchedTerms;
+	}
+
+	public List<String> getRefGroupList() {
+		return refGroupList;
+	}
+}
@@ -32,9 +32,11 @@ import org.apache.logging.log4j.Level;
 import org.apache.logging.log4j.core.Appender;
 import org.apache.logging.log4j.core.Logger;
 import org.apache.logging.log4j.core.LoggerContext;
+import org.apache.logging.log4j.core.appender.AsyncAppender;
 import org.apache.logging.log4j.core.appender.RollingFileAppender;
 
 import com.artos.framework.FWStaticStore;
+import com.artos.utils.StreamReportWriter;
 import com.relevantcodes.extentreports.ExtentReports;
 
 /** Wrapper class which provides abstraction for logging mechanism */
@@ -46,6 +48,7 @@ public class LogWrapper {
 	Logger summaryLogger;
 	Logger realTimeLogger;
 	ExtentReports extent = null;
+	StreamReportWriter streamReportWriter = null;
 
 	/**
 	 * Constructor responsible for providing logWrapperObject per test suite
@@ -67,14 +70,20 @@ public class LogWrapper {
 		setGeneralLogger(loggerContext.getLogger(OrganisedLog.GENERAL_LOGGER_NAME_STX + threadNumber));
 		setSummaryLogger(loggerContext.getLogger(OrganisedLog.SUMMARY_LOGGER_NAME_STX + threadNumber));
 		setRealTimeLogger(loggerContext.getLogger(OrganisedLog.REALTIME_LOGGER_NAME_STX + threadNumber));
-		if (FWStaticStore.frameworkConfig.isEnableExtentReport()) {
+		if (FWStaticStore.frameworkConfig.isEnableExtentReport() || FWStaticStore.frameworkConfig.isEnableStreamReport()) {
 			while (getCurrentGeneralLogFiles().isEmpty()) {
 				// wait until file is created
 				System.err.print(".");
 			}
 			String logFilePath = getCurrentGeneralLogFiles().get(0).getAbsolutePath();
-			extent = new ExtentReports(logFilePath.substring(0, logFilePath.lastIndexOf(".")) + "-extent.html", true);
-			extent.loadConfig(new File(FWStaticStore.CONFIG_BASE_DIR + File.separator + "extent_configuration.xml"));
+			String reportBasePath = logFilePath.substring(0, logFilePath.lastIndexOf("."));
+			if (FWStaticStore.frameworkConfig.isEnableExtentReport()) {
+				extent = new ExtentReports(reportBasePath + "-extent.html", true);
+				extent.loadConfig(new File(FWStaticStore.CONFIG_BASE_DIR + File.separator + "extent_configuration.xml"));
+			}
+			if (FWStaticStore.frameworkConfig.isEnableStreamReport()) {
+				streamReportWriter = new StreamReportWriter(new File(reportBasePath + "-report.jsonl"));
+			}
 		}
 	}
 
@@ -1719,12 +1728,10 @@ public class LogWrapper {
 			Map.Entry<String, Appender> pair = (Map.Entry<String, Appender>) it.next();
 
 			generalLogger.trace(pair.getKey() + "=" + pair.getValue());
-			if (pair.getValue() instanceof RollingFileAppender) {
-				if (appenderName.equals(pair.getValue().getName())) {
-					String appender = ((RollingFileAppender) pair.getValue()).getFileName();
-					textLog.add(new File(appender));
-					generalLogger.trace(((RollingFileAppender) pair.getValue()).getFileName());
-				}
+			RollingFileAppender fileAppender = findRollingFileAppender(pair.getValue(), appenderName);
+			if (null != fileAppender) {
+				textLog.add(new File(fileAppender.getFileName()));
+				generalLogger.trace(fileAppender.getFileName());
 			}
 		}
 	}
@@ -1743,10 +1750,9 @@ public class LogWrapper {
 		Iterator<Entry<String, Appender>> it = appenders.entrySet().iterator();
 		while (it.hasNext()) {
 			Map.Entry<String, Appender> pair = (Map.Entry<String, Appender>) it.next();
-			if (pair.getValue() instanceof RollingFileAppender) {
-				if (appenderName.equals(pair.getValue().getName())) {
-					logFiles.add(new File(((RollingFileAppender) pair.getValue()).getFileName()));
-				}
+			RollingFileAppender fileAppender = findRollingFileAppender(pair.getValue(), appenderName);
+			if (null != fileAppender) {
+				logFiles.add(new File(fileAppender.getFileName()));
 			}
 		}
 	}
@@ -1765,12 +1771,38 @@ public class LogWrapper {
 		Iterator<Entry<String, Appender>> it = appenders.entrySet().iterator();
 		while (it.hasNext()) {
 			Map.Entry<String, Appender> pair = (Map.Entry<String, Appender>) it.next();
-			if (pair.getValue() instanceof RollingFileAppender) {
-				if (appenderName.equals(pair.getValue().getName())) {
-					logFiles.add(new File(((RollingFileAppender) pair.getValue()).getFileName()));
+			RollingFileAppender fileAppender = findRollingFileAppender(pair.getValue(), appenderName);
+			if (null != fileAppender) {
+				logFiles.add(new File(fileAppender.getFileName()));
+			}
+		}
+	}
+
+	/**
+	 * Returns rolling file appender with provided name if given appender is
+	 * the one or wraps it (async logging), otherwise returns null
+	 * 
+	 * @param appender
+	 *            Appender attached to the logger
+	 * @param appenderName
+	 *            Appender Name
+	 * @return RollingFileAppender or null
+	 */
+	private RollingFileAppender findRollingFileAppender(Appender appender, String appenderName) {
+		if (appender instanceof RollingFileAppender && appenderName.equals(appender.getName())) {
+			return (RollingFileAppender) appender;
+		}
+		if (appender instanceof AsyncAppender) {
+			for (String appenderRef : ((AsyncAppender) appender).getAppenderRefStrings()) {
+				if (appenderName.equals(appenderRef)) {
+					Appender wrappedAppender = loggerContext.getConfiguration().getAppender(appenderRef);
+					if (wrappedAppender instanceof RollingFileAppender) {
+						return (RollingFileAppender) wrappedAppender;
+					}
 				}
 			}
 		}
+		return null;
 	}
 
 	// ===================================================================
@@ -1816,4 +1848,12 @@ public class LogWrapper {
 	protected void setExtent(ExtentReports extent) {
 		this.extent = extent;
 	}
+
+	public StreamReportWriter getStreamReportWriter() {
+		return streamReportWriter;
+	}
+
+	protected void setStreamReportWriter(StreamReportWriter streamReportWriter) {
+		this.streamReportWriter = streamReportWriter;
+	}
 }
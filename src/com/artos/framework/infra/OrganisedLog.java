@@ -22,6 +22,7 @@
 package com.artos.framework.infra;
 
 import java.io.File;
+import java.util.ArrayList;
 import java.util.List;
 
 import org.apache.logging.log4j.Level;
@@ -38,7 +39,9 @@ import org.apache.logging.log4j.core.config.builder.api.LoggerComponentBuilder;
 import org.apache.logging.log4j.core.config.builder.api.RootLoggerComponentBuilder;
 import org.apache.logging.log4j.core.config.builder.impl.BuiltConfiguration;
 
+import com.artos.framework.Enums.QueueOverflowPolicy;
 import com.artos.framework.FWStaticStore;
+import com.artos.framework.parser.FrameworkConfigParser;
 import com.artos.framework.parser.TestSuite;
 
 /**
@@ -186,6 +189,12 @@ class OrganisedLog {
 		ComponentBuilder<?> triggeringPolicy = builder.newComponent("Policies");
 		triggeringPolicy.addComponent(builder.newComponent("SizeBasedTriggeringPolicy").addAttribute("size", "10MB"));
 
+		// Async logging, log events are handed over to bounded queue and written
+		// by background thread. File appenders flush at the end of each batch
+		// instead of after every event.
+		boolean enableAsyncLog = FWStaticStore.frameworkConfig.isEnableAsyncLog();
+		String immediateFlush = Boolean.toString(!enableAsyncLog);
+
 		// create a console appender
 		{
 			AppenderComponentBuilder appenderBuilder1 = builder.newAppender("console-log", "CONSOLE");
@@ -207,6 +216,7 @@ class OrganisedLog {
 				appenderBuilder2.addAttribute("filePattern", baseDir + logFileName + "-all-%d{yyyy-MM-dd_HH.mm.ss.SSS}.log");
 				appenderBuilder2.add(logFileLayout);
 				appenderBuilder2.addComponent(triggeringPolicy);
+				appenderBuilder2.addAttribute("immediateFlush", immediateFlush);
 				if (enableTextLog) {
 					builder.add(appenderBuilder2);
 				}
@@ -217,6 +227,7 @@ class OrganisedLog {
 				appenderBuilder3.addAttribute("filePattern", baseDir + logFileName + "-all-%d{yyyy-MM-dd_HH.mm.ss.SSS}.html");
 				appenderBuilder3.add(htmlLogFileLayout);
 				appenderBuilder3.addComponent(triggeringPolicy);
+				appenderBuilder3.addAttribute("immediateFlush", immediateFlush);
 				if (enableHTMLLog) {
 					builder.add(appenderBuilder3);
 				}
@@ -230,6 +241,7 @@ class OrganisedLog {
 				appenderBuilder6.addAttribute("filePattern", baseDir + logFileName + "-summary-%d{yyyy-MM-dd_HH.mm.ss.SSS}.log");
 				appenderBuilder6.add(summaryFileLayout);
 				appenderBuilder6.addComponent(triggeringPolicy);
+				appenderBuilder6.addAttribute("immediateFlush", immediateFlush);
 				if (enableTextLog) {
 					builder.add(appenderBuilder6);
 				}
@@ -240,6 +252,7 @@ class OrganisedLog {
 				appenderBuilder7.addAttribute("filePattern", baseDir + logFileName + "-summary-%d{yyyy-MM-dd_HH.mm.ss.SSS}.html");
 				appenderBuilder7.add(htmlSummaryFileLayout);
 				appenderBuilder7.addComponent(triggeringPolicy);
+				appenderBuilder7.addAttribute("immediateFlush", immediateFlush);
 				if (enableHTMLLog) {
 					builder.add(appenderBuilder7);
 				}
@@ -253,6 +266,7 @@ class OrganisedLog {
 				appenderBuilder8.addAttribute("filePattern", baseDir + logFileName + "-realtime-%d{yyyy-MM-dd_HH.mm.ss.SSS}.log");
 				appenderBuilder8.add(realTimeLogLayout);
 				appenderBuilder8.addComponent(triggeringPolicy);
+				appenderBuilder8.addAttribute("immediateFlush", immediateFlush);
 				if (enableTextLog) {
 					builder.add(appenderBuilder8);
 				}
@@ -263,6 +277,7 @@ class OrganisedLog {
 				appenderBuilder9.addAttribute("filePattern", baseDir + logFileName + "-realtime-%d{yyyy-MM-dd_HH.mm.ss.SSS}.html");
 				appenderBuilder9.add(htmlrealTimeLogLayout);
 				appenderBuilder9.addComponent(triggeringPolicy);
+				appenderBuilder9.addAttribute("immediateFlush", immediateFlush);
 				if (enableHTMLLog) {
 					builder.add(appenderBuilder9);
 				}
@@ -279,53 +294,45 @@ class OrganisedLog {
 				generalLoggerBuilder.addAttribute("additivity", false);
 				AppenderRefComponentBuilder appendRef1 = builder.newAppenderRef("console-log");
 				appendRef1.addAttribute("level", Level.ALL);
-				AppenderRefComponentBuilder appendRef2 = builder.newAppenderRef("all-log-text" + i);
-				appendRef2.addAttribute("level", Level.ALL);
-				AppenderRefComponentBuilder appendRef3 = builder.newAppenderRef("all-log-html" + i);
-				appendRef3.addAttribute("level", Level.ALL);
 
 				generalLoggerBuilder.add(appendRef1);
 
+				List<String> appenderNameList = new ArrayList<>();
 				if (enableTextLog) {
-					generalLoggerBuilder.add(appendRef2);
+					appenderNameList.add("all-log-text" + i);
 				}
 				if (enableHTMLLog) {
-					generalLoggerBuilder.add(appendRef3);
+					appenderNameList.add("all-log-html" + i);
 				}
+				addFileAppenderRefs(builder, generalLoggerBuilder, "all-log-async" + i, appenderNameList, enableAsyncLog);
 			}
 
 			// create new logger for summary
 			LoggerComponentBuilder summaryLoggerBuilder = builder.newLogger(summaryLoggerName, Level.ALL);
 			summaryLoggerBuilder.addAttribute("additivity", false);
 			{
-				AppenderRefComponentBuilder appendRef11 = builder.newAppenderRef("summary-log-text" + i);
-				appendRef11.addAttribute("level", Level.ALL);
-				AppenderRefComponentBuilder appendRef12 = builder.newAppenderRef("summary-log-html" + i);
-				appendRef12.addAttribute("level", Level.ALL);
-
+				List<String> appenderNameList = new ArrayList<>();
 				if (enableTextLog) {
-					summaryLoggerBuilder.add(appendRef11);
+					appenderNameList.add("summary-log-text" + i);
 				}
 				if (enableHTMLLog) {
-					summaryLoggerBuilder.add(appendRef12);
+					appenderNameList.add("summary-log-html" + i);
 				}
+				addFileAppenderRefs(builder, summaryLoggerBuilder, "summary-log-async" + i, appenderNameList, enableAsyncLog);
 			}
 
 			// create new logger for real time logs
 			LoggerComponentBuilder realTimeLoggerBuilder = builder.newLogger(realtimeLoggerName, Level.ALL);
 			realTimeLoggerBuilder.addAttribute("additivity", false);
 			{
-				AppenderRefComponentBuilder appendRef21 = builder.newAppenderRef("realtime-log-text" + i);
-				appendRef21.addAttribute("level", Level.ALL);
-				AppenderRefComponentBuilder appendRef22 = builder.newAppenderRef("realtime-log-html" + i);
-				appendRef22.addAttribute("level", Level.ALL);
-
+				List<String> appenderNameList = new ArrayList<>();
 				if (enableTextLog) {
-					realTimeLoggerBuilder.add(appendRef21);
+					appenderNameList.add("realtime-log-text" + i);
 				}
 				if (enableHTMLLog) {
-					realTimeLoggerBuilder.add(appendRef22);
+					appenderNameList.add("realtime-log-html" + i);
 				}
+				addFileAppenderRefs(builder, realTimeLoggerBuilder, "realtime-log-async" + i, appenderNameList, enableAsyncLog);
 			}
 
 			builder.add(generalLoggerBuilder);
@@ -352,6 +359,63 @@ class OrganisedLog {
 		return loggerContext;
 	}
 
+	/**
+	 * Adds file appender references to the logger. If async logging is enabled
+	 * then all file appenders are wrapped in a single Async appender so log
+	 * events are queued and written by background thread, otherwise appenders
+	 * are referenced directly.
+	 * 
+	 * @param builder
+	 *            configuration builder
+	 * @param loggerBuilder
+	 *            logger which requires file appenders
+	 * @param asyncAppenderName
+	 *            name of the Async appender
+	 * @param appenderNameList
+	 *            list of file appender names
+	 * @param enableAsyncLog
+	 *            Enable/disable async logging
+	 */
+	private void addFileAppenderRefs(ConfigurationBuilder<BuiltConfiguration> builder, LoggerComponentBuilder loggerBuilder, String asyncAppenderName,
+			List<String> appenderNameList, boolean enableAsyncLog) {
+		if (appenderNameList.isEmpty()) {
+			return;
+		}
+
+		if (!enableAsyncLog) {
+			for (String appenderName : appenderNameList) {
+				AppenderRefComponentBuilder appendRef = builder.newAppenderRef(appenderName);
+				appendRef.addAttribute("level", Level.ALL);
+				loggerBuilder.add(appendRef);
+			}
+			return;
+		}
+
+		/*
+		 * @formatter:off
+		 *
+		 * bufferSize = maximum number of log events held by the queue
+		 * blocking = true : caller waits for free slot, no log is lost
+		 *            false : log event is discarded when queue is full
+		 * shutdownTimeout = 0 : queued events are always written before JVM exits
+		 * 
+		 * @formatter:on
+		 */
+		FrameworkConfigParser frameworkConfig = FWStaticStore.frameworkConfig;
+		AppenderComponentBuilder asyncAppenderBuilder = builder.newAppender(asyncAppenderName, "Async");
+		asyncAppenderBuilder.addAttribute("bufferSize", frameworkConfig.getAsyncLogQueueSize());
+		asyncAppenderBuilder.addAttribute("blocking", frameworkConfig.getAsyncLogQueueFullPolicy() == QueueOverflowPolicy.BLOCK);
+		asyncAppenderBuilder.addAttribute("shutdownTimeout", 0);
+		for (String appenderName : appenderNameList) {
+			asyncAppenderBuilder.addComponent(builder.newAppenderRef(appenderName));
+		}
+		builder.add(asyncAppenderBuilder);
+
+		AppenderRefComponentBuilder appendRef = builder.newAppenderRef(asyncAppenderName);
+		appendRef.addAttribute("level", Level.ALL);
+		loggerBuilder.add(appendRef);
+	}
+
 	/** Returns Log Files Base Directory */
 	public String getLogBaseDir() {
 		return logBaseDir;
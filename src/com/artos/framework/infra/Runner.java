@@ -37,10 +37,13 @@ import java.util.concurrent.Future;
 
 import javax.xml.parsers.ParserConfigurationException;
 
+import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.core.LoggerContext;
 import org.xml.sax.SAXException;
 
 import com.artos.exception.InvalidDataException;
+import com.artos.framework.Enums.Importance;
+import com.artos.framework.Enums.TestStatus;
 import com.artos.framework.FWStaticStore;
 import com.artos.framework.parser.FrameworkConfigParser;
 import com.artos.framework.parser.TestScriptParser;
@@ -159,6 +162,7 @@ public class Runner {
 		{
 			ExecutorService service = Executors.newFixedThreadPool(threadCount + 20);
 			List<Future<Runnable>> futures = new ArrayList<>();
+			List<TestContext> contextList = new ArrayList<>();
 			CountDownLatch latch = new CountDownLatch(threadCount);
 
 			// create thread per test suite
@@ -183,6 +187,7 @@ public class Runner {
 				}
 
 				// Launch a thread with runnable
+				contextList.add(context);
 				Future<?> f = service.submit(new SuiteTask(context));
 				futures.add((Future<Runnable>) f);
 
@@ -199,11 +204,74 @@ public class Runner {
 			// Block until all threads complete execution
 			latch.await();
 
+			// Store test durations and outcomes for next run
+			TestHistory.get().save();
+
+			// Roll up results of all test suites
+			if (contextList.size() > 1) {
+				printCrossSuiteSummary(contextList, loggerContext);
+			}
+
 			// Terminate JVM
 			System.exit(0);
 		}
 	}
 
+	/**
+	 * Rolls up test case and test unit results of all test suites and logs combined summary once through root logger of the framework logger
+	 * context, summary of each test suite is already part of its own summary report
+	 * 
+	 * @param contextList test context of each test suite
+	 * @param loggerContext logger context shared by all test suites
+	 */
+	private void printCrossSuiteSummary(List<TestContext> contextList, LoggerContext loggerContext) {
+		TestResultCounter testCounter = new TestResultCounter();
+		TestResultCounter unitCounter = new TestResultCounter();
+
+		StringBuilder sb = new StringBuilder();
+		sb.append("\n");
+		sb.append(FWStaticStore.ARTOS_LINE_BREAK_1);
+		sb.append("\n");
+		sb.append("Combined Test Suite Summary");
+		for (TestContext context : contextList) {
+			testCounter.add(context.getTestCounter());
+			unitCounter.add(context.getUnitCounter());
+
+			String suiteName = null == context.getTestSuite() ? "" : context.getTestSuite().getSuiteName();
+			sb.append("\n");
+			sb.append(String.format("%-" + 20 + "s", suiteName));
+			appendResultCount(sb, context.getTestCounter());
+		}
+		sb.append("\n");
+		sb.append(FWStaticStore.ARTOS_LINE_BREAK_2);
+		sb.append("\n");
+		sb.append("[TestCases] ");
+		appendResultCount(sb, testCounter);
+		sb.append("\n");
+		sb.append("[TestUnits] ");
+		appendResultCount(sb, unitCounter);
+		sb.append("\n");
+		sb.append(FWStaticStore.ARTOS_LINE_BREAK_1);
+
+		loggerContext.getLogger(LogManager.ROOT_LOGGER_NAME).info(sb.toString());
+	}
+
+	private void appendResultCount(StringBuilder sb, TestResultCounter counter) {
+		sb.append("EXECUTED:" + String.format("%-" + 4 + "s", counter.getTotalCount()));
+		sb.append(" PASS:" + String.format("%-" + 4 + "s", counter.getCount(TestStatus.PASS)));
+		sb.append(" SKIP:" + String.format("%-" + 4 + "s", counter.getCount(TestStatus.SKIP)));
+		sb.append(" KTF:" + String.format("%-" + 4 + "s", counter.getCount(TestStatus.KTF)));
+		sb.append(" FAIL:" + String.format("%-" + 4 + "s", counter.getCount(TestStatus.FAIL)));
+		sb.append(" [");
+		sb.append("FATAL:" + String.format("%-" + 4 + "s", counter.getFailCount(Importance.FATAL)));
+		sb.append(" CRITICAL:" + String.format("%-" + 4 + "s", counter.getFailCount(Importance.CRITICAL)));
+		sb.append(" HIGH:" + String.format("%-" + 4 + "s", counter.getFailCount(Importance.HIGH)));
+		sb.append(" MEDIUM:" + String.format("%-" + 4 + "s", counter.getFailCount(Importance.MEDIUM)));
+		sb.append(" LOW:" + String.format("%-" + 4 + "s", counter.getFailCount(Importance.LOW)));
+		sb.append(" UNDEFINED:" + String.format("%-" + 4 + "s", counter.getFailCount(Importance.UNDEFINED)));
+		sb.append("]");
+	}
+
 	private void provideSchema() throws IOException {
 		// transfer XML validator
 		boolean transferXSD = true;
@@ -418,6 +486,16 @@ public class Runner {
 		runnerTestSuite.setLoopCount(loopCount);
 	}
 
+	/**
+	 * Sets number of test cases executed in parallel within test suite. If not set then framework configuration will be used, Test script takes
+	 * higher priority so if test script is provided then this will be ignored
+	 * 
+	 * @param parallelThreadCount number of test cases executed in parallel, 1 = sequential execution
+	 */
+	public void setParallelThreadCount(int parallelThreadCount) {
+		runnerTestSuite.setParallelThreadCount(parallelThreadCount);
+	}
+
 	/**
 	 * Sets the group list for test cases. If not set then all test cases will be run
 	 * 
@@ -23,17 +23,17 @@ package com.artos.framework.infra;
 
 import java.io.InvalidObjectException;
 import java.lang.reflect.InvocationTargetException;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.concurrent.Callable;
 import java.util.concurrent.ExecutionException;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
-import java.util.concurrent.Future;
-import java.util.concurrent.TimeUnit;
-import java.util.concurrent.TimeoutException;
 
 import com.artos.framework.Enums.TestStatus;
 import com.artos.framework.FWStaticStore;
+import com.artos.framework.listener.ExtentReportListener;
+import com.artos.framework.listener.StreamReportListener;
 import com.artos.interfaces.TestProgress;
 import com.artos.utils.UtilsFramework;
 
@@ -70,7 +70,7 @@ public class RunnerTestUnits {
 				// Run local before Method prior to any test Execution
 				if (null != t.getMethodBeforeTestCase()) {
 					notifyLocalBeforeTestCaseMethodExecutionStarted(t.getMethodBeforeTestCase().getName(), t);
-					t.getMethodBeforeTestCase().invoke(t.getTestClassObject().newInstance(), context);
+					t.getInvokerBeforeTestCase().invoke(context.getTestClassInstance(t.getTestClassObject()), context);
 					notifyLocalBeforeTestCaseMethodExecutionFinished(t);
 				}
 			} catch (Throwable e) {
@@ -105,7 +105,7 @@ public class RunnerTestUnits {
 				// Run local after Method prior to any test Execution
 				if (null != t.getMethodAfterTestCase()) {
 					notifyLocalAfterTestCaseMethodExecutionStarted(t.getMethodAfterTestCase().getName(), t);
-					t.getMethodAfterTestCase().invoke(t.getTestClassObject().newInstance(), context);
+					t.getInvokerAfterTestCase().invoke(context.getTestClassInstance(t.getTestClassObject()), context);
 					notifyLocalAfterTestCaseMethodExecutionFinished(t);
 				}
 			} catch (Throwable e) {
@@ -140,14 +140,14 @@ public class RunnerTestUnits {
 			// Run global before method prior to each test unit execution
 			if (null != context.getBeforeTestUnit()) {
 				notifyGlobalBeforeTestUnitMethodExecutionStarted(context.getBeforeTestUnit().getName(), unit);
-				context.getBeforeTestUnit().invoke(context.getPrePostRunnableObj().newInstance(), context);
+				context.getBeforeTestUnitInvoker().invoke(context.getTestClassInstance(context.getPrePostRunnableObj()), context);
 				notifyGlobalBeforeTestUnitMethodExecutionFinished(unit);
 			}
 
 			// Run custom before method prior to each test unit execution
 			if (null != t.getMethodBeforeTestUnit()) {
 				notifyLocalBeforeTestUnitMethodExecutionStarted(t, unit);
-				t.getMethodBeforeTestUnit().invoke(t.getTestClassObject().newInstance(), context);
+				t.getInvokerBeforeTestUnit().invoke(context.getTestClassInstance(t.getTestClassObject()), context);
 				notifyLocalBeforeTestUnitMethodExecutionFinished(unit);
 			}
 		} catch (Throwable e) {
@@ -181,14 +181,14 @@ public class RunnerTestUnits {
 			// Run custom after method post each test unit execution
 			if (null != t.getMethodAfterTestUnit()) {
 				notifyLocalAfterTestUnitMethodExecutionStarted(t, unit);
-				t.getMethodAfterTestUnit().invoke(t.getTestClassObject().newInstance(), context);
+				t.getInvokerAfterTestUnit().invoke(context.getTestClassInstance(t.getTestClassObject()), context);
 				notifyLocalAfterTestUnitMethodExecutionFinished(unit);
 			}
 
 			// Run global after method post each test unit execution
 			if (null != context.getAfterTestUnit()) {
 				notifyGlobalAfterTestUnitMethodExecutionStarted(context.getAfterTestUnit().getName(), unit);
-				context.getAfterTestUnit().invoke(context.getPrePostRunnableObj().newInstance(), context);
+				context.getAfterTestUnitInvoker().invoke(context.getTestClassInstance(context.getPrePostRunnableObj()), context);
 				notifyGlobalAfterTestUnitMethodExecutionFinished(unit);
 			}
 		} catch (Throwable e) {
@@ -204,14 +204,14 @@ public class RunnerTestUnits {
 	}
 
 	/**
-	 * Responsible for executing data provider method which upon successful execution returns an array of parameters. TestCase will be re-run using
-	 * all parameters available in the parameter array. If data provider method returns empty array or null then test case will be executed only once
-	 * with null arguments.
+	 * Responsible for executing data provider method which upon successful execution returns parameter rows. Test unit will be re-run using all
+	 * parameter rows, rows are pulled from data provider one at a time so iterator or stream based data provider does not need to hold all rows in
+	 * memory. If data provider method returns null or no rows then test unit will be executed only once with null arguments.
 	 * 
 	 * @param unit TestCase in format {@code TestUnitObjectWrapper}
 	 */
 	private void runParameterizedUnitTest(TestUnitObjectWrapper unit) {
-		Object[][] data = null;
+		Object data = null;
 		TestDataProvider dataProviderObj;
 
 		try {
@@ -228,10 +228,10 @@ public class RunnerTestUnits {
 			// Handle it because this executes method
 			try {
 				if (dataProviderObj.isStaticMethod()) {
-					data = (Object[][]) dataProviderObj.getMethod().invoke(null, context);
+					data = dataProviderObj.getInvoker().invoke(null, context);
 				} else {
 					/* NonStatic data provider method needs an instance */
-					data = (Object[][]) dataProviderObj.getMethod().invoke(dataProviderObj.getClassOfTheMethod().newInstance(), context);
+					data = dataProviderObj.getInvoker().invoke(context.getTestClassInstance(dataProviderObj.getClassOfTheMethod()), context);
 				}
 			} catch (InvocationTargetException e) {
 				context.getLogger().debug("=================================================");
@@ -240,13 +240,17 @@ public class RunnerTestUnits {
 				processInvocationTargetException(e);
 			}
 
-			// If data provider method returns null or empty object then execute test with
-			// null parameter
-			if (null == data || data.length == 0) {
-				executeChildTest(unit, new String[][] { {} }, 0);
-			} else {
-				for (int i = 0; i < data.length; i++) {
-					executeChildTest(unit, data, i);
+			try (DataProviderRows rows = new DataProviderRows(data)) {
+				// If data provider method returns null or empty object then execute test with
+				// null parameter
+				if (!rows.hasNext()) {
+					executeChildTest(unit, new Object[0], 0);
+				} else if (unit.getDataProviderThreadCount() > 1) {
+					runConcurrentChildTests(unit, rows);
+				} else {
+					for (int i = 0; rows.hasNext(); i++) {
+						executeChildTest(unit, rows.next(), i);
+					}
 				}
 			}
 		} catch (Exception e) {
@@ -260,6 +264,87 @@ public class RunnerTestUnits {
 		}
 	}
 
+	/**
+	 * Responsible for executing data provider rows in parallel using fixed size thread pool. Each row is executed by its own row context so
+	 * parameterised objects and test unit status are not shared between threads. Row outcomes are merged into current context in data provider row
+	 * order, so summary report does not depend on thread finishing order. Row which did not finish because execution stopped early is reported as
+	 * aborted and its outcome is not merged.
+	 * 
+	 * @param unit TestUnit in format {@code TestUnitObjectWrapper}
+	 * @param rows data provider rows
+	 * @throws Exception if thread is interrupted or row could not complete
+	 */
+	private void runConcurrentChildTests(TestUnitObjectWrapper unit, DataProviderRows rows) throws Exception {
+		long startTime = System.currentTimeMillis();
+		try {
+			rows.runConcurrently(unit.getDataProviderThreadCount(), (row, index) -> {
+				TestContext rowContext = context.createDataProviderRowContext();
+
+				// Same listener instance can be registered with runner and context, so map them only once per row
+				Map<TestProgress, TestProgress> rowListenerMap = new IdentityHashMap<>();
+				rowContext.listenerList = createRowListenerList(context.listenerList, rowContext, rowListenerMap);
+
+				RunnerTestUnits rowRunner = new RunnerTestUnits(rowContext, createRowListenerList(listenerList, rowContext, rowListenerMap));
+				rowRunner.t = t;
+				return new DataProviderRows.ConcurrentRow() {
+					@Override
+					public void run() throws Exception {
+						rowRunner.executeChildTest(unit, row, index);
+					}
+
+					@Override
+					public void merge() {
+						context.mergeDataProviderRowContext(unit, rowContext);
+					}
+
+					@Override
+					public void abort() {
+						context.getLogger().warn("Data provider row {} of {} aborted, outcome is not recorded", index,
+								unit.getTestUnitMethod().getName());
+					}
+				};
+			});
+		} finally {
+			// Rows overlap each other so unit duration is measured from first row start to last row finish
+			unit.setTestUnitStartTime(startTime);
+			unit.setTestUnitFinishTime(System.currentTimeMillis());
+		}
+	}
+
+	/**
+	 * Creates listener list for data provider row or Scenario Outline example row context. Extent and stream report listeners track report node of
+	 * current execution so each row gets its own instance, all other listeners are shared.
+	 * 
+	 * @param parentListenerList listeners of the current runner or context
+	 * @param rowContext row context
+	 * @param rowListenerMap listeners already created for this row
+	 * @return row listener list
+	 */
+	static List<TestProgress> createRowListenerList(List<TestProgress> parentListenerList, TestContext rowContext,
+			Map<TestProgress, TestProgress> rowListenerMap) {
+		List<TestProgress> rowListenerList = new ArrayList<>(parentListenerList.size());
+		for (TestProgress listener : parentListenerList) {
+			rowListenerList.add(rowListenerMap.computeIfAbsent(listener, l -> createRowListener(l, rowContext)));
+		}
+		return rowListenerList;
+	}
+
+	/**
+	 * Report listeners hold node of the test case being executed so each row requires its own instance, all other listeners are shared
+	 * 
+	 * @param listener listener of the current runner or context
+	 * @param rowContext row context
+	 * @return listener to be used by the row
+	 */
+	private static TestProgress createRowListener(TestProgress listener, TestContext rowContext) {
+		if (listener instanceof ExtentReportListener) {
+			return new ExtentReportListener(rowContext, (ExtentReportListener) listener);
+		} else if (listener instanceof StreamReportListener) {
+			return new StreamReportListener(rowContext, (StreamReportListener) listener);
+		}
+		return listener;
+	}
+
 	/**
 	 * Responsible for execution of a test unit.
 	 * 
@@ -272,7 +357,7 @@ public class RunnerTestUnits {
 			notifyTestUnitExecutionStarted(unit);
 
 			// Run single unit
-			unit.getTestUnitMethod().invoke(t.getTestClassObject().newInstance(), context);
+			unit.getTestUnitInvoker().invoke(context.getTestClassInstance(t.getTestClassObject()), context);
 
 			notifyTestUnitExecutionFinished(unit);
 
@@ -302,23 +387,19 @@ public class RunnerTestUnits {
 	 * @throws Throwable Exception during test execution
 	 */
 	private void runUnitTestWithTimeout(TestUnitObjectWrapper unit) throws Throwable {
-		ExecutorService executor = Executors.newSingleThreadExecutor();
-		Future<String> future = executor.submit(new Callable<String>() {
+		Callable<String> task = new Callable<String>() {
 			@Override
 			public String call() throws Exception {
 				runSimpleUnitTest(unit);
 				return "TEST UNIT FINISHED WITHIN TIME";
 			}
-		});
+		};
 
 		try {
-			// System.out.println(future.get(t.getTestTimeout(), TimeUnit.MILLISECONDS));
-			future.get(unit.getTestTimeout(), TimeUnit.MILLISECONDS);
-		} catch (TimeoutException e) {
-			future.cancel(true);
-			context.setTestStatus(TestStatus.FAIL, "TEST UNIT TIMED OUT");
+			if (!TestTimeoutExecutor.run(task, unit.getTestTimeout(), "test unit " + unit.getTestUnitMethod().getName(), context.getLogger())) {
+				context.setTestStatus(TestStatus.FAIL, "TEST UNIT TIMED OUT");
+			}
 		} catch (ExecutionException e) {
-			future.cancel(true);
 			if (null == e.getCause()) {
 				// If no cause is listed then process parent exception
 				throw e;
@@ -335,24 +416,25 @@ public class RunnerTestUnits {
 	}
 
 	/**
-	 * Responsible for execution of test units (Considered as child test units) with given parameter. Parameterised object array index and value(s)
+	 * Responsible for execution of test units (Considered as child test units) with given parameter. Parameterised object row index and value(s)
 	 * class type(s) will be printed prior to test execution for user's benefit.
 	 * 
 	 * @param unit TestCase in format {@code TestUnitObjectWrapper}
-	 * @param data Array of parameters
-	 * @param arrayIndex Parameter array index
+	 * @param row parameters of this row
+	 * @param arrayIndex Parameter row index
 	 */
-	private void executeChildTest(TestUnitObjectWrapper unit, Object[][] data, int arrayIndex) {
+	private void executeChildTest(TestUnitObjectWrapper unit, Object[] row, int arrayIndex) {
 		String userInfo = "DataProvider(" + arrayIndex + ")  : ";
-		if (data[arrayIndex].length == 2) {
-			context.setParameterisedObject1(null == data[arrayIndex][0] ? null : data[arrayIndex][0]);
-			context.setParameterisedObject2(null == data[arrayIndex][1] ? null : data[arrayIndex][1]);
+		context.setTestUnitParameterIndex(arrayIndex);
+		if (row.length == 2) {
+			context.setParameterisedObject1(row[0]);
+			context.setParameterisedObject2(row[1]);
 			String firstType = (context.getParameterisedObject1().getClass().getSimpleName());
 			String secondType = (context.getParameterisedObject2().getClass().getSimpleName());
 			userInfo += "[" + firstType + "][" + secondType + "]";
 
-		} else if (data[arrayIndex].length == 1) {
-			context.setParameterisedObject1(null == data[arrayIndex][0] ? null : data[arrayIndex][0]);
+		} else if (row.length == 1) {
+			context.setParameterisedObject1(row[0]);
 			context.setParameterisedObject2(null);
 			String firstType = (context.getParameterisedObject1().getClass().getSimpleName());
 			userInfo += "[" + firstType + "][]";
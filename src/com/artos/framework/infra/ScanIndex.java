@@ -0,0 +1,580 @@
+/*******************************************************************************
+ * Copyright (C) 2018-2019 Arpit Shah and Artos Contributors
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ ******************************************************************************/
+package com.artos.framework.infra;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Method;
+import java.net.MalformedURLException;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+import java.util.jar.Attributes;
+import java.util.jar.JarFile;
+import java.util.jar.Manifest;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.reflections.Reflections;
+import org.reflections.scanners.MethodAnnotationsScanner;
+import org.reflections.scanners.SubTypesScanner;
+import org.reflections.scanners.TypeAnnotationsScanner;
+
+import com.artos.annotation.AfterTest;
+import com.artos.annotation.AfterTestUnit;
+import com.artos.annotation.BeforeTest;
+import com.artos.annotation.BeforeTestUnit;
+import com.artos.annotation.DataProvider;
+import com.artos.annotation.StepDefinition;
+import com.artos.annotation.TestCase;
+import com.artos.annotation.Unit;
+import com.artos.framework.FWStaticStore;
+import com.artos.utils.UtilsFile;
+
+/**
+ * Result of a classpath scan for one base package. Holds test case classes, test methods (units and before/after hooks) of each test case, data
+ * provider methods and step definition methods.
+ * 
+ * <PRE>
+ * Scan index is found in following order:
+ * 1. Build time index packaged on the classpath as META-INF/artos/scan-index/&lt;package&gt;.idx (see {@link #main(String[])})
+ * 2. Scan cache stored in ./cache/scan/ directory, only if classpath fingerprint has not changed
+ * 3. Full scan of the classpath using reflections, result is stored in scan cache
+ * </PRE>
+ * 
+ * Classpath fingerprint is made up of length and last modified time of each jar on the class path (including jars listed in manifest
+ * {@code Class-Path} of a launcher jar) and of each class file under the base package of each class path directory, so index is thrown away as
+ * soon as a jar is replaced or a class is compiled again. Index is a plain text file, one entry per line, methods are written as
+ * {@code declaringClass#name(parameterType,...)}.
+ * 
+ * Scan index is immutable once created and only one index is created per package per JVM, so all test suites launched by {@link Runner} share
+ * the same scan and filter it using their own group and test lists. Test suites which request the same package concurrently wait for the first
+ * scan to complete.
+ */
+public final class ScanIndex {
+
+	private static final String HEADER = "# Artos scan index";
+	private static final int VERSION = 1;
+	private static final String RESOURCE_DIR = "META-INF/artos/scan-index/";
+	private static final String CACHE_DIR = FWStaticStore.CACHE_BASE_DIR + "scan" + File.separator;
+
+	// One scan index per package, shared by all test suites of this JVM. Scan runs outside the map, so other packages are never blocked by it
+	private static final ConcurrentMap<String, FutureTask<ScanIndex>> INDEX_MAP = new ConcurrentHashMap<>();
+
+	private final String packageName;
+	private final List<Class<?>> testCaseList = new ArrayList<>();
+	private final Map<Class<?>, List<Method>> testMethodMap = new HashMap<>();
+	private final List<Method> dataProviderList = new ArrayList<>();
+	private final List<Method> stepDefinitionList = new ArrayList<>();
+
+	private ScanIndex(String packageName) {
+		this.packageName = packageName;
+	}
+
+	/**
+	 * Returns scan index for provided package. Index is created only once per JVM, subsequent calls return the same index.
+	 * 
+	 * @param packageName base package name, empty string for root package
+	 * @return scan index
+	 */
+	static ScanIndex get(String packageName) {
+		FutureTask<ScanIndex> task = INDEX_MAP.computeIfAbsent(packageName, key -> new FutureTask<>(() -> load(key)));
+		// Only the first caller loads the index, other callers return immediately and wait for the result
+		task.run();
+		try {
+			return task.get();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException("Interrupted while waiting for scan of package : " + packageName, e);
+		} catch (ExecutionException e) {
+			// Failed scan is not remembered, next call scans again
+			INDEX_MAP.remove(packageName, task);
+			Throwable cause = e.getCause();
+			if (cause instanceof RuntimeException) {
+				throw (RuntimeException) cause;
+			} else if (cause instanceof Error) {
+				throw (Error) cause;
+			}
+			throw new IllegalStateException(cause);
+		}
+	}
+
+	/**
+	 * Loads scan index for provided package. Build time index or scan cache is used if available, otherwise classpath is scanned and result is
+	 * stored in scan cache if scan cache is enabled.
+	 * 
+	 * @param packageName base package name, empty string for root package
+	 * @return scan index
+	 */
+	private static ScanIndex load(String packageName) {
+		boolean useCache = null != FWStaticStore.frameworkConfig && FWStaticStore.frameworkConfig.isEnableScanCache();
+
+		ScanIndex index = loadResource(packageName);
+		if (null != index) {
+			FWStaticStore.logDebug("Scan index loaded from classpath resource");
+			return index;
+		}
+
+		String fingerprint = useCache ? fingerprint(packageName, System.getProperty("java.class.path")) : null;
+		return loadOrScan(packageName, getCacheFile(packageName), fingerprint);
+	}
+
+	/**
+	 * Loads scan index from scan cache, classpath is scanned if cache is missing, belongs to other fingerprint or refers to class or method which
+	 * can not be resolved. Scan result is stored in scan cache.
+	 * 
+	 * @param packageName base package name, empty string for root package
+	 * @param cacheFile scan cache file
+	 * @param fingerprint current classpath fingerprint, null if scan cache should not be used
+	 * @return scan index
+	 */
+	public static ScanIndex loadOrScan(String packageName, File cacheFile, String fingerprint) {
+		if (null != fingerprint) {
+			ScanIndex index = loadCache(cacheFile, packageName, fingerprint);
+			if (null != index) {
+				FWStaticStore.logDebug("Scan index loaded from " + cacheFile.getPath());
+				return index;
+			}
+		}
+
+		ScanIndex index = scan(packageName);
+		if (null != fingerprint) {
+			index.storeCache(cacheFile, fingerprint);
+		}
+		return index;
+	}
+
+	/**
+	 * Scans classpath for provided package using reflections
+	 * 
+	 * @param packageName base package name, empty string for root package
+	 * @return scan index
+	 */
+	public static ScanIndex scan(String packageName) {
+		ScanIndex index = new ScanIndex(packageName);
+		Reflections reflection = new Reflections(packageName, new MethodAnnotationsScanner(), new TypeAnnotationsScanner(),
+				new SubTypesScanner(false));
+
+		index.dataProviderList.addAll(reflection.getMethodsAnnotatedWith(DataProvider.class));
+		index.stepDefinitionList.addAll(reflection.getMethodsAnnotatedWith(StepDefinition.class));
+
+		for (Class<?> cl : reflection.getTypesAnnotatedWith(TestCase.class)) {
+
+			/*
+			 * Reflection constructor takes package name as an argument, It will find all packages which starts with package name, thus as a side
+			 * effect it will also pick up packages which starts with similar name. as an example: In search of "com.group" package, reflection will
+			 * also scan "com.groups" package. To avoid such a side effect, below check has been added.
+			 */
+			if (null != cl.getPackage()) {
+				// If package is root then do not apply filter
+				if (!"".equals(packageName)) {
+					String currentClassPackageName = cl.getPackage().getName();
+					if (!(currentClassPackageName.equals(packageName) || currentClassPackageName.startsWith(packageName + "."))) {
+						continue;
+					}
+				}
+			}
+
+			index.testCaseList.add(cl);
+			index.testMethodMap.put(cl, findTestMethods(cl));
+		}
+		return index;
+	}
+
+	/**
+	 * Finds methods annotated with {@link Unit}, {@link BeforeTestUnit}, {@link AfterTestUnit}, {@link BeforeTest} or {@link AfterTest} within
+	 * provided class and its super classes. Methods of the class are listed before methods of its super class.
+	 * 
+	 * @param testCase test case class
+	 * @return annotated method list
+	 */
+	static List<Method> findTestMethods(Class<?> testCase) {
+		List<Method> methodList = new ArrayList<>();
+		Class<?> klass = testCase;
+
+		// Scan method within all classes and super classes
+		while (null != klass && klass != Object.class) {
+			for (Method method : klass.getDeclaredMethods()) {
+				if (isTestMethod(method)) {
+					methodList.add(method);
+				}
+			}
+			// move to the upper class in the hierarchy in search for more methods
+			klass = klass.getSuperclass();
+		}
+		return methodList;
+	}
+
+	private static boolean isTestMethod(Method method) {
+		for (Annotation annotation : method.getDeclaredAnnotations()) {
+			Class<? extends Annotation> type = annotation.annotationType();
+			if (type == Unit.class || type == BeforeTestUnit.class || type == AfterTestUnit.class || type == BeforeTest.class
+					|| type == AfterTest.class) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	// =================================================================================================
+	// Index file
+	// =================================================================================================
+
+	private static ScanIndex loadResource(String packageName) {
+		ClassLoader loader = getClassLoader();
+		InputStream in = loader.getResourceAsStream(RESOURCE_DIR + getIndexName(packageName));
+		if (null == in) {
+			return null;
+		}
+		try (BufferedReader br = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8))) {
+			return read(br, packageName, null);
+		} catch (IOException | ReflectiveOperationException | RuntimeException | LinkageError e) {
+			System.err.println("[WARNING] : Scan index resource could not be used, classpath will be scanned : " + e);
+			return null;
+		}
+	}
+
+	private static ScanIndex loadCache(File cacheFile, String packageName, String fingerprint) {
+		if (!cacheFile.isFile()) {
+			return null;
+		}
+		try (BufferedReader br = Files.newBufferedReader(cacheFile.toPath(), StandardCharsets.UTF_8)) {
+			return read(br, packageName, fingerprint);
+		} catch (IOException | ReflectiveOperationException | RuntimeException | LinkageError e) {
+			// Class or method has disappeared without fingerprint change, scan again
+			return null;
+		}
+	}
+
+	private void storeCache(File cacheFile, String fingerprint) {
+		UtilsFile.tryWriteTextAtomic(cacheFile, bw -> write(bw, fingerprint));
+	}
+
+	/**
+	 * Reads index. All classes and methods are resolved, so any missing class or method is reported as an exception.
+	 * 
+	 * @param br reader
+	 * @param packageName expected package name
+	 * @param fingerprint expected classpath fingerprint, null if fingerprint should not be checked
+	 * @return scan index or null if index belongs to other package, version or fingerprint
+	 */
+	public static ScanIndex read(BufferedReader br, String packageName, String fingerprint) throws IOException, ReflectiveOperationException {
+		ScanIndex index = new ScanIndex(packageName);
+		Map<String, Class<?>> classMap = new HashMap<>();
+		boolean versionFound = false;
+		boolean packageFound = false;
+		boolean fingerprintFound = (null == fingerprint);
+
+		String line;
+		while ((line = br.readLine()) != null) {
+			if (line.isEmpty() || line.startsWith("#")) {
+				continue;
+			}
+			int separator = line.indexOf(' ');
+			String key = separator < 0 ? line : line.substring(0, separator);
+			String value = separator < 0 ? "" : line.substring(separator + 1);
+
+			if ("version".equals(key)) {
+				versionFound = Integer.toString(VERSION).equals(value);
+			} else if ("package".equals(key)) {
+				packageFound = packageName.equals(value);
+			} else if ("fingerprint".equals(key)) {
+				fingerprintFound = (null == fingerprint) || fingerprint.equals(value);
+			} else if (!versionFound || !packageFound || !fingerprintFound) {
+				// Header must be valid before any entry
+				return null;
+			} else if ("testcase".equals(key)) {
+				Class<?> cl = resolveClass(value, classMap);
+				index.testCaseList.add(cl);
+				index.testMethodMap.put(cl, new ArrayList<>());
+			} else if ("method".equals(key)) {
+				int methodSeparator = value.indexOf(' ');
+				Class<?> cl = resolveClass(value.substring(0, methodSeparator), classMap);
+				index.testMethodMap.get(cl).add(resolveMethod(value.substring(methodSeparator + 1), classMap));
+			} else if ("dataprovider".equals(key)) {
+				index.dataProviderList.add(resolveMethod(value, classMap));
+			} else if ("stepdefinition".equals(key)) {
+				index.stepDefinitionList.add(resolveMethod(value, classMap));
+			}
+		}
+		return (versionFound && packageFound && fingerprintFound) ? index : null;
+	}
+
+	/**
+	 * Writes index, methods are written as references which are resolved by {@link #read(BufferedReader, String, String)}
+	 * 
+	 * @param bw writer
+	 * @param fingerprint classpath fingerprint, null for build time index
+	 * @throws IOException if an I/O error occurs
+	 */
+	public void write(BufferedWriter bw, String fingerprint) throws IOException {
+		bw.write(HEADER);
+		bw.newLine();
+		bw.write("version " + VERSION);
+		bw.newLine();
+		bw.write("package " + packageName);
+		bw.newLine();
+		if (null != fingerprint) {
+			bw.write("fingerprint " + fingerprint);
+			bw.newLine();
+		}
+		for (Class<?> cl : testCaseList) {
+			bw.write("testcase " + cl.getName());
+			bw.newLine();
+			for (Method method : testMethodMap.get(cl)) {
+				bw.write("method " + cl.getName() + " " + toReference(method));
+				bw.newLine();
+			}
+		}
+		for (Method method : dataProviderList) {
+			bw.write("dataprovider " + toReference(method));
+			bw.newLine();
+		}
+		for (Method method : stepDefinitionList) {
+			bw.write("stepdefinition " + toReference(method));
+			bw.newLine();
+		}
+	}
+
+	private static String toReference(Method method) {
+		return method.getDeclaringClass().getName() + "#" + method.getName() + "("
+				+ Arrays.stream(method.getParameterTypes()).map(Class::getName).collect(Collectors.joining(",")) + ")";
+	}
+
+	private static Class<?> resolveClass(String className, Map<String, Class<?>> classMap) throws ClassNotFoundException {
+		Class<?> cl = classMap.get(className);
+		if (null == cl) {
+			cl = Class.forName(className, false, getClassLoader());
+			classMap.put(className, cl);
+		}
+		return cl;
+	}
+
+	private static Method resolveMethod(String reference, Map<String, Class<?>> classMap) throws ReflectiveOperationException {
+		int nameStart = reference.indexOf('#');
+		int parameterStart = reference.indexOf('(', nameStart);
+		Class<?> cl = resolveClass(reference.substring(0, nameStart), classMap);
+		String name = reference.substring(nameStart + 1, parameterStart);
+		String parameters = reference.substring(parameterStart + 1, reference.length() - 1);
+
+		for (Method method : cl.getDeclaredMethods()) {
+			if (method.getName().equals(name) && toReference(method).equals(reference)) {
+				return method;
+			}
+		}
+		throw new NoSuchMethodException(cl.getName() + "." + name + "(" + parameters + ")");
+	}
+
+	private static ClassLoader getClassLoader() {
+		ClassLoader loader = Thread.currentThread().getContextClassLoader();
+		return (null == loader) ? ScanIndex.class.getClassLoader() : loader;
+	}
+
+	private static String getIndexName(String packageName) {
+		return ("".equals(packageName) ? "_root" : packageName) + ".idx";
+	}
+
+	private static File getCacheFile(String packageName) {
+		return new File(CACHE_DIR + getIndexName(packageName));
+	}
+
+	/**
+	 * Calculates classpath fingerprint for provided package using length and last modified time of each jar and each class file under the package
+	 * directory of each classpath directory. Jars and directories listed in manifest {@code Class-Path} attribute of a jar are included as well,
+	 * because launcher jar usually puts test jars and their dependencies on the classpath that way.
+	 * 
+	 * @param packageName base package name
+	 * @param classPath class path, entries separated by {@link File#pathSeparator}
+	 * @return fingerprint or null if classpath is not known
+	 */
+	public static String fingerprint(String packageName, String classPath) {
+		if (null == classPath || classPath.isEmpty()) {
+			return null;
+		}
+		try {
+			MessageDigest digest = MessageDigest.getInstance("SHA-256");
+			Set<File> visited = new HashSet<>();
+			for (String entry : classPath.split(File.pathSeparator)) {
+				update(digest, new File(entry).getAbsoluteFile(), packageName, visited);
+			}
+			StringBuilder sb = new StringBuilder();
+			for (byte b : digest.digest()) {
+				sb.append(String.format("%02x", b));
+			}
+			return sb.toString();
+		} catch (NoSuchAlgorithmException | IOException e) {
+			return null;
+		}
+	}
+
+	private static void update(MessageDigest digest, File f, String packageName, Set<File> visited) throws IOException {
+		if (!visited.add(f)) {
+			return;
+		}
+		if (f.isFile()) {
+			update(digest, f.getPath(), f.length(), f.lastModified());
+			for (File manifestEntry : getManifestClassPath(f)) {
+				update(digest, manifestEntry, packageName, visited);
+			}
+		} else if (f.isDirectory()) {
+			update(digest, f.getPath(), 0, 0);
+			File packageDir = "".equals(packageName) ? f : new File(f, packageName.replace('.', File.separatorChar));
+			if (packageDir.isDirectory()) {
+				for (File classFile : listClassFiles(packageDir)) {
+					update(digest, classFile.getPath(), classFile.length(), classFile.lastModified());
+				}
+			}
+		} else {
+			// Missing entry still counts, so fingerprint changes once it appears
+			update(digest, f.getPath(), -1, -1);
+		}
+	}
+
+	/**
+	 * Returns entries of manifest {@code Class-Path} attribute, relative entries are resolved against directory of the jar
+	 * 
+	 * @param jar jar file
+	 * @return class path entries, empty list if file is not a jar or has no {@code Class-Path} attribute
+	 */
+	private static List<File> getManifestClassPath(File jar) {
+		List<File> entryList = new ArrayList<>();
+		try (JarFile jarFile = new JarFile(jar)) {
+			Manifest manifest = jarFile.getManifest();
+			String classPath = (null == manifest) ? null : manifest.getMainAttributes().getValue(Attributes.Name.CLASS_PATH);
+			if (null == classPath) {
+				return entryList;
+			}
+			URL base = jar.getParentFile().toURI().toURL();
+			for (String entry : classPath.trim().split("\\s+")) {
+				try {
+					URL url = new URL(base, entry);
+					if ("file".equals(url.getProtocol())) {
+						entryList.add(new File(url.toURI()).getAbsoluteFile());
+					}
+				} catch (MalformedURLException | URISyntaxException | IllegalArgumentException e) {
+					// Invalid entry is ignored by class loader as well
+				}
+			}
+		} catch (IOException e) {
+			// Not a jar file
+		}
+		return entryList;
+	}
+
+	private static void update(MessageDigest digest, String path, long length, long lastModified) {
+		digest.update((path + "|" + length + "|" + lastModified + "\n").getBytes(StandardCharsets.UTF_8));
+	}
+
+	private static List<File> listClassFiles(File dir) throws IOException {
+		try (Stream<Path> stream = Files.walk(dir.toPath())) {
+			return stream.filter(p -> p.toString().endsWith(".class")).sorted().map(Path::toFile).collect(Collectors.toList());
+		}
+	}
+
+	// =================================================================================================
+	// Build time index generator
+	// =================================================================================================
+
+	/**
+	 * Generates scan index at build time. Generated file should be packaged with test classes, so test jar does not require classpath scan at
+	 * runtime. Build time index is trusted as it is, it must be generated again whenever test classes change.
+	 * 
+	 * <PRE>
+	 * java -cp "artos.jar;test.jar" com.artos.framework.infra.ScanIndex com.company.tests ./target/classes
+	 * </PRE>
+	 * 
+	 * @param args base package name and output directory (META-INF/artos/scan-index/ is created within output directory)
+	 * @throws IOException if index could not be written
+	 */
+	public static void main(String[] args) throws IOException {
+		if (args.length != 2) {
+			System.err.println("Usage : ScanIndex <packageName> <outputDir>");
+			System.exit(1);
+		}
+		String packageName = args[0].trim();
+		File outputFile = new File(args[1], RESOURCE_DIR + getIndexName(packageName));
+		outputFile.getParentFile().mkdirs();
+
+		ScanIndex index = scan(packageName);
+		try (BufferedWriter bw = Files.newBufferedWriter(outputFile.toPath(), StandardCharsets.UTF_8)) {
+			index.write(bw, null);
+		}
+		System.out.println("Scan index (" + index.testCaseList.size() + " test cases) written to " + outputFile.getPath());
+	}
+
+	// =================================================================================================
+	// Getter
+	// =================================================================================================
+
+	public String getPackageName() {
+		return packageName;
+	}
+
+	/**
+	 * Returns test case classes within base package
+	 * 
+	 * @return test case class list
+	 */
+	public List<Class<?>> getTestCaseList() {
+		return Collections.unmodifiableList(testCaseList);
+	}
+
+	/**
+	 * Returns methods of provided test case class (including super classes) annotated with unit or before/after annotations
+	 * 
+	 * @param testCase test case class
+	 * @return method list, methods of the class are listed before methods of its super class
+	 */
+	public List<Method> getTestMethodList(Class<?> testCase) {
+		List<Method> methodList = testMethodMap.get(testCase);
+		return Collections.unmodifiableList(null == methodList ? findTestMethods(testCase) : methodList);
+	}
+
+	public List<Method> getDataProviderList() {
+		return Collections.unmodifiableList(dataProviderList);
+	}
+
+	public List<Method> getStepDefinitionList() {
+		return Collections.unmodifiableList(stepDefinitionList);
+	}
+}
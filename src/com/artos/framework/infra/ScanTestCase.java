@@ -25,7 +25,6 @@ import java.lang.annotation.Annotation;
 import java.lang.reflect.Method;
 import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.Comparator;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -52,8 +51,19 @@ public class ScanTestCase {
 	private List<TestUnitObjectWrapper> listOfTransformedTestUnits;
 
 	public ScanTestCase(TestContext context, TestObjectWrapper testObj) {
+		this(context, testObj, ScanIndex.findTestMethods(testObj.getTestClassObject()));
+	}
+
+	/**
+	 * Constructor
+	 * 
+	 * @param context test context
+	 * @param testObj current test case object
+	 * @param testMethodList annotated methods of the test case class and its super classes, as returned by {@link ScanIndex}
+	 */
+	ScanTestCase(TestContext context, TestObjectWrapper testObj, List<Method> testMethodList) {
 		this.context = context;
-		scanForTestUnits(testObj);
+		scanForTestUnits(testObj, testMethodList);
 	}
 
 	// **********************************************************************
@@ -66,52 +76,43 @@ public class ScanTestCase {
 	 * Scans for Test units within provided test class
 	 * 
 	 * @param testObj current test case object
+	 * @param testMethodList annotated methods of the test case class, methods of the class are listed before methods of its super class
 	 */
-	private void scanForTestUnits(TestObjectWrapper testObj) {
+	private void scanForTestUnits(TestObjectWrapper testObj, List<Method> testMethodList) {
 
 		List<Method> methods = new ArrayList<Method>();
-		Class<?> klass = testObj.getTestClassObject();
 		listOfTransformedTestUnits = new ArrayList<>();
 
-		// Scan method within all classes and super classes
-		while (klass != Object.class) {
-			/*
-			 * need to iterated thought hierarchy in order to retrieve methods from above the current instance iterate though the list of methods
-			 * declared in the class represented by klass variable, and add those annotated with the specified annotation
-			 */
-			final List<Method> allMethods = new ArrayList<Method>(Arrays.asList(klass.getDeclaredMethods()));
-			for (final Method method : allMethods) {
-
-				// If method is unit test then can not be pre post
-				if (isValidMethod(method, Unit.class)) {
-					methods.add(method);
-					continue;
-				}
+		// Methods of sub class come first, so first found before/after method wins
+		for (final Method method : testMethodList) {
 
-				// Do not explore in super classes if BeforeTestUnit method is found in existing class
-				if (null == testObj.getMethodBeforeTestUnit() && isValidMethod(method, BeforeTestUnit.class)) {
-					testObj.setMethodBeforeTestUnit(method);
-					continue;
-				}
-				// Do not explore in super classes if AfterTestUnit method is found in existing class
-				if (null == testObj.getMethodAfterTestUnit() && isValidMethod(method, AfterTestUnit.class)) {
-					testObj.setMethodAfterTestUnit(method);
-					continue;
-				}
+			// If method is unit test then can not be pre post
+			if (isValidMethod(method, Unit.class)) {
+				methods.add(method);
+				continue;
+			}
 
-				// Do not explore in super classes if BeforeTest method is found in existing class
-				if (null == testObj.getMethodBeforeTestCase() && isValidMethod(method, BeforeTest.class)) {
-					testObj.setMethodBeforeTestCase(method);
-					continue;
-				}
-				// Do not explore in super classes if AfterTest method is found in existing class
-				if (null == testObj.getMethodAfterTestCase() && isValidMethod(method, AfterTest.class)) {
-					testObj.setMethodAfterTestCase(method);
-					continue;
-				}
+			// Do not explore in super classes if BeforeTestUnit method is found in existing class
+			if (null == testObj.getMethodBeforeTestUnit() && isValidMethod(method, BeforeTestUnit.class)) {
+				testObj.setMethodBeforeTestUnit(method);
+				continue;
+			}
+			// Do not explore in super classes if AfterTestUnit method is found in existing class
+			if (null == testObj.getMethodAfterTestUnit() && isValidMethod(method, AfterTestUnit.class)) {
+				testObj.setMethodAfterTestUnit(method);
+				continue;
+			}
+
+			// Do not explore in super classes if BeforeTest method is found in existing class
+			if (null == testObj.getMethodBeforeTestCase() && isValidMethod(method, BeforeTest.class)) {
+				testObj.setMethodBeforeTestCase(method);
+				continue;
+			}
+			// Do not explore in super classes if AfterTest method is found in existing class
+			if (null == testObj.getMethodAfterTestCase() && isValidMethod(method, AfterTest.class)) {
+				testObj.setMethodAfterTestCase(method);
+				continue;
 			}
-			// move to the upper class in the hierarchy in search for more methods
-			klass = klass.getSuperclass();
 		}
 
 		// Iterate through all valid methods and construct a list of executable methods
@@ -126,6 +127,7 @@ public class ScanTestCase {
 
 			TestUnitObjectWrapper testUnitObj = new TestUnitObjectWrapper(method, unit.skip(), unit.sequence(), unit.dataprovider(),
 					unit.testtimeout());
+			testUnitObj.setDataProviderThreadCount(unit.dataproviderthreadcount());
 
 			// Test Plan is an optional attribute so it can be null
 			if (null != testplan) {
@@ -198,9 +200,7 @@ public class ScanTestCase {
 			}
 		}
 
-		List<String> groupList = context.getTestSuite().getTestUnitGroupList();
-
-		groupBasedFiltering(groupList);
+		groupBasedFiltering(context.getTestSuite().getTestUnitGroupMatcher());
 
 		// Clear list otherwise wrong methods will be added against wrong class
 		testUnitWrapperList_All.clear();
@@ -211,25 +211,15 @@ public class ScanTestCase {
 	 * Get all test unit objects from test case. Any test units with \"skip = true\" will be skipped. Test units will be ordered as per sequence
 	 * number
 	 */
-	private void groupBasedFiltering(List<String> refGroup) {
+	private void groupBasedFiltering(GroupMatcher groupMatcher) {
 		List<TestUnitObjectWrapper> listOfTestUnitObj = getTestUnitObjectWrapperList(true, true);
 		for (TestUnitObjectWrapper unit : listOfTestUnitObj) {
-			if (belongsToApprovedGroup(refGroup, unit.getGroupList())) {
+			if (groupMatcher.matches(unit.getGroupList())) {
 				listOfTransformedTestUnits.add(unit);
 			}
 		}
 	}
 
-	/**
-	 * logic to bubble sort the elements
-	 * 
-	 * @param testUnitObjWrapperList List of all test unit objects which requires sorting
-	 * @return
-	 */
-	private List<TestUnitObjectWrapper> bubble_srt_units(List<TestUnitObjectWrapper> testUnitWrapperList) {
-		return testUnitWrapperList.parallelStream().sorted(Comparator.comparing(m -> m.getTestsequence())).collect(Collectors.toList());
-	}
-
 	/**
 	 * Returns all scanned unit test cases wrapped with TestUnitObjWrapper components. if user has chosen to remove "SKIPPED" test cases then any test
 	 * units marked with "skip=true" will be omitted from the list. If user has chosen to sort by sequence number then test units will be sorted by
@@ -241,42 +231,13 @@ public class ScanTestCase {
 	 */
 	private List<TestUnitObjectWrapper> getTestUnitObjectWrapperList(boolean sortBySeqNum, boolean removeSkippedTests) {
 		if (sortBySeqNum) {
-			return removeSkippedTests ? bubble_srt_units(testUnitWrapperList_WithoutSkipped) : bubble_srt_units(testUnitWrapperList_All);
+			return TestOrdering.sortUnitsBySequence(removeSkippedTests ? testUnitWrapperList_WithoutSkipped : testUnitWrapperList_All);
 		}
 
 		// If sorting is not required
 		return removeSkippedTests ? testUnitWrapperList_WithoutSkipped : testUnitWrapperList_All;
 	}
 
-	/**
-	 * Validate if test case belongs to any user defined group(s)
-	 * 
-	 * @param refGroupList list of user defined group (list is made up of group name or regular expression)
-	 * @param testGroupList list of group test case belong to
-	 * @return true if test case belongs to at least one of the user defined groups, false if test case does not belong to any user defined groups
-	 */
-	private boolean belongsToApprovedGroup(List<String> refGroupList, List<String> testGroupList) {
-
-		if (null != refGroupList && null != testGroupList) {
-
-			// Check if string matches
-			if (refGroupList.stream().anyMatch(num -> testGroupList.contains(num))) {
-				return true;
-			} else {
-				// Check if group matches regular expression
-				for (String refGroup : refGroupList) {
-					for (String testcaseGroup : testGroupList) {
-						if (testcaseGroup.matches(refGroup)) {
-							return true;
-						}
-					}
-				}
-			}
-		}
-		return false;
-
-	}
-
 	/**
 	 * Validates if method follows all rules of being {@link Unit}
 	 * 
@@ -333,7 +294,7 @@ public class ScanTestCase {
 				groupList.add("*");
 			}
 
-			return belongsToApprovedGroup(context.getTestSuite().getTestUnitGroupList(), groupList);
+			return context.getTestSuite().getTestUnitGroupMatcher().matches(groupList);
 		}
 		*/
 		//@formatter:on
@@ -25,18 +25,12 @@ import java.lang.annotation.Annotation;
 import java.lang.reflect.Method;
 import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.Comparator;
 import java.util.HashMap;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.stream.Collectors;
 
-import org.reflections.Reflections;
-import org.reflections.scanners.MethodAnnotationsScanner;
-import org.reflections.scanners.SubTypesScanner;
-import org.reflections.scanners.TypeAnnotationsScanner;
-
 import com.artos.annotation.AfterTest;
 import com.artos.annotation.AfterTestSuite;
 import com.artos.annotation.AfterTestUnit;
@@ -65,7 +59,6 @@ import javassist.Modifier;
 public class ScanTestSuite {
 
 	TestContext context;
-	Reflections reflection;
 	List<TestObjectWrapper> testObjWrapperList_All = new ArrayList<>();
 	List<TestObjectWrapper> testObjWrapperList_WithoutSkipped = new ArrayList<>();
 
@@ -100,11 +93,11 @@ public class ScanTestSuite {
 	 */
 	private void scan(String packageName) {
 
-		// Find all annotation
-		reflection = new Reflections(packageName, new MethodAnnotationsScanner(), new TypeAnnotationsScanner(), new SubTypesScanner(false));
+		// Find all annotation (scan index is shared by all test suites and reused if classpath has not changed)
+		ScanIndex index = ScanIndex.get(packageName);
 
 		// GetAllDataProviderMethods => Filter Public methods => Get UpperCase DataProviderName => Store it
-		reflection.getMethodsAnnotatedWith(DataProvider.class).stream().filter(m -> Modifier.isPublic(m.getModifiers())).forEach(m -> {
+		index.getDataProviderList().stream().filter(m -> Modifier.isPublic(m.getModifiers())).forEach(m -> {
 			String dataProviderName = m.getAnnotation(DataProvider.class).name().toUpperCase();
 			TestDataProvider testDataProvider = new TestDataProvider(m, dataProviderName, m.getDeclaringClass(), Modifier.isStatic(m.getModifiers()));
 			if (dataProviderMap.containsKey(dataProviderName)) {
@@ -113,22 +106,8 @@ public class ScanTestSuite {
 			dataProviderMap.put(dataProviderName, testDataProvider);
 		});
 
-		for (Class<?> cl : reflection.getTypesAnnotatedWith(TestCase.class)) {
-
-			/*
-			 * Reflection constructor takes package name as an argument, It will find all packages which starts with package name, thus as a side
-			 * effect it will also pick up packages which starts with similar name. as an example: In search of "com.group" package, reflection will
-			 * also scan "com.groups" package. To avoid such a side effect, below check has been added.
-			 */
-			if (null != cl.getPackage()) {
-				// If package is root then do not apply filter
-				if (!"".equals(packageName)) {
-					String currentClassPackageName = cl.getPackage().getName();
-					if (!(currentClassPackageName.equals(packageName) || currentClassPackageName.startsWith(packageName + "."))) {
-						continue;
-					}
-				}
-			}
+		// Test cases outside of the package scope are already filtered by scan index
+		for (Class<?> cl : index.getTestCaseList()) {
 
 			TestCase testcase = cl.getAnnotation(TestCase.class);
 			TestPlan testplan = cl.getAnnotation(TestPlan.class);
@@ -224,7 +203,7 @@ public class ScanTestSuite {
 			}
 
 			// Get test units and store it in test object
-			ScanTestCase scanforTestUnits = new ScanTestCase(context, testobj);
+			ScanTestCase scanforTestUnits = new ScanTestCase(context, testobj, index.getTestMethodList(cl));
 			testobj.setTestUnitList(scanforTestUnits.getListOfTransformedTestUnits());
 
 			testObjWrapperList_All.add(testobj);
@@ -236,16 +215,6 @@ public class ScanTestSuite {
 		}
 	}
 
-	/**
-	 * logic to bubble sort the elements
-	 * 
-	 * @param testObjWrapperList List of all test objects which requires sorting
-	 * @return
-	 */
-	private List<TestObjectWrapper> bubble_srt(List<TestObjectWrapper> testObjWrapperList) {
-		return testObjWrapperList.parallelStream().sorted(Comparator.comparing(t -> t.getTestsequence())).collect(Collectors.toList());
-	}
-
 	/**
 	 * Generates test plan using annotation provided in the test case classes
 	 * 
@@ -280,78 +249,14 @@ public class ScanTestSuite {
 	 */
 	public List<TestObjectWrapper> getTestObjWrapperList(boolean sortBySeqNum, boolean removeSkippedTests, boolean sortWithinPackage) {
 
-		if (sortBySeqNum && sortWithinPackage) {
-			return removeSkippedTests ? sortWithinPackage(testObjWrapperList_WithoutSkipped) : sortWithinPackage(testObjWrapperList_All);
-		} else if (sortBySeqNum && !sortWithinPackage) {
-			return removeSkippedTests ? bubble_srt(testObjWrapperList_WithoutSkipped) : bubble_srt(testObjWrapperList_All);
+		if (sortBySeqNum) {
+			return TestOrdering.sortBySequence(removeSkippedTests ? testObjWrapperList_WithoutSkipped : testObjWrapperList_All, sortWithinPackage);
 		}
 
 		// If sorting is not required
 		return removeSkippedTests ? testObjWrapperList_WithoutSkipped : testObjWrapperList_All;
 	}
 
-	/**
-	 * Sort test cases within package scope so any test cases within same package will remain together and sorted by sequence number assigned to them
-	 * 
-	 * @param listToBeSorted list of {@code TestObjectWrapper} which requires sorting
-	 * @return List of sorted test cases (sorted within package scope)
-	 */
-	private List<TestObjectWrapper> sortWithinPackage(List<TestObjectWrapper> listToBeSorted) {
-		List<TestObjectWrapper> sortedList = new ArrayList<>();
-
-		// sort FQCNList by Name
-		FQCNList = FQCNList.parallelStream().sorted(Comparator.comparing(s -> s.toString())).collect(Collectors.toList());
-		// Generate seperateList per package using FQCN Info and add those lists to
-		// listOfTestsList
-		List<List<TestObjectWrapper>> listOfTestsList = getListOfTestsListPerFQCN(listToBeSorted, FQCNList);
-
-		// sort each list individually so test cases from same package remains together
-		for (List<TestObjectWrapper> testObjList : listOfTestsList) {
-			// Once sorted, Add All of the sorted test cases to master list
-			sortedList.addAll(bubble_srt(testObjList));
-		}
-
-		// Return master list
-		return sortedList;
-	}
-
-	/**
-	 * This function breaks down one large test list into small test lists per package name (Using FQCN) so it can be used to rearrange test without
-	 * loosing scope of the package. If test case(s) are created in root directory then package FQCN will be empty string.
-	 * 
-	 * @param testObjlist List of {@code TestObjectWrapper} which requires separation
-	 * @param FQCN List of Fully Qualified Path Name (Package Name)
-	 * @return
-	 */
-	private List<List<TestObjectWrapper>> getListOfTestsListPerFQCN(List<TestObjectWrapper> testObjlist, List<String> FQCN) {
-		List<List<TestObjectWrapper>> listOfTestsList = new ArrayList<>();
-
-		// Iterate through all FQCN. Empty String means no package
-		for (String packageFQCN : FQCN) {
-
-			// Create List per FQCN
-			List<TestObjectWrapper> list = new ArrayList<>();
-
-			// Iterate through all test cases
-			for (TestObjectWrapper testObj : testObjlist) {
-
-				// If test case in root directory (which means no package FQCN)
-				if (packageFQCN.equals("") && null == testObj.getTestClassObject().getPackage()) {
-					list.add(testObj);
-				} else if (!packageFQCN.equals("") && null != testObj.getTestClassObject().getPackage()
-						&& testObj.getTestClassObject().getPackage().getName().equals(packageFQCN)) {
-					list.add(testObj);
-				}
-			}
-
-			// Add testList to Master List
-			listOfTestsList.add(list);
-		}
-
-		// Return master list
-		return listOfTestsList;
-	}
-
 	/**
 	 * Returns all scanned test cases. If sorted option is selected then test cases within same packages will sorted as per sequence number. If remove
 	 * skipped test case is selected then any test case marked "skip=true" will be omitted from the list.
@@ -23,9 +23,11 @@ package com.artos.framework.infra;
 
 import java.lang.reflect.Method;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.TimeUnit;
 
@@ -49,33 +51,9 @@ public class TestContext {
 
 	private String strBugTrackingReference = "";
 
-	private long totalTestCount = 0;
-	private long currentPassCount = 0;
-	private long currentFailCount = 0;
-	private long currentSkipCount = 0;
-	private long currentKTFCount = 0;
-
-	// Test Importance for failed test cases
-	private int totalFatalCount = 0;
-	private int totalCriticalCount = 0;
-	private int totalHighCount = 0;
-	private int totalMediumCount = 0;
-	private int totalLowCount = 0;
-	private int totalUndefinedCount = 0;
-
-	private long totalUnitTestCount = 0;
-	private long currentUnitPassCount = 0;
-	private long currentUnitFailCount = 0;
-	private long currentUnitSkipCount = 0;
-	private long currentUnitKTFCount = 0;
-
-	// Test Importance for failed test units
-	private int totalUnitFatalCount = 0;
-	private int totalUnitCriticalCount = 0;
-	private int totalUnitHighCount = 0;
-	private int totalUnitMediumCount = 0;
-	private int totalUnitLowCount = 0;
-	private int totalUnitUndefinedCount = 0;
+	// Test case and test unit outcome counters, safe to be updated from multiple threads
+	private TestResultCounter testCounter = new TestResultCounter();
+	private TestResultCounter unitCounter = new TestResultCounter();
 
 	private TestSuite testSuite = null;
 	private CountDownLatch threadLatch;
@@ -90,6 +68,14 @@ public class TestContext {
 	private Method afterTest = null;
 	private Method beforeTestUnit = null;
 	private Method afterTestUnit = null;
+	private TestMethodInvoker beforeTestSuiteInvoker = null;
+	private TestMethodInvoker afterTestSuiteInvoker = null;
+	private TestMethodInvoker beforeTestInvoker = null;
+	private TestMethodInvoker afterTestInvoker = null;
+	private TestMethodInvoker beforeTestUnitInvoker = null;
+	private TestMethodInvoker afterTestUnitInvoker = null;
+	// Test class instances shared within a run when instance reuse is enabled
+	private ConcurrentHashMap<Class<?>, Object> testClassInstanceMap = new ConcurrentHashMap<>();
 
 	// Test suite start time
 	private long testSuiteStartTime = 0;
@@ -100,15 +86,30 @@ public class TestContext {
 	private int testParameterIndex = 0;
 	private int testUnitParameterIndex = 0;
 
-	// Global parameters
-	private Map<String, Object> globalObject = new HashMap<String, Object>();
-	private Map<String, String> globalString = new HashMap<String, String>();
+	// Global parameters (shared with parallel worker contexts, so must be synchronised)
+	private Map<String, Object> globalObject = Collections.synchronizedMap(new HashMap<String, Object>());
+	private Map<String, String> globalString = Collections.synchronizedMap(new HashMap<String, String>());
 	private Object parameterisedObject1 = null;
 	private Object parameterisedObject2 = null;
 
 	// FeatureFile Related Parameter
 	private Map<String, String> stepParameter = new HashMap<String, String>();
 
+	/*
+	 * Only set for worker context used during parallel test execution. Test results are recorded here instead of summary report so parent context
+	 * can merge them in test list order once all workers are finished.
+	 */
+	private List<SummaryRecord> summaryRecordList = null;
+
+	/*
+	 * Only set for row context used during concurrent data provider execution. Test unit outcome is recorded here instead of test unit object so
+	 * parent context can merge outcomes in data provider row order once all rows are finished.
+	 */
+	private List<TestStatus> unitOutcomeRecordList = null;
+
+	// Test cases and test units whose duration exceeded duration of previous runs, in test list order
+	private List<String> durationRegressionList = new ArrayList<>();
+
 	/**
 	 * Sets Test status in memory. Status is not finalised until generateTestSummary() function is called. This function stamps "FAIL HERE" warning as
 	 * soon as status is set to FAIL so user can pin point location of the failure
@@ -185,63 +186,57 @@ public class TestContext {
 			}
 		}
 
-		// Add to total test count
-		setTotalTestCount(getTotalTestCount() + 1);
-
-		// Store count details per status
-		if (getCurrentTestStatus() == TestStatus.PASS) {
-			setCurrentPassCount(getCurrentPassCount() + 1);
-		} else if (getCurrentTestStatus() == TestStatus.FAIL) {
-			setCurrentFailCount(getCurrentFailCount() + 1);
-
-			// Record test importance count in case of failure
-			if (t.getTestImportance() == Importance.FATAL) {
-				setTotalFatalCount(getTotalFatalCount() + 1);
-			} else if (t.getTestImportance() == Importance.CRITICAL) {
-				setTotalCriticalCount(getTotalCriticalCount() + 1);
-			} else if (t.getTestImportance() == Importance.HIGH) {
-				setTotalHighCount(getTotalHighCount() + 1);
-			} else if (t.getTestImportance() == Importance.MEDIUM) {
-				setTotalMediumCount(getTotalMediumCount() + 1);
-			} else if (t.getTestImportance() == Importance.LOW) {
-				setTotalLowCount(getTotalLowCount() + 1);
-			} else if (t.getTestImportance() == Importance.UNDEFINED) {
-				setTotalUndefinedCount(getTotalUndefinedCount() + 1);
-			}
-		} else if (getCurrentTestStatus() == TestStatus.SKIP) {
-			setCurrentSkipCount(getCurrentSkipCount() + 1);
-		} else if (getCurrentTestStatus() == TestStatus.KTF) {
-			setCurrentKTFCount(getCurrentKTFCount() + 1);
-		}
+		// Add to total test count and store count details per status
+		testCounter.record(getCurrentTestStatus(), t.getTestImportance());
 
 		long totalTestTime = t.getTestFinishTime() - t.getTestStartTime();
+		// Remember outcome so next run can order tests using history
+		TestHistory history = TestHistory.get();
+		checkDurationRegression(strTestFQCN, history.recordTest(strTestFQCN, totalTestTime, getCurrentTestStatus()), totalTestTime,
+				getCurrentTestStatus());
 		// Finalise and add test result in log file
 		getLogger().info("\nTest Result : {}", getCurrentTestStatus().name() + "\n" + FWStaticStore.ARTOS_LINE_BREAK_1);
 
-		// Finalise and add test summary to Summary report
-		appendSummaryReport(t, getCurrentTestStatus(), strTestFQCN, getStrBugTrackingReference(), getCurrentPassCount(), getCurrentFailCount(),
-				getCurrentSkipCount(), getCurrentKTFCount(), totalTestTime);
-		notifyTestResult(getCurrentTestStatus(), getStrBugTrackingReference());
-		// Update test object with final outcome, if parameterised test cases then status will be tracked in list
-		t.getTestOutcomeList().add(getCurrentTestStatus());
-
-		// Go through test unit of each log and print status of each test units into report
+		// Format summary of each test unit of this test
+		List<String> unitSummaryList = new ArrayList<>();
 		for (int i = 0; i < t.getTestUnitList().size(); i++) {
 			TestUnitObjectWrapper unit = t.getTestUnitList().get(i);
 			long totalTestUnitTime = unit.getTestUnitFinishTime() - unit.getTestUnitStartTime();
 
+			// Test unit which was not executed (stop on fail) has no outcome and no duration
+			if (!unit.getTestUnitOutcomeList().isEmpty()) {
+				String unitName = strTestFQCN + "#" + unit.getTestUnitMethod().getName();
+				TestStatus unitStatus = unit.getTestUnitOutcomeList().contains(TestStatus.FAIL) ? TestStatus.FAIL : unit.getTestUnitOutcomeList().get(0);
+				checkDurationRegression(unitName, history.recordUnit(unitName, totalTestUnitTime, unitStatus), totalTestUnitTime, unitStatus);
+			}
+
 			// go through outcome list of test unit and print them all
 			for (int j = 0; j < unit.getTestUnitOutcomeList().size(); j++) {
 				if (unit.getDataProviderName().equals("")) {
-					appendUnitSummaryReport(unit, unit.getTestUnitOutcomeList().get(j), unit.getTestUnitMethod().getName() + "(context)",
-							unit.getBugTrackingNumber(), totalTestUnitTime);
+					unitSummaryList.add(formatUnitSummaryReport(unit, unit.getTestUnitOutcomeList().get(j),
+							unit.getTestUnitMethod().getName() + "(context)", unit.getBugTrackingNumber(), totalTestUnitTime));
 				} else { // if data provider then append data provider number
-					appendUnitSummaryReport(unit, unit.getTestUnitOutcomeList().get(j),
-							unit.getTestUnitMethod().getName() + "(context)" + " : data[" + j + "]", unit.getBugTrackingNumber(), totalTestUnitTime);
+					unitSummaryList.add(formatUnitSummaryReport(unit, unit.getTestUnitOutcomeList().get(j),
+							unit.getTestUnitMethod().getName() + "(context)" + " : data[" + j + "]", unit.getBugTrackingNumber(), totalTestUnitTime));
 				}
 			}
 		}
 
+		if (null == summaryRecordList) {
+			// Finalise and add test summary to Summary report
+			appendSummaryReport(t, getCurrentTestStatus(), strTestFQCN, getStrBugTrackingReference(), getCurrentPassCount(), getCurrentFailCount(),
+					getCurrentSkipCount(), getCurrentKTFCount(), totalTestTime);
+			for (String unitSummary : unitSummaryList) {
+				getLogger().getSummaryLogger().info(unitSummary);
+			}
+		} else {
+			// Worker context, parent context will add it to summary report in test list order
+			summaryRecordList.add(new SummaryRecord(t, getCurrentTestStatus(), strTestFQCN, getStrBugTrackingReference(), totalTestTime, unitSummaryList));
+		}
+		notifyTestResult(getCurrentTestStatus(), getStrBugTrackingReference());
+		// Update test object with final outcome, if parameterised test cases then status will be tracked in list
+		t.getTestOutcomeList().add(getCurrentTestStatus());
+
 		// reset status for next test
 		resetUnitTestStatus();
 		resetTestStatus();
@@ -249,6 +244,149 @@ public class TestContext {
 		setKnownToFail(false, "");
 	}
 
+	/**
+	 * Returns instance of the test class on which test unit, before/after or data provider method is invoked. New instance is created for each call
+	 * unless test class instance reuse is enabled in framework configuration, in which case one instance per class is shared for the whole run
+	 * (including parallel workers).
+	 * 
+	 * @param testClass test class
+	 * @return instance of test class
+	 * @throws InstantiationException if the class has no nullary constructor or instantiation fails
+	 * @throws IllegalAccessException if the class or its nullary constructor is not accessible
+	 */
+	protected Object getTestClassInstance(Class<?> testClass) throws InstantiationException, IllegalAccessException {
+		if (!FWStaticStore.frameworkConfig.isReuseTestClassInstance()) {
+			return testClass.newInstance();
+		}
+		Object instance = testClassInstanceMap.get(testClass);
+		if (null == instance) {
+			instance = testClass.newInstance();
+			Object existingInstance = testClassInstanceMap.putIfAbsent(testClass, instance);
+			if (null != existingInstance) {
+				instance = existingInstance;
+			}
+		}
+		return instance;
+	}
+
+	/**
+	 * Creates worker context for parallel test execution. Worker context shares logger, test suite, before/after methods, data providers and global
+	 * parameters with this context but maintains its own test status, test counters and parameterised objects. Test unit outcomes are recorded directly
+	 * into unit counters of this context. Results recorded by worker context must be merged back using {@link #mergeWorkerContext(TestContext)}
+	 * 
+	 * @return worker {@code TestContext}
+	 */
+	protected TestContext createWorkerContext() {
+		TestContext worker = new TestContext();
+		worker.logWrapper = logWrapper;
+		worker.testSuite = testSuite;
+		worker.threadLatch = threadLatch;
+		worker.dataProviderMap = dataProviderMap;
+		worker.prePostRunnableObj = prePostRunnableObj;
+		worker.beforeTestSuite = beforeTestSuite;
+		worker.afterTestSuite = afterTestSuite;
+		worker.beforeTest = beforeTest;
+		worker.afterTest = afterTest;
+		worker.beforeTestUnit = beforeTestUnit;
+		worker.afterTestUnit = afterTestUnit;
+		worker.beforeTestSuiteInvoker = beforeTestSuiteInvoker;
+		worker.afterTestSuiteInvoker = afterTestSuiteInvoker;
+		worker.beforeTestInvoker = beforeTestInvoker;
+		worker.afterTestInvoker = afterTestInvoker;
+		worker.beforeTestUnitInvoker = beforeTestUnitInvoker;
+		worker.afterTestUnitInvoker = afterTestUnitInvoker;
+		worker.testClassInstanceMap = testClassInstanceMap;
+		worker.testSuiteStartTime = testSuiteStartTime;
+		worker.globalObject = globalObject;
+		worker.globalString = globalString;
+		worker.unitCounter = unitCounter;
+		worker.summaryRecordList = new ArrayList<>();
+		return worker;
+	}
+
+	/**
+	 * Merges results recorded by worker context into this context. Counters are updated and summary report is generated in the same way as if test
+	 * was executed by this context, so calling this method in test list order produces same summary report irrespective of worker finishing order.
+	 * 
+	 * @param worker worker context created using {@link #createWorkerContext()}
+	 */
+	protected void mergeWorkerContext(TestContext worker) {
+		if (null == worker.summaryRecordList) {
+			return;
+		}
+		for (SummaryRecord record : worker.summaryRecordList) {
+			if (null != record.scenario) {
+				testCounter.record(record.status, record.scenario.getTestImportance());
+				appendSummaryReport(record.scenario, record.status, record.strTestFQCN, record.bugTrackingNumber, getCurrentPassCount(),
+						getCurrentFailCount(), getCurrentSkipCount(), getCurrentKTFCount(), record.testDuration);
+			} else {
+				testCounter.record(record.status, record.t.getTestImportance());
+				appendSummaryReport(record.t, record.status, record.strTestFQCN, record.bugTrackingNumber, getCurrentPassCount(),
+						getCurrentFailCount(), getCurrentSkipCount(), getCurrentKTFCount(), record.testDuration);
+			}
+			for (String unitSummary : record.unitSummaryList) {
+				getLogger().getSummaryLogger().info(unitSummary);
+			}
+		}
+		worker.summaryRecordList.clear();
+		durationRegressionList.addAll(worker.durationRegressionList);
+		worker.durationRegressionList.clear();
+	}
+
+	/**
+	 * Creates row context which can execute one data provider row of a test unit in parallel with other rows. Row context is a worker context which
+	 * also inherits known to fail information of this context, listeners are registered by the runner. Row outcome must be merged back using
+	 * {@link #mergeDataProviderRowContext(TestUnitObjectWrapper, TestContext)}
+	 * 
+	 * @return row {@code TestContext}
+	 */
+	protected TestContext createDataProviderRowContext() {
+		TestContext row = createWorkerContext();
+		row.KnownToFail = KnownToFail;
+		row.strBugTrackingReference = strBugTrackingReference;
+		row.unitOutcomeRecordList = new ArrayList<>();
+		return row;
+	}
+
+	/**
+	 * Merges test unit outcome recorded by row context into test unit object and upgrades test case status of this context. Calling this method in
+	 * data provider row order produces same summary report as sequential execution irrespective of row finishing order.
+	 * 
+	 * @param unit {@link TestUnitObjectWrapper} executed by row context
+	 * @param row row context created using {@link #createDataProviderRowContext()}
+	 */
+	protected void mergeDataProviderRowContext(TestUnitObjectWrapper unit, TestContext row) {
+		if (null == row.unitOutcomeRecordList) {
+			return;
+		}
+		unit.getTestUnitOutcomeList().addAll(row.unitOutcomeRecordList);
+		row.unitOutcomeRecordList.clear();
+
+		// Test case status can not be down graded (FAIL=>KTF=>SKIP=>PASS), fail stamp is already printed by row context
+		if (row.currentTestStatus.getValue() >= currentTestStatus.getValue()) {
+			currentTestStatus = row.currentTestStatus;
+		}
+	}
+
+	/**
+	 * Logs warning and remembers test case or test unit if its duration exceeds duration of previous runs by more than configured threshold
+	 * 
+	 * @param name test case FQCN or test unit name
+	 * @param previous history prior to this run, can be null
+	 * @param duration duration of this run in milliseconds
+	 * @param status outcome of this run
+	 */
+	private void checkDurationRegression(String name, TestHistory.Record previous, long duration, TestStatus status) {
+		int threshold = null == FWStaticStore.frameworkConfig ? 0 : FWStaticStore.frameworkConfig.getDurationRegressionThreshold();
+		if (!TestHistory.isRegression(previous, duration, status, threshold)) {
+			return;
+		}
+		String regression = String.format("%s : %d ms, expected %d ms (+%d%%)", name, duration, previous.duration,
+				0 == previous.duration ? 100 : (duration - previous.duration) * 100 / previous.duration);
+		getLogger().warn("[WARNING] : Duration regressed " + regression);
+		durationRegressionList.add(regression);
+	}
+
 	/**
 	 * Concludes test unit result.
 	 * 
@@ -266,8 +404,16 @@ public class TestContext {
 			}
 		}
 
+		// Add to total test unit count and store count details per status
+		unitCounter.record(getCurrentUnitTestStatus(), unit.getTestImportance());
+
 		// Update test object with final outcome, if parameterised test cases then status will be tracked in list
-		unit.getTestUnitOutcomeList().add(getCurrentUnitTestStatus());
+		if (null == unitOutcomeRecordList) {
+			unit.getTestUnitOutcomeList().add(getCurrentUnitTestStatus());
+		} else {
+			// Row context, parent context will add it to test object in data provider row order
+			unitOutcomeRecordList.add(getCurrentUnitTestStatus());
+		}
 
 		// print test unit outcome on the console and log file
 		getLogger().info("[" + getCurrentUnitTestStatus().getEnumName(getCurrentUnitTestStatus().getValue()) + "] : "
@@ -296,47 +442,15 @@ public class TestContext {
 			}
 		}
 
-		// Add to total test count
-		setTotalTestCount(getTotalTestCount() + 1);
-
-		// Store count details per status
-		if (getCurrentTestStatus() == TestStatus.PASS) {
-			setCurrentPassCount(getCurrentPassCount() + 1);
-		} else if (getCurrentTestStatus() == TestStatus.FAIL) {
-			setCurrentFailCount(getCurrentFailCount() + 1);
-
-			// Record test importance count in case of failure
-			if (scenario.getTestImportance() == Importance.FATAL) {
-				setTotalFatalCount(getTotalFatalCount() + 1);
-			} else if (scenario.getTestImportance() == Importance.CRITICAL) {
-				setTotalCriticalCount(getTotalCriticalCount() + 1);
-			} else if (scenario.getTestImportance() == Importance.HIGH) {
-				setTotalHighCount(getTotalHighCount() + 1);
-			} else if (scenario.getTestImportance() == Importance.MEDIUM) {
-				setTotalMediumCount(getTotalMediumCount() + 1);
-			} else if (scenario.getTestImportance() == Importance.LOW) {
-				setTotalLowCount(getTotalLowCount() + 1);
-			} else if (scenario.getTestImportance() == Importance.UNDEFINED) {
-				setTotalUndefinedCount(getTotalUndefinedCount() + 1);
-			}
-		} else if (getCurrentTestStatus() == TestStatus.SKIP) {
-			setCurrentSkipCount(getCurrentSkipCount() + 1);
-		} else if (getCurrentTestStatus() == TestStatus.KTF) {
-			setCurrentKTFCount(getCurrentKTFCount() + 1);
-		}
+		// Add to total test count and store count details per status
+		testCounter.record(getCurrentTestStatus(), scenario.getTestImportance());
 
 		long totalTestTime = scenario.getTestFinishTime() - scenario.getTestStartTime();
 		// Finalise and add test result in log file
 		getLogger().info("\nScenario Result : {}", getCurrentTestStatus().name() + "\n" + FWStaticStore.ARTOS_LINE_BREAK_1);
 
-		// Finalise and add test summary to Summary report
-		appendSummaryReport(scenario, getCurrentTestStatus(), strTestFQCN, getStrBugTrackingReference(), getCurrentPassCount(), getCurrentFailCount(),
-				getCurrentSkipCount(), getCurrentKTFCount(), totalTestTime);
-		notifyTestResult(getCurrentTestStatus(), getStrBugTrackingReference());
-		// Update test object with final outcome, if parameterised test cases then status will be tracked in list
-		scenario.getTestOutcomeList().add(getCurrentTestStatus());
-
-		// Go through test unit of each log and print status of each test units into report
+		// Format summary of each test step of this scenario
+		List<String> unitSummaryList = new ArrayList<>();
 		for (int i = 0; i < scenario.getSteplist().size(); i++) {
 			BDDStep step = scenario.getSteplist().get(i);
 			TestUnitObjectWrapper unit = step.getUnit();
@@ -344,8 +458,8 @@ public class TestContext {
 
 			// go through outcome list of test unit and print them all
 			for (int j = 0; j < unit.getTestUnitOutcomeList().size(); j++) {
-				appendUnitSummaryReport(unit, unit.getTestUnitOutcomeList().get(j), step.getStepAction() + " " + step.getStepDescription(),
-						unit.getBugTrackingNumber(), totalTestUnitTime);
+				unitSummaryList.add(formatUnitSummaryReport(unit, unit.getTestUnitOutcomeList().get(j),
+						step.getStepAction() + " " + step.getStepDescription(), unit.getBugTrackingNumber(), totalTestUnitTime));
 			}
 
 			// This has to be done in BDD because same test can be called again in next scenario
@@ -353,6 +467,22 @@ public class TestContext {
 			unit.getTestUnitOutcomeList().clear();
 		}
 
+		if (null == summaryRecordList) {
+			// Finalise and add test summary to Summary report
+			appendSummaryReport(scenario, getCurrentTestStatus(), strTestFQCN, getStrBugTrackingReference(), getCurrentPassCount(),
+					getCurrentFailCount(), getCurrentSkipCount(), getCurrentKTFCount(), totalTestTime);
+			for (String unitSummary : unitSummaryList) {
+				getLogger().getSummaryLogger().info(unitSummary);
+			}
+		} else {
+			// Worker context, parent context will add it to summary report in scenario list order
+			summaryRecordList.add(new SummaryRecord(scenario, getCurrentTestStatus(), strTestFQCN, getStrBugTrackingReference(), totalTestTime,
+					unitSummaryList));
+		}
+		notifyTestResult(getCurrentTestStatus(), getStrBugTrackingReference());
+		// Update test object with final outcome, if parameterised test cases then status will be tracked in list
+		scenario.getTestOutcomeList().add(getCurrentTestStatus());
+
 		// reset status for next test
 		resetUnitTestStatus();
 		resetTestStatus();
@@ -373,36 +503,8 @@ public class TestContext {
 			}
 		}
 
-		// Add to total test count
-		setTotalUnitTestCount(getTotalUnitTestCount() + 1);
-
-		// Store count details per status
-		if (getCurrentUnitTestStatus() == TestStatus.PASS) {
-			setCurrentUnitPassCount(getCurrentUnitPassCount() + 1);
-		} else if (getCurrentUnitTestStatus() == TestStatus.FAIL) {
-			setCurrentUnitFailCount(getCurrentUnitFailCount() + 1);
-
-			// Record test importance count in case of failure
-			if (step.getUnit().getTestImportance() == Importance.FATAL) {
-				setTotalUnitFatalCount(getTotalUnitFatalCount() + 1);
-			} else if (step.getUnit().getTestImportance() == Importance.CRITICAL) {
-				setTotalUnitCriticalCount(getTotalUnitCriticalCount() + 1);
-			} else if (step.getUnit().getTestImportance() == Importance.HIGH) {
-				setTotalUnitHighCount(getTotalUnitHighCount() + 1);
-			} else if (step.getUnit().getTestImportance() == Importance.MEDIUM) {
-				setTotalUnitMediumCount(getTotalUnitMediumCount() + 1);
-			} else if (step.getUnit().getTestImportance() == Importance.LOW) {
-				setTotalUnitLowCount(getTotalUnitLowCount() + 1);
-			} else if (step.getUnit().getTestImportance() == Importance.UNDEFINED) {
-				setTotalUnitUndefinedCount(getTotalUnitUndefinedCount() + 1);
-			} else {
-				System.err.println(step.getUnit().getTestImportance().name());
-			}
-		} else if (getCurrentTestStatus() == TestStatus.SKIP) {
-			setCurrentUnitSkipCount(getCurrentUnitSkipCount() + 1);
-		} else if (getCurrentTestStatus() == TestStatus.KTF) {
-			setCurrentUnitKTFCount(getCurrentUnitKTFCount() + 1);
-		}
+		// Add to total test step count and store count details per status
+		unitCounter.record(getCurrentUnitTestStatus(), unit.getTestImportance());
 
 		// Update test object with final outcome, if parameterised test cases then status will be tracked in list
 		unit.getTestUnitOutcomeList().add(getCurrentUnitTestStatus());
@@ -492,15 +594,16 @@ public class TestContext {
 	}
 
 	/**
-	 * Append test unit summary to summary report
+	 * Format test unit summary line for summary report
 	 * 
 	 * @param unit {@link TestUnitObjectWrapper} object
 	 * @param status Test status
 	 * @param testUnitName Test unit name
 	 * @param bugTrackingNumber BugTracking Number
 	 * @param testDuration Test duration
+	 * @return formatted summary line
 	 */
-	private void appendUnitSummaryReport(TestUnitObjectWrapper unit, TestStatus status, String testUnitName, String bugTrackingNumber,
+	private String formatUnitSummaryReport(TestUnitObjectWrapper unit, TestStatus status, String testUnitName, String bugTrackingNumber,
 			long testDuration) {
 
 		long hours = TimeUnit.MILLISECONDS.toHours(testDuration);
@@ -519,10 +622,8 @@ public class TestContext {
 		String TestImportance = String.format("%-" + 10 + "s",
 				(unit.getTestImportance() == Importance.UNDEFINED ? "" : unit.getTestImportance().name()));
 
-		getLogger().getSummaryLogger().info("  |--" + testStatus + " = " + testName + "  :" + PassCount + "  :" + FailCount + "  :" + SkipCount
-				+ "  :" + KTFCount + " [" + TestImportance + "] " + testTime + " " + JiraRef);
-		// System.err.println(" |--" + testStatus + " = " + testName + " :" + PassCount + " :" + FailCount + " :" + SkipCount + " :" + KTFCount
-		// + " [" + TestImportance + "] " + testTime + " " + JiraRef);
+		return "  |--" + testStatus + " = " + testName + "  :" + PassCount + "  :" + FailCount + "  :" + SkipCount + "  :" + KTFCount + " ["
+				+ TestImportance + "] " + testTime + " " + JiraRef;
 	}
 
 	/**
@@ -681,6 +782,10 @@ public class TestContext {
 		this.threadLatch = threadLatch;
 	}
 
+	protected List<String> getDurationRegressionList() {
+		return durationRegressionList;
+	}
+
 	/**
 	 * Returns general logger object
 	 * 
@@ -785,11 +890,7 @@ public class TestContext {
 	 * @return Test pass count
 	 */
 	public long getCurrentPassCount() {
-		return currentPassCount;
-	}
-
-	private void setCurrentPassCount(long currentPassCount) {
-		this.currentPassCount = currentPassCount;
+		return testCounter.getCount(TestStatus.PASS);
 	}
 
 	/**
@@ -798,11 +899,7 @@ public class TestContext {
 	 * @return Failed test count
 	 */
 	public long getCurrentFailCount() {
-		return currentFailCount;
-	}
-
-	private void setCurrentFailCount(long currentFailCount) {
-		this.currentFailCount = currentFailCount;
+		return testCounter.getCount(TestStatus.FAIL);
 	}
 
 	/**
@@ -811,11 +908,7 @@ public class TestContext {
 	 * @return Skipped test count
 	 */
 	public long getCurrentSkipCount() {
-		return currentSkipCount;
-	}
-
-	private void setCurrentSkipCount(long currentSkipCount) {
-		this.currentSkipCount = currentSkipCount;
+		return testCounter.getCount(TestStatus.SKIP);
 	}
 
 	/**
@@ -824,11 +917,7 @@ public class TestContext {
 	 * @return Known to fail test count
 	 */
 	public long getCurrentKTFCount() {
-		return currentKTFCount;
-	}
-
-	private void setCurrentKTFCount(long currentKTFCount) {
-		this.currentKTFCount = currentKTFCount;
+		return testCounter.getCount(TestStatus.KTF);
 	}
 
 	/**
@@ -837,11 +926,7 @@ public class TestContext {
 	 * @return total test count
 	 */
 	public long getTotalTestCount() {
-		return totalTestCount;
-	}
-
-	private void setTotalTestCount(long totalTestCount) {
-		this.totalTestCount = totalTestCount;
+		return testCounter.getTotalCount();
 	}
 
 	/**
@@ -938,6 +1023,11 @@ public class TestContext {
 
 	protected void setBeforeTestSuite(Method beforeTestSuite) {
 		this.beforeTestSuite = beforeTestSuite;
+		this.beforeTestSuiteInvoker = TestMethodInvoker.of(beforeTestSuite);
+	}
+
+	TestMethodInvoker getBeforeTestSuiteInvoker() {
+		return beforeTestSuiteInvoker;
 	}
 
 	protected Method getAfterTestSuite() {
@@ -946,6 +1036,11 @@ public class TestContext {
 
 	protected void setAfterTestSuite(Method afterTestSuite) {
 		this.afterTestSuite = afterTestSuite;
+		this.afterTestSuiteInvoker = TestMethodInvoker.of(afterTestSuite);
+	}
+
+	TestMethodInvoker getAfterTestSuiteInvoker() {
+		return afterTestSuiteInvoker;
 	}
 
 	protected Method getBeforeTest() {
@@ -954,6 +1049,11 @@ public class TestContext {
 
 	protected void setBeforeTest(Method beforeTest) {
 		this.beforeTest = beforeTest;
+		this.beforeTestInvoker = TestMethodInvoker.of(beforeTest);
+	}
+
+	TestMethodInvoker getBeforeTestInvoker() {
+		return beforeTestInvoker;
 	}
 
 	protected Method getAfterTest() {
@@ -962,6 +1062,11 @@ public class TestContext {
 
 	protected void setAfterTest(Method afterTest) {
 		this.afterTest = afterTest;
+		this.afterTestInvoker = TestMethodInvoker.of(afterTest);
+	}
+
+	TestMethodInvoker getAfterTestInvoker() {
+		return afterTestInvoker;
 	}
 
 	protected Method getBeforeTestUnit() {
@@ -970,6 +1075,11 @@ public class TestContext {
 
 	protected void setBeforeTestUnit(Method beforeTestUnit) {
 		this.beforeTestUnit = beforeTestUnit;
+		this.beforeTestUnitInvoker = TestMethodInvoker.of(beforeTestUnit);
+	}
+
+	TestMethodInvoker getBeforeTestUnitInvoker() {
+		return beforeTestUnitInvoker;
 	}
 
 	protected Method getAfterTestUnit() {
@@ -978,54 +1088,97 @@ public class TestContext {
 
 	protected void setAfterTestUnit(Method afterTestUnit) {
 		this.afterTestUnit = afterTestUnit;
+		this.afterTestUnitInvoker = TestMethodInvoker.of(afterTestUnit);
+	}
+
+	TestMethodInvoker getAfterTestUnitInvoker() {
+		return afterTestUnitInvoker;
 	}
 
 	public int getTotalFatalCount() {
-		return totalFatalCount;
+		return (int) testCounter.getFailCount(Importance.FATAL);
 	}
 
-	protected void setTotalFatalCount(int totalFatalCount) {
-		this.totalFatalCount = totalFatalCount;
+	/**
+	 * @param count new count
+	 * @deprecated counts are accumulated by framework, use {@link #getTotalFatalCount()} to read them
+	 */
+	@Deprecated
+	protected void setTotalFatalCount(int count) {
+		testCounter.setFailCount(Importance.FATAL, count);
 	}
 
 	public int getTotalCriticalCount() {
-		return totalCriticalCount;
+		return (int) testCounter.getFailCount(Importance.CRITICAL);
 	}
 
-	protected void setTotalCriticalCount(int totalCriticalCount) {
-		this.totalCriticalCount = totalCriticalCount;
+	/**
+	 * @param count new count
+	 * @deprecated counts are accumulated by framework, use {@link #getTotalCriticalCount()} to read them
+	 */
+	@Deprecated
+	protected void setTotalCriticalCount(int count) {
+		testCounter.setFailCount(Importance.CRITICAL, count);
 	}
 
 	public int getTotalHighCount() {
-		return totalHighCount;
+		return (int) testCounter.getFailCount(Importance.HIGH);
 	}
 
-	protected void setTotalHighCount(int totalHighCount) {
-		this.totalHighCount = totalHighCount;
+	/**
+	 * @param count new count
+	 * @deprecated counts are accumulated by framework, use {@link #getTotalHighCount()} to read them
+	 */
+	@Deprecated
+	protected void setTotalHighCount(int count) {
+		testCounter.setFailCount(Importance.HIGH, count);
 	}
 
 	public int getTotalMediumCount() {
-		return totalMediumCount;
+		return (int) testCounter.getFailCount(Importance.MEDIUM);
 	}
 
-	protected void setTotalMediumCount(int totalMediumCount) {
-		this.totalMediumCount = totalMediumCount;
+	/**
+	 * @param count new count
+	 * @deprecated counts are accumulated by framework, use {@link #getTotalMediumCount()} to read them
+	 */
+	@Deprecated
+	protected void setTotalMediumCount(int count) {
+		testCounter.setFailCount(Importance.MEDIUM, count);
 	}
 
 	public int getTotalLowCount() {
-		return totalLowCount;
+		return (int) testCounter.getFailCount(Importance.LOW);
 	}
 
-	protected void setTotalLowCount(int totalLowCount) {
-		this.totalLowCount = totalLowCount;
+	/**
+	 * @param count new count
+	 * @deprecated counts are accumulated by framework, use {@link #getTotalLowCount()} to read them
+	 */
+	@Deprecated
+	protected void setTotalLowCount(int count) {
+		testCounter.setFailCount(Importance.LOW, count);
 	}
 
 	public int getTotalUndefinedCount() {
-		return totalUndefinedCount;
+		return (int) testCounter.getFailCount(Importance.UNDEFINED);
+	}
+
+	/**
+	 * @param count new count
+	 * @deprecated counts are accumulated by framework, use {@link #getTotalUndefinedCount()} to read them
+	 */
+	@Deprecated
+	protected void setTotalUndefinedCount(int count) {
+		testCounter.setFailCount(Importance.UNDEFINED, count);
 	}
 
-	protected void setTotalUndefinedCount(int totalUndefinedCount) {
-		this.totalUndefinedCount = totalUndefinedCount;
+	TestResultCounter getTestCounter() {
+		return testCounter;
+	}
+
+	TestResultCounter getUnitCounter() {
+		return unitCounter;
 	}
 
 	public boolean isRunningFromScript() {
@@ -1061,91 +1214,179 @@ public class TestContext {
 	}
 
 	public long getTotalUnitTestCount() {
-		return totalUnitTestCount;
+		return unitCounter.getTotalCount();
 	}
 
-	protected void setTotalUnitTestCount(long totalUnitTestCount) {
-		this.totalUnitTestCount = totalUnitTestCount;
+	/**
+	 * @param count new count
+	 * @deprecated counts are accumulated by framework, use {@link #getTotalUnitTestCount()} to read them
+	 */
+	@Deprecated
+	protected void setTotalUnitTestCount(long count) {
+		unitCounter.setTotalCount(count);
 	}
 
 	public long getCurrentUnitPassCount() {
-		return currentUnitPassCount;
+		return unitCounter.getCount(TestStatus.PASS);
 	}
 
-	protected void setCurrentUnitPassCount(long currentUnitPassCount) {
-		this.currentUnitPassCount = currentUnitPassCount;
+	/**
+	 * @param count new count
+	 * @deprecated counts are accumulated by framework, use {@link #getCurrentUnitPassCount()} to read them
+	 */
+	@Deprecated
+	protected void setCurrentUnitPassCount(long count) {
+		unitCounter.setCount(TestStatus.PASS, count);
 	}
 
 	public long getCurrentUnitFailCount() {
-		return currentUnitFailCount;
+		return unitCounter.getCount(TestStatus.FAIL);
 	}
 
-	protected void setCurrentUnitFailCount(long currentUnitFailCount) {
-		this.currentUnitFailCount = currentUnitFailCount;
+	/**
+	 * @param count new count
+	 * @deprecated counts are accumulated by framework, use {@link #getCurrentUnitFailCount()} to read them
+	 */
+	@Deprecated
+	protected void setCurrentUnitFailCount(long count) {
+		unitCounter.setCount(TestStatus.FAIL, count);
 	}
 
 	public long getCurrentUnitSkipCount() {
-		return currentUnitSkipCount;
+		return unitCounter.getCount(TestStatus.SKIP);
 	}
 
-	protected void setCurrentUnitSkipCount(long currentUnitSkipCount) {
-		this.currentUnitSkipCount = currentUnitSkipCount;
+	/**
+	 * @param count new count
+	 * @deprecated counts are accumulated by framework, use {@link #getCurrentUnitSkipCount()} to read them
+	 */
+	@Deprecated
+	protected void setCurrentUnitSkipCount(long count) {
+		unitCounter.setCount(TestStatus.SKIP, count);
 	}
 
 	public long getCurrentUnitKTFCount() {
-		return currentUnitKTFCount;
+		return unitCounter.getCount(TestStatus.KTF);
 	}
 
-	protected void setCurrentUnitKTFCount(long currentUnitKTFCount) {
-		this.currentUnitKTFCount = currentUnitKTFCount;
+	/**
+	 * @param count new count
+	 * @deprecated counts are accumulated by framework, use {@link #getCurrentUnitKTFCount()} to read them
+	 */
+	@Deprecated
+	protected void setCurrentUnitKTFCount(long count) {
+		unitCounter.setCount(TestStatus.KTF, count);
 	}
 
 	public int getTotalUnitFatalCount() {
-		return totalUnitFatalCount;
+		return (int) unitCounter.getFailCount(Importance.FATAL);
 	}
 
-	protected void setTotalUnitFatalCount(int totalUnitFatalCount) {
-		this.totalUnitFatalCount = totalUnitFatalCount;
+	/**
+	 * @param count new count
+	 * @deprecated counts are accumulated by framework, use {@link #getTotalUnitFatalCount()} to read them
+	 */
+	@Deprecated
+	protected void setTotalUnitFatalCount(int count) {
+		unitCounter.setFailCount(Importance.FATAL, count);
 	}
 
 	public int getTotalUnitCriticalCount() {
-		return totalUnitCriticalCount;
+		return (int) unitCounter.getFailCount(Importance.CRITICAL);
 	}
 
-	protected void setTotalUnitCriticalCount(int totalUnitCriticalCount) {
-		this.totalUnitCriticalCount = totalUnitCriticalCount;
+	/**
+	 * @param count new count
+	 * @deprecated counts are accumulated by framework, use {@link #getTotalUnitCriticalCount()} to read them
+	 */
+	@Deprecated
+	protected void setTotalUnitCriticalCount(int count) {
+		unitCounter.setFailCount(Importance.CRITICAL, count);
 	}
 
 	public int getTotalUnitHighCount() {
-		return totalUnitHighCount;
+		return (int) unitCounter.getFailCount(Importance.HIGH);
 	}
 
-	protected void setTotalUnitHighCount(int totalUnitHighCount) {
-		this.totalUnitHighCount = totalUnitHighCount;
+	/**
+	 * @param count new count
+	 * @deprecated counts are accumulated by framework, use {@link #getTotalUnitHighCount()} to read them
+	 */
+	@Deprecated
+	protected void setTotalUnitHighCount(int count) {
+		unitCounter.setFailCount(Importance.HIGH, count);
 	}
 
 	public int getTotalUnitMediumCount() {
-		return totalUnitMediumCount;
+		return (int) unitCounter.getFailCount(Importance.MEDIUM);
 	}
 
-	protected void setTotalUnitMediumCount(int totalUnitMediumCount) {
-		this.totalUnitMediumCount = totalUnitMediumCount;
+	/**
+	 * @param count new count
+	 * @deprecated counts are accumulated by framework, use {@link #getTotalUnitMediumCount()} to read them
+	 */
+	@Deprecated
+	protected void setTotalUnitMediumCount(int count) {
+		unitCounter.setFailCount(Importance.MEDIUM, count);
 	}
 
 	public int getTotalUnitLowCount() {
-		return totalUnitLowCount;
+		return (int) unitCounter.getFailCount(Importance.LOW);
 	}
 
-	protected void setTotalUnitLowCount(int totalUnitLowCount) {
-		this.totalUnitLowCount = totalUnitLowCount;
+	/**
+	 * @param count new count
+	 * @deprecated counts are accumulated by framework, use {@link #getTotalUnitLowCount()} to read them
+	 */
+	@Deprecated
+	protected void setTotalUnitLowCount(int count) {
+		unitCounter.setFailCount(Importance.LOW, count);
 	}
 
 	public int getTotalUnitUndefinedCount() {
-		return totalUnitUndefinedCount;
+		return (int) unitCounter.getFailCount(Importance.UNDEFINED);
 	}
 
-	protected void setTotalUnitUndefinedCount(int totalUnitUndefinedCount) {
-		this.totalUnitUndefinedCount = totalUnitUndefinedCount;
+	/**
+	 * @param count new count
+	 * @deprecated counts are accumulated by framework, use {@link #getTotalUnitUndefinedCount()} to read them
+	 */
+	@Deprecated
+	protected void setTotalUnitUndefinedCount(int count) {
+		unitCounter.setFailCount(Importance.UNDEFINED, count);
+	}
+
+	/**
+	 * Test result recorded by worker context, waiting to be added to summary report by parent context
+	 */
+	private static class SummaryRecord {
+		TestObjectWrapper t;
+		BDDScenario scenario;
+		TestStatus status;
+		String strTestFQCN;
+		String bugTrackingNumber;
+		long testDuration;
+		List<String> unitSummaryList;
+
+		SummaryRecord(TestObjectWrapper t, TestStatus status, String strTestFQCN, String bugTrackingNumber, long testDuration,
+				List<String> unitSummaryList) {
+			this.t = t;
+			this.status = status;
+			this.strTestFQCN = strTestFQCN;
+			this.bugTrackingNumber = bugTrackingNumber;
+			this.testDuration = testDuration;
+			this.unitSummaryList = unitSummaryList;
+		}
+
+		SummaryRecord(BDDScenario scenario, TestStatus status, String strTestFQCN, String bugTrackingNumber, long testDuration,
+				List<String> unitSummaryList) {
+			this.scenario = scenario;
+			this.status = status;
+			this.strTestFQCN = strTestFQCN;
+			this.bugTrackingNumber = bugTrackingNumber;
+			this.testDuration = testDuration;
+			this.unitSummaryList = unitSummaryList;
+		}
 	}
 
 }
@@ -28,6 +28,7 @@ public class TestDataProvider {
 	String dataProviderName;
 	Class<?> classOfTheMethod;
 	Method method;
+	TestMethodInvoker invoker;
 	boolean staticMethod;
 
 	/**
@@ -39,6 +40,7 @@ public class TestDataProvider {
 	public TestDataProvider(Method method, String dataProviderName, Class<?> classOfTheMethod, boolean staticMethod) {
 		super();
 		this.method = method;
+		this.invoker = TestMethodInvoker.of(method);
 		this.dataProviderName = dataProviderName;
 		this.classOfTheMethod = classOfTheMethod;
 		this.staticMethod = staticMethod;
@@ -56,6 +58,10 @@ public class TestDataProvider {
 		return method;
 	}
 
+	TestMethodInvoker getInvoker() {
+		return invoker;
+	}
+
 	public boolean isStaticMethod() {
 		return staticMethod;
 	}
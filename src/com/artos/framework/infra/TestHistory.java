@@ -0,0 +1,308 @@
+/*******************************************************************************
+ * Copyright (C) 2018-2019 Arpit Shah and Artos Contributors
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ ******************************************************************************/
+package com.artos.framework.infra;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import org.apache.logging.log4j.LogManager;
+
+import com.artos.framework.FWStaticStore;
+import com.artos.framework.Enums.TestStatus;
+import com.artos.utils.UtilsFile;
+
+/**
+ * Keeps duration and outcome of each test case and test unit from previous runs. History is loaded from reporting directory when first used,
+ * updated as test cases finish and written back once all test suites are finished. One history is shared by all test suites of the JVM.
+ * 
+ * <p>
+ * Expected duration is an average of the first {@link #SMOOTHING_WINDOW} runs and an exponential moving average after that, so one slow run does
+ * not change test order or hide a regression in the next run.
+ * </p>
+ * 
+ * <PRE>
+ * File format (one test case or test unit per line, tab separated)
+ * test	&lt;TestCase FQCN&gt;	&lt;expected duration ms&gt;	&lt;last duration ms&gt;	&lt;run count&gt;	&lt;last TestStatus&gt;
+ * unit	&lt;TestCase FQCN#method&gt;	&lt;expected duration ms&gt;	&lt;last duration ms&gt;	&lt;run count&gt;	&lt;last TestStatus&gt;
+ * </PRE>
+ */
+public final class TestHistory {
+
+	private static final String HEADER = "# Artos test history v2";
+	private static final String FILE_NAME = "test_history.txt";
+	private static final String TEST = "test";
+	private static final String UNIT = "unit";
+	private static final int SMOOTHING_WINDOW = 5;
+	// Durations shorter than this difference are treated as timing noise
+	private static final long MIN_REGRESSION_DELTA = 100;
+
+	private static volatile TestHistory instance = null;
+
+	private final File historyFile;
+	private final ConcurrentMap<String, Record> testMap = new ConcurrentHashMap<>();
+	private final ConcurrentMap<String, Record> unitMap = new ConcurrentHashMap<>();
+	private int skippedLineCount = 0;
+
+	/**
+	 * Duration and outcome of a test case or test unit
+	 */
+	public static final class Record {
+		final long duration;
+		final long lastDuration;
+		final int runCount;
+		final TestStatus status;
+
+		/**
+		 * Constructor
+		 * 
+		 * @param duration expected duration in milliseconds
+		 * @param lastDuration duration of the latest run in milliseconds
+		 * @param runCount number of executed (not skipped) runs
+		 * @param status outcome of the latest run
+		 */
+		public Record(long duration, long lastDuration, int runCount, TestStatus status) {
+			this.duration = duration;
+			this.lastDuration = lastDuration;
+			this.runCount = runCount;
+			this.status = status;
+		}
+
+		/**
+		 * Returns record updated with outcome of the latest run. Skipped runs do not change expected duration because they are not executed.
+		 * 
+		 * @param newDuration duration of the latest run in milliseconds
+		 * @param newStatus outcome of the latest run
+		 * @return updated record
+		 */
+		public Record update(long newDuration, TestStatus newStatus) {
+			if (TestStatus.SKIP == newStatus) {
+				return new Record(duration, lastDuration, runCount, newStatus);
+			}
+			int weight = Math.min(runCount + 1, SMOOTHING_WINDOW);
+			return new Record(duration + (newDuration - duration) / weight, newDuration, runCount + 1, newStatus);
+		}
+
+		public long getDuration() {
+			return duration;
+		}
+
+		public long getLastDuration() {
+			return lastDuration;
+		}
+
+		public int getRunCount() {
+			return runCount;
+		}
+
+		public TestStatus getStatus() {
+			return status;
+		}
+	}
+
+	/**
+	 * Constructor, history is read from provided file if it exists
+	 * 
+	 * @param historyFile history file, null if history is only kept in memory
+	 */
+	public TestHistory(File historyFile) {
+		this.historyFile = historyFile;
+		if (null != historyFile && historyFile.isFile()) {
+			load();
+		}
+	}
+
+	/**
+	 * Returns history of this JVM, history file is read on first call
+	 * 
+	 * @return test history
+	 */
+	static TestHistory get() {
+		TestHistory history = instance;
+		if (null == history) {
+			synchronized (TestHistory.class) {
+				history = instance;
+				if (null == history) {
+					// Without framework configuration history is only kept in memory
+					File file = (null == FWStaticStore.frameworkConfig) ? null : new File(FWStaticStore.frameworkConfig.getLogRootDir(), FILE_NAME);
+					history = new TestHistory(file);
+					instance = history;
+				}
+			}
+		}
+		return history;
+	}
+
+	/**
+	 * Records outcome of test case
+	 * 
+	 * @param testFQCN test case FQCN
+	 * @param duration test duration in milliseconds
+	 * @param status final test status
+	 * @return history of the test case prior to this run, null if test case has no history
+	 */
+	public Record recordTest(String testFQCN, long duration, TestStatus status) {
+		return record(testMap, testFQCN, duration, status);
+	}
+
+	/**
+	 * Records outcome of test unit
+	 * 
+	 * @param unitName test unit name in format {@code <TestCase FQCN>#<method name>}
+	 * @param duration test unit duration in milliseconds
+	 * @param status final test unit status
+	 * @return history of the test unit prior to this run, null if test unit has no history
+	 */
+	public Record recordUnit(String unitName, long duration, TestStatus status) {
+		return record(unitMap, unitName, duration, status);
+	}
+
+	/**
+	 * Returns test case history
+	 * 
+	 * @param testFQCN test case FQCN
+	 * @return previous duration and outcome, null if test case has no history
+	 */
+	public Record getTest(String testFQCN) {
+		return testMap.get(testFQCN);
+	}
+
+	/**
+	 * Returns test unit history
+	 * 
+	 * @param unitName test unit name in format {@code <TestCase FQCN>#<method name>}
+	 * @return previous duration and outcome, null if test unit has no history
+	 */
+	public Record getUnit(String unitName) {
+		return unitMap.get(unitName);
+	}
+
+	/**
+	 * Returns true if duration exceeds expected duration of previous runs by more than threshold percentage
+	 * 
+	 * @param previous history prior to this run, can be null
+	 * @param duration duration of this run in milliseconds
+	 * @param status outcome of this run
+	 * @param thresholdPercentage allowed increase in percentage, 0 disables the check
+	 * @return true if duration has regressed
+	 */
+	public static boolean isRegression(Record previous, long duration, TestStatus status, int thresholdPercentage) {
+		if (null == previous || 0 == previous.runCount || thresholdPercentage <= 0 || TestStatus.SKIP == status) {
+			return false;
+		}
+		return duration - previous.duration >= MIN_REGRESSION_DELTA && duration * 100 > previous.duration * (100 + thresholdPercentage);
+	}
+
+	private static Record record(ConcurrentMap<String, Record> map, String name, long duration, TestStatus status) {
+		Record[] previous = new Record[1];
+		map.compute(name, (key, record) -> {
+			previous[0] = record;
+			return null == record ? new Record(0, 0, 0, TestStatus.PASS).update(duration, status) : record.update(duration, status);
+		});
+		return previous[0];
+	}
+
+	private void load() {
+		try (BufferedReader br = Files.newBufferedReader(historyFile.toPath(), StandardCharsets.UTF_8)) {
+			String line;
+			while ((line = br.readLine()) != null) {
+				if (line.isEmpty() || line.startsWith("#")) {
+					continue;
+				}
+				try {
+					if (!parseLine(line.split("\t"))) {
+						skippedLineCount++;
+					}
+				} catch (IllegalArgumentException e) {
+					// Malformed number or unknown status only loses history of that line
+					skippedLineCount++;
+				}
+			}
+		} catch (IOException e) {
+			LogManager.getLogger(TestHistory.class).warn("[WARNING] : Test history " + historyFile.getPath() + " could not be read : " + e.getMessage());
+		}
+		if (skippedLineCount > 0) {
+			LogManager.getLogger(TestHistory.class)
+					.warn("[WARNING] : Test history " + historyFile.getPath() + " : " + skippedLineCount + " malformed line(s) skipped");
+		}
+	}
+
+	private boolean parseLine(String[] fields) {
+		if (fields.length == 6 && TEST.equals(fields[0])) {
+			testMap.put(fields[1], parseRecord(fields));
+		} else if (fields.length == 6 && UNIT.equals(fields[0])) {
+			unitMap.put(fields[1], parseRecord(fields));
+		} else if (fields.length == 4 && TEST.equals(fields[0])) {
+			// history written by earlier version only has last duration
+			long duration = Long.parseLong(fields[2]);
+			testMap.put(fields[1], new Record(duration, duration, 1, TestStatus.valueOf(fields[3])));
+		} else {
+			return false;
+		}
+		return true;
+	}
+
+	/**
+	 * Returns number of history file lines which could not be parsed and were skipped when history was loaded
+	 * 
+	 * @return skipped line count
+	 */
+	public int getSkippedLineCount() {
+		return skippedLineCount;
+	}
+
+	private static Record parseRecord(String[] fields) {
+		return new Record(Long.parseLong(fields[2]), Long.parseLong(fields[3]), Integer.parseInt(fields[4]), TestStatus.valueOf(fields[5]));
+	}
+
+	/**
+	 * Writes history to reporting directory. Failure to write history does not affect test execution.
+	 */
+	public void save() {
+		if (null == historyFile) {
+			return;
+		}
+		UtilsFile.tryWriteTextAtomic(historyFile, bw -> {
+			bw.write(HEADER);
+			bw.newLine();
+			// Sorted so file can be compared between runs
+			writeRecords(bw, TEST, testMap);
+			writeRecords(bw, UNIT, unitMap);
+		});
+	}
+
+	private static void writeRecords(BufferedWriter bw, String type, Map<String, Record> map) throws IOException {
+		for (Map.Entry<String, Record> entry : new TreeMap<>(map).entrySet()) {
+			Record record = entry.getValue();
+			bw.write(type + "\t" + entry.getKey() + "\t" + record.duration + "\t" + record.lastDuration + "\t" + record.runCount + "\t"
+					+ record.status.name());
+			bw.newLine();
+		}
+	}
+}
@@ -0,0 +1,135 @@
+/*******************************************************************************
+ * Copyright (C) 2018-2019 Arpit Shah and Artos Contributors
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ ******************************************************************************/
+package com.artos.framework.infra;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Invokes test unit, before/after and data provider methods using {@link MethodHandle} which is resolved once when method is scanned, so no access
+ * check or argument boxing is repeated per invocation. Exceptions thrown by the method are wrapped in {@link InvocationTargetException} exactly
+ * like {@link Method#invoke(Object, Object...)} does, so existing exception handling is not affected. Wrong instance or argument type is reported
+ * as {@link IllegalArgumentException}, also like reflection. If handle can not be resolved (Example : method is not accessible) then invocation
+ * falls back to reflection.
+ */
+final class TestMethodInvoker {
+
+	private static final MethodType INVOKER_TYPE = MethodType.methodType(Object.class, Object.class, Object.class);
+
+	// Invokers are immutable, so one invoker per method is shared by all test suites
+	private static final ConcurrentMap<Method, TestMethodInvoker> INVOKER_MAP = new ConcurrentHashMap<>();
+
+	private final Method method;
+	private final boolean isStatic;
+	// Boxed parameter type, so primitive parameter accepts its wrapper
+	private final Class<?> parameterType;
+	private final boolean primitiveParameter;
+	// (Object instance, Object argument)Object, null if reflection must be used
+	private final MethodHandle handle;
+
+	/**
+	 * Constructor
+	 * 
+	 * @param method method which accepts one argument
+	 */
+	TestMethodInvoker(Method method) {
+		this.method = method;
+		this.isStatic = Modifier.isStatic(method.getModifiers());
+		this.primitiveParameter = (1 == method.getParameterCount()) && method.getParameterTypes()[0].isPrimitive();
+		this.parameterType = (1 == method.getParameterCount()) ? MethodType.methodType(method.getParameterTypes()[0]).wrap().returnType() : null;
+		this.handle = resolve(method);
+	}
+
+	/**
+	 * Returns invoker for provided method, invoker is created when method is seen for the first time
+	 * 
+	 * @param method method which accepts one argument or null
+	 * @return invoker, null if method is null
+	 */
+	static TestMethodInvoker of(Method method) {
+		return (null == method) ? null : INVOKER_MAP.computeIfAbsent(method, TestMethodInvoker::new);
+	}
+
+	private static MethodHandle resolve(Method method) {
+		if (1 != method.getParameterCount()) {
+			return null;
+		}
+		try {
+			MethodHandle methodHandle = MethodHandles.publicLookup().unreflect(method);
+			if (Modifier.isStatic(method.getModifiers())) {
+				// static method ignores instance argument
+				methodHandle = MethodHandles.dropArguments(methodHandle, 0, Object.class);
+			}
+			return methodHandle.asType(INVOKER_TYPE);
+		} catch (IllegalAccessException e) {
+			return null;
+		}
+	}
+
+	/**
+	 * Invokes method
+	 * 
+	 * @param instance object on which method is invoked, ignored for static method
+	 * @param argument method argument
+	 * @return value returned by the method, null for void method
+	 * @throws InvocationTargetException if method throws an exception
+	 * @throws IllegalAccessException if method is not accessible
+	 * @throws IllegalArgumentException if instance is not an instance of declaring class or argument can not be converted to parameter type
+	 */
+	Object invoke(Object instance, Object argument) throws InvocationTargetException, IllegalAccessException {
+		if (null == handle) {
+			return method.invoke(instance, argument);
+		}
+		// ClassCastException caused by the handle can not be told apart from one thrown by the method, so types are checked before invocation
+		checkTypes(instance, argument);
+		try {
+			return (Object) handle.invokeExact(instance, argument);
+		} catch (Throwable e) {
+			throw new InvocationTargetException(e);
+		}
+	}
+
+	private void checkTypes(Object instance, Object argument) {
+		if (!isStatic) {
+			if (null == instance) {
+				throw new NullPointerException("Instance is null for method : " + method);
+			}
+			if (!method.getDeclaringClass().isInstance(instance)) {
+				throw new IllegalArgumentException("object is not an instance of declaring class : " + instance.getClass().getName());
+			}
+		}
+		if (null == argument ? primitiveParameter : !parameterType.isInstance(argument)) {
+			throw new IllegalArgumentException("argument type mismatch : " + method);
+		}
+	}
+
+	Method getMethod() {
+		return method;
+	}
+
+}
@@ -61,6 +61,10 @@ public class TestObjectWrapper {
 	Method methodAfterTestUnit = null;
 	Method methodBeforeTestCase = null;
 	Method methodAfterTestCase = null;
+	TestMethodInvoker invokerBeforeTestUnit = null;
+	TestMethodInvoker invokerAfterTestUnit = null;
+	TestMethodInvoker invokerBeforeTestCase = null;
+	TestMethodInvoker invokerAfterTestCase = null;
 	List<TestUnitObjectWrapper> testUnitList = null;
 
 	// TestPlan
@@ -274,6 +278,11 @@ public class TestObjectWrapper {
 
 	public void setMethodBeforeTestUnit(Method methodBeforeTestUnit) {
 		this.methodBeforeTestUnit = methodBeforeTestUnit;
+		this.invokerBeforeTestUnit = TestMethodInvoker.of(methodBeforeTestUnit);
+	}
+
+	TestMethodInvoker getInvokerBeforeTestUnit() {
+		return invokerBeforeTestUnit;
 	}
 
 	public Method getMethodAfterTestUnit() {
@@ -282,6 +291,11 @@ public class TestObjectWrapper {
 
 	public void setMethodAfterTestUnit(Method methodAfterTestUnit) {
 		this.methodAfterTestUnit = methodAfterTestUnit;
+		this.invokerAfterTestUnit = TestMethodInvoker.of(methodAfterTestUnit);
+	}
+
+	TestMethodInvoker getInvokerAfterTestUnit() {
+		return invokerAfterTestUnit;
 	}
 
 	public Boolean getEnforce() {
@@ -314,6 +328,11 @@ public class TestObjectWrapper {
 
 	public void setMethodBeforeTestCase(Method methodBeforeTestCase) {
 		this.methodBeforeTestCase = methodBeforeTestCase;
+		this.invokerBeforeTestCase = TestMethodInvoker.of(methodBeforeTestCase);
+	}
+
+	TestMethodInvoker getInvokerBeforeTestCase() {
+		return invokerBeforeTestCase;
 	}
 
 	public Method getMethodAfterTestCase() {
@@ -322,6 +341,11 @@ public class TestObjectWrapper {
 
 	public void setMethodAfterTestCase(Method methodAfterTestCase) {
 		this.methodAfterTestCase = methodAfterTestCase;
+		this.invokerAfterTestCase = TestMethodInvoker.of(methodAfterTestCase);
+	}
+
+	TestMethodInvoker getInvokerAfterTestCase() {
+		return invokerAfterTestCase;
 	}
 
 }
@@ -0,0 +1,111 @@
+/*******************************************************************************
+ * Copyright (C) 2018-2019 Arpit Shah and Artos Contributors
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ ******************************************************************************/
+package com.artos.framework.infra;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+import com.artos.framework.Enums.TestExecutionOrder;
+import com.artos.framework.Enums.TestStatus;
+
+/**
+ * Orders test cases and test units. All ordering is done using stable sort, so test cases which compare equal remain in their original order
+ * (Example : test cases with same sequence number remain in scan order, test cases without history remain in sequence order).
+ */
+final class TestOrdering {
+
+	// Test cases in root package (no package) come first
+	private static final Comparator<TestObjectWrapper> PACKAGE_COMPARATOR = Comparator.comparing(TestOrdering::getPackageName);
+	private static final Comparator<TestObjectWrapper> SEQUENCE_COMPARATOR = Comparator.comparingInt(TestObjectWrapper::getTestsequence);
+	private static final Comparator<TestUnitObjectWrapper> UNIT_SEQUENCE_COMPARATOR = Comparator.comparingInt(TestUnitObjectWrapper::getTestsequence);
+
+	private TestOrdering() {
+		// static methods only
+	}
+
+	/**
+	 * Sorts test cases by sequence number. If sorting within package is requested then test cases are grouped by package (packages sorted by
+	 * name) and sorted by sequence number within their package, grouping and sorting is done by single sort.
+	 * 
+	 * @param testList test case list, list is not modified
+	 * @param withinPackage true = test cases of same package remain together
+	 * @return sorted copy of test case list
+	 */
+	static List<TestObjectWrapper> sortBySequence(List<TestObjectWrapper> testList, boolean withinPackage) {
+		List<TestObjectWrapper> sortedList = new ArrayList<>(testList);
+		sortedList.sort(withinPackage ? PACKAGE_COMPARATOR.thenComparing(SEQUENCE_COMPARATOR) : SEQUENCE_COMPARATOR);
+		return sortedList;
+	}
+
+	/**
+	 * Sorts test units by sequence number
+	 * 
+	 * @param unitList test unit list, list is not modified
+	 * @return sorted copy of test unit list
+	 */
+	static List<TestUnitObjectWrapper> sortUnitsBySequence(List<TestUnitObjectWrapper> unitList) {
+		List<TestUnitObjectWrapper> sortedList = new ArrayList<>(unitList);
+		sortedList.sort(UNIT_SEQUENCE_COMPARATOR);
+		return sortedList;
+	}
+
+	/**
+	 * Applies execution order to already filtered test case list
+	 * 
+	 * @param testList test case list in sequence or test script order, list is not modified
+	 * @param order requested execution order
+	 * @param history test history of previous runs
+	 * @return ordered copy of test case list
+	 */
+	static List<TestObjectWrapper> order(List<TestObjectWrapper> testList, TestExecutionOrder order, TestHistory history) {
+		List<TestObjectWrapper> orderedList = new ArrayList<>(testList);
+		if (TestExecutionOrder.LONGEST_FIRST == order) {
+			orderedList.sort(longestFirst(history));
+		} else if (TestExecutionOrder.FAILED_FIRST == order) {
+			orderedList.sort(Comparator.comparingInt((TestObjectWrapper t) -> {
+				TestHistory.Record record = history.getTest(t.getTestClassObject().getName());
+				return null != record && TestStatus.FAIL == record.status ? 0 : 1;
+			}));
+		}
+		return orderedList;
+	}
+
+	/**
+	 * Returns comparator which orders test cases by expected duration, longest first. Test case without history is assumed to be the longest, so it
+	 * is not left to the end of a parallel run.
+	 * 
+	 * @param history test history of previous runs
+	 * @return comparator
+	 */
+	static Comparator<TestObjectWrapper> longestFirst(TestHistory history) {
+		return Comparator.comparingLong((TestObjectWrapper t) -> {
+			TestHistory.Record record = history.getTest(t.getTestClassObject().getName());
+			return null == record || 0 == record.runCount ? Long.MAX_VALUE : record.duration;
+		}).reversed();
+	}
+
+	private static String getPackageName(TestObjectWrapper t) {
+		Package testPackage = t.getTestClassObject().getPackage();
+		return null == testPackage ? "" : testPackage.getName();
+	}
+}
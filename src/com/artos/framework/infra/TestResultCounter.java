@@ -0,0 +1,140 @@
+/*******************************************************************************
+ * Copyright (C) 2018-2019 Arpit Shah and Artos Contributors
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ ******************************************************************************/
+package com.artos.framework.infra;
+
+import java.util.concurrent.atomic.LongAdder;
+
+import com.artos.framework.Enums.Importance;
+import com.artos.framework.Enums.TestStatus;
+
+/**
+ * Accumulates test outcome count per {@link TestStatus} and failed outcome count per {@link Importance}. Counters are backed by {@link LongAdder} so
+ * any number of threads can record outcomes at the same time without locking and without losing updates. Counters of multiple suites or workers
+ * can be rolled up using {@link #add(TestResultCounter)}.
+ */
+class TestResultCounter {
+
+	private final LongAdder totalCount = new LongAdder();
+	// Indexed using TestStatus value
+	private final LongAdder[] statusCount = createAdders(TestStatus.values().length);
+	// Indexed using Importance value, only failed outcomes are counted
+	private final LongAdder[] failImportanceCount = createAdders(Importance.values().length);
+
+	private static LongAdder[] createAdders(int size) {
+		LongAdder[] adders = new LongAdder[size];
+		for (int i = 0; i < size; i++) {
+			adders[i] = new LongAdder();
+		}
+		return adders;
+	}
+
+	/**
+	 * Records one outcome. Importance is only counted if status is {@link TestStatus#FAIL}
+	 *
+	 * @param status final test/unit status
+	 * @param importance test/unit importance
+	 */
+	void record(TestStatus status, Importance importance) {
+		totalCount.increment();
+		statusCount[status.getValue()].increment();
+		if (status == TestStatus.FAIL && null != importance) {
+			failImportanceCount[importance.getValue()].increment();
+		}
+	}
+
+	/**
+	 * Adds all counts of provided counter to this counter
+	 *
+	 * @param other counter to be added
+	 */
+	void add(TestResultCounter other) {
+		totalCount.add(other.getTotalCount());
+		for (TestStatus status : TestStatus.values()) {
+			statusCount[status.getValue()].add(other.getCount(status));
+		}
+		for (Importance importance : Importance.values()) {
+			failImportanceCount[importance.getValue()].add(other.getFailCount(importance));
+		}
+	}
+
+	/**
+	 * Returns total number of recorded outcomes
+	 *
+	 * @return total count
+	 */
+	long getTotalCount() {
+		return totalCount.sum();
+	}
+
+	/**
+	 * Returns number of recorded outcomes with provided status
+	 *
+	 * @param status test status
+	 * @return count of given status
+	 */
+	long getCount(TestStatus status) {
+		return statusCount[status.getValue()].sum();
+	}
+
+	/**
+	 * Returns number of failed outcomes with provided importance
+	 *
+	 * @param importance test importance
+	 * @return failed count of given importance
+	 */
+	long getFailCount(Importance importance) {
+		return failImportanceCount[importance.getValue()].sum();
+	}
+
+	/**
+	 * Sets total count to provided value. Only used by deprecated setters of {@link TestContext}, a value set while other threads record outcomes
+	 * keeps their updates but may not equal provided value.
+	 *
+	 * @param count new total count
+	 */
+	void setTotalCount(long count) {
+		totalCount.add(count - totalCount.sum());
+	}
+
+	/**
+	 * Sets count of provided status, see {@link #setTotalCount(long)}
+	 *
+	 * @param status test status
+	 * @param count new count of given status
+	 */
+	void setCount(TestStatus status, long count) {
+		LongAdder adder = statusCount[status.getValue()];
+		adder.add(count - adder.sum());
+	}
+
+	/**
+	 * Sets failed count of provided importance, see {@link #setTotalCount(long)}
+	 *
+	 * @param importance test importance
+	 * @param count new failed count of given importance
+	 */
+	void setFailCount(Importance importance, long count) {
+		LongAdder adder = failImportanceCount[importance.getValue()];
+		adder.add(count - adder.sum());
+	}
+
+}
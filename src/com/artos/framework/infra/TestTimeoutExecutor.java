@@ -0,0 +1,197 @@
+/*******************************************************************************
+ * Copyright (C) 2018-2019 Arpit Shah and Artos Contributors
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ ******************************************************************************/
+package com.artos.framework.infra;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Shared executor used to run test cases and test units which have timeout. Threads are reused between timed tests and idle threads are released
+ * after {@value #KEEP_ALIVE_SECONDS} seconds, so long loop runs do not accumulate threads. Number of threads is bounded to
+ * {@value #MAX_THREAD_COUNT}, a timed test unit inside a timed test case uses two threads. If all pooled threads are busy (for example held by
+ * tests which ignored cancellation) the task is executed on a dedicated thread and a warning is logged.
+ * 
+ * <PRE>
+ * A test which does not finish within timeout is cancelled (interrupted). Java can not force a thread to stop, so a test which ignores interrupt
+ * keeps its thread until it returns. Time between cancellation and the test actually returning is logged once test stops, which helps to find tests
+ * that do not respond to interrupt.
+ * </PRE>
+ */
+final class TestTimeoutExecutor {
+
+	static final int MAX_THREAD_COUNT = 256;
+	static final long KEEP_ALIVE_SECONDS = 60;
+
+	private static final ThreadPoolExecutor executor = createExecutor();
+	// Tasks which were cancelled but have not returned yet
+	private static final AtomicInteger stuckTaskCount = new AtomicInteger(0);
+	private static final AtomicInteger dedicatedThreadNumber = new AtomicInteger(0);
+
+	private TestTimeoutExecutor() {
+		// static utility class
+	}
+
+	private static ThreadPoolExecutor createExecutor() {
+		ThreadFactory threadFactory = new ThreadFactory() {
+			private final AtomicInteger threadNumber = new AtomicInteger(0);
+
+			@Override
+			public Thread newThread(Runnable r) {
+				Thread thread = new Thread(r, "Artos_Timeout_Thread_" + threadNumber.incrementAndGet());
+				// Stuck test must not prevent JVM from exiting
+				thread.setDaemon(true);
+				return thread;
+			}
+		};
+		// Direct hand off so nested timed tests never wait in a queue behind their parent
+		return new ThreadPoolExecutor(0, MAX_THREAD_COUNT, KEEP_ALIVE_SECONDS, TimeUnit.SECONDS, new SynchronousQueue<Runnable>(), threadFactory);
+	}
+
+	/**
+	 * Runs task on pooled thread and waits until it finishes or timeout occurs. If timeout occurs then task is cancelled.
+	 * 
+	 * @param task test case or test unit execution
+	 * @param timeout timeout in milliseconds
+	 * @param taskName name used in log when cancelled task stops
+	 * @param logger logger used to report how long cancelled task took to stop
+	 * @return true if task finished within timeout, false if task was cancelled
+	 * @throws ExecutionException if task threw an exception
+	 * @throws InterruptedException if current thread is interrupted while waiting
+	 */
+	static boolean run(Callable<?> task, long timeout, String taskName, LogWrapper logger) throws ExecutionException, InterruptedException {
+		TimedTask timedTask = new TimedTask(task, taskName, logger);
+		Future<?> future = submit(timedTask, taskName, logger);
+		try {
+			future.get(timeout, TimeUnit.MILLISECONDS);
+			return true;
+		} catch (TimeoutException e) {
+			timedTask.markCancelled();
+			if (future.cancel(true)) {
+				return false;
+			}
+			// Task finished between timeout and cancellation
+			future.get();
+			return true;
+		} catch (ExecutionException | InterruptedException e) {
+			future.cancel(true);
+			throw e;
+		}
+	}
+
+	/**
+	 * Submits task to the pool, falls back to a dedicated thread if all pooled threads are busy
+	 */
+	private static Future<?> submit(TimedTask timedTask, String taskName, LogWrapper logger) {
+		try {
+			return executor.submit(timedTask);
+		} catch (RejectedExecutionException e) {
+			logger.warn("All " + MAX_THREAD_COUNT + " timeout threads are busy (" + stuckTaskCount.get()
+					+ " timed out tests did not stop after cancellation), running " + taskName + " on dedicated thread");
+			FutureTask<Object> futureTask = new FutureTask<>(timedTask);
+			Thread thread = new Thread(futureTask, "Artos_Timeout_Dedicated_Thread_" + dedicatedThreadNumber.incrementAndGet());
+			thread.setDaemon(true);
+			thread.start();
+			return futureTask;
+		}
+	}
+
+	/**
+	 * Returns number of timed out tasks which were cancelled but have not returned yet
+	 * 
+	 * @return stuck task count
+	 */
+	static int getStuckTaskCount() {
+		return stuckTaskCount.get();
+	}
+
+	/**
+	 * Wraps task so time between cancellation and task return can be measured
+	 */
+	private static class TimedTask implements Callable<Object> {
+
+		private final Callable<?> task;
+		private final String taskName;
+		private final LogWrapper logger;
+		private long cancelTime = 0;
+		private boolean started = false;
+		private boolean finished = false;
+
+		TimedTask(Callable<?> task, String taskName, LogWrapper logger) {
+			this.task = task;
+			this.taskName = taskName;
+			this.logger = logger;
+		}
+
+		@Override
+		public Object call() throws Exception {
+			synchronized (this) {
+				if (0 != cancelTime) {
+					// Cancelled before thread picked it up, nothing to run or report
+					finished = true;
+					return null;
+				}
+				started = true;
+			}
+			try {
+				return task.call();
+			} finally {
+				reportStop();
+			}
+		}
+
+		void markCancelled() {
+			synchronized (this) {
+				if (!finished) {
+					cancelTime = System.nanoTime();
+					// Task which has not started yet never runs, so it is not stuck
+					if (started) {
+						stuckTaskCount.incrementAndGet();
+					}
+				}
+			}
+		}
+
+		private void reportStop() {
+			long cancelledAt;
+			synchronized (this) {
+				finished = true;
+				cancelledAt = cancelTime;
+			}
+			if (0 == cancelledAt) {
+				return;
+			}
+			stuckTaskCount.decrementAndGet();
+			long stopDuration = System.nanoTime() - cancelledAt;
+			logger.warn("Timed out " + taskName + " stopped " + TimeUnit.NANOSECONDS.toMillis(stopDuration) + " ms after it was cancelled");
+		}
+	}
+
+}
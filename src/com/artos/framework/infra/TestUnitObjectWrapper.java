@@ -28,7 +28,7 @@ import java.util.List;
 import com.artos.framework.Enums.Importance;
 import com.artos.framework.Enums.TestStatus;
 
-public class TestUnitObjectWrapper {
+public class TestUnitObjectWrapper implements Cloneable {
 
 	// TestTracking variables
 	long testUnitStartTime;
@@ -41,9 +41,11 @@ public class TestUnitObjectWrapper {
 
 	// TestUnit
 	Method testUnitMethod = null;
+	TestMethodInvoker testUnitInvoker = null;
 	boolean skipTest = false;
 	int testsequence = 0;
 	String dataProviderName = "";
+	int dataProviderThreadCount = 1;
 	long testTimeout = 0;
 
 	// TestPlan
@@ -85,12 +87,29 @@ public class TestUnitObjectWrapper {
 		super();
 
 		this.testUnitMethod = method;
+		this.testUnitInvoker = TestMethodInvoker.of(method);
 		this.skipTest = skipTest;
 		this.testsequence = testsequence;
 		this.dataProviderName = dataProviderName;
 		this.testTimeout = testTimeout;
 	}
 
+	/**
+	 * Creates copy of this test unit which shares method and annotation information but has its own execution time and outcome list, so same step
+	 * definition can be executed by more than one thread at the same time.
+	 * 
+	 * @return copy of this test unit
+	 */
+	TestUnitObjectWrapper copyForExecution() {
+		try {
+			TestUnitObjectWrapper copy = (TestUnitObjectWrapper) super.clone();
+			copy.testUnitOutcomeList = new ArrayList<>();
+			return copy;
+		} catch (CloneNotSupportedException e) {
+			throw new AssertionError(e);
+		}
+	}
+
 	public long getTestUnitStartTime() {
 		return testUnitStartTime;
 	}
@@ -113,6 +132,11 @@ public class TestUnitObjectWrapper {
 
 	public void setTestUnitMethod(Method testUnitMethod) {
 		this.testUnitMethod = testUnitMethod;
+		this.testUnitInvoker = TestMethodInvoker.of(testUnitMethod);
+	}
+
+	TestMethodInvoker getTestUnitInvoker() {
+		return testUnitInvoker;
 	}
 
 	public boolean isSkipTest() {
@@ -171,6 +195,14 @@ public class TestUnitObjectWrapper {
 		this.dataProviderName = dataProviderName;
 	}
 
+	public int getDataProviderThreadCount() {
+		return dataProviderThreadCount;
+	}
+
+	public void setDataProviderThreadCount(int dataProviderThreadCount) {
+		this.dataProviderThreadCount = dataProviderThreadCount;
+	}
+
 	public boolean isKTF() {
 		return KTF;
 	}
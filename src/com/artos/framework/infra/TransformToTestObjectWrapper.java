@@ -73,16 +73,20 @@ public class TransformToTestObjectWrapper {
 			System.err.println("[WARNING] TestSuite is not found");
 			System.exit(1);
 		}
+
+		// Apply execution order requested in framework configuration (default = sequence/test script order)
+		listOfTransformedTestCases = TestOrdering.order(listOfTransformedTestCases, FWStaticStore.frameworkConfig.getTestExecutionOrder(),
+				TestHistory.get());
 	}
 
 	/**
 	 * Get all test case objects using reflection. Any test cases with \"skip = true\" will be skipped. Test cases will be sorted per package using
 	 * sequence number provided in {@code TestCase} annotation by user.
 	 */
-	private void testListIsNotProvided(List<String> groupList, ScanTestSuite reflection) {
+	private void testListIsNotProvided(GroupMatcher groupMatcher, ScanTestSuite reflection) {
 		List<TestObjectWrapper> listOfTestObj = reflection.getTestObjWrapperList(true, true, true);
 		for (TestObjectWrapper t : listOfTestObj) {
-			if (belongsToApprovedGroup(groupList, t.getGroupList())) {
+			if (groupMatcher.matches(t.getGroupList())) {
 				listOfTransformedTestCases.add(t);
 			}
 		}
@@ -93,7 +97,8 @@ public class TransformToTestObjectWrapper {
 	 * in the xml test script.
 	 */
 	private void testListProvidedViaXMLTestScript(TestContext context, TestSuite suite, ScanTestSuite reflection) {
-		List<String> groupList = suite.getTestGroupList();
+		// Group expressions are compiled once per suite
+		GroupMatcher groupMatcher = suite.getTestGroupMatcher();
 
 		// populate all global parameters to context
 		Map<String, String> parameterMap = suite.getTestSuiteParameters();
@@ -105,7 +110,7 @@ public class TransformToTestObjectWrapper {
 
 		// empty test list = assume user wants to run all test cases
 		if (suite.getTestFQCNList().isEmpty()) {
-			testListIsNotProvided(groupList, reflection);
+			testListIsNotProvided(groupMatcher, reflection);
 		} else {
 			Map<String, TestObjectWrapper> testCaseMap = reflection.getTestObjWrapperMap(true);
 			context.setGlobalObject(FWStaticStore.GLOBAL_ANNOTATED_TEST_MAP, testCaseMap);
@@ -119,7 +124,7 @@ public class TransformToTestObjectWrapper {
 					// This can happen if test is marked skipped or actually not present within a scan scope
 					System.err.println("[WARNING] (not found): " + t + " [HINT: skip=true is set OR out of Runner's scan scope]");
 				} else {
-					if (belongsToApprovedGroup(groupList, testObjWrapper.getGroupList())) {
+					if (groupMatcher.matches(testObjWrapper.getGroupList())) {
 						listOfTransformedTestCases.add(testObjWrapper);
 					}
 				}
@@ -144,34 +149,6 @@ public class TransformToTestObjectWrapper {
 		}
 	}
 
-	/**
-	 * Validate if test case belongs to any user defined group(s)
-	 * 
-	 * @param refGroupList list of user defined group (list is made up of group name or regular expression)
-	 * @param testGroupList list of group test case belong to
-	 * @return true if test case belongs to at least one of the user defined groups, false if test case does not belong to any user defined groups
-	 */
-	private boolean belongsToApprovedGroup(List<String> refGroupList, List<String> testGroupList) {
-
-		if (null != refGroupList && null != testGroupList) {
-
-			// Check if string matches
-			if (refGroupList.stream().anyMatch(num -> testGroupList.contains(num))) {
-				return true;
-			} else {
-				// Check if group matches regular expression
-				for (String refGroup : refGroupList) {
-					for (String testcaseGroup : testGroupList) {
-						if (testcaseGroup.matches(refGroup)) {
-							return true;
-						}
-					}
-				}
-			}
-		}
-		return false;
-	}
-
 	protected List<TestObjectWrapper> getListOfTransformedTestCases() {
 		return listOfTransformedTestCases;
 	}
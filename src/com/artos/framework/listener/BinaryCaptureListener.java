@@ -0,0 +1,167 @@
+/*******************************************************************************
+ * Copyright (C) 2018-2019 Arpit Shah and Artos Contributors
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ ******************************************************************************/
+package com.artos.framework.listener;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+
+import com.artos.framework.Enums.CaptureDirection;
+import com.artos.interfaces.RealTimeLoggable;
+import com.artos.utils.BinaryCaptureReader;
+import com.artos.utils.BinaryCaptureWriter;
+
+/**
+ * Real time listener which records all {@code Connectable} traffic and
+ * connection events into binary capture file instead of text log. Capture
+ * file can be analysed or replayed later using {@link BinaryCaptureReader}.
+ * 
+ * <PRE>
+ * Example:
+ * BinaryCaptureListener capture = new BinaryCaptureListener(new File("./reporting/tcp_client.bin"));
+ * tcpClient.setRealTimeListener(capture);
+ * ...
+ * capture.close();
+ * </PRE>
+ * 
+ * If writing to capture file fails then capture is stopped and error is
+ * available via {@link #getError()}, connection itself is not affected.
+ */
+public class BinaryCaptureListener implements RealTimeLoggable, Closeable {
+
+	private static final byte[] NO_DATA = new byte[0];
+
+	private final BinaryCaptureWriter writer;
+	private volatile IOException error = null;
+
+	/**
+	 * Constructor. Creates capture file, existing file is overwritten.
+	 * 
+	 * @param file
+	 *            capture file
+	 * @throws IOException
+	 *             if file can not be created
+	 */
+	public BinaryCaptureListener(File file) throws IOException {
+		this.writer = new BinaryCaptureWriter(file);
+	}
+
+	/**
+	 * Constructor. Creates capture file, existing file is overwritten.
+	 * 
+	 * @param file
+	 *            capture file
+	 * @param bufferSize
+	 *            write buffer size in bytes
+	 * @throws IOException
+	 *             if file can not be created
+	 */
+	public BinaryCaptureListener(File file, int bufferSize) throws IOException {
+		this.writer = new BinaryCaptureWriter(file, bufferSize);
+	}
+
+	@Override
+	public void connected() {
+		write(CaptureDirection.CONNECTED, NO_DATA);
+	}
+
+	/**
+	 * Records disconnect event and writes buffered records to the file
+	 */
+	@Override
+	public void disConnected() {
+		write(CaptureDirection.DISCONNECTED, NO_DATA);
+		if (null == error) {
+			try {
+				writer.flush();
+			} catch (IOException e) {
+				error = e;
+			}
+		}
+	}
+
+	@Override
+	public void send(byte[] data) {
+		write(CaptureDirection.SEND, data);
+	}
+
+	@Override
+	public void receive(byte[] data) {
+		write(CaptureDirection.RECEIVE, data);
+	}
+
+	/**
+	 * Writes buffered records to the file
+	 * 
+	 * @throws IOException
+	 *             if an I/O error occurs.
+	 */
+	public void flush() throws IOException {
+		writer.flush();
+	}
+
+	/**
+	 * Writes buffered records and closes capture file
+	 */
+	@Override
+	public void close() throws IOException {
+		writer.close();
+	}
+
+	private void write(CaptureDirection direction, byte[] data) {
+		if (null != error) {
+			return;
+		}
+		try {
+			writer.write(direction, data);
+		} catch (IOException e) {
+			error = e;
+		}
+	}
+
+	// =================================================================================================
+	// Getter Setter
+	// =================================================================================================
+
+	public File getFile() {
+		return writer.getFile();
+	}
+
+	/**
+	 * Returns number of records written since capture was created
+	 * 
+	 * @return record count
+	 */
+	public long getRecordCount() {
+		return writer.getRecordCount();
+	}
+
+	/**
+	 * Returns error which stopped the capture, null if capture is healthy
+	 * 
+	 * @return IOException or null
+	 */
+	public IOException getError() {
+		return error;
+	}
+
+}
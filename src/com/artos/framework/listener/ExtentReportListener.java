@@ -46,6 +46,20 @@ public class ExtentReportListener implements TestProgress {
 	public ExtentReportListener(TestContext context) {
 		this.context = context;
 		this.logger = context.getLogger();
+		// Parallel worker contexts share logger, so report is available without test suite start event
+		this.extent = logger.getExtent();
+	}
+
+	/**
+	 * Constructor for listener which reports one data provider row or Scenario Outline example row executed in parallel with other rows. Row is
+	 * appended to test case of the parent listener.
+	 * 
+	 * @param context row context
+	 * @param parentListener listener which reports test case the row belongs to
+	 */
+	public ExtentReportListener(TestContext context, ExtentReportListener parentListener) {
+		this(context);
+		this.testParent = parentListener.testParent;
 	}
 
 	@Override
@@ -109,8 +123,10 @@ public class ExtentReportListener implements TestProgress {
 
 	@Override
 	public void childTestCaseExecutionFinished(BDDScenario scenario) {
-		// add child to parent
-		testParent.appendChild(testChild);
+		// add child to parent, parent is shared if example rows of a Scenario Outline are executed in parallel
+		synchronized (testParent) {
+			testParent.appendChild(testChild);
+		}
 		extent.endTest(testChild);
 		testChild = null;
 	}
@@ -456,8 +472,10 @@ public class ExtentReportListener implements TestProgress {
 	@Override
 	public void childTestUnitExecutionFinished(TestUnitObjectWrapper unit) {
 		if (null == testChildOfChild) {
-			// add child to parent
-			testParent.appendChild(testChild);
+			// add child to parent, parent is shared if data provider rows are executed in parallel
+			synchronized (testParent) {
+				testParent.appendChild(testChild);
+			}
 			extent.endTest(testChild);
 			testChild = null;
 		} else {
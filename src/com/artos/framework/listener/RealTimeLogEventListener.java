@@ -21,27 +21,46 @@
  ******************************************************************************/
 package com.artos.framework.listener;
 
+import java.io.File;
+import java.io.IOException;
+import java.util.List;
+
 import org.apache.logging.log4j.Level;
 import org.apache.logging.log4j.core.Logger;
+import org.apache.logging.log4j.util.StringBuilderFormattable;
 
+import com.artos.framework.Enums.CaptureDirection;
+import com.artos.framework.FWStaticStore;
 import com.artos.framework.infra.LogWrapper;
 import com.artos.framework.infra.TestContext;
 import com.artos.interfaces.RealTimeLoggable;
-import com.artos.utils.Transform;
+import com.artos.utils.BinaryCaptureWriter;
+import com.artos.utils.HexEncoder;
 
 /**
  * Responsible for logging byte array provided by registering classes. Generally
  * used in cases where real time logging is required for all send/receive type
  * of communication. Example: {@code TCPClient}. Logs will be stored in the log
  * file with name *-realtime.*
+ * 
+ * <PRE>
+ * Hex formatting is only performed if realtime logger accepts TRACE level,
+ * and formatting is done straight into the logger's buffer.
+ * If binary capture is enabled then frames are written as they are into
+ * *-realtime.bin file (see {@link BinaryCaptureWriter}) instead of hex text.
+ * {@link BinaryCaptureListener} can be used where capture file is required
+ * without test context.
+ * </PRE>
  *
  */
 public class RealTimeLogEventListener implements RealTimeLoggable {
 
 	static final String FQCN = LogWrapper.class.getName();
-	Transform _tfm = new Transform();
+	private static final byte[] NO_DATA = new byte[0];
 	TestContext context;
 	Logger logger;
+	volatile BinaryCaptureWriter captureWriter = null;
+	File captureFile = null;
 
 	/**
 	 * Constructor of type 'Real Time Log Listener' storing the context and the
@@ -55,12 +74,36 @@ public class RealTimeLogEventListener implements RealTimeLoggable {
 		this.logger = context.getLogger().getRealTimeLogger();
 	}
 
+	/**
+	 * Constructor of type 'Real Time Log Listener' storing the context and the
+	 * log4j logger object
+	 * 
+	 * @param context
+	 *            Test context
+	 * @param enableBinaryCapture
+	 *            true = frames are written to binary capture file, false =
+	 *            frames are logged as hex text
+	 * @throws IOException
+	 *             if capture file can not be created
+	 */
+	public RealTimeLogEventListener(TestContext context, boolean enableBinaryCapture) throws IOException {
+		this(context);
+		if (enableBinaryCapture) {
+			this.captureFile = createCaptureFile();
+			this.captureWriter = new BinaryCaptureWriter(captureFile);
+		}
+	}
+
 	/**
 	 * Logs the byte array
 	 */
 	@Override
 	public void send(byte[] data) {
-		logger.logIfEnabled(FQCN, Level.TRACE, null, "Req: {}", _tfm.bytesToHexString(data));
+		if (null != captureWriter) {
+			capture(CaptureDirection.SEND, data);
+		} else if (logger.isEnabled(Level.TRACE)) {
+			logger.logIfEnabled(FQCN, Level.TRACE, null, "Req: {}", new HexFrame(data));
+		}
 	}
 
 	/**
@@ -68,22 +111,112 @@ public class RealTimeLogEventListener implements RealTimeLoggable {
 	 */
 	@Override
 	public void receive(byte[] data) {
-		logger.logIfEnabled(FQCN, Level.TRACE, null, "Res: {}", _tfm.bytesToHexString(data));
+		if (null != captureWriter) {
+			capture(CaptureDirection.RECEIVE, data);
+		} else if (logger.isEnabled(Level.TRACE)) {
+			logger.logIfEnabled(FQCN, Level.TRACE, null, "Res: {}", new HexFrame(data));
+		}
 	}
 
 	/**
-	 * Logs if connect event is triggered
+	 * Records connect event in binary capture (if enabled)
 	 */
 	@Override
 	public void connected() {
-		// Do not do anything
+		if (null != captureWriter) {
+			capture(CaptureDirection.CONNECTED, NO_DATA);
+		}
 	}
 
 	/**
-	 * Logs if disconnect event is triggered
+	 * Records disconnect event and flushes binary capture (if enabled)
 	 */
 	@Override
 	public void disConnected() {
-		// Do not do anything
+		BinaryCaptureWriter writer = captureWriter;
+		if (null != writer) {
+			capture(CaptureDirection.DISCONNECTED, NO_DATA);
+			try {
+				writer.flush();
+			} catch (IOException e) {
+				stopCapture(e);
+			}
+		}
+	}
+
+	/**
+	 * Flushes and closes binary capture file, if enabled. Listener falls back
+	 * to hex text logging afterwards.
+	 */
+	public void close() {
+		BinaryCaptureWriter writer = captureWriter;
+		captureWriter = null;
+		if (null != writer) {
+			try {
+				writer.close();
+			} catch (IOException e) {
+				logger.error("Failed to close binary capture " + writer.getFile().getAbsolutePath(), e);
+			}
+		}
+	}
+
+	private void capture(CaptureDirection direction, byte[] data) {
+		BinaryCaptureWriter writer = captureWriter;
+		if (null == writer) {
+			return;
+		}
+		try {
+			writer.write(direction, data);
+		} catch (IOException e) {
+			stopCapture(e);
+		}
+	}
+
+	private void stopCapture(IOException e) {
+		logger.error("Binary capture failed, realtime logs will be written as hex text", e);
+		close();
+	}
+
+	/**
+	 * Capture file is created next to realtime log file, if realtime log file
+	 * is not enabled then it is created in log root directory
+	 */
+	private File createCaptureFile() {
+		List<File> realTimeLogFiles = context.getLogger().getCurrentRealTimeLogFiles();
+		if (!realTimeLogFiles.isEmpty()) {
+			String logFilePath = realTimeLogFiles.get(0).getAbsolutePath();
+			return new File(logFilePath.substring(0, logFilePath.lastIndexOf(".")) + ".bin");
+		}
+		return new File(FWStaticStore.frameworkConfig.getLogRootDir() + "realtime_" + System.currentTimeMillis() + ".bin");
+	}
+
+	/**
+	 * Returns binary capture file, null is returned if binary capture is not
+	 * enabled
+	 */
+	public File getBinaryCaptureFile() {
+		return captureFile;
+	}
+
+	/**
+	 * Message parameter which formats frame into hex only when log event is
+	 * formatted
+	 */
+	private static final class HexFrame implements StringBuilderFormattable {
+		private final byte[] data;
+
+		HexFrame(byte[] data) {
+			this.data = data;
+		}
+
+		@Override
+		public void formatTo(StringBuilder buffer) {
+			HexEncoder.appendHex(buffer, data);
+		}
+
+		@Override
+		public String toString() {
+			return HexEncoder.toHexString(data);
+		}
 	}
 }
@@ -0,0 +1,414 @@
+/*******************************************************************************
+ * Copyright (C) 2018-2019 Arpit Shah and Artos Contributors
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ ******************************************************************************/
+package com.artos.framework.listener;
+
+import com.artos.framework.Enums.TestStatus;
+import com.artos.framework.infra.BDDScenario;
+import com.artos.framework.infra.BDDStep;
+import com.artos.framework.infra.LogWrapper;
+import com.artos.framework.infra.TestContext;
+import com.artos.framework.infra.TestObjectWrapper;
+import com.artos.framework.infra.TestUnitObjectWrapper;
+import com.artos.interfaces.TestProgress;
+import com.artos.utils.StreamReportWriter;
+
+/**
+ * Listener which appends test progress to {@link StreamReportWriter} as it happens. Only ids of the test nodes currently being executed are held,
+ * so memory usage does not grow with the number of test cases. Report is flushed once result of each test case is known and can be rendered to HTML using
+ * {@link com.artos.utils.StreamReportRenderer}.
+ */
+public class StreamReportListener implements TestProgress {
+
+	TestContext context;
+	LogWrapper logger;
+	StreamReportWriter reportWriter;
+	long testParentId = 0;
+	long testChildId = 0;
+	long testChildOfChildId = 0;
+	// Test result is notified after test case or child test case has finished
+	long lastFinishedId = 0;
+	boolean lastFinishedTestCase = false;
+
+	public StreamReportListener(TestContext context) {
+		this.context = context;
+		this.logger = context.getLogger();
+		// Parallel worker contexts share logger, so report is available without test suite start event
+		this.reportWriter = logger.getStreamReportWriter();
+	}
+
+	/**
+	 * Constructor for listener which reports one data provider row or Scenario Outline example row executed in parallel with other rows. Row is
+	 * appended to test case of the parent listener.
+	 * 
+	 * @param context row context
+	 * @param parentListener listener which reports test case the row belongs to
+	 */
+	public StreamReportListener(TestContext context, StreamReportListener parentListener) {
+		this(context);
+		this.testParentId = parentListener.testParentId;
+	}
+
+	/** Returns id of the deepest node currently being executed */
+	private long currentId() {
+		if (0 != testChildOfChildId) {
+			return testChildOfChildId;
+		} else if (0 != testChildId) {
+			return testChildId;
+		}
+		return testParentId;
+	}
+
+	private long startChild(String name, String description) {
+		long id = reportWriter.nextId();
+		lastFinishedId = 0;
+		reportWriter.record("child_start").put("id", id).put("parent", currentId()).put("name", name).put("desc", description).write();
+		return id;
+	}
+
+	private void endNode(String type, long id) {
+		reportWriter.record(type).put("id", id).write();
+		lastFinishedId = id;
+		lastFinishedTestCase = "test_end".equals(type);
+	}
+
+	// =================================================================================================
+	// Test Suite
+	// =================================================================================================
+
+	@Override
+	public void testSuiteExecutionStarted(String description) {
+		reportWriter = logger.getStreamReportWriter();
+		reportWriter.record("suite_start").put("name", description).write();
+	}
+
+	@Override
+	public void testSuiteExecutionFinished(String description) {
+		reportWriter.record("suite_end").put("name", description).write();
+		reportWriter.close();
+	}
+
+	@Override
+	public void testExecutionLoopCount(int count) {
+		reportWriter.record("loop").put("count", count).write();
+	}
+
+	@Override
+	public void testSuiteException(String description) {
+		reportWriter.record("suite_exception").put("msg", description).write();
+	}
+
+	@Override
+	public void testSuiteSummaryPrinting(String description) {
+		// Summary is printed after test suite is finished
+		reportWriter.record("summary").put("msg", description).write();
+		reportWriter.close();
+	}
+
+	@Override
+	public void testSuiteFailureHighlight(String description) {
+		reportWriter.record("failure_highlight").put("msg", description).write();
+		reportWriter.close();
+	}
+
+	// =================================================================================================
+	// Test Case
+	// =================================================================================================
+
+	@Override
+	public void testCaseExecutionStarted(TestObjectWrapper t) {
+		testParentId = reportWriter.nextId();
+		lastFinishedId = 0;
+		reportWriter.record("test_start").put("id", testParentId).put("name", t.getTestClassObject().getName()).put("desc", t.getTestPlanDescription())
+				.put("author", t.getTestPlanPreparedBy()).write();
+	}
+
+	@Override
+	public void testCaseExecutionStarted(BDDScenario scenario) {
+		testParentId = reportWriter.nextId();
+		lastFinishedId = 0;
+		reportWriter.record("test_start").put("id", testParentId).put("name", "Scenario: " + scenario.getScenarioDescription())
+				.put("desc", scenario.getScenarioDescription()).write();
+	}
+
+	@Override
+	public void testCaseExecutionFinished(TestObjectWrapper t) {
+		endNode("test_end", testParentId);
+		testParentId = 0;
+	}
+
+	@Override
+	public void testCaseExecutionFinished(BDDScenario scenario) {
+		endNode("test_end", testParentId);
+		testParentId = 0;
+	}
+
+	@Override
+	public void testCaseExecutionSkipped(TestObjectWrapper t) {
+		reportWriter.record("skip").put("id", currentId()).put("name", "Skipped Test Case: " + t.getTestClassObject().getName()).write();
+	}
+
+	@Override
+	public void childTestCaseExecutionStarted(TestObjectWrapper t, String paramInfo) {
+		testChildId = startChild(paramInfo, t.getTestPlanDescription());
+	}
+
+	@Override
+	public void childTestCaseExecutionStarted(BDDScenario scenario, String paramInfo) {
+		testChildId = startChild(paramInfo, scenario.getScenarioDescription());
+	}
+
+	@Override
+	public void childTestCaseExecutionFinished(TestObjectWrapper t) {
+		endNode("child_end", testChildId);
+		testChildId = 0;
+	}
+
+	@Override
+	public void childTestCaseExecutionFinished(BDDScenario scenario) {
+		endNode("child_end", testChildId);
+		testChildId = 0;
+	}
+
+	@Override
+	public void testCaseStatusUpdate(TestStatus testStatus, String description) {
+		reportWriter.record("status").put("id", currentId()).put("status", testStatus.name()).put("msg", description).write();
+	}
+
+	@Override
+	public void testResult(TestStatus testStatus, String description) {
+		long id = currentId();
+		boolean testCase = 0 == testChildId;
+		if (0 != lastFinishedId) {
+			id = lastFinishedId;
+			testCase = lastFinishedTestCase;
+			lastFinishedId = 0;
+		}
+		reportWriter.record("result").put("id", id).put("level", testCase ? "test" : "child").put("status", testStatus.name()).put("msg", description)
+				.write();
+		// Result is the last record of test case or data provider row
+		reportWriter.flush();
+	}
+
+	@Override
+	public void testException(String description) {
+		reportWriter.record("exception").put("id", currentId()).put("msg", description).write();
+	}
+
+	// =================================================================================================
+	// Test Unit
+	// =================================================================================================
+
+	@Override
+	public void testUnitExecutionStarted(TestUnitObjectWrapper unit) {
+		reportWriter.record("unit_start").put("id", currentId()).put("name", unit.getTestUnitMethod().getName()).write();
+	}
+
+	@Override
+	public void testUnitExecutionStarted(BDDStep step) {
+		reportWriter.record("unit_start").put("id", currentId()).put("name", step.getStepAction() + " " + step.getStepDescription()).write();
+	}
+
+	@Override
+	public void testUnitExecutionFinished(TestUnitObjectWrapper unit) {
+		reportWriter.record("unit_end").put("id", currentId()).put("name", unit.getTestUnitMethod().getName()).write();
+	}
+
+	@Override
+	public void testUnitExecutionFinished(BDDStep step) {
+		reportWriter.record("unit_end").put("id", currentId()).put("name", step.getStepAction() + " " + step.getStepDescription()).write();
+	}
+
+	@Override
+	public void childTestUnitExecutionStarted(TestObjectWrapper t, TestUnitObjectWrapper unit, String paramInfo) {
+		/*
+		 * Parameterised test case at test case level and test unit level call this function
+		 */
+		if (0 == testChildId) {
+			testChildId = startChild(paramInfo, t.getTestPlanDescription());
+		}
+	}
+
+	@Override
+	public void childTestUnitExecutionStarted(BDDScenario scenario, BDDStep step, String paramInfo) {
+		// Step of parameterised scenario is child of the child test case
+		if (0 == testChildId) {
+			testChildId = startChild(paramInfo, step.getStepAction() + " " + step.getStepDescription());
+		} else {
+			testChildOfChildId = startChild(paramInfo, step.getStepAction() + " " + step.getStepDescription());
+		}
+	}
+
+	@Override
+	public void childTestUnitExecutionFinished(TestUnitObjectWrapper unit) {
+		if (0 == testChildOfChildId) {
+			endNode("child_end", testChildId);
+			testChildId = 0;
+		} else {
+			endNode("child_end", testChildOfChildId);
+			testChildOfChildId = 0;
+		}
+	}
+
+	@Override
+	public void childTestUnitExecutionFinished(BDDStep step) {
+		if (0 == testChildOfChildId) {
+			endNode("child_end", testChildId);
+			testChildId = 0;
+		} else {
+			endNode("child_end", testChildOfChildId);
+			testChildOfChildId = 0;
+		}
+	}
+
+	// =================================================================================================
+	// Not reported
+	// =================================================================================================
+
+	@Override
+	public void beforeTestSuiteMethodExecutionStarted(String methodName, String description) {
+	}
+
+	@Override
+	public void beforeTestSuiteMethodExecutionFinished(String description) {
+	}
+
+	@Override
+	public void afterTestSuiteMethodExecutionStarted(String methodName, String description) {
+	}
+
+	@Override
+	public void afterTestSuiteMethodExecutionFinished(String description) {
+	}
+
+	@Override
+	public void printTestPlan(TestObjectWrapper t) {
+	}
+
+	@Override
+	public void printTestPlan(BDDScenario sc) {
+	}
+
+	@Override
+	public void printTestUnitPlan(TestUnitObjectWrapper unit) {
+	}
+
+	@Override
+	public void printTestUnitPlan(BDDStep step) {
+	}
+
+	@Override
+	public void localBeforeTestCaseMethodExecutionStarted(String methodName, TestObjectWrapper t) {
+	}
+
+	@Override
+	public void localBeforeTestCaseMethodExecutionFinished(TestObjectWrapper t) {
+	}
+
+	@Override
+	public void localAfterTestCaseMethodExecutionStarted(String methodName, TestObjectWrapper t) {
+	}
+
+	@Override
+	public void localAfterTestCaseMethodExecutionFinished(TestObjectWrapper t) {
+	}
+
+	@Override
+	public void globalBeforeTestCaseMethodExecutionStarted(String methodName, TestObjectWrapper t) {
+	}
+
+	@Override
+	public void globalBeforeTestCaseMethodExecutionStarted(String methodName, BDDScenario scenario) {
+	}
+
+	@Override
+	public void globalBeforeTestCaseMethodExecutionFinished(TestObjectWrapper t) {
+	}
+
+	@Override
+	public void globalBeforeTestCaseMethodExecutionFinished(BDDScenario scenario) {
+	}
+
+	@Override
+	public void globalAfterTestCaseMethodExecutionStarted(String methodName, TestObjectWrapper t) {
+	}
+
+	@Override
+	public void globalAfterTestCaseMethodExecutionStarted(String methodName, BDDScenario scenario) {
+	}
+
+	@Override
+	public void globalAfterTestCaseMethodExecutionFinished(TestObjectWrapper t) {
+	}
+
+	@Override
+	public void globalAfterTestCaseMethodExecutionFinished(BDDScenario scenario) {
+	}
+
+	@Override
+	public void globalBeforeTestUnitMethodExecutionStarted(String methodName, TestUnitObjectWrapper unit) {
+	}
+
+	@Override
+	public void globalBeforeTestUnitMethodExecutionStarted(String methodName, BDDStep step) {
+	}
+
+	@Override
+	public void globalBeforeTestUnitMethodExecutionFinished(TestUnitObjectWrapper unit) {
+	}
+
+	@Override
+	public void globalBeforeTestUnitMethodExecutionFinished(BDDStep step) {
+	}
+
+	@Override
+	public void globalAfterTestUnitMethodExecutionStarted(String methodName, TestUnitObjectWrapper unit) {
+	}
+
+	@Override
+	public void globalAfterTestUnitMethodExecutionStarted(String methodName, BDDStep step) {
+	}
+
+	@Override
+	public void globalAfterTestUnitMethodExecutionFinished(TestUnitObjectWrapper unit) {
+	}
+
+	@Override
+	public void globalAfterTestUnitMethodExecutionFinished(BDDStep step) {
+	}
+
+	@Override
+	public void localBeforeTestUnitMethodExecutionStarted(TestObjectWrapper t, TestUnitObjectWrapper unit) {
+	}
+
+	@Override
+	public void localBeforeTestUnitMethodExecutionFinished(TestUnitObjectWrapper unit) {
+	}
+
+	@Override
+	public void localAfterTestUnitMethodExecutionStarted(TestObjectWrapper t, TestUnitObjectWrapper unit) {
+	}
+
+	@Override
+	public void localAfterTestUnitMethodExecutionFinished(TestUnitObjectWrapper unit) {
+	}
+
+}
@@ -0,0 +1,244 @@
+/*******************************************************************************
+ * Copyright (C) 2018-2019 Arpit Shah and Artos Contributors
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ ******************************************************************************/
+package com.artos.framework.parser;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map.Entry;
+
+import com.artos.framework.FWStaticStore;
+import com.artos.framework.infra.BDDScenario;
+import com.artos.framework.infra.BDDStep;
+import com.artos.utils.UtilsFile;
+
+/**
+ * On-disk cache of parsed feature files. Parsed scenarios of a feature file are stored in compact binary form together with feature file length,
+ * last modified time and SHA-256 hash of its content. Cached scenarios are returned only if feature file is unchanged, so edited feature files are
+ * always parsed again.
+ * 
+ * <PRE>
+ * - If length and last modified time match then content is not read at all
+ * - If only last modified time differs (file was touched or checked out again) then content hash decides
+ * - Any problem with cache file is treated as cache miss
+ * </PRE>
+ */
+final class BDDFeatureFileCache {
+
+	private static final int MAGIC = 0x41424443; // "ABDC"
+	private static final int VERSION = 1;
+	// Default cache directory, relative to working directory
+	static final File DEFAULT_CACHE_DIR = new File(FWStaticStore.CACHE_BASE_DIR + "bdd");
+
+	private final File cacheFile;
+	private final long length;
+	private final long lastModified;
+
+	/**
+	 * Constructor. Length and last modified time of feature file are captured here, so they must be read before feature file content.
+	 * 
+	 * @param featureFile feature file
+	 * @param cacheDir directory cache file is stored in, created on first write
+	 */
+	BDDFeatureFileCache(File featureFile, File cacheDir) {
+		String path = featureFile.getAbsoluteFile().toPath().normalize().toString();
+		this.cacheFile = new File(cacheDir, featureFile.getName() + "_" + Integer.toHexString(path.hashCode()) + ".cache");
+		this.length = featureFile.length();
+		this.lastModified = featureFile.lastModified();
+	}
+
+	/**
+	 * Returns cached scenarios if feature file has not changed since cache was written.
+	 * 
+	 * @param content feature file content, if null then only length and last modified time are compared
+	 * @return scenario list in feature file order (backgrounds included) or null if cache is missing or stale
+	 */
+	List<BDDScenario> read(byte[] content) {
+		if (!cacheFile.isFile()) {
+			return null;
+		}
+		try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(cacheFile)))) {
+			if (in.readInt() != MAGIC || in.readInt() != VERSION) {
+				return null;
+			}
+			long cachedLength = in.readLong();
+			long cachedLastModified = in.readLong();
+			byte[] cachedHash = new byte[in.readUnsignedByte()];
+			in.readFully(cachedHash);
+
+			if (null == content) {
+				if (cachedLength != length || cachedLastModified != lastModified) {
+					return null;
+				}
+			} else if (!Arrays.equals(cachedHash, hash(content))) {
+				return null;
+			}
+			return readScenarioList(in);
+		} catch (IOException | RuntimeException e) {
+			// Corrupted or incompatible cache file, parse feature file again
+			return null;
+		}
+	}
+
+	/**
+	 * Writes scenarios to cache file. Cache is written to temporary file first and then moved, so concurrent readers never see partial cache.
+	 * Failure to write cache does not affect test execution.
+	 * 
+	 * @param scenarioList scenario list in feature file order (backgrounds included)
+	 * @param content feature file content scenarios were parsed from
+	 */
+	void write(List<BDDScenario> scenarioList, byte[] content) {
+		UtilsFile.tryWriteAtomic(cacheFile, stream -> {
+			DataOutputStream out = new DataOutputStream(stream);
+			byte[] hash = hash(content);
+			out.writeInt(MAGIC);
+			out.writeInt(VERSION);
+			out.writeLong(length);
+			out.writeLong(lastModified);
+			out.writeByte(hash.length);
+			out.write(hash);
+			writeScenarioList(out, scenarioList);
+			out.flush();
+		});
+	}
+
+	private static byte[] hash(byte[] content) {
+		try {
+			return MessageDigest.getInstance("SHA-256").digest(content);
+		} catch (NoSuchAlgorithmException e) {
+			// Every Java platform is required to support SHA-256
+			throw new IllegalStateException(e);
+		}
+	}
+
+	// =================================================================================================
+	// Serialization
+	// =================================================================================================
+
+	private static void writeScenarioList(DataOutputStream out, List<BDDScenario> scenarioList) throws IOException {
+		out.writeInt(scenarioList.size());
+		for (BDDScenario scenario : scenarioList) {
+			out.writeBoolean(scenario.isBackground());
+			writeString(out, scenario.getScenarioDescription());
+			writeStringList(out, scenario.getGroupList());
+			writeTable(out, scenario.getGlobalDataTable());
+			out.writeInt(scenario.getSteplist().size());
+			for (BDDStep step : scenario.getSteplist()) {
+				writeString(out, step.getStepAction());
+				writeString(out, step.getStepDescription());
+				out.writeBoolean(step.hasGlobalReference());
+				writeStringList(out, step.getInlineParameterList());
+				writeTable(out, step.getLocalDataTable());
+			}
+		}
+	}
+
+	private static List<BDDScenario> readScenarioList(DataInputStream in) throws IOException {
+		int scenarioCount = in.readInt();
+		List<BDDScenario> scenarioList = new ArrayList<>(scenarioCount);
+		for (int i = 0; i < scenarioCount; i++) {
+			BDDScenario scenario = new BDDScenario();
+			scenario.setBackground(in.readBoolean());
+			scenario.setScenarioDescription(readString(in));
+			scenario.setGroupList(readStringList(in));
+			scenario.setGlobalDataTable(readTable(in));
+			int stepCount = in.readInt();
+			for (int j = 0; j < stepCount; j++) {
+				String stepAction = readString(in);
+				String stepDescription = readString(in);
+				boolean hasGlobalReference = in.readBoolean();
+				List<String> inlineParameterList = readStringList(in);
+				BDDStep step = new BDDStep(stepAction, stepDescription, readTable(in));
+				step.setHasGlobalReference(hasGlobalReference);
+				step.setInlineParameterList(inlineParameterList);
+				scenario.getSteplist().add(step);
+			}
+			scenarioList.add(scenario);
+		}
+		return scenarioList;
+	}
+
+	private static void writeTable(DataOutputStream out, LinkedHashMap<String, List<String>> table) throws IOException {
+		out.writeInt(table.size());
+		for (Entry<String, List<String>> entry : table.entrySet()) {
+			writeString(out, entry.getKey());
+			writeStringList(out, entry.getValue());
+		}
+	}
+
+	private static LinkedHashMap<String, List<String>> readTable(DataInputStream in) throws IOException {
+		int columnCount = in.readInt();
+		LinkedHashMap<String, List<String>> table = new LinkedHashMap<>();
+		for (int i = 0; i < columnCount; i++) {
+			String key = readString(in);
+			table.put(key, readStringList(in));
+		}
+		return table;
+	}
+
+	private static void writeStringList(DataOutputStream out, List<String> list) throws IOException {
+		out.writeInt(list.size());
+		for (String s : list) {
+			writeString(out, s);
+		}
+	}
+
+	private static List<String> readStringList(DataInputStream in) throws IOException {
+		int size = in.readInt();
+		List<String> list = new ArrayList<>(size);
+		for (int i = 0; i < size; i++) {
+			list.add(readString(in));
+		}
+		return list;
+	}
+
+	// writeUTF() is limited to 64KB, so length is written as int
+	private static void writeString(DataOutputStream out, String s) throws IOException {
+		if (null == s) {
+			out.writeInt(-1);
+			return;
+		}
+		byte[] data = s.getBytes(StandardCharsets.UTF_8);
+		out.writeInt(data.length);
+		out.write(data);
+	}
+
+	private static String readString(DataInputStream in) throws IOException {
+		int size = in.readInt();
+		if (size < 0) {
+			return null;
+		}
+		byte[] data = new byte[size];
+		in.readFully(data);
+		return new String(data, StandardCharsets.UTF_8);
+	}
+}
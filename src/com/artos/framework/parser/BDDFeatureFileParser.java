@@ -22,19 +22,21 @@
 package com.artos.framework.parser;
 
 import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
 import java.io.File;
-import java.io.FileReader;
 import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
 import java.util.ArrayList;
-import java.util.Arrays;
 import java.util.LinkedHashMap;
 import java.util.List;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 
+import com.artos.framework.FWStaticStore;
 import com.artos.framework.infra.BDDFeature;
 import com.artos.framework.infra.BDDScenario;
 import com.artos.framework.infra.BDDStep;
+import com.artos.framework.infra.GroupMatcher;
 import com.google.common.collect.Lists;
 
 /**
@@ -74,8 +76,12 @@ import com.google.common.collect.Lists;
  */
 public class BDDFeatureFileParser {
 
+	private static final String SCENARIO = "Scenario: ";
+	private static final String SCENARIO_OUTLINE = "Scenario Outline: ";
+	private static final String BACKGROUND = "Background: ";
+
 	File featureFile;
-	List<String> unitGroupList;
+	GroupMatcher unitGroupMatcher;
 	BDDScenario scenario = null;
 	List<String> currentTableHeader = null;
 	List<BDDScenario> scenarioList;
@@ -83,12 +89,35 @@ public class BDDFeatureFileParser {
 	boolean globalTable = false;
 
 	/**
-	 * Responsible for parsing feature file.
+	 * Responsible for parsing feature file. If enabled in framework configuration, unchanged feature file is loaded from parse cache instead of
+	 * being parsed again.
 	 * 
 	 * @param featureFile file with extension ".feature"
 	 * @param unitGroupList list of groups which required to be executed
 	 */
 	public BDDFeatureFileParser(File featureFile, List<String> unitGroupList) {
+		this(featureFile, unitGroupList, null != FWStaticStore.frameworkConfig && FWStaticStore.frameworkConfig.isEnableBDDParseCache());
+	}
+
+	/**
+	 * Responsible for parsing feature file.
+	 * 
+	 * @param featureFile file with extension ".feature"
+	 * @param unitGroupList list of groups which required to be executed
+	 * @param useCache true = load unchanged feature file from parse cache and store newly parsed feature file in parse cache
+	 */
+	public BDDFeatureFileParser(File featureFile, List<String> unitGroupList, boolean useCache) {
+		this(featureFile, unitGroupList, useCache ? BDDFeatureFileCache.DEFAULT_CACHE_DIR : null);
+	}
+
+	/**
+	 * Responsible for parsing feature file.
+	 * 
+	 * @param featureFile file with extension ".feature"
+	 * @param unitGroupList list of groups which required to be executed
+	 * @param cacheDir parse cache directory, null = parse cache is not used
+	 */
+	BDDFeatureFileParser(File featureFile, List<String> unitGroupList, File cacheDir) {
 		// Create empty scenario list
 		scenarioList = new ArrayList<>();
 
@@ -98,20 +127,83 @@ public class BDDFeatureFileParser {
 
 		// Parse File
 		this.featureFile = featureFile;
-		this.unitGroupList = unitGroupList;
-		parse();
+		this.unitGroupMatcher = new GroupMatcher(unitGroupList);
+		buildFeature(load(cacheDir));
 	}
 
-	private void parse() {
+	/**
+	 * Returns all scenarios and backgrounds of the feature file in file order, either from parse cache or by parsing feature file.
+	 * 
+	 * @param cacheDir parse cache directory, null if parse cache should not be used
+	 * @return scenario list in file order (backgrounds included)
+	 */
+	private List<BDDScenario> load(File cacheDir) {
+		BDDFeatureFileCache cache = (null == cacheDir) ? null : new BDDFeatureFileCache(featureFile, cacheDir);
+
+		// Cheap check first, length and last modified time only
+		List<BDDScenario> parsedList = (null == cache) ? null : cache.read(null);
+		if (null != parsedList) {
+			return parsedList;
+		}
 
-		try (BufferedReader br = new BufferedReader(new FileReader(featureFile))) {
+		try {
+			byte[] content = Files.readAllBytes(featureFile.toPath());
+			// File may have been touched without being modified
+			parsedList = (null == cache) ? null : cache.read(content);
+			if (null == parsedList) {
+				parsedList = parse(content);
+			}
+			if (null != cache) {
+				cache.write(parsedList, content);
+			}
+		} catch (IOException e) {
+			e.printStackTrace();
+			parsedList = new ArrayList<>();
+		}
+		return parsedList;
+	}
+
+	/**
+	 * Filters scenarios using unit group list and adds background in front of each scenario which follows it.
+	 * 
+	 * @param parsedList scenario list in file order (backgrounds included)
+	 */
+	private void buildFeature(List<BDDScenario> parsedList) {
+		for (BDDScenario parsedScenario : parsedList) {
+			// Background Scenario runs before each non-background scenarios, store it separately
+			if (parsedScenario.isBackground()) {
+				feature.setBackground(parsedScenario);
+			} else if (unitGroupMatcher.matches(parsedScenario.getGroupList())) {
+				// If present, Add background before each scenario
+				if (null != feature.getBackground()) {
+					scenarioList.add(feature.getBackground());
+				}
+
+				// Add scenario to list
+				scenarioList.add(parsedScenario);
+			}
+		}
+	}
+
+	/**
+	 * Parses feature file content. Lines are tokenized using index based scanning, no regular expression is evaluated per line.
+	 * 
+	 * @param content feature file content
+	 * @return scenario list in file order (backgrounds included)
+	 * @throws IOException if content can not be read
+	 */
+	private List<BDDScenario> parse(byte[] content) throws IOException {
+		List<BDDScenario> parsedList = new ArrayList<>();
+
+		// FileReader was used historically, so platform default charset is kept
+		try (BufferedReader br = new BufferedReader(new InputStreamReader(new ByteArrayInputStream(content), Charset.defaultCharset()))) {
 			String previousLine = "";
 			String currentLine = "";
 			while ((currentLine = br.readLine()) != null) {
 				currentLine = currentLine.trim();
 
 				// Skip empty lines or comments
-				if (currentLine.isEmpty() || currentLine.startsWith("#")) {
+				if (currentLine.isEmpty() || currentLine.charAt(0) == '#') {
 					continue;
 				}
 
@@ -119,7 +211,8 @@ public class BDDFeatureFileParser {
 				// "Scenario: " indicates that Scenario starts from current line
 				// "Scenario Outline: " indicates that Scenario with an example table starts from current line (Artos treat this same as "Scenario: ")
 				// "Background: " indicates that given scenario should be executed prior to each scenarios.
-				if (currentLine.startsWith("Scenario: ") || currentLine.startsWith("Scenario Outline: ") || currentLine.startsWith("Background: ")) {
+				String scenarioDescription = getScenarioDescription(currentLine);
+				if (null != scenarioDescription) {
 
 					// Create new Scenario object
 					scenario = new BDDScenario();
@@ -129,10 +222,6 @@ public class BDDFeatureFileParser {
 					// globalTable indicates if provided table is an ExampleTable, reset variable when new scenario starts
 					globalTable = false;
 
-					// Remove Unwanted text
-					String scenarioDescription = currentLine.replaceFirst("Scenario Outline: ", "");
-					scenarioDescription = scenarioDescription.replaceFirst("Scenario: ", "");
-					scenarioDescription = scenarioDescription.replaceFirst("Background: ", "");
 					scenario.setScenarioDescription(scenarioDescription);
 
 					// Every test belongs to * group
@@ -140,73 +229,53 @@ public class BDDFeatureFileParser {
 
 					// Look for specified Groups
 					if (previousLine.startsWith("@")) {
-						List<String> groupList = Arrays.asList(previousLine.split(" "));
-						// Trim all element
-						groupList.replaceAll(String::trim);
-						// Store groups as upper case to avoid case in-sensitivity
-						groupList.replaceAll(String::toUpperCase);
-
-						groupList.replaceAll(s -> s.replaceAll("@", ""));
-						// remove all empty string from list
-						groupList.removeIf(item -> item == null);
-						// Append all the list to existing list
-						scenario.getGroupList().addAll(groupList);
+						scenario.getGroupList().addAll(parseGroups(previousLine));
 					}
 
-					// Background Scenario runs before each non-background scenarios, store it separately
-					if (isBackground(currentLine)) {
-						// set scenario background flag
-						scenario.setBackground(true);
-						// store scenario object as a background object
-						feature.setBackground(scenario);
-					} else {
-						if (belongsToApprovedGroup(unitGroupList, scenario.getGroupList())) {
-
-							// If present, Add background before each scenario
-							if (null != feature.getBackground()) {
-								scenarioList.add(feature.getBackground());
-							}
+					// Background Scenario runs before each non-background scenarios, it is attached to scenarios once parsing is finished
+					scenario.setBackground(isBackground(currentLine));
+					parsedList.add(scenario);
 
-							// Add scenario to list
-							scenarioList.add(scenario);
-						}
-					}
 				} else if (currentLine.startsWith("Examples:")) {
 					globalTable = true;
-				} else if (!currentLine.startsWith("|")) {
+				} else if (currentLine.charAt(0) != '|') {
 
 					// Find keyword (Given, And, then, When, But)
-					String keyWord = currentLine.contains(" ") ? currentLine.split(" ")[0] : currentLine;
+					int keyWordEnd = currentLine.indexOf(' ');
+					String keyWord = keyWordEnd < 0 ? currentLine : currentLine.substring(0, keyWordEnd);
 
-					if (isGherikinKeyWord(keyWord)) {
+					// Steps are only valid within a scenario, feature description may contain anything
+					if (null != scenario && isGherikinKeyWord(keyWord)) {
 
 						// Remove keyword and isolate the step description
-						String stepDescription = currentLine.replaceFirst(keyWord, "").trim();
+						String stepDescription = currentLine.substring(keyWord.length()).trim();
 
 						// create new step and add to list
 						BDDStep step = new BDDStep(keyWord, stepDescription, new LinkedHashMap<>());
 						scenario.getSteplist().add(step);
 
 						// Find all words between quotes and store them in a list for later use
-						Matcher m = Pattern.compile("\\\"(.*?)\\\"").matcher(stepDescription);
-						while (m.find()) {
-							step.getInlineParameterList().add(m.group(1));
+						int start = stepDescription.indexOf('"');
+						while (start >= 0) {
+							int end = stepDescription.indexOf('"', start + 1);
+							if (end < 0) {
+								break;
+							}
+							String parameter = stepDescription.substring(start + 1, end);
+							step.getInlineParameterList().add(parameter);
 
 							// If any data values have <> then flag as global reference
 							// global reference can be in-line or in localDataTable
-							if (m.group(1).startsWith("<") && m.group(1).endsWith(">")) {
+							if (parameter.startsWith("<") && parameter.endsWith(">")) {
 								step.setHasGlobalReference(true);
 							}
+							start = stepDescription.indexOf('"', end + 1);
 						}
 					}
-				} else if (currentLine.startsWith("|")) {
+				} else if (null != scenario) {
 
-					// Remove first char so we can split correctly
-					String tableLine = currentLine.substring(1, currentLine.length());
 					// Split table columns
-					List<String> tableData = Arrays.asList(tableLine.split("\\|"));
-					// Trim each item within a table
-					tableData.replaceAll(String::trim);
+					List<String> tableData = splitTableRow(currentLine);
 
 					// If previous line has pipe then this must be second line or later
 					// If previous line does not have pipe then it must be header row
@@ -220,10 +289,75 @@ public class BDDFeatureFileParser {
 				// Store previous line for later use
 				previousLine = currentLine;
 			}
-		} catch (IOException e) {
-			e.printStackTrace();
 		}
+		return parsedList;
+	}
 
+	/**
+	 * Returns scenario description if line starts a scenario, scenario outline or background
+	 * 
+	 * @param line trimmed feature file line
+	 * @return scenario description or null if line does not start a scenario
+	 */
+	private String getScenarioDescription(String line) {
+		if (line.startsWith(SCENARIO)) {
+			return line.substring(SCENARIO.length());
+		} else if (line.startsWith(SCENARIO_OUTLINE)) {
+			return line.substring(SCENARIO_OUTLINE.length());
+		} else if (line.startsWith(BACKGROUND)) {
+			return line.substring(BACKGROUND.length());
+		}
+		return null;
+	}
+
+	/**
+	 * Splits group line (for example "@smoke @regression") into group names. Groups are stored as upper case to avoid case in-sensitivity.
+	 * 
+	 * @param line trimmed feature file line which starts with "@"
+	 * @return group list
+	 */
+	private List<String> parseGroups(String line) {
+		List<String> groupList = new ArrayList<>();
+		int start = 0;
+		while (start < line.length()) {
+			int end = line.indexOf(' ', start);
+			if (end < 0) {
+				end = line.length();
+			}
+			if (end > start) {
+				String group = line.substring(start, end).trim().toUpperCase().replace("@", "");
+				if (!group.isEmpty()) {
+					groupList.add(group);
+				}
+			}
+			start = end + 1;
+		}
+		return groupList;
+	}
+
+	/**
+	 * Splits table row using pipe (|) delimiter and trims each column. Trailing empty columns are ignored.
+	 * 
+	 * @param line trimmed feature file line which starts with "|"
+	 * @return column list
+	 */
+	private List<String> splitTableRow(String line) {
+		List<String> columnList = new ArrayList<>();
+		// Skip first pipe
+		int start = 1;
+		int lastNonEmpty = 0;
+		while (start <= line.length()) {
+			int end = line.indexOf('|', start);
+			if (end < 0) {
+				end = line.length();
+			}
+			columnList.add(line.substring(start, end).trim());
+			if (end > start) {
+				lastNonEmpty = columnList.size();
+			}
+			start = end + 1;
+		}
+		return columnList.subList(0, lastNonEmpty);
 	}
 
 	/**
@@ -233,13 +367,8 @@ public class BDDFeatureFileParser {
 	 * @return true if keyword is Gherkin keyword, otherwise false
 	 */
 	private boolean isGherikinKeyWord(String keyWord) {
-		// Make keyword upper-case for easy comparison
-		String keyWordUpper = keyWord.trim().toUpperCase();
-		if (keyWordUpper.equals("GIVEN") || keyWordUpper.equals("AND") || keyWordUpper.equals("WHEN") || keyWordUpper.equals("THEN")
-				|| keyWordUpper.equals("BUT")) {
-			return true;
-		}
-		return false;
+		return keyWord.equalsIgnoreCase("GIVEN") || keyWord.equalsIgnoreCase("AND") || keyWord.equalsIgnoreCase("WHEN") || keyWord.equalsIgnoreCase("THEN")
+				|| keyWord.equalsIgnoreCase("BUT");
 	}
 
 	/**
@@ -249,7 +378,7 @@ public class BDDFeatureFileParser {
 	 * @return true if line indicates a BackGround, otherwise false
 	 */
 	private boolean isBackground(String currentLine) {
-		if (currentLine.startsWith("Background: ")) {
+		if (currentLine.startsWith(BACKGROUND)) {
 			return true;
 		}
 		return false;
@@ -344,32 +473,4 @@ public class BDDFeatureFileParser {
 		return feature;
 	}
 
-	/**
-	 * Validate if test scenario belongs to any user defined group(s)
-	 * 
-	 * @param refGroupList list of user defined group (list is made up of group name or regular expression)
-	 * @param testGroupList list of group test case belong to
-	 * @return true if test case belongs to at least one of the user defined groups, false if test case does not belong to any user defined groups
-	 */
-	private boolean belongsToApprovedGroup(List<String> refGroupList, List<String> testGroupList) {
-
-		if (null != refGroupList && null != testGroupList) {
-
-			// Check if string matches
-			if (refGroupList.stream().anyMatch(num -> testGroupList.contains(num))) {
-				return true;
-			} else {
-				// Check if group matches regular expression
-				for (String refGroup : refGroupList) {
-					for (String testcaseGroup : testGroupList) {
-						if (testcaseGroup.matches(refGroup)) {
-							return true;
-						}
-					}
-				}
-			}
-		}
-		return false;
-
-	}
 }
@@ -44,6 +44,8 @@ import org.w3c.dom.Element;
 import org.w3c.dom.Node;
 import org.w3c.dom.NodeList;
 
+import com.artos.framework.Enums.QueueOverflowPolicy;
+import com.artos.framework.Enums.TestExecutionOrder;
 import com.artos.framework.FWStaticStore;
 
 /**
@@ -51,7 +53,7 @@ import com.artos.framework.FWStaticStore;
  */
 public class FrameworkConfigParser {
 
-	final File fXmlFile = new File(FWStaticStore.CONFIG_BASE_DIR + "framework_configuration.xml");
+	final File fXmlFile;
 	String profileName = "Dev";
 
 	// Organisation Info
@@ -81,6 +83,10 @@ public class FrameworkConfigParser {
 	private boolean enableTextLog = true;
 	private boolean enableHTMLLog = false;
 	private boolean enableExtentReport = true;
+	private boolean enableStreamReport = false;
+	private boolean enableAsyncLog = false;
+	private int asyncLogQueueSize = 8192;
+	private QueueOverflowPolicy asyncLogQueueFullPolicy = QueueOverflowPolicy.BLOCK;
 
 	// Features
 	private boolean enableGUITestSelector = true;
@@ -93,6 +99,12 @@ public class FrameworkConfigParser {
 	private boolean generateIntelliJTemplate = false;
 	private boolean generateTestScript = true;
 	private boolean stopOnFail = false;
+	private int parallelTestThreadCount = 1;
+	private boolean reuseTestClassInstance = false;
+	private boolean enableBDDParseCache = true;
+	private boolean enableScanCache = true;
+	private TestExecutionOrder testExecutionOrder = TestExecutionOrder.SEQUENCE;
+	private int durationRegressionThreshold = 50;
 
 	/**
 	 * Constructor
@@ -101,6 +113,18 @@ public class FrameworkConfigParser {
 	 * @param profileName profile name for choosing correct framework configuration
 	 */
 	public FrameworkConfigParser(boolean createIfNotPresent, String profileName) {
+		this(new File(FWStaticStore.CONFIG_BASE_DIR + "framework_configuration.xml"), createIfNotPresent, profileName);
+	}
+
+	/**
+	 * Constructor
+	 * 
+	 * @param configFile framework configuration file
+	 * @param createIfNotPresent enables creation of default configuration file if not present
+	 * @param profileName profile name for choosing correct framework configuration
+	 */
+	public FrameworkConfigParser(File configFile, boolean createIfNotPresent, String profileName) {
+		this.fXmlFile = configFile;
 		this.profileName = profileName;
 
 		// If profile name is not provided then apply default settings
@@ -288,6 +312,78 @@ public class FrameworkConfigParser {
 			attr.setValue("stopOnFail");
 			property.setAttributeNode(attr);
 		}
+		{
+			Element property = doc.createElement("property");
+			property.appendChild(doc.createTextNode(Integer.toString(getParallelTestThreadCount())));
+			features.appendChild(property);
+
+			Comment comment = doc.createComment("Number of test cases executed in parallel, 1 = sequential execution");
+			property.getParentNode().insertBefore(comment, property);
+
+			Attr attr = doc.createAttribute("name");
+			attr.setValue("parallelTestThreadCount");
+			property.setAttributeNode(attr);
+		}
+		{
+			Element property = doc.createElement("property");
+			property.appendChild(doc.createTextNode(Boolean.toString(isReuseTestClassInstance())));
+			features.appendChild(property);
+
+			Comment comment = doc.createComment("true = one test class instance is shared by all test units and before/after methods of a run");
+			property.getParentNode().insertBefore(comment, property);
+
+			Attr attr = doc.createAttribute("name");
+			attr.setValue("reuseTestClassInstance");
+			property.setAttributeNode(attr);
+		}
+		{
+			Element property = doc.createElement("property");
+			property.appendChild(doc.createTextNode(Boolean.toString(isEnableBDDParseCache())));
+			features.appendChild(property);
+
+			Comment comment = doc.createComment("true = parsed feature files are cached in ./cache/ directory and reused until feature file changes");
+			property.getParentNode().insertBefore(comment, property);
+
+			Attr attr = doc.createAttribute("name");
+			attr.setValue("enableBDDParseCache");
+			property.setAttributeNode(attr);
+		}
+		{
+			Element property = doc.createElement("property");
+			property.appendChild(doc.createTextNode(Boolean.toString(isEnableScanCache())));
+			features.appendChild(property);
+
+			Comment comment = doc.createComment("true = test class scan result is cached in ./cache/ directory and reused until classpath changes");
+			property.getParentNode().insertBefore(comment, property);
+
+			Attr attr = doc.createAttribute("name");
+			attr.setValue("enableScanCache");
+			property.setAttributeNode(attr);
+		}
+		{
+			Element property = doc.createElement("property");
+			property.appendChild(doc.createTextNode(getTestExecutionOrder().name()));
+			features.appendChild(property);
+
+			Comment comment = doc.createComment("Test case execution order Options : SEQUENCE:LONGEST_FIRST:FAILED_FIRST");
+			property.getParentNode().insertBefore(comment, property);
+
+			Attr attr = doc.createAttribute("name");
+			attr.setValue("testExecutionOrder");
+			property.setAttributeNode(attr);
+		}
+		{
+			Element property = doc.createElement("property");
+			property.appendChild(doc.createTextNode(Integer.toString(getDurationRegressionThreshold())));
+			features.appendChild(property);
+
+			Comment comment = doc.createComment("Percentage by which test duration may exceed its historical duration before it is reported, 0 = disabled");
+			property.getParentNode().insertBefore(comment, property);
+
+			Attr attr = doc.createAttribute("name");
+			attr.setValue("durationRegressionThreshold");
+			property.setAttributeNode(attr);
+		}
 	}
 
 	private void addEmailConfig(Document doc, Element rootElement) {
@@ -451,6 +547,51 @@ public class FrameworkConfigParser {
 			attr.setValue("enableExtentReport");
 			property.setAttributeNode(attr);
 		}
+		{
+			Element property = doc.createElement("property");
+			property.appendChild(doc.createTextNode(Boolean.toString(isEnableStreamReport())));
+			logger.appendChild(property);
+
+			Comment comment = doc.createComment("true = test results are appended to <log>-report.jsonl as they happen, render to HTML using StreamReportRenderer");
+			property.getParentNode().insertBefore(comment, property);
+
+			Attr attr = doc.createAttribute("name");
+			attr.setValue("enableStreamReport");
+			property.setAttributeNode(attr);
+		}
+		{
+			Element property = doc.createElement("property");
+			property.appendChild(doc.createTextNode(Boolean.toString(isEnableAsyncLog())));
+			logger.appendChild(property);
+
+			Attr attr = doc.createAttribute("name");
+			attr.setValue("enableAsyncLog");
+			property.setAttributeNode(attr);
+		}
+		{
+			Element property = doc.createElement("property");
+			property.appendChild(doc.createTextNode(Integer.toString(getAsyncLogQueueSize())));
+			logger.appendChild(property);
+
+			Comment comment = doc.createComment("Maximum number of log events queued when async log is enabled");
+			property.getParentNode().insertBefore(comment, property);
+
+			Attr attr = doc.createAttribute("name");
+			attr.setValue("asyncLogQueueSize");
+			property.setAttributeNode(attr);
+		}
+		{
+			Element property = doc.createElement("property");
+			property.appendChild(doc.createTextNode(getAsyncLogQueueFullPolicy().name()));
+			logger.appendChild(property);
+
+			Comment comment = doc.createComment("Async log queue full policy Options : BLOCK:DROP_NEWEST");
+			property.getParentNode().insertBefore(comment, property);
+
+			Attr attr = doc.createAttribute("name");
+			attr.setValue("asyncLogQueueFullPolicy");
+			property.setAttributeNode(attr);
+		}
 	}
 
 	private void addOrganisatioInfo(Document doc, Element rootElement) {
@@ -568,6 +709,14 @@ public class FrameworkConfigParser {
 						setEnableHTMLLog(Boolean.parseBoolean(eElement.getTextContent()));
 					} else if ("enableExtentReport".equals(eElement.getAttribute("name"))) {
 						setEnableExtentReport(Boolean.parseBoolean(eElement.getTextContent()));
+					} else if ("enableStreamReport".equals(eElement.getAttribute("name"))) {
+						setEnableStreamReport(Boolean.parseBoolean(eElement.getTextContent()));
+					} else if ("enableAsyncLog".equals(eElement.getAttribute("name"))) {
+						setEnableAsyncLog(Boolean.parseBoolean(eElement.getTextContent()));
+					} else if ("asyncLogQueueSize".equals(eElement.getAttribute("name"))) {
+						setAsyncLogQueueSize(parseAsyncLogQueueSize(eElement.getTextContent()));
+					} else if ("asyncLogQueueFullPolicy".equals(eElement.getAttribute("name"))) {
+						setAsyncLogQueueFullPolicy(parseAsyncLogQueueFullPolicy(eElement.getTextContent()));
 					}
 				}
 			}
@@ -627,6 +776,18 @@ public class FrameworkConfigParser {
 						setGenerateTestScript(Boolean.parseBoolean(eElement.getTextContent()));
 					} else if ("stopOnFail".equals(eElement.getAttribute("name"))) {
 						setStopOnFail(Boolean.parseBoolean(eElement.getTextContent()));
+					} else if ("parallelTestThreadCount".equals(eElement.getAttribute("name"))) {
+						setParallelTestThreadCount(parseThreadCount(eElement.getTextContent(), "parallelTestThreadCount"));
+					} else if ("reuseTestClassInstance".equals(eElement.getAttribute("name"))) {
+						setReuseTestClassInstance(Boolean.parseBoolean(eElement.getTextContent()));
+					} else if ("enableBDDParseCache".equals(eElement.getAttribute("name"))) {
+						setEnableBDDParseCache(Boolean.parseBoolean(eElement.getTextContent()));
+					} else if ("enableScanCache".equals(eElement.getAttribute("name"))) {
+						setEnableScanCache(Boolean.parseBoolean(eElement.getTextContent()));
+					} else if ("testExecutionOrder".equals(eElement.getAttribute("name"))) {
+						setTestExecutionOrder(parseTestExecutionOrder(eElement.getTextContent()));
+					} else if ("durationRegressionThreshold".equals(eElement.getAttribute("name"))) {
+						setDurationRegressionThreshold(parseDurationRegressionThreshold(eElement.getTextContent()));
 					}
 				}
 			}
@@ -635,6 +796,99 @@ public class FrameworkConfigParser {
 		}
 	}
 
+	/**
+	 * Parses positive thread count, falls back to 1 (sequential execution) if value is invalid
+	 * 
+	 * @param value thread count as specified in config file
+	 * @param propertyName property name used for warning message
+	 * @return thread count
+	 */
+	private int parseThreadCount(String value, String propertyName) {
+		try {
+			int threadCount = Integer.parseInt(value.trim());
+			if (threadCount > 0) {
+				return threadCount;
+			}
+		} catch (NumberFormatException e) {
+			// fall through to warning
+		}
+		System.err.println("[WARNING] : " + propertyName + " value " + value + " is invalid. Applying default");
+		return 1;
+	}
+
+	/**
+	 * Parses async log queue size, falls back to default if value is invalid
+	 * 
+	 * @param value queue size as specified in config file
+	 * @return queue size
+	 */
+	private int parseAsyncLogQueueSize(String value) {
+		try {
+			int queueSize = Integer.parseInt(value.trim());
+			if (queueSize > 0) {
+				return queueSize;
+			}
+		} catch (NumberFormatException e) {
+			// fall through to warning
+		}
+		System.err.println("[WARNING] : asyncLogQueueSize value " + value + " is invalid. Applying default");
+		return asyncLogQueueSize;
+	}
+
+	/**
+	 * Parses async log queue full policy, falls back to {@link QueueOverflowPolicy#BLOCK} if value is invalid or not supported by async logger
+	 * 
+	 * @param value policy name as specified in config file
+	 * @return queue full policy
+	 */
+	private QueueOverflowPolicy parseAsyncLogQueueFullPolicy(String value) {
+		String policyName = value.trim().toUpperCase();
+		if (QueueOverflowPolicy.BLOCK.name().equals(policyName)) {
+			return QueueOverflowPolicy.BLOCK;
+		}
+		if (QueueOverflowPolicy.DROP_NEWEST.name().equals(policyName)) {
+			return QueueOverflowPolicy.DROP_NEWEST;
+		}
+		System.err.println("[WARNING] : asyncLogQueueFullPolicy value " + value + " is invalid. Applying default");
+		return QueueOverflowPolicy.BLOCK;
+	}
+
+	/**
+	 * Parses test case execution order, falls back to {@link TestExecutionOrder#SEQUENCE} if value is invalid
+	 * 
+	 * @param value execution order name as specified in config file
+	 * @return test case execution order
+	 */
+	private TestExecutionOrder parseTestExecutionOrder(String value) {
+		String orderName = value.trim().toUpperCase();
+		for (TestExecutionOrder order : TestExecutionOrder.values()) {
+			if (order.name().equals(orderName)) {
+				return order;
+			}
+		}
+		System.err.println("[WARNING] : testExecutionOrder value " + value + " is invalid. Applying default");
+		return TestExecutionOrder.SEQUENCE;
+	}
+
+	/**
+	 * Parses duration regression threshold in percentage, falls back to default if value is invalid
+	 * 
+	 * @param value threshold as specified in config file
+	 * @return threshold in percentage, 0 means regression check is disabled
+	 */
+	private int parseDurationRegressionThreshold(String value) {
+		try {
+			int threshold = Integer.parseInt(value.trim());
+			if (threshold >= 0) {
+				return threshold;
+			}
+		} catch (NumberFormatException e) {
+			// fall through to warning
+		}
+		System.err.println("[WARNING] : durationRegressionThreshold value " + value + " is invalid. Applying default");
+		return durationRegressionThreshold;
+	}
+
 	/**
 	 * Reads organisationInfo from config file
 	 * 
@@ -900,6 +1154,54 @@ public class FrameworkConfigParser {
 		this.stopOnFail = stopOnFail;
 	}
 
+	public int getParallelTestThreadCount() {
+		return parallelTestThreadCount;
+	}
+
+	public void setParallelTestThreadCount(int parallelTestThreadCount) {
+		this.parallelTestThreadCount = parallelTestThreadCount;
+	}
+
+	public boolean isReuseTestClassInstance() {
+		return reuseTestClassInstance;
+	}
+
+	public void setReuseTestClassInstance(boolean reuseTestClassInstance) {
+		this.reuseTestClassInstance = reuseTestClassInstance;
+	}
+
+	public boolean isEnableBDDParseCache() {
+		return enableBDDParseCache;
+	}
+
+	public void setEnableBDDParseCache(boolean enableBDDParseCache) {
+		this.enableBDDParseCache = enableBDDParseCache;
+	}
+
+	public boolean isEnableScanCache() {
+		return enableScanCache;
+	}
+
+	public void setEnableScanCache(boolean enableScanCache) {
+		this.enableScanCache = enableScanCache;
+	}
+
+	public TestExecutionOrder getTestExecutionOrder() {
+		return testExecutionOrder;
+	}
+
+	public void setTestExecutionOrder(TestExecutionOrder testExecutionOrder) {
+		this.testExecutionOrder = testExecutionOrder;
+	}
+
+	public int getDurationRegressionThreshold() {
+		return durationRegressionThreshold;
+	}
+
+	public void setDurationRegressionThreshold(int durationRegressionThreshold) {
+		this.durationRegressionThreshold = durationRegressionThreshold;
+	}
+
 	public boolean isGenerateEclipseTemplate() {
 		return generateEclipseTemplate;
 	}
@@ -916,6 +1218,38 @@ public class FrameworkConfigParser {
 		this.enableExtentReport = enableExtentReport;
 	}
 
+	public boolean isEnableStreamReport() {
+		return enableStreamReport;
+	}
+
+	public void setEnableStreamReport(boolean enableStreamReport) {
+		this.enableStreamReport = enableStreamReport;
+	}
+
+	public boolean isEnableAsyncLog() {
+		return enableAsyncLog;
+	}
+
+	public void setEnableAsyncLog(boolean enableAsyncLog) {
+		this.enableAsyncLog = enableAsyncLog;
+	}
+
+	public int getAsyncLogQueueSize() {
+		return asyncLogQueueSize;
+	}
+
+	public void setAsyncLogQueueSize(int asyncLogQueueSize) {
+		this.asyncLogQueueSize = asyncLogQueueSize;
+	}
+
+	public QueueOverflowPolicy getAsyncLogQueueFullPolicy() {
+		return asyncLogQueueFullPolicy;
+	}
+
+	public void setAsyncLogQueueFullPolicy(QueueOverflowPolicy asyncLogQueueFullPolicy) {
+		this.asyncLogQueueFullPolicy = asyncLogQueueFullPolicy;
+	}
+
 	public String getEmailSMTPServer() {
 		return emailSMTPServer;
 	}
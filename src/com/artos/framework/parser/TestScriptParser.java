@@ -154,6 +154,23 @@ public class TestScriptParser {
 						throw new InvalidDataException("Invalid Loop Count : " + loopCount);
 					}
 				}
+
+				// If parallel thread count attribute is not provided then framework configuration will be used, if provided then check if it is
+				// valid
+				String parallelThreadCount = eElement.getAttribute("parallelthreadcount").trim();
+
+				if (!"".equals(parallelThreadCount)) {
+					try {
+						int nParallelThreadCount = Integer.parseInt(parallelThreadCount);
+						if (nParallelThreadCount <= 0) {
+							// If invalid then run test cases sequentially
+							nParallelThreadCount = 1;
+						}
+						_suite.setParallelThreadCount(nParallelThreadCount);
+					} catch (NumberFormatException e) {
+						throw new InvalidDataException("Invalid Parallel Thread Count : " + parallelThreadCount);
+					}
+				}
 			}
 
 			NodeList testsNodeList = eElement.getElementsByTagName("tests");
@@ -27,11 +27,13 @@ import java.util.List;
 import java.util.Map;
 
 import com.artos.framework.infra.BDDFeatureObjectWrapper;
+import com.artos.framework.infra.GroupMatcher;
 
 public class TestSuite {
 
 	private String suiteName = "SuiteName";
 	private int loopCount = 1; // default 1
+	private int parallelThreadCount = 0; // default 0 = use framework configuration
 	private List<String> testGroupList = new ArrayList<>();
 	private List<String> testUnitGroupList = new ArrayList<>();
 	private List<String> testFQCNList = new ArrayList<>();
@@ -41,6 +43,9 @@ public class TestSuite {
 	private boolean enable = true;
 	private boolean testScriptProvided = false;
 	private List<BDDFeatureObjectWrapper> featureFiles = new ArrayList<>();
+	// Compiled when first used, compiled again if group list is replaced
+	private volatile GroupMatcher testGroupMatcher = null;
+	private volatile GroupMatcher testUnitGroupMatcher = null;
 
 	// *****************************************************************
 	// Getters and setters
@@ -85,6 +90,14 @@ public class TestSuite {
 		this.loopCount = loopCount;
 	}
 
+	public int getParallelThreadCount() {
+		return parallelThreadCount;
+	}
+
+	public void setParallelThreadCount(int parallelThreadCount) {
+		this.parallelThreadCount = parallelThreadCount;
+	}
+
 	public List<String> getTestGroupList() {
 		return testGroupList;
 	}
@@ -93,6 +106,20 @@ public class TestSuite {
 		this.testGroupList = testGroupList;
 	}
 
+	/**
+	 * Returns compiled test case group expressions
+	 * 
+	 * @return group matcher for test case group list
+	 */
+	public GroupMatcher getTestGroupMatcher() {
+		GroupMatcher matcher = testGroupMatcher;
+		if (null == matcher || matcher.getRefGroupList() != testGroupList) {
+			matcher = new GroupMatcher(testGroupList);
+			testGroupMatcher = matcher;
+		}
+		return matcher;
+	}
+
 	public List<String> getTestUnitGroupList() {
 		return testUnitGroupList;
 	}
@@ -101,6 +128,20 @@ public class TestSuite {
 		this.testUnitGroupList = testUnitGroupList;
 	}
 
+	/**
+	 * Returns compiled test unit group expressions
+	 * 
+	 * @return group matcher for test unit group list
+	 */
+	public GroupMatcher getTestUnitGroupMatcher() {
+		GroupMatcher matcher = testUnitGroupMatcher;
+		if (null == matcher || matcher.getRefGroupList() != testUnitGroupList) {
+			matcher = new GroupMatcher(testUnitGroupList);
+			testUnitGroupMatcher = matcher;
+		}
+		return matcher;
+	}
+
 	public String getVersion() {
 		return version;
 	}
@@ -0,0 +1,56 @@
+/*******************************************************************************
+ * Copyright (C) 2018-2019 Arpit Shah and Artos Contributors
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ ******************************************************************************/
+package com.artos.interfaces;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Used for separating concatenated messages received by any class which
+ * implements {@code Connectable}. Unlike {@link ConnectableMessageParser},
+ * parser works directly on the receive buffer so no intermediate byte array is
+ * created while parsing.
+ * 
+ * <PRE>
+ * Receive buffer is provided in read mode, unparsed bytes are between position and limit.
+ * - If buffer holds a complete message then parser must advance buffer position past the message and return a view of the message
+ * - If buffer does not hold a complete message then parser must leave buffer position unchanged and return null
+ * Bytes which are not consumed are kept and offered again once more data is received.
+ * </PRE>
+ * 
+ * Returned view is only valid until next call because receive buffer is
+ * reused. Parser should not keep any state between calls, so one instance can
+ * be shared between connections.
+ * 
+ * @see Connectable
+ */
+public interface ConnectableBufferParser {
+
+	/**
+	 * 
+	 * @param buffer
+	 *            receive buffer in read mode
+	 * @return view of next complete message, null if buffer does not hold a
+	 *         complete message
+	 */
+	public ByteBuffer nextFrame(ByteBuffer buffer);
+
+}
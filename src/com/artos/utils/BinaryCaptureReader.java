@@ -0,0 +1,209 @@
+/*******************************************************************************
+ * Copyright (C) 2018-2019 Arpit Shah and Artos Contributors
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ ******************************************************************************/
+package com.artos.utils;
+
+import java.io.Closeable;
+import java.io.EOFException;
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+
+import com.artos.framework.Enums.CaptureDirection;
+import com.artos.interfaces.RealTimeLoggable;
+
+/**
+ * Reads binary capture file written by {@link BinaryCaptureWriter}. Records
+ * are returned in the order they were written, incomplete record at the end
+ * of file (Example : capture was not closed) is ignored.
+ *
+ * <PRE>
+ * Example:
+ * try (BinaryCaptureReader reader = new BinaryCaptureReader(file)) {
+ * 	CaptureRecord record;
+ * 	while ((record = reader.next()) != null) {
+ * 		System.out.println(record);
+ * 	}
+ * }
+ * </PRE>
+ */
+public class BinaryCaptureReader implements Closeable {
+
+	// Record running past end of file by more than this is treated as corrupted length instead of truncated record
+	private static final int MAX_TRUNCATED_RECORD_SIZE = 64 * 1024 * 1024;
+
+	private final FileChannel channel;
+	private ByteBuffer buffer;
+	private final short version;
+	private final long captureStartTime;
+	private boolean endOfFile = false;
+
+	/**
+	 * Constructor. Opens capture file and validates file header
+	 *
+	 * @param file
+	 *            capture file
+	 * @throws IOException
+	 *             if file can not be read or it is not a capture file
+	 */
+	public BinaryCaptureReader(File file) throws IOException {
+		this.channel = FileChannel.open(file.toPath(), StandardOpenOption.READ);
+		this.buffer = ByteBuffer.allocateDirect(BinaryCaptureWriter.DEFAULT_BUFFER_SIZE);
+		buffer.flip();
+		try {
+			if (!fill(BinaryCaptureWriter.FILE_HEADER_SIZE)) {
+				throw new EOFException("Capture file header is missing : " + file.getAbsolutePath());
+			}
+			if (buffer.getInt() != BinaryCaptureWriter.MAGIC) {
+				throw new IOException("Not a capture file : " + file.getAbsolutePath());
+			}
+			version = buffer.getShort();
+			if (version > BinaryCaptureWriter.VERSION) {
+				throw new IOException("Unsupported capture file version : " + version);
+			}
+			buffer.getShort();
+			captureStartTime = buffer.getLong();
+		} catch (IOException e) {
+			channel.close();
+			throw e;
+		}
+	}
+
+	/**
+	 * Returns next record from capture file, null is returned once all
+	 * records are read
+	 *
+	 * @return next record or null
+	 * @throws IOException
+	 *             if an I/O error occurs or file content is corrupted
+	 */
+	public CaptureRecord next() throws IOException {
+		if (endOfFile || !fill(BinaryCaptureWriter.RECORD_HEADER_SIZE)) {
+			endOfFile = true;
+			return null;
+		}
+		int start = buffer.position();
+		long timestamp = buffer.getLong();
+		int directionValue = buffer.get();
+		int length = buffer.getInt();
+		long available = buffer.remaining() + channel.size() - channel.position();
+		if (length < 0 || directionValue < 0 || directionValue >= CaptureDirection.values().length
+				|| (length > available && length > MAX_TRUNCATED_RECORD_SIZE)) {
+			throw new IOException("Corrupted capture record at file offset " + (channel.position() - buffer.limit() + start));
+		}
+		// Record is validated against remaining file size, so buffer is never enlarged beyond the file
+		if (length > available || !fill(length)) {
+			endOfFile = true;
+			return null;
+		}
+		byte[] data = new byte[length];
+		buffer.get(data);
+		return new CaptureRecord(timestamp, captureStartTime, CaptureDirection.values()[directionValue], data);
+	}
+
+	/**
+	 * Replays all remaining records to provided listener in the same order
+	 * they were captured. Timing is not reproduced.
+	 *
+	 * @param listener
+	 *            listener which receives events (Example :
+	 *            {@code RealTimeLogEventListener} to convert capture to text
+	 *            log)
+	 * @return number of records replayed
+	 * @throws IOException
+	 *             if an I/O error occurs or file content is corrupted
+	 */
+	public long replay(RealTimeLoggable listener) throws IOException {
+		long count = 0;
+		CaptureRecord record;
+		while ((record = next()) != null) {
+			switch (record.getDirection()) {
+			case SEND:
+				listener.send(record.getData());
+				break;
+			case RECEIVE:
+				listener.receive(record.getData());
+				break;
+			case CONNECTED:
+				listener.connected();
+				break;
+			case DISCONNECTED:
+				listener.disConnected();
+				break;
+			}
+			count++;
+		}
+		return count;
+	}
+
+	@Override
+	public void close() throws IOException {
+		channel.close();
+	}
+
+	/**
+	 * Makes sure buffer holds at least required number of bytes, buffer is
+	 * enlarged if record is bigger than the buffer
+	 *
+	 * @return false if end of file is reached before required bytes are
+	 *         available
+	 */
+	private boolean fill(int required) throws IOException {
+		if (buffer.remaining() >= required) {
+			return true;
+		}
+		if (buffer.capacity() < required) {
+			ByteBuffer newBuffer = ByteBuffer.allocateDirect(required);
+			newBuffer.put(buffer);
+			buffer = newBuffer;
+		} else {
+			buffer.compact();
+		}
+		while (buffer.position() < required) {
+			if (channel.read(buffer) < 0) {
+				buffer.flip();
+				return false;
+			}
+		}
+		buffer.flip();
+		return true;
+	}
+
+	// =================================================================================================
+	// Getter Setter
+	// =================================================================================================
+
+	public short getVersion() {
+		return version;
+	}
+
+	/**
+	 * Returns time when capture was started
+	 *
+	 * @return time in epoch milliseconds
+	 */
+	public long getCaptureStartTime() {
+		return captureStartTime;
+	}
+
+}
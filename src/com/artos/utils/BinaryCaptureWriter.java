@@ -0,0 +1,184 @@
+/*******************************************************************************
+ * Copyright (C) 2018-2019 Arpit Shah and Artos Contributors
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ ******************************************************************************/
+package com.artos.utils;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+
+import com.artos.framework.Enums.CaptureDirection;
+
+/**
+ * Writes raw send/receive frames into compact binary capture file. Frames are
+ * stored as they are, so capture file is roughly one third of the equivalent
+ * hex text log and no formatting cost is paid while test is running.
+ *
+ * <PRE>
+ * File layout (big endian):
+ * Header : magic "ARTC" (4 bytes) | version (2 bytes) | reserved (2 bytes) | capture start time in epoch millis (8 bytes)
+ * Record : time since capture start in nanoseconds (8 bytes) | direction (1 byte) | data length (4 bytes) | data
+ * </PRE>
+ *
+ * Records are collected in a buffer and written to the file when buffer is
+ * full, when {@link #flush()} is called or when capture is closed. Writer is
+ * thread safe so send and receive threads can share one capture file.
+ */
+public class BinaryCaptureWriter implements Closeable {
+
+	public static final int MAGIC = 0x41525443; // "ARTC"
+	public static final short VERSION = 1;
+	public static final int FILE_HEADER_SIZE = 16;
+	public static final int RECORD_HEADER_SIZE = 13;
+	public static final int DEFAULT_BUFFER_SIZE = 64 * 1024;
+
+	private final File file;
+	private final FileChannel channel;
+	private final ByteBuffer buffer;
+	private final long startNanoTime;
+	private long recordCount = 0;
+
+	/**
+	 * Constructor. Creates capture file with {@value #DEFAULT_BUFFER_SIZE} byte
+	 * write buffer, existing file is overwritten.
+	 *
+	 * @param file
+	 *            capture file
+	 * @throws IOException
+	 *             if file can not be created
+	 */
+	public BinaryCaptureWriter(File file) throws IOException {
+		this(file, DEFAULT_BUFFER_SIZE);
+	}
+
+	/**
+	 * Constructor. Creates capture file, existing file is overwritten.
+	 *
+	 * @param file
+	 *            capture file
+	 * @param bufferSize
+	 *            write buffer size in bytes
+	 * @throws IOException
+	 *             if file can not be created
+	 */
+	public BinaryCaptureWriter(File file, int bufferSize) throws IOException {
+		if (bufferSize < FILE_HEADER_SIZE + RECORD_HEADER_SIZE) {
+			throw new IllegalArgumentException("Invalid buffer size : " + bufferSize);
+		}
+		if (null != file.getParentFile()) {
+			file.getParentFile().mkdirs();
+		}
+		this.file = file;
+		this.channel = FileChannel.open(file.toPath(), StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+		this.buffer = ByteBuffer.allocateDirect(bufferSize);
+		this.startNanoTime = System.nanoTime();
+
+		buffer.putInt(MAGIC);
+		buffer.putShort(VERSION);
+		buffer.putShort((short) 0);
+		buffer.putLong(System.currentTimeMillis());
+	}
+
+	/**
+	 * Appends one frame to the capture
+	 *
+	 * @param direction
+	 *            frame direction
+	 * @param data
+	 *            frame data
+	 * @throws IOException
+	 *             if an I/O error occurs.
+	 */
+	public synchronized void write(CaptureDirection direction, byte[] data) throws IOException {
+		long timestamp = System.nanoTime() - startNanoTime;
+		if (buffer.remaining() < RECORD_HEADER_SIZE + data.length) {
+			flushBuffer();
+		}
+		buffer.putLong(timestamp);
+		buffer.put((byte) direction.getValue());
+		buffer.putInt(data.length);
+		if (buffer.remaining() >= data.length) {
+			buffer.put(data);
+		} else {
+			// frame larger than buffer, write it straight to the file
+			flushBuffer();
+			ByteBuffer frame = ByteBuffer.wrap(data);
+			while (frame.hasRemaining()) {
+				channel.write(frame);
+			}
+		}
+		recordCount++;
+	}
+
+	/**
+	 * Writes buffered records to the file
+	 *
+	 * @throws IOException
+	 *             if an I/O error occurs.
+	 */
+	public synchronized void flush() throws IOException {
+		flushBuffer();
+	}
+
+	/**
+	 * Writes buffered records and closes capture file
+	 */
+	@Override
+	public synchronized void close() throws IOException {
+		if (!channel.isOpen()) {
+			return;
+		}
+		try {
+			flushBuffer();
+		} finally {
+			channel.close();
+		}
+	}
+
+	private void flushBuffer() throws IOException {
+		buffer.flip();
+		while (buffer.hasRemaining()) {
+			channel.write(buffer);
+		}
+		buffer.clear();
+	}
+
+	// =================================================================================================
+	// Getter Setter
+	// =================================================================================================
+
+	public File getFile() {
+		return file;
+	}
+
+	/**
+	 * Returns number of frames written since capture was created
+	 *
+	 * @return record count
+	 */
+	public synchronized long getRecordCount() {
+		return recordCount;
+	}
+
+}
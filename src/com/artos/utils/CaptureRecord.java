@@ -0,0 +1,76 @@
+/*******************************************************************************
+ * Copyright (C) 2018-2019 Arpit Shah and Artos Contributors
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ ******************************************************************************/
+package com.artos.utils;
+
+import com.artos.framework.Enums.CaptureDirection;
+
+/**
+ * Single record read from binary capture file
+ *
+ * @see BinaryCaptureReader
+ */
+public class CaptureRecord {
+
+	private final long timestamp;
+	private final long captureStartTime;
+	private final CaptureDirection direction;
+	private final byte[] data;
+
+	CaptureRecord(long timestamp, long captureStartTime, CaptureDirection direction, byte[] data) {
+		this.timestamp = timestamp;
+		this.captureStartTime = captureStartTime;
+		this.direction = direction;
+		this.data = data;
+	}
+
+	/**
+	 * Returns time elapsed between capture start and this record
+	 *
+	 * @return time in nanoseconds
+	 */
+	public long getTimestamp() {
+		return timestamp;
+	}
+
+	/**
+	 * Returns wall clock time of this record
+	 *
+	 * @return time in epoch milliseconds
+	 */
+	public long getTimeMillis() {
+		return captureStartTime + timestamp / 1000000;
+	}
+
+	public CaptureDirection getDirection() {
+		return direction;
+	}
+
+	public byte[] getData() {
+		return data;
+	}
+
+	@Override
+	public String toString() {
+		return "[" + timestamp + "][" + direction.name() + "][" + data.length + "][" + HexEncoder.toHexString(data) + "]";
+	}
+
+}
@@ -0,0 +1,109 @@
+/*******************************************************************************
+ * Copyright (C) 2018-2019 Arpit Shah and Artos Contributors
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ ******************************************************************************/
+package com.artos.utils;
+
+import java.nio.ByteBuffer;
+
+import com.artos.interfaces.ConnectableBufferParser;
+
+/**
+ * Separates messages which are terminated by a delimiter (Example : "\r\n")
+ */
+public class DelimiterFrameParser implements ConnectableBufferParser {
+
+	private final byte[] delimiter;
+	private final boolean stripDelimiter;
+	private int maxFrameLength = 1024 * 1024;
+
+	/**
+	 * Constructor. Delimiter is removed from returned message
+	 * 
+	 * @param delimiter
+	 *            message delimiter
+	 */
+	public DelimiterFrameParser(byte[] delimiter) {
+		this(delimiter, true);
+	}
+
+	/**
+	 * Constructor
+	 * 
+	 * @param delimiter
+	 *            message delimiter
+	 * @param stripDelimiter
+	 *            true = delimiter is removed from returned message, false =
+	 *            delimiter is kept
+	 */
+	public DelimiterFrameParser(byte[] delimiter, boolean stripDelimiter) {
+		if (null == delimiter || delimiter.length == 0) {
+			throw new IllegalArgumentException("Delimiter can not be empty");
+		}
+		this.delimiter = delimiter.clone();
+		this.stripDelimiter = stripDelimiter;
+	}
+
+	/**
+	 * Returns view of next complete message, null if buffer does not hold a
+	 * complete message
+	 * 
+	 * @throws IllegalStateException
+	 *             if delimiter is not found within maximum frame length
+	 */
+	@Override
+	public ByteBuffer nextFrame(ByteBuffer buffer) {
+		int start = buffer.position();
+		int last = buffer.limit() - delimiter.length;
+
+		nextIndex: for (int i = start; i <= last; i++) {
+			for (int j = 0; j < delimiter.length; j++) {
+				if (buffer.get(i + j) != delimiter[j]) {
+					continue nextIndex;
+				}
+			}
+			int frameEnd = i + delimiter.length;
+			ByteBuffer frame = buffer.slice();
+			frame.limit((stripDelimiter ? i : frameEnd) - start);
+			buffer.position(frameEnd);
+			return frame;
+		}
+
+		if (buffer.remaining() > maxFrameLength) {
+			throw new IllegalStateException("Delimiter not found within " + maxFrameLength + " bytes");
+		}
+		return null;
+	}
+
+	public int getMaxFrameLength() {
+		return maxFrameLength;
+	}
+
+	/**
+	 * Sets maximum allowed message length. Default is 1MiB
+	 * 
+	 * @param maxFrameLength
+	 *            maximum message length in bytes
+	 */
+	public void setMaxFrameLength(int maxFrameLength) {
+		this.maxFrameLength = maxFrameLength;
+	}
+
+}
@@ -0,0 +1,524 @@
+/*******************************************************************************
+ * Copyright (C) 2018-2019 Arpit Shah and Artos Contributors
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ ******************************************************************************/
+package com.artos.utils;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileNotFoundException;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.artos.framework.infra.TestContext;
+import com.artos.utils.SCP.SCPTransferDirection;
+import com.jcraft.jsch.ChannelSftp;
+import com.jcraft.jsch.Session;
+import com.jcraft.jsch.SftpATTRS;
+import com.jcraft.jsch.SftpException;
+
+/**
+ * Transfers files to and from remote hosts in parallel using SFTP channels of {@link SSHSessionPool}. Files are streamed in chunks into a
+ * {@code .part} file next to the destination, so an interrupted transfer continues from the bytes already written, either by retry of the same
+ * transfer or by a later run. Size and modification time of the source are stored in {@code .part.info} file, {@code .part} file is only resumed
+ * if source has not changed since. SHA-256 checksum is calculated while streaming and compared with {@code sha256sum} output of the remote side before
+ * the {@code .part} file is renamed to the destination.
+ * 
+ * <PRE>
+ * Example:
+ * SSHSessionPool pool = new SSHSessionPool();
+ * FileTransferEngine engine = new FileTransferEngine(context, pool, 8);
+ * List&lt;CompletableFuture&lt;FileTransferResult&gt;&gt; futureList = new ArrayList&lt;&gt;();
+ * for (SSHEndpoint dut : dutList) {
+ * 	futureList.add(engine.transferAsync(dut, SCPTransferDirection.COPY_TO_REMOTE, "./firmware/image.bin", "/tmp/"));
+ * }
+ * for (CompletableFuture&lt;FileTransferResult&gt; future : futureList) {
+ * 	context.getLogger().info(future.get());
+ * }
+ * engine.close();
+ * pool.close();
+ * </PRE>
+ */
+public class FileTransferEngine implements AutoCloseable {
+
+	private static final int CHUNK_SIZE = 256 * 1024;
+	private static final String PART_SUFFIX = ".part";
+	private static final String PART_INFO_SUFFIX = ".part.info";
+	private static final long CHECKSUM_TIMEOUT_MILLISECONDS = 5 * 60 * 1000;
+
+	private final TestContext context;
+	private final SSHSessionPool pool;
+	private final ExecutorService executor;
+	private int maxRetries = 3;
+	private long channelTimeoutMilliseconds = 60000;
+
+	/**
+	 * Class Constructor
+	 * 
+	 * @param context
+	 *            test context
+	 * @param pool
+	 *            session pool used for transfers, pool is not closed by this engine
+	 * @param threadCount
+	 *            number of transfers executed in parallel
+	 */
+	public FileTransferEngine(TestContext context, SSHSessionPool pool, int threadCount) {
+		if (threadCount < 1) {
+			throw new IllegalArgumentException("Invalid thread count : " + threadCount);
+		}
+		this.context = context;
+		this.pool = pool;
+		AtomicInteger threadNumber = new AtomicInteger();
+		this.executor = Executors.newFixedThreadPool(threadCount, r -> {
+			Thread thread = new Thread(r, "File-Transfer-" + threadNumber.incrementAndGet());
+			thread.setDaemon(true);
+			return thread;
+		});
+	}
+
+	/**
+	 * Transfers file and waits for it to finish. Failed attempt is retried from the bytes already transferred, attempt with checksum mismatch is
+	 * retried from the beginning. If remote checksum is not available, bytes left by an earlier run are not trusted and the file is transferred
+	 * again from the beginning.
+	 * 
+	 * @param endpoint
+	 *            SSH server and credentials
+	 * @param direction
+	 *            transfer direction
+	 * @param srcFilePath
+	 *            source file path
+	 * @param destFilePath
+	 *            destination file or directory path
+	 * @return transfer result
+	 * @throws IOException
+	 *             if transfer failed after all retries
+	 * @throws InterruptedException
+	 *             if any thread has interrupted the current thread
+	 */
+	public FileTransferResult transfer(SSHEndpoint endpoint, SCPTransferDirection direction, String srcFilePath, String destFilePath)
+			throws IOException, InterruptedException {
+		TransferState state = new TransferState(direction, srcFilePath, destFilePath);
+		while (true) {
+			state.attemptCount++;
+			try {
+				FileTransferResult result = pool.runWithSession(endpoint, channelTimeoutMilliseconds, session -> runAttempt(session, state));
+				context.getLogger().debug("Transfer Completed : {}", result);
+				return result;
+			} catch (InterruptedException | InterruptedIOException e) {
+				throw e;
+			} catch (Exception e) {
+				if (e instanceof ChecksumMismatchException) {
+					state.restart = true;
+				} else if (e instanceof UnverifiedResumeException) {
+					// Retry does not count as failed attempt
+					state.restart = true;
+					state.attemptCount--;
+				}
+				if (state.attemptCount > maxRetries || e instanceof FileNotFoundException) {
+					throw (e instanceof IOException) ? (IOException) e : new IOException("Transfer failed : " + srcFilePath, e);
+				}
+				context.getLogger().debug("Transfer attempt {} failed, retrying : {} : {}", state.attemptCount, srcFilePath, e.getMessage());
+			}
+		}
+	}
+
+	/**
+	 * Transfers file on engine thread
+	 * 
+	 * @param endpoint
+	 *            SSH server and credentials
+	 * @param direction
+	 *            transfer direction
+	 * @param srcFilePath
+	 *            source file path
+	 * @param destFilePath
+	 *            destination file or directory path
+	 * @return future which completes with transfer result, or exceptionally if transfer failed after all retries
+	 */
+	public CompletableFuture<FileTransferResult> transferAsync(SSHEndpoint endpoint, SCPTransferDirection direction, String srcFilePath,
+			String destFilePath) {
+		return CompletableFuture.supplyAsync(() -> {
+			try {
+				return transfer(endpoint, direction, srcFilePath, destFilePath);
+			} catch (IOException | InterruptedException e) {
+				throw new CompletionException(e);
+			}
+		}, executor);
+	}
+
+	/**
+	 * Stops engine threads, session pool stays open
+	 */
+	@Override
+	public void close() {
+		executor.shutdownNow();
+	}
+
+	// =================================================================================================
+	// Transfer
+	// =================================================================================================
+
+	/**
+	 * Progress of one transfer across attempts
+	 */
+	private static final class TransferState {
+		final SCPTransferDirection direction;
+		final String srcFilePath;
+		final String destFilePath;
+		final long startTime = System.currentTimeMillis();
+		int attemptCount = 0;
+		long resumedBytes = -1;
+		long transferredBytes = 0;
+		// true = next attempt starts from the beginning, cleared once an attempt has started over
+		boolean restart = false;
+
+		TransferState(SCPTransferDirection direction, String srcFilePath, String destFilePath) {
+			this.direction = direction;
+			this.srcFilePath = srcFilePath;
+			this.destFilePath = destFilePath;
+		}
+	}
+
+	/**
+	 * Transferred file does not match source file
+	 */
+	private static final class ChecksumMismatchException extends IOException {
+		private static final long serialVersionUID = 1L;
+
+		ChecksumMismatchException(String message) {
+			super(message);
+		}
+	}
+
+	/**
+	 * Remote checksum is not available and file contains bytes of an earlier run which can not be trusted
+	 */
+	private static final class UnverifiedResumeException extends IOException {
+		private static final long serialVersionUID = 1L;
+
+		UnverifiedResumeException(String message) {
+			super(message);
+		}
+	}
+
+	private FileTransferResult runAttempt(Session session, TransferState state) throws Exception {
+		if (SCPTransferDirection.COPY_TO_REMOTE == state.direction) {
+			return upload(session, state);
+		}
+		return download(session, state);
+	}
+
+	private FileTransferResult upload(Session session, TransferState state) throws Exception {
+		File srcFile = new File(state.srcFilePath);
+		if (!srcFile.isFile()) {
+			throw new FileNotFoundException("File not found : " + state.srcFilePath);
+		}
+		long fileSize = srcFile.length();
+		MessageDigest digest = newDigest();
+		String remoteFilePath;
+		String partFilePath;
+		long offset;
+
+		ChannelSftp sftp = openSftp(session);
+		try {
+			remoteFilePath = state.destFilePath;
+			if (isRemoteDirectory(sftp, remoteFilePath)) {
+				remoteFilePath = (remoteFilePath.endsWith("/") ? remoteFilePath : remoteFilePath + "/") + srcFile.getName();
+			}
+			partFilePath = remoteFilePath + PART_SUFFIX;
+			String partInfoFilePath = remoteFilePath + PART_INFO_SUFFIX;
+			String partInfo = createPartInfo(fileSize, srcFile.lastModified());
+			offset = getRemoteSize(sftp, partFilePath);
+			if (state.restart || offset > fileSize || !partInfo.equals(readRemotePartInfo(sftp, partInfoFilePath))) {
+				offset = 0;
+			}
+			if (offset == 0) {
+				// Written before data so a later run knows which source the .part file belongs to
+				sftp.put(new ByteArrayInputStream(partInfo.getBytes(StandardCharsets.UTF_8)), partInfoFilePath, ChannelSftp.OVERWRITE);
+				state.restart = false;
+			}
+			recordOffset(state, offset);
+
+			try (InputStream in = new FileInputStream(srcFile);
+					OutputStream out = sftp.put(partFilePath, null, offset == 0 ? ChannelSftp.OVERWRITE : ChannelSftp.APPEND, 0)) {
+				// Bytes already at destination are only read to continue checksum
+				skipWithDigest(in, digest, offset);
+				copy(in, out, digest, state);
+			}
+		} finally {
+			sftp.disconnect();
+		}
+
+		String checksum = HexEncoder.toHexString(digest.digest());
+		boolean verified = verifyRemoteChecksum(session, partFilePath, checksum);
+		checkUnverifiedResume(state, verified, partFilePath);
+
+		sftp = openSftp(session);
+		try {
+			if (getRemoteSize(sftp, remoteFilePath) >= 0) {
+				sftp.rm(remoteFilePath);
+			}
+			sftp.rename(partFilePath, remoteFilePath);
+			if (getRemoteSize(sftp, remoteFilePath + PART_INFO_SUFFIX) >= 0) {
+				sftp.rm(remoteFilePath + PART_INFO_SUFFIX);
+			}
+		} finally {
+			sftp.disconnect();
+		}
+		return createResult(state, remoteFilePath, fileSize, checksum, verified);
+	}
+
+	private FileTransferResult download(Session session, TransferState state) throws Exception {
+		MessageDigest digest = newDigest();
+		File destFile = new File(state.destFilePath);
+		if (destFile.isDirectory()) {
+			destFile = new File(destFile, new File(state.srcFilePath).getName());
+		}
+		File partFile = new File(destFile.getPath() + PART_SUFFIX);
+		File partInfoFile = new File(destFile.getPath() + PART_INFO_SUFFIX);
+		long fileSize;
+
+		ChannelSftp sftp = openSftp(session);
+		try {
+			SftpATTRS attrs = getRemoteAttrs(sftp, state.srcFilePath);
+			if (null == attrs) {
+				throw new FileNotFoundException("File not found : " + state.srcFilePath);
+			}
+			fileSize = attrs.getSize();
+			String partInfo = createPartInfo(fileSize, attrs.getMTime() * 1000L);
+			long offset = (state.restart || !partFile.isFile() || partFile.length() > fileSize || !partInfo.equals(readLocalPartInfo(partInfoFile)))
+					? 0
+					: partFile.length();
+			if (offset == 0) {
+				// Written before data so a later run knows which source the .part file belongs to
+				Files.write(partInfoFile.toPath(), partInfo.getBytes(StandardCharsets.UTF_8));
+				state.restart = false;
+			}
+			recordOffset(state, offset);
+
+			if (offset > 0) {
+				try (InputStream in = new FileInputStream(partFile)) {
+					skipWithDigest(in, digest, offset);
+				}
+			}
+			try (InputStream in = sftp.get(state.srcFilePath, null, offset); OutputStream out = new FileOutputStream(partFile, offset > 0)) {
+				copy(in, out, digest, state);
+			}
+		} finally {
+			sftp.disconnect();
+		}
+
+		String checksum = HexEncoder.toHexString(digest.digest());
+		boolean verified = verifyRemoteChecksum(session, state.srcFilePath, checksum);
+		checkUnverifiedResume(state, verified, partFile.getPath());
+		Files.move(partFile.toPath(), destFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
+		Files.deleteIfExists(partInfoFile.toPath());
+		return createResult(state, destFile.getPath(), fileSize, checksum, verified);
+	}
+
+	private FileTransferResult createResult(TransferState state, String destFilePath, long fileSize, String checksum, boolean verified) {
+		return new FileTransferResult(state.direction, state.srcFilePath, destFilePath, fileSize, state.resumedBytes, state.transferredBytes,
+				System.currentTimeMillis() - state.startTime, state.attemptCount, checksum, verified);
+	}
+
+	private static void recordOffset(TransferState state, long offset) {
+		// Only bytes left by an earlier run count as resumed, bytes of a failed attempt of this run are already counted as transferred
+		if (state.resumedBytes < 0) {
+			state.resumedBytes = offset;
+		}
+	}
+
+	/**
+	 * Bytes left by an earlier run are only trusted if checksum of the complete file could be verified, otherwise transfer is restarted
+	 */
+	private static void checkUnverifiedResume(TransferState state, boolean verified, String partFilePath) throws UnverifiedResumeException {
+		if (!verified && state.resumedBytes > 0) {
+			state.resumedBytes = 0;
+			throw new UnverifiedResumeException("Remote checksum not available, resumed file can not be verified : " + partFilePath);
+		}
+	}
+
+	private static String createPartInfo(long fileSize, long lastModified) {
+		return fileSize + "\t" + lastModified;
+	}
+
+	/**
+	 * @return content of remote part info file, null if file does not exist or can not be read
+	 */
+	private static String readRemotePartInfo(ChannelSftp sftp, String path) {
+		try (InputStream in = sftp.get(path); ByteArrayOutputStream bos = new ByteArrayOutputStream()) {
+			byte[] buffer = new byte[256];
+			int count;
+			while ((count = in.read(buffer)) != -1) {
+				bos.write(buffer, 0, count);
+			}
+			return new String(bos.toByteArray(), StandardCharsets.UTF_8);
+		} catch (SftpException | IOException e) {
+			return null;
+		}
+	}
+
+	/**
+	 * @return content of local part info file, null if file does not exist or can not be read
+	 */
+	private static String readLocalPartInfo(File file) {
+		try {
+			return new String(Files.readAllBytes(file.toPath()), StandardCharsets.UTF_8);
+		} catch (IOException e) {
+			return null;
+		}
+	}
+
+	/**
+	 * Compares checksum with sha256sum output of remote file
+	 * 
+	 * @return true if checksum matched, false if remote checksum could not be calculated
+	 * @throws ChecksumMismatchException if checksum does not match
+	 */
+	private boolean verifyRemoteChecksum(Session session, String remoteFilePath, String checksum) throws Exception {
+		long startTime = System.currentTimeMillis();
+		SSHCommandResult result = pool.execute(session, "sha256sum '" + remoteFilePath.replace("'", "'\\''") + "'", startTime,
+				startTime + CHECKSUM_TIMEOUT_MILLISECONDS);
+		String[] fields = result.getStdout().trim().split("\\s+");
+		if (!result.isSuccess() || fields[0].length() != 64) {
+			context.getLogger().debug("Remote checksum not available : {}", remoteFilePath);
+			return false;
+		}
+		if (!fields[0].equalsIgnoreCase(checksum)) {
+			throw new ChecksumMismatchException("Checksum mismatch : " + remoteFilePath);
+		}
+		return true;
+	}
+
+	private static void copy(InputStream in, OutputStream out, MessageDigest digest, TransferState state) throws IOException {
+		byte[] buffer = new byte[CHUNK_SIZE];
+		int count;
+		while ((count = in.read(buffer)) != -1) {
+			out.write(buffer, 0, count);
+			digest.update(buffer, 0, count);
+			state.transferredBytes += count;
+		}
+	}
+
+	private static void skipWithDigest(InputStream in, MessageDigest digest, long length) throws IOException {
+		byte[] buffer = new byte[CHUNK_SIZE];
+		long remaining = length;
+		while (remaining > 0) {
+			int count = in.read(buffer, 0, (int) Math.min(buffer.length, remaining));
+			if (count == -1) {
+				throw new IOException("Unexpected end of file");
+			}
+			digest.update(buffer, 0, count);
+			remaining -= count;
+		}
+	}
+
+	private ChannelSftp openSftp(Session session) throws Exception {
+		ChannelSftp sftp = (ChannelSftp) pool.openChannel(session, "sftp");
+		sftp.connect();
+		return sftp;
+	}
+
+	private static boolean isRemoteDirectory(ChannelSftp sftp, String path) {
+		try {
+			return sftp.stat(path).isDir();
+		} catch (SftpException e) {
+			return false;
+		}
+	}
+
+	/**
+	 * @return remote file size, -1 if file does not exist
+	 */
+	private static long getRemoteSize(ChannelSftp sftp, String path) throws SftpException {
+		SftpATTRS attrs = getRemoteAttrs(sftp, path);
+		return null == attrs ? -1 : attrs.getSize();
+	}
+
+	/**
+	 * @return remote file attributes, null if file does not exist
+	 */
+	private static SftpATTRS getRemoteAttrs(ChannelSftp sftp, String path) throws SftpException {
+		try {
+			return sftp.stat(path);
+		} catch (SftpException e) {
+			if (e.id == ChannelSftp.SSH_FX_NO_SUCH_FILE) {
+				return null;
+			}
+			throw e;
+		}
+	}
+
+	private static MessageDigest newDigest() {
+		try {
+			return MessageDigest.getInstance("SHA-256");
+		} catch (NoSuchAlgorithmException e) {
+			// SHA-256 is mandatory for every Java platform
+			throw new IllegalStateException(e);
+		}
+	}
+
+	// =================================================================================================
+	// Getter Setter
+	// =================================================================================================
+
+	public int getMaxRetries() {
+		return maxRetries;
+	}
+
+	/**
+	 * Sets number of times a failed transfer is retried
+	 * 
+	 * @param maxRetries
+	 *            retry count, 0 disables retry
+	 */
+	public void setMaxRetries(int maxRetries) {
+		this.maxRetries = maxRetries;
+	}
+
+	public long getChannelTimeoutMilliseconds() {
+		return channelTimeoutMilliseconds;
+	}
+
+	/**
+	 * Sets maximum time a transfer waits for a free channel of the session pool
+	 * 
+	 * @param channelTimeoutMilliseconds
+	 *            timeout value
+	 */
+	public void setChannelTimeoutMilliseconds(long channelTimeoutMilliseconds) {
+		this.channelTimeoutMilliseconds = channelTimeoutMilliseconds;
+	}
+}
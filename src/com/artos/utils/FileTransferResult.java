@@ -0,0 +1,142 @@
+/*******************************************************************************
+ * Copyright (C) 2018-2019 Arpit Shah and Artos Contributors
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ ******************************************************************************/
+package com.artos.utils;
+
+import com.artos.utils.SCP.SCPTransferDirection;
+
+/**
+ * Outcome of a file transfer executed using {@link FileTransferEngine}
+ */
+public class FileTransferResult {
+
+	private final SCPTransferDirection direction;
+	private final String srcFilePath;
+	private final String destFilePath;
+	private final long fileSize;
+	private final long resumedBytes;
+	private final long transferredBytes;
+	private final long duration;
+	private final int attemptCount;
+	private final String checksum;
+	private final boolean checksumVerified;
+
+	FileTransferResult(SCPTransferDirection direction, String srcFilePath, String destFilePath, long fileSize, long resumedBytes,
+			long transferredBytes, long duration, int attemptCount, String checksum, boolean checksumVerified) {
+		this.direction = direction;
+		this.srcFilePath = srcFilePath;
+		this.destFilePath = destFilePath;
+		this.fileSize = fileSize;
+		this.resumedBytes = resumedBytes;
+		this.transferredBytes = transferredBytes;
+		this.duration = duration;
+		this.attemptCount = attemptCount;
+		this.checksum = checksum;
+		this.checksumVerified = checksumVerified;
+	}
+
+	/**
+	 * Returns average transfer speed of this transfer. Bytes which were transferred by an earlier interrupted run are not included.
+	 * 
+	 * @return throughput in bytes per second
+	 */
+	public long getThroughput() {
+		return transferredBytes * 1000 / Math.max(duration, 1);
+	}
+
+	@Override
+	public String toString() {
+		return String.format("%s -> %s : %d bytes in %d ms (%.2f MB/s)%s%s", srcFilePath, destFilePath, transferredBytes, duration,
+				getThroughput() / (1024.0 * 1024.0), resumedBytes > 0 ? ", resumed at " + resumedBytes : "",
+				checksumVerified ? ", checksum verified" : ", checksum not verified");
+	}
+
+	public SCPTransferDirection getDirection() {
+		return direction;
+	}
+
+	public String getSrcFilePath() {
+		return srcFilePath;
+	}
+
+	/**
+	 * Returns destination file path, file name is appended if destination was a directory
+	 * 
+	 * @return destination file path
+	 */
+	public String getDestFilePath() {
+		return destFilePath;
+	}
+
+	public long getFileSize() {
+		return fileSize;
+	}
+
+	/**
+	 * Returns number of bytes found at destination from an earlier interrupted run
+	 * 
+	 * @return resumed byte count, 0 if transfer started from the beginning
+	 */
+	public long getResumedBytes() {
+		return resumedBytes;
+	}
+
+	/**
+	 * Returns number of bytes transferred by this run including retried attempts
+	 * 
+	 * @return transferred byte count
+	 */
+	public long getTransferredBytes() {
+		return transferredBytes;
+	}
+
+	/**
+	 * Returns transfer duration including retries and checksum verification
+	 * 
+	 * @return duration in milliseconds
+	 */
+	public long getDuration() {
+		return duration;
+	}
+
+	public int getAttemptCount() {
+		return attemptCount;
+	}
+
+	/**
+	 * Returns SHA-256 checksum of the transferred file
+	 * 
+	 * @return checksum in hex format
+	 */
+	public String getChecksum() {
+		return checksum;
+	}
+
+	/**
+	 * Returns true if checksum of the file at remote side was calculated and matched. Remote checksum is calculated using sha256sum command, if it
+	 * is not available then transfer is not verified.
+	 * 
+	 * @return true if checksum is verified
+	 */
+	public boolean isChecksumVerified() {
+		return checksumVerified;
+	}
+}
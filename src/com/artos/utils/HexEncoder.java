@@ -0,0 +1,139 @@
+/*******************************************************************************
+ * Copyright (C) 2018-2019 Arpit Shah and Artos Contributors
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ ******************************************************************************/
+package com.artos.utils;
+
+/**
+ * Table driven hex encoder. Every byte value is mapped to its two hex
+ * characters once, so encoding a byte is two array reads instead of nibble
+ * arithmetic and {@code String.charAt()} calls. Encoder can write into caller
+ * owned {@code char[]} or {@link StringBuilder} so buffers can be reused
+ * between messages.
+ *
+ * <PRE>
+ * Example:
+ * Sample : HexEncoder.toHexString(new byte[]{0x01, 0x02, (byte)0xFF});
+ * Result : 0102FF
+ * </PRE>
+ */
+public final class HexEncoder {
+
+	// Two characters per byte value, upper nibble first
+	private static final char[] HEX_TABLE = new char[256 * 2];
+
+	static {
+		final char[] hexes = "0123456789ABCDEF".toCharArray();
+		for (int i = 0; i < 256; i++) {
+			HEX_TABLE[i * 2] = hexes[i >>> 4];
+			HEX_TABLE[i * 2 + 1] = hexes[i & 0x0F];
+		}
+	}
+
+	private HexEncoder() {
+		// static utility class
+	}
+
+	/**
+	 * Encodes byte array to hex characters and writes them into provided char
+	 * array.
+	 *
+	 * @param data
+	 *            data to be converted
+	 * @param offset
+	 *            index of first byte to be converted
+	 * @param length
+	 *            number of bytes to be converted
+	 * @param dest
+	 *            destination array, must have space for {@code length * 2}
+	 *            characters starting at destOffset
+	 * @param destOffset
+	 *            index of the first character in destination array
+	 * @return number of characters written
+	 */
+	public static int encode(byte[] data, int offset, int length, char[] dest, int destOffset) {
+		int j = destOffset;
+		for (int i = offset; i < offset + length; i++) {
+			int index = (data[i] & 0xFF) << 1;
+			dest[j++] = HEX_TABLE[index];
+			dest[j++] = HEX_TABLE[index + 1];
+		}
+		return j - destOffset;
+	}
+
+	/**
+	 * Encodes byte array to hex characters and appends them to provided
+	 * StringBuilder.
+	 *
+	 * @param sb
+	 *            destination StringBuilder
+	 * @param data
+	 *            data to be converted
+	 * @param offset
+	 *            index of first byte to be converted
+	 * @param length
+	 *            number of bytes to be converted
+	 * @param separator
+	 *            character placed between two bytes, pass 0 for no separator
+	 * @return provided StringBuilder
+	 */
+	public static StringBuilder appendHex(StringBuilder sb, byte[] data, int offset, int length, char separator) {
+		if (length <= 0) {
+			return sb;
+		}
+		sb.ensureCapacity(sb.length() + length * ((separator == 0) ? 2 : 3));
+		for (int i = offset; i < offset + length; i++) {
+			if (separator != 0 && i != offset) {
+				sb.append(separator);
+			}
+			int index = (data[i] & 0xFF) << 1;
+			sb.append(HEX_TABLE[index]).append(HEX_TABLE[index + 1]);
+		}
+		return sb;
+	}
+
+	/**
+	 * Encodes byte array to hex characters and appends them to provided
+	 * StringBuilder.
+	 *
+	 * @param sb
+	 *            destination StringBuilder
+	 * @param data
+	 *            data to be converted
+	 * @return provided StringBuilder
+	 */
+	public static StringBuilder appendHex(StringBuilder sb, byte[] data) {
+		return appendHex(sb, data, 0, data.length, (char) 0);
+	}
+
+	/**
+	 * Converts byte array to hex string
+	 *
+	 * @param data
+	 *            data to be converted
+	 * @return Hex formatted string
+	 */
+	public static String toHexString(byte[] data) {
+		char[] hex = new char[data.length * 2];
+		encode(data, 0, data.length, hex, 0);
+		return new String(hex);
+	}
+
+}
@@ -0,0 +1,145 @@
+/*******************************************************************************
+ * Copyright (C) 2018-2019 Arpit Shah and Artos Contributors
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ ******************************************************************************/
+package com.artos.utils;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+import com.artos.interfaces.ConnectableBufferParser;
+
+/**
+ * Separates messages which carry their length in a header field. Returned
+ * message includes header.
+ * 
+ * <PRE>
+ * Message length is calculated as below:
+ * lengthFieldOffset + lengthFieldSize + (length field value) + lengthAdjustment
+ * 
+ * Example : 2 byte big endian length field at the start of message, value is length of payload only
+ * new LengthPrefixFrameParser(0, 2, ByteOrder.BIG_ENDIAN, 0);
+ * 
+ * Example : 1 byte message type followed by 4 byte little endian length field, value is length of complete message
+ * new LengthPrefixFrameParser(1, 4, ByteOrder.LITTLE_ENDIAN, -5);
+ * </PRE>
+ */
+public class LengthPrefixFrameParser implements ConnectableBufferParser {
+
+	private final int lengthFieldOffset;
+	private final int lengthFieldSize;
+	private final ByteOrder byteOrder;
+	private final int lengthAdjustment;
+	private int maxFrameLength = 1024 * 1024;
+
+	/**
+	 * Constructor. Length field is at the start of the message and its value is
+	 * length of the bytes which follow the length field
+	 * 
+	 * @param lengthFieldSize
+	 *            length field size in bytes (1 to 4)
+	 * @param byteOrder
+	 *            length field byte order
+	 */
+	public LengthPrefixFrameParser(int lengthFieldSize, ByteOrder byteOrder) {
+		this(0, lengthFieldSize, byteOrder, 0);
+	}
+
+	/**
+	 * Constructor
+	 * 
+	 * @param lengthFieldOffset
+	 *            number of bytes before length field
+	 * @param lengthFieldSize
+	 *            length field size in bytes (1 to 4)
+	 * @param byteOrder
+	 *            length field byte order
+	 * @param lengthAdjustment
+	 *            value added to length field value to calculate number of bytes
+	 *            which follow the length field
+	 */
+	public LengthPrefixFrameParser(int lengthFieldOffset, int lengthFieldSize, ByteOrder byteOrder, int lengthAdjustment) {
+		if (lengthFieldOffset < 0) {
+			throw new IllegalArgumentException("Invalid length field offset : " + lengthFieldOffset);
+		}
+		if (lengthFieldSize < 1 || lengthFieldSize > 4) {
+			throw new IllegalArgumentException("Invalid length field size : " + lengthFieldSize);
+		}
+		this.lengthFieldOffset = lengthFieldOffset;
+		this.lengthFieldSize = lengthFieldSize;
+		this.byteOrder = byteOrder;
+		this.lengthAdjustment = lengthAdjustment;
+	}
+
+	/**
+	 * Returns view of next complete message, null if buffer does not hold a
+	 * complete message
+	 * 
+	 * @throws IllegalStateException
+	 *             if calculated message length is invalid or longer than
+	 *             maximum frame length
+	 */
+	@Override
+	public ByteBuffer nextFrame(ByteBuffer buffer) {
+		int start = buffer.position();
+		int headerLength = lengthFieldOffset + lengthFieldSize;
+		if (buffer.remaining() < headerLength) {
+			return null;
+		}
+
+		long frameLength = headerLength + readLengthField(buffer, start + lengthFieldOffset) + lengthAdjustment;
+		if (frameLength < headerLength || frameLength > maxFrameLength) {
+			throw new IllegalStateException("Invalid frame length : " + frameLength);
+		}
+		if (buffer.remaining() < frameLength) {
+			return null;
+		}
+
+		ByteBuffer frame = buffer.slice();
+		frame.limit((int) frameLength);
+		buffer.position(start + (int) frameLength);
+		return frame;
+	}
+
+	private long readLengthField(ByteBuffer buffer, int index) {
+		long value = 0;
+		for (int i = 0; i < lengthFieldSize; i++) {
+			int b = buffer.get(byteOrder == ByteOrder.BIG_ENDIAN ? index + i : index + lengthFieldSize - 1 - i) & 0xFF;
+			value = (value << 8) | b;
+		}
+		return value;
+	}
+
+	public int getMaxFrameLength() {
+		return maxFrameLength;
+	}
+
+	/**
+	 * Sets maximum allowed message length, protects against corrupted length
+	 * field. Default is 1MiB
+	 * 
+	 * @param maxFrameLength
+	 *            maximum message length in bytes
+	 */
+	public void setMaxFrameLength(int maxFrameLength) {
+		this.maxFrameLength = maxFrameLength;
+	}
+
+}
@@ -0,0 +1,90 @@
+/*******************************************************************************
+ * Copyright (C) 2018-2019 Arpit Shah and Artos Contributors
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ ******************************************************************************/
+package com.artos.utils;
+
+import java.nio.ByteBuffer;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Queue;
+
+import com.artos.interfaces.ConnectableBufferParser;
+import com.artos.interfaces.ConnectableMessageParser;
+
+/**
+ * Allows existing {@link ConnectableMessageParser} to be used where
+ * {@link ConnectableBufferParser} is expected. Unparsed bytes are copied into
+ * a byte array before calling {@link ConnectableMessageParser#parse(byte[])},
+ * left over bytes reported by the parser stay in the receive buffer.
+ * 
+ * Adapter keeps parsed messages between calls, so one adapter instance must
+ * only be used for one connection.
+ */
+public class MessageParserAdapter implements ConnectableBufferParser {
+
+	private final ConnectableMessageParser msgParser;
+	private final Queue<byte[]> parsedMsgQueue = new LinkedList<>();
+	// Number of bytes parser has already seen but not consumed
+	private int unparsedLength = 0;
+
+	/**
+	 * Constructor
+	 * 
+	 * @param msgParser
+	 *            byte array based message parser
+	 */
+	public MessageParserAdapter(ConnectableMessageParser msgParser) {
+		this.msgParser = msgParser;
+	}
+
+	@Override
+	public ByteBuffer nextFrame(ByteBuffer buffer) {
+		if (parsedMsgQueue.isEmpty()) {
+			// Do not parse left over bytes again until more data is received
+			if (buffer.remaining() == 0 || buffer.remaining() == unparsedLength) {
+				return null;
+			}
+			parse(buffer);
+		}
+		byte[] msg = parsedMsgQueue.poll();
+		return (null == msg) ? null : ByteBuffer.wrap(msg);
+	}
+
+	private void parse(ByteBuffer buffer) {
+		byte[] data = new byte[buffer.remaining()];
+		buffer.get(data);
+
+		List<byte[]> msgList = msgParser.parse(data);
+		if (null != msgList) {
+			parsedMsgQueue.addAll(msgList);
+		}
+
+		// Give left over bytes back to the buffer so they are offered again with next data
+		byte[] leftOverBytes = msgParser.getLeftOverBytes();
+		unparsedLength = (null == leftOverBytes) ? 0 : Math.min(leftOverBytes.length, data.length);
+		buffer.position(buffer.limit() - unparsedLength);
+	}
+
+	public ConnectableMessageParser getMsgParser() {
+		return msgParser;
+	}
+
+}
@@ -0,0 +1,413 @@
+/*******************************************************************************
+ * Copyright (C) 2018-2019 Arpit Shah and Artos Contributors
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ ******************************************************************************/
+package com.artos.utils;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.zip.GZIPOutputStream;
+import java.util.zip.ZipEntry;
+
+import org.apache.commons.compress.archivers.tar.TarArchiveEntry;
+import org.apache.commons.compress.archivers.tar.TarArchiveOutputStream;
+import org.apache.commons.compress.archivers.zip.ParallelScatterZipCreator;
+import org.apache.commons.compress.archivers.zip.ZipArchiveEntry;
+import org.apache.commons.compress.archivers.zip.ZipArchiveOutputStream;
+import org.apache.commons.compress.utils.IOUtils;
+
+/**
+ * Creates zip and tar.gz archives using all cores. Zip entries are compressed in parallel and merged into the archive in file order. Tar stream is
+ * cut into blocks which are compressed in parallel as separate gzip members, the result is a regular multi-member gzip file readable by gzip, tar
+ * and {@link java.util.zip.GZIPInputStream}.
+ * 
+ * <p>
+ * Incremental archive only contains files which are new or changed since the previous archive created with the same index file. Index file holds
+ * size and last modified time of archived files and is updated once archive is written successfully. Hidden files are not archived.
+ * </p>
+ * 
+ * <PRE>
+ * Example:
+ * ParallelArchiver archiver = new ParallelArchiver();
+ * archiver.zip(Arrays.asList(new File("./reporting")), new File("./archive/reporting.zip"));
+ * // Only new or changed log files since last run
+ * archiver.tarGZ(Arrays.asList(new File("./reporting")), new File("./archive/run_42.tgz"), new File("./archive/reporting.index"));
+ * </PRE>
+ */
+public class ParallelArchiver {
+
+	private static final int BUFFER_SIZE = 256 * 1024;
+	// Size of tar stream compressed as one gzip member
+	private static final int GZIP_BLOCK_SIZE = 1024 * 1024;
+
+	private final int threadCount;
+
+	/**
+	 * Class Constructor, uses one thread per available processor
+	 */
+	public ParallelArchiver() {
+		this(Runtime.getRuntime().availableProcessors());
+	}
+
+	/**
+	 * Class Constructor
+	 * 
+	 * @param threadCount
+	 *            number of threads compressing in parallel
+	 */
+	public ParallelArchiver(int threadCount) {
+		if (threadCount < 1) {
+			throw new IllegalArgumentException("Invalid thread count : " + threadCount);
+		}
+		this.threadCount = threadCount;
+	}
+
+	/**
+	 * Zips files and directories, entry names start with name of each source
+	 * 
+	 * @param sourceList
+	 *            source files or directories
+	 * @param destFile
+	 *            destination file (Example : new File("./test/test.zip"))
+	 * @return number of archived files
+	 * @throws IOException
+	 *             if an I/O error has occurred
+	 */
+	public int zip(List<File> sourceList, File destFile) throws IOException {
+		return zip(sourceList, destFile, null);
+	}
+
+	/**
+	 * Zips files which are new or changed since previous archive created with same index file. Archive is not created if no file has changed.
+	 * 
+	 * @param sourceList
+	 *            source files or directories
+	 * @param destFile
+	 *            destination file (Example : new File("./test/test.zip"))
+	 * @param indexFile
+	 *            index of previously archived files, null archives all files
+	 * @return number of archived files
+	 * @throws IOException
+	 *             if an I/O error has occurred
+	 */
+	public int zip(List<File> sourceList, File destFile, File indexFile) throws IOException {
+		ArchiveIndex index = new ArchiveIndex(indexFile);
+		List<Entry> entryList = collectEntries(sourceList, index);
+		if (entryList.isEmpty() && null != indexFile) {
+			return 0;
+		}
+
+		// Creator shuts down executor once entries are written
+		ParallelScatterZipCreator creator = new ParallelScatterZipCreator(Executors.newFixedThreadPool(threadCount));
+		for (Entry entry : entryList) {
+			ZipArchiveEntry zipEntry = new ZipArchiveEntry(entry.name);
+			zipEntry.setMethod(ZipEntry.DEFLATED);
+			zipEntry.setTime(entry.lastModified);
+			creator.addArchiveEntry(zipEntry, () -> {
+				try {
+					return Files.newInputStream(entry.file.toPath());
+				} catch (IOException e) {
+					throw new IllegalStateException("Cannot read file " + entry.file.getAbsolutePath(), e);
+				}
+			});
+		}
+		try (ZipArchiveOutputStream zipOut = new ZipArchiveOutputStream(destFile)) {
+			creator.writeTo(zipOut);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new InterruptedIOException("Zip creation interrupted");
+		} catch (ExecutionException e) {
+			throw new IOException("Zip creation failed : " + destFile.getPath(), e.getCause());
+		}
+		index.update(entryList);
+		return entryList.size();
+	}
+
+	/**
+	 * Tars and gzips files and directories, entry names start with name of each source
+	 * 
+	 * @param sourceList
+	 *            source files or directories
+	 * @param destFile
+	 *            destination location of tgz file
+	 * @return number of archived files
+	 * @throws IOException
+	 *             if an I/O error has occurred
+	 */
+	public int tarGZ(List<File> sourceList, File destFile) throws IOException {
+		return tarGZ(sourceList, destFile, null);
+	}
+
+	/**
+	 * Tars and gzips files which are new or changed since previous archive created with same index file. Archive is not created if no file has
+	 * changed.
+	 * 
+	 * @param sourceList
+	 *            source files or directories
+	 * @param destFile
+	 *            destination location of tgz file
+	 * @param indexFile
+	 *            index of previously archived files, null archives all files
+	 * @return number of archived files
+	 * @throws IOException
+	 *             if an I/O error has occurred
+	 */
+	public int tarGZ(List<File> sourceList, File destFile, File indexFile) throws IOException {
+		ArchiveIndex index = new ArchiveIndex(indexFile);
+		List<Entry> entryList = collectEntries(sourceList, index);
+		if (entryList.isEmpty() && null != indexFile) {
+			return 0;
+		}
+
+		ExecutorService executor = Executors.newFixedThreadPool(threadCount);
+		byte[] buffer = new byte[BUFFER_SIZE];
+		try (TarArchiveOutputStream tarOut = new TarArchiveOutputStream(new ParallelGzipOutputStream(new FileOutputStream(destFile), executor,
+				threadCount * 2))) {
+			// TAR has an 8 gig file limit by default, this gets around that
+			tarOut.setBigNumberMode(TarArchiveOutputStream.BIGNUMBER_STAR);
+			tarOut.setLongFileMode(TarArchiveOutputStream.LONGFILE_GNU);
+			tarOut.setAddPaxHeadersForNonAsciiNames(true);
+			for (Entry entry : entryList) {
+				tarOut.putArchiveEntry(new TarArchiveEntry(entry.file, entry.name));
+				try (InputStream in = Files.newInputStream(entry.file.toPath())) {
+					IOUtils.copy(in, tarOut, buffer.length);
+				}
+				tarOut.closeArchiveEntry();
+			}
+			tarOut.finish();
+		} finally {
+			executor.shutdownNow();
+		}
+		index.update(entryList);
+		return entryList.size();
+	}
+
+	// =================================================================================================
+	// Entries
+	// =================================================================================================
+
+	/**
+	 * File with its archive entry name, size and time are captured once so index matches archived content
+	 */
+	private static final class Entry {
+		final File file;
+		final String name;
+		final long size;
+		final long lastModified;
+
+		Entry(File file, String name) {
+			this.file = file;
+			this.name = name;
+			this.size = file.length();
+			this.lastModified = file.lastModified();
+		}
+	}
+
+	private static List<Entry> collectEntries(List<File> sourceList, ArchiveIndex index) {
+		List<Entry> entryList = new ArrayList<>();
+		for (File source : sourceList) {
+			collectEntries(source, source.getName(), entryList, index);
+		}
+		return entryList;
+	}
+
+	private static void collectEntries(File file, String name, List<Entry> entryList, ArchiveIndex index) {
+		if (file.isHidden()) {
+			return;
+		}
+		if (file.isDirectory()) {
+			File[] children = file.listFiles();
+			if (null != children) {
+				for (File child : children) {
+					collectEntries(child, name + "/" + child.getName(), entryList, index);
+				}
+			}
+			return;
+		}
+		if (file.isFile()) {
+			Entry entry = new Entry(file, name);
+			if (index.isChanged(entry)) {
+				entryList.add(entry);
+			}
+		}
+	}
+
+	/**
+	 * Size and last modified time of archived files, one file per line
+	 * 
+	 * <PRE>
+	 * &lt;entry name&gt;	&lt;size&gt;	&lt;last modified&gt;
+	 * </PRE>
+	 */
+	private static final class ArchiveIndex {
+		private final File indexFile;
+		private final Map<String, long[]> indexMap = new HashMap<>();
+
+		ArchiveIndex(File indexFile) {
+			this.indexFile = indexFile;
+			if (null != indexFile && indexFile.isFile()) {
+				try (BufferedReader br = Files.newBufferedReader(indexFile.toPath(), StandardCharsets.UTF_8)) {
+					String line;
+					while ((line = br.readLine()) != null) {
+						String[] fields = line.split("\t");
+						if (fields.length == 3) {
+							indexMap.put(fields[0], new long[] { Long.parseLong(fields[1]), Long.parseLong(fields[2]) });
+						}
+					}
+				} catch (IOException | NumberFormatException e) {
+					// Unreadable index archives everything again
+					System.err.println("[WARNING] : Archive index " + indexFile.getPath() + " could not be read : " + e.getMessage());
+					indexMap.clear();
+				}
+			}
+		}
+
+		boolean isChanged(Entry entry) {
+			long[] indexed = indexMap.get(entry.name);
+			return null == indexed || indexed[0] != entry.size || indexed[1] != entry.lastModified;
+		}
+
+		void update(List<Entry> entryList) throws IOException {
+			if (null == indexFile) {
+				return;
+			}
+			for (Entry entry : entryList) {
+				indexMap.put(entry.name, new long[] { entry.size, entry.lastModified });
+			}
+			UtilsFile.writeTextAtomic(indexFile, bw -> {
+				for (Map.Entry<String, long[]> entry : indexMap.entrySet()) {
+					bw.write(entry.getKey() + "\t" + entry.getValue()[0] + "\t" + entry.getValue()[1]);
+					bw.newLine();
+				}
+			});
+		}
+	}
+
+	// =================================================================================================
+	// Parallel gzip
+	// =================================================================================================
+
+	/**
+	 * Compresses fixed size blocks on executor threads and writes each block as a gzip member in block order. Number of blocks waiting to be
+	 * written is bounded so memory use does not depend on archive size.
+	 */
+	private static final class ParallelGzipOutputStream extends OutputStream {
+		private final OutputStream out;
+		private final ExecutorService executor;
+		private final int maxPendingBlocks;
+		private final ArrayDeque<Future<byte[]>> pendingBlocks = new ArrayDeque<>();
+		private byte[] block = new byte[GZIP_BLOCK_SIZE];
+		private int count = 0;
+		private boolean closed = false;
+
+		ParallelGzipOutputStream(OutputStream out, ExecutorService executor, int maxPendingBlocks) {
+			this.out = out;
+			this.executor = executor;
+			this.maxPendingBlocks = maxPendingBlocks;
+		}
+
+		@Override
+		public void write(int b) throws IOException {
+			block[count++] = (byte) b;
+			if (count == block.length) {
+				submitBlock();
+			}
+		}
+
+		@Override
+		public void write(byte[] data, int offset, int length) throws IOException {
+			while (length > 0) {
+				int chunk = Math.min(length, block.length - count);
+				System.arraycopy(data, offset, block, count, chunk);
+				count += chunk;
+				offset += chunk;
+				length -= chunk;
+				if (count == block.length) {
+					submitBlock();
+				}
+			}
+		}
+
+		@Override
+		public void close() throws IOException {
+			if (closed) {
+				return;
+			}
+			closed = true;
+			try {
+				if (count > 0) {
+					submitBlock();
+				}
+				while (!pendingBlocks.isEmpty()) {
+					writeOldestBlock();
+				}
+			} finally {
+				out.close();
+			}
+		}
+
+		private void submitBlock() throws IOException {
+			final byte[] data = block;
+			final int length = count;
+			pendingBlocks.add(executor.submit(() -> compress(data, length)));
+			block = new byte[GZIP_BLOCK_SIZE];
+			count = 0;
+			while (pendingBlocks.size() > maxPendingBlocks) {
+				writeOldestBlock();
+			}
+		}
+
+		private void writeOldestBlock() throws IOException {
+			try {
+				out.write(pendingBlocks.poll().get());
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				throw new InterruptedIOException("Compression interrupted");
+			} catch (ExecutionException e) {
+				throw new IOException("Compression failed", e.getCause());
+			}
+		}
+
+		private static byte[] compress(byte[] data, int length) throws IOException {
+			ByteArrayOutputStream bos = new ByteArrayOutputStream(length / 2 + 64);
+			try (GZIPOutputStream gzip = new GZIPOutputStream(bos, BUFFER_SIZE)) {
+				gzip.write(data, 0, length);
+			}
+			return bos.toByteArray();
+		}
+	}
+}
@@ -0,0 +1,185 @@
+/*******************************************************************************
+ * Copyright (C) 2018-2019 Arpit Shah and Artos Contributors
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ ******************************************************************************/
+package com.artos.utils;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.ReadableByteChannel;
+import java.util.List;
+
+import com.artos.interfaces.ConnectableBufferParser;
+import com.artos.interfaces.ConnectableFilter;
+
+/**
+ * Receive side processing shared by socket based {@code Connectable} classes.
+ * Data is read straight into a reusable buffer and messages are separated in
+ * place using {@link ConnectableBufferParser}. Only final messages which pass
+ * through filters are copied into byte arrays and added to the receive queue.
+ * Bytes of incomplete message stay in the buffer until more data is received,
+ * buffer grows if a single message does not fit.
+ * 
+ * Pipeline is not thread safe, it must only be used by receiver thread.
+ */
+class ReceivePipeline {
+
+	private ByteBuffer buffer;
+	private final ConnectableBufferParser parser;
+	private final List<ConnectableFilter> filterList;
+	private final ReceiveQueue queue;
+	private final boolean waitForQueue;
+	private int lastReadStart = 0;
+
+	/**
+	 * Constructor
+	 * 
+	 * @param buffer
+	 *            initial receive buffer, heap buffer is required for
+	 *            {@link #readFrom(InputStream)}
+	 * @param parser
+	 *            message parser, null if every read should be treated as one
+	 *            message
+	 * @param filterList
+	 *            filter list or null
+	 * @param queue
+	 *            receive queue
+	 * @param waitForQueue
+	 *            true = wait for queue space if required by queue overflow
+	 *            policy, false = never wait
+	 */
+	ReceivePipeline(ByteBuffer buffer, ConnectableBufferParser parser, List<ConnectableFilter> filterList, ReceiveQueue queue,
+			boolean waitForQueue) {
+		this.buffer = buffer;
+		this.parser = parser;
+		this.filterList = filterList;
+		this.queue = queue;
+		this.waitForQueue = waitForQueue;
+	}
+
+	/**
+	 * Reads from input stream directly into receive buffer
+	 * 
+	 * @param in
+	 *            input stream
+	 * @return number of bytes read, -1 if end of stream is reached
+	 * @throws IOException
+	 *             if an I/O error occurs.
+	 */
+	int readFrom(InputStream in) throws IOException {
+		ensureSpace();
+		lastReadStart = buffer.position();
+		int read = in.read(buffer.array(), buffer.arrayOffset() + buffer.position(), buffer.remaining());
+		if (read > 0) {
+			buffer.position(buffer.position() + read);
+		}
+		return read;
+	}
+
+	/**
+	 * Reads from channel directly into receive buffer
+	 * 
+	 * @param channel
+	 *            readable channel
+	 * @return number of bytes read, -1 if end of stream is reached
+	 * @throws IOException
+	 *             if an I/O error occurs.
+	 */
+	int readFrom(ReadableByteChannel channel) throws IOException {
+		ensureSpace();
+		lastReadStart = buffer.position();
+		return channel.read(buffer);
+	}
+
+	/**
+	 * Returns copy of bytes received by last read, used for real time logging
+	 * 
+	 * @return last received bytes
+	 */
+	byte[] getLastReadBytes() {
+		ByteBuffer view = buffer.duplicate();
+		view.flip();
+		view.position(lastReadStart);
+		byte[] data = new byte[view.remaining()];
+		view.get(data);
+		return data;
+	}
+
+	/**
+	 * Separates messages from received data, applies filters and adds
+	 * remaining messages to the receive queue
+	 * 
+	 * @throws InterruptedException
+	 *             if interrupted while waiting for queue space
+	 */
+	void process() throws InterruptedException {
+		buffer.flip();
+		if (null == parser) {
+			// If user has not provided logic for msg parsing then do simple filtering
+			applyFilter(toByteArray(buffer));
+		} else {
+			ByteBuffer frame;
+			while (null != (frame = parser.nextFrame(buffer))) {
+				applyFilter(toByteArray(frame));
+			}
+		}
+		// Keep incomplete message for next read
+		buffer.compact();
+	}
+
+	private void ensureSpace() {
+		if (buffer.hasRemaining()) {
+			return;
+		}
+		ByteBuffer newBuffer = buffer.isDirect() ? ByteBuffer.allocateDirect(buffer.capacity() * 2) : ByteBuffer.allocate(buffer.capacity() * 2);
+		buffer.flip();
+		newBuffer.put(buffer);
+		buffer = newBuffer;
+	}
+
+	private byte[] toByteArray(ByteBuffer frame) {
+		// Array created by byte array based parser can be used as it is
+		if (frame.hasArray() && (!buffer.hasArray() || frame.array() != buffer.array()) && frame.arrayOffset() == 0 && frame.position() == 0
+				&& frame.limit() == frame.array().length) {
+			return frame.array();
+		}
+		byte[] msg = new byte[frame.remaining()];
+		frame.get(msg);
+		return msg;
+	}
+
+	private void applyFilter(byte[] msg) throws InterruptedException {
+		if (null != filterList && !filterList.isEmpty()) {
+			for (ConnectableFilter filter : filterList) {
+				if (filter.meetCriteria(msg)) {
+					// Do not add to queue if filter match is found
+					return;
+				}
+			}
+		}
+		if (waitForQueue) {
+			queue.put(msg);
+		} else {
+			queue.offer(msg);
+		}
+	}
+
+}
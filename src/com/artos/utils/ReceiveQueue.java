@@ -0,0 +1,446 @@
+/*******************************************************************************
+ * Copyright (C) 2018-2019 Arpit Shah and Artos Contributors
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ ******************************************************************************/
+package com.artos.utils;
+
+import java.util.AbstractQueue;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+import com.artos.framework.Enums.QueueOverflowPolicy;
+
+/**
+ * Bounded, thread safe receive queue used by {@link TCPClient},
+ * {@link TCPServer} and {@link UDP}. Messages are stored in a ring buffer
+ * which grows on demand up to configured capacity, so no object is allocated
+ * per message. Consumer waiting in {@link #poll(long, TimeUnit)} is woken up
+ * as soon as a message arrives.
+ *
+ * <PRE>
+ * Queue also maintains following statistics which can be used to find backpressure:
+ * - received count (all messages offered to the queue)
+ * - dropped count (messages discarded due to overflow policy)
+ * - delivered count (messages polled by consumer)
+ * - maximum queue depth
+ * - average and maximum receive latency (time message spent in the queue)
+ * </PRE>
+ *
+ * Iterator returned by this queue is a read only snapshot of the queue.
+ */
+public class ReceiveQueue extends AbstractQueue<byte[]> {
+
+	public static final int DEFAULT_CAPACITY = 64 * 1024;
+	private static final int INITIAL_SIZE = 16;
+
+	private final int capacity;
+	private final QueueOverflowPolicy overflowPolicy;
+	private final ReentrantLock lock = new ReentrantLock();
+	private final Condition notEmpty = lock.newCondition();
+	private final Condition notFull = lock.newCondition();
+
+	// Ring buffer, message and its arrival time share same index
+	private byte[][] items;
+	private long[] arrivalTime;
+	private int head = 0;
+	private int count = 0;
+
+	// Statistics
+	private long receivedCount = 0;
+	private long droppedCount = 0;
+	private long deliveredCount = 0;
+	private int maxDepth = 0;
+	private long totalLatency = 0;
+	private long maxLatency = 0;
+
+	/**
+	 * Constructor. Creates queue with {@value #DEFAULT_CAPACITY} capacity and
+	 * {@link QueueOverflowPolicy#BLOCK} overflow policy
+	 */
+	public ReceiveQueue() {
+		this(DEFAULT_CAPACITY, QueueOverflowPolicy.BLOCK);
+	}
+
+	/**
+	 * Constructor
+	 *
+	 * @param capacity
+	 *            maximum number of messages queue can hold
+	 * @param overflowPolicy
+	 *            action to be taken when message arrives and queue is full
+	 */
+	public ReceiveQueue(int capacity, QueueOverflowPolicy overflowPolicy) {
+		if (capacity < 1) {
+			throw new IllegalArgumentException("Invalid queue capacity : " + capacity);
+		}
+		if (null == overflowPolicy) {
+			throw new IllegalArgumentException("Overflow policy can not be null");
+		}
+		this.capacity = capacity;
+		this.overflowPolicy = overflowPolicy;
+		this.items = new byte[Math.min(INITIAL_SIZE, capacity)][];
+		this.arrivalTime = new long[items.length];
+	}
+
+	/**
+	 * Adds message to the queue. If queue is full then configured overflow
+	 * policy is applied, in case of {@link QueueOverflowPolicy#BLOCK} caller
+	 * waits until space becomes available.
+	 *
+	 * @param msg
+	 *            received message
+	 * @throws InterruptedException
+	 *             if interrupted while waiting
+	 */
+	public void put(byte[] msg) throws InterruptedException {
+		if (null == msg) {
+			throw new NullPointerException();
+		}
+		lock.lockInterruptibly();
+		try {
+			receivedCount++;
+			if (count == capacity) {
+				if (overflowPolicy == QueueOverflowPolicy.DROP_NEWEST) {
+					droppedCount++;
+					return;
+				} else if (overflowPolicy == QueueOverflowPolicy.DROP_OLDEST) {
+					dequeue(false);
+					droppedCount++;
+				} else {
+					while (count == capacity) {
+						notFull.await();
+					}
+				}
+			}
+			enqueue(msg);
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	/**
+	 * Adds message to the queue without waiting. If queue is full then
+	 * {@link QueueOverflowPolicy#DROP_OLDEST} policy discards oldest message,
+	 * any other policy discards this message.
+	 *
+	 * @return true if message was added to the queue, otherwise false
+	 */
+	@Override
+	public boolean offer(byte[] msg) {
+		if (null == msg) {
+			throw new NullPointerException();
+		}
+		lock.lock();
+		try {
+			receivedCount++;
+			if (count == capacity) {
+				if (overflowPolicy != QueueOverflowPolicy.DROP_OLDEST) {
+					droppedCount++;
+					return false;
+				}
+				dequeue(false);
+				droppedCount++;
+			}
+			enqueue(msg);
+			return true;
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	/**
+	 * Returns oldest message from the queue, null is returned if queue is empty
+	 */
+	@Override
+	public byte[] poll() {
+		lock.lock();
+		try {
+			return (count == 0) ? null : dequeue(true);
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	/**
+	 * Returns oldest message from the queue, waiting up to the specified time
+	 * if necessary for a message to arrive.
+	 *
+	 * @param timeout
+	 *            msg timeout
+	 * @param timeunit
+	 *            timeunit
+	 * @return byte[] from queue, null is returned if timeout has occurred
+	 * @throws InterruptedException
+	 *             if interrupted while waiting
+	 */
+	public byte[] poll(long timeout, TimeUnit timeunit) throws InterruptedException {
+		long nanos = timeunit.toNanos(timeout);
+		lock.lockInterruptibly();
+		try {
+			while (count == 0) {
+				if (nanos <= 0) {
+					return null;
+				}
+				nanos = notEmpty.awaitNanos(nanos);
+			}
+			return dequeue(true);
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	/**
+	 * Returns oldest message without removing it from the queue, null is
+	 * returned if queue is empty
+	 */
+	@Override
+	public byte[] peek() {
+		lock.lock();
+		try {
+			return (count == 0) ? null : items[head];
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	/**
+	 * Returns current queue depth
+	 */
+	@Override
+	public int size() {
+		lock.lock();
+		try {
+			return count;
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	/**
+	 * Removes all messages from the queue. Removed messages are not counted as
+	 * dropped or delivered.
+	 */
+	@Override
+	public void clear() {
+		lock.lock();
+		try {
+			for (int i = 0; i < count; i++) {
+				items[(head + i) % items.length] = null;
+			}
+			head = 0;
+			count = 0;
+			notFull.signalAll();
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	/**
+	 * Returns read only iterator over snapshot of the queue
+	 */
+	@Override
+	public Iterator<byte[]> iterator() {
+		lock.lock();
+		try {
+			List<byte[]> snapshot = new ArrayList<>(count);
+			for (int i = 0; i < count; i++) {
+				snapshot.add(items[(head + i) % items.length]);
+			}
+			return Collections.unmodifiableList(snapshot).iterator();
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	private void enqueue(byte[] msg) {
+		if (count == items.length) {
+			grow();
+		}
+		int tail = head + count;
+		if (tail >= items.length) {
+			tail -= items.length;
+		}
+		items[tail] = msg;
+		arrivalTime[tail] = System.nanoTime();
+		count++;
+		if (count > maxDepth) {
+			maxDepth = count;
+		}
+		notEmpty.signal();
+	}
+
+	private byte[] dequeue(boolean delivered) {
+		byte[] msg = items[head];
+		long arrival = arrivalTime[head];
+		items[head] = null;
+		if (++head == items.length) {
+			head = 0;
+		}
+		count--;
+		if (delivered) {
+			long latency = System.nanoTime() - arrival;
+			deliveredCount++;
+			totalLatency += latency;
+			if (latency > maxLatency) {
+				maxLatency = latency;
+			}
+		}
+		notFull.signal();
+		return msg;
+	}
+
+	private void grow() {
+		int newSize = (int) Math.min((long) items.length * 2, capacity);
+		byte[][] newItems = new byte[newSize][];
+		long[] newArrivalTime = new long[newSize];
+		for (int i = 0; i < count; i++) {
+			int index = (head + i) % items.length;
+			newItems[i] = items[index];
+			newArrivalTime[i] = arrivalTime[index];
+		}
+		items = newItems;
+		arrivalTime = newArrivalTime;
+		head = 0;
+	}
+
+	// =================================================================================================
+	// Statistics
+	// =================================================================================================
+
+	/**
+	 * Resets all statistics, queue content is not affected
+	 */
+	public void resetStatistics() {
+		lock.lock();
+		try {
+			receivedCount = 0;
+			droppedCount = 0;
+			deliveredCount = 0;
+			maxDepth = count;
+			totalLatency = 0;
+			maxLatency = 0;
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	/**
+	 * Returns number of messages offered to the queue since creation or last
+	 * statistics reset
+	 *
+	 * @return received message count
+	 */
+	public long getReceivedCount() {
+		lock.lock();
+		try {
+			return receivedCount;
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	/**
+	 * Returns number of messages discarded due to overflow policy
+	 *
+	 * @return dropped message count
+	 */
+	public long getDroppedCount() {
+		lock.lock();
+		try {
+			return droppedCount;
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	/**
+	 * Returns number of messages polled by consumer
+	 *
+	 * @return delivered message count
+	 */
+	public long getDeliveredCount() {
+		lock.lock();
+		try {
+			return deliveredCount;
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	/**
+	 * Returns highest number of messages queue held at one time
+	 *
+	 * @return maximum queue depth
+	 */
+	public int getMaxDepth() {
+		lock.lock();
+		try {
+			return maxDepth;
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	/**
+	 * Returns average time delivered messages spent in the queue
+	 *
+	 * @param timeunit
+	 *            unit of returned value
+	 * @return average receive latency
+	 */
+	public long getAverageLatency(TimeUnit timeunit) {
+		lock.lock();
+		try {
+			return (deliveredCount == 0) ? 0 : timeunit.convert(totalLatency / deliveredCount, TimeUnit.NANOSECONDS);
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	/**
+	 * Returns longest time a delivered message spent in the queue
+	 *
+	 * @param timeunit
+	 *            unit of returned value
+	 * @return maximum receive latency
+	 */
+	public long getMaxLatency(TimeUnit timeunit) {
+		lock.lock();
+		try {
+			return timeunit.convert(maxLatency, TimeUnit.NANOSECONDS);
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	public int getCapacity() {
+		return capacity;
+	}
+
+	public QueueOverflowPolicy getOverflowPolicy() {
+		return overflowPolicy;
+	}
+
+}
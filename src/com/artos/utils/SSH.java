@@ -21,10 +21,11 @@
  ******************************************************************************/
 package com.artos.utils;
 
-import java.io.BufferedInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.PrintStream;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
 
 import com.artos.framework.infra.TestContext;
 import com.jcraft.jsch.Channel;
@@ -48,6 +49,10 @@ public class SSH {
 	private String hostIP;
 	private String username;
 	private String password;
+	// Shell output was historically decoded one byte per character, default keeps that behaviour
+	private Charset charset = StandardCharsets.ISO_8859_1;
+	private ShellReader reader;
+	private String lastMatchedPattern = null;
 
 	/**
 	 * Class Constructor
@@ -133,6 +138,11 @@ public class SSH {
 			if (getSsh() != null && getSsh().isConnected()) {
 				getSsh().disconnect();
 			}
+			// Reader of previous connection must not keep reading closed stream
+			if (null != reader) {
+				reader.close();
+				reader = null;
+			}
 			if (in != null) {
 				in.close();
 			}
@@ -154,13 +164,14 @@ public class SSH {
 
 			// Get input and output stream references
 			getChannel().setInputStream(null);
-			in = new BufferedInputStream(getChannel().getInputStream());
+			in = getChannel().getInputStream();
 			out = new PrintStream(getChannel().getOutputStream());
 			// ((ChannelExec) getChannel()).setErrStream(System.err);
 
 			// Filter out all escape char
 			// ((ChannelShell) getChannel()).setPty(false);
 			getChannel().connect();
+			reader = new ShellReader(in, getCharset(), "SSH-Reader-" + getHostIP());
 		} catch (Exception e) {
 			e.printStackTrace();
 		}
@@ -256,31 +267,15 @@ public class SSH {
 	 *             if an I/O error occurs.
 	 */
 	public String readUntil(String pattern) throws IOException, InterruptedException {
-		char lastChar = pattern.charAt(pattern.length() - 1);
-		StringBuffer sb = new StringBuffer();
+		StringBuilder sb = new StringBuilder();
 
 		// Run Until Pattern match
-		while (true) {
-			if (in.available() >= 1) {
-				char ch = (char) in.read();
-				sb.append(ch);
-				if (ch == lastChar) {
-					if (sb.toString().endsWith(pattern)) {
-						return sb.toString();
-					}
-				}
-			} else {
-				Thread.sleep(10);
-			}
-			if (getChannel().isClosed()) {
-				if (in.available() > 0) {
-					continue;
-				} else {
-					context.getLogger().debug("exit-status: {}", getChannel().getExitStatus());
-					break;
-				}
-			}
+		int index = reader.readUntil(sb, new StreamPatternMatcher(pattern), 0, getChannel()::isClosed);
+		lastMatchedPattern = (index == -1) ? null : pattern;
+		if (index != -1) {
+			return sb.toString();
 		}
+		context.getLogger().debug("exit-status: {}", getChannel().getExitStatus());
 		context.getLogger().debug("*************************************************" + "\nPattern match could not be found"
 				+ "\n*************************************************");
 		return sb.toString();
@@ -312,43 +307,60 @@ public class SSH {
 	 *             if an I/O error occurs.
 	 */
 	public String readUntil(String pattern, long longTimeoutMilliseconds) throws IOException, InterruptedException {
-		char lastChar = pattern.charAt(pattern.length() - 1);
-		StringBuffer sb = new StringBuffer();
-		long starttime = System.currentTimeMillis();
-		char ch;
+		return readUntilAny(new String[] { pattern }, longTimeoutMilliseconds);
+	}
+
+	/**
+	 * Reads shell commands until any of the patterns is received or timeout is met. All patterns are searched in a single pass over received data,
+	 * so this can be used to wait for one of several prompts. Pattern which ended the read is available using {@link #getLastMatchedPattern()}.
+	 * 
+	 * <pre>
+	 * Example:
+	 * SSH ssh = new SSH(context, "192.168.1.100", "root", "1234", 22);
+	 * ssh.connect();
+	 * ssh.write("su");
+	 * ssh.readUntilAny(new String[] { "Password:", "# " }, 2000);
+	 * if ("Password:".equals(ssh.getLastMatchedPattern())) {
+	 * 	ssh.write("1234");
+	 * }
+	 * ssh.disconnect();
+	 * </pre>
+	 * 
+	 * @param patterns
+	 *            patterns to look for in received msg
+	 * @param longTimeoutMilliseconds
+	 *            timeout value
+	 * @return returns string data which are read from console within provided
+	 *         timeout
+	 * @throws InterruptedException
+	 *             if any thread has interrupted the current thread. The interrupted
+	 *             status of the current thread is cleared when this exception is
+	 *             thrown
+	 * @throws IOException
+	 *             if an I/O error occurs.
+	 */
+	public String readUntilAny(String[] patterns, long longTimeoutMilliseconds) throws IOException, InterruptedException {
+		StreamPatternMatcher matcher = new StreamPatternMatcher(patterns);
+		StringBuilder sb = new StringBuilder();
+		lastMatchedPattern = null;
 
 		sb.append("\n---------------------------\n");
-		while ((System.currentTimeMillis() - starttime) < longTimeoutMilliseconds) {
-			if (in.available() >= 1) {
-				ch = (char) in.read();
-				sb.append(ch);
-				if (ch == lastChar) {
-					if (sb.toString().endsWith(pattern)) {
-						if ((System.currentTimeMillis() - starttime) >= longTimeoutMilliseconds) {
-							break;
-						}
-						// add end
-						sb.append("\n---------------------------\n");
-						return sb.toString();
-					} else {
-						if ((System.currentTimeMillis() - starttime) >= longTimeoutMilliseconds) {
-							context.getLogger().debug(
-									"*************************************************\nTimed out before Pattern match could be found\n*************************************************");
-							break;
-						}
-					}
-				}
-			} else {
-				Thread.sleep(10);
-			}
-			if (channel.isClosed()) {
-				if (in.available() > 0) {
-					continue;
-				} else {
-					context.getLogger().debug("exit-status: {}", channel.getExitStatus());
-					break;
-				}
-			}
+		if (longTimeoutMilliseconds <= 0) {
+			return sb.toString();
+		}
+		int index = reader.readUntil(sb, matcher, longTimeoutMilliseconds, channel::isClosed);
+		if (index != -1) {
+			lastMatchedPattern = matcher.getPattern(index);
+			// add end
+			sb.append("\n---------------------------\n");
+			return sb.toString();
+		}
+
+		if (channel.isClosed()) {
+			context.getLogger().debug("exit-status: {}", channel.getExitStatus());
+		} else {
+			context.getLogger().debug(
+					"*************************************************\nTimed out before Pattern match could be found\n*************************************************");
 		}
 		return sb.toString();
 	}
@@ -373,29 +385,13 @@ public class SSH {
 	 */
 	public String readUntil(long longTimeoutMilliseconds) throws Exception {
 
-		StringBuffer sb = new StringBuffer();
-		int readcount = 0;
-		long starttime = System.currentTimeMillis();
-		char ch;
+		StringBuilder sb = new StringBuilder();
 		// add start
 		sb.append("\n---------------------------\n");
 		// Run Until Timeout occurs
-		while ((System.currentTimeMillis() - starttime) < longTimeoutMilliseconds) {
-			if (in.available() >= 1) {
-				ch = (char) in.read();
-				sb.append(ch);
-				readcount++;
-			} else {
-				Thread.sleep(10);
-			}
-			if (channel.isClosed()) {
-				if (in.available() > 0) {
-					continue;
-				} else {
-					context.getLogger().debug("exit-status: {}", channel.getExitStatus());
-					break;
-				}
-			}
+		int readcount = (longTimeoutMilliseconds <= 0) ? 0 : reader.read(sb, longTimeoutMilliseconds, channel::isClosed);
+		if (channel.isClosed()) {
+			context.getLogger().debug("exit-status: {}", channel.getExitStatus());
 		}
 		if (readcount > 0) {
 			// add end
@@ -415,6 +411,32 @@ public class SSH {
 	public void disconnect() throws Exception {
 		getChannel().disconnect();
 		getSsh().disconnect();
+		if (null != reader) {
+			reader.close();
+		}
+	}
+
+	/**
+	 * Returns pattern which ended the last pattern read
+	 * 
+	 * @return matched pattern, null if last read did not find any pattern
+	 */
+	public String getLastMatchedPattern() {
+		return lastMatchedPattern;
+	}
+
+	public Charset getCharset() {
+		return charset;
+	}
+
+	/**
+	 * Sets charset used to decode shell output, takes effect on next {@link #connect()}
+	 * 
+	 * @param charset
+	 *            charset of shell output
+	 */
+	public void setCharset(Charset charset) {
+		this.charset = charset;
 	}
 
 	public Session getSsh() {
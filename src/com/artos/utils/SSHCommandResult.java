@@ -0,0 +1,92 @@
+/*******************************************************************************
+ * Copyright (C) 2018-2019 Arpit Shah and Artos Contributors
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ ******************************************************************************/
+package com.artos.utils;
+
+/**
+ * Outcome of a command executed using {@link SSHSessionPool}
+ */
+public class SSHCommandResult {
+
+	private final String command;
+	private final String stdout;
+	private final String stderr;
+	private final int exitStatus;
+	private final long duration;
+	private final boolean timedOut;
+
+	SSHCommandResult(String command, String stdout, String stderr, int exitStatus, long duration, boolean timedOut) {
+		this.command = command;
+		this.stdout = stdout;
+		this.stderr = stderr;
+		this.exitStatus = exitStatus;
+		this.duration = duration;
+		this.timedOut = timedOut;
+	}
+
+	/**
+	 * Returns true if command finished within timeout with exit status 0
+	 * 
+	 * @return true if command was successful
+	 */
+	public boolean isSuccess() {
+		return !timedOut && exitStatus == 0;
+	}
+
+	@Override
+	public String toString() {
+		return command + " : exit-status " + exitStatus + (timedOut ? " (timed out)" : "") + " in " + duration + " ms";
+	}
+
+	public String getCommand() {
+		return command;
+	}
+
+	public String getStdout() {
+		return stdout;
+	}
+
+	public String getStderr() {
+		return stderr;
+	}
+
+	/**
+	 * Returns exit status of the command
+	 * 
+	 * @return exit status, -1 if command timed out or server did not report exit status
+	 */
+	public int getExitStatus() {
+		return exitStatus;
+	}
+
+	/**
+	 * Returns command execution duration including wait for a free channel
+	 * 
+	 * @return duration in milliseconds
+	 */
+	public long getDuration() {
+		return duration;
+	}
+
+	public boolean isTimedOut() {
+		return timedOut;
+	}
+}
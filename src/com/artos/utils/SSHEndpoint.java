@@ -0,0 +1,115 @@
+/*******************************************************************************
+ * Copyright (C) 2018-2019 Arpit Shah and Artos Contributors
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ ******************************************************************************/
+package com.artos.utils;
+
+/**
+ * Identifies SSH server and credentials used by {@link SSHSessionPool}. Sessions are shared between endpoints with same host, user name and port
+ * number.
+ */
+public final class SSHEndpoint {
+
+	private final String hostIP;
+	private final String username;
+	private final String password;
+	private final int portNumber;
+	private final String privateKeyPath;
+
+	/**
+	 * Class Constructor
+	 * 
+	 * @param hostIP
+	 *            host IP address
+	 * @param username
+	 *            username
+	 * @param password
+	 *            password
+	 * @param portNumber
+	 *            SSH port number
+	 */
+	public SSHEndpoint(String hostIP, String username, String password, int portNumber) {
+		this(hostIP, username, password, portNumber, null);
+	}
+
+	/**
+	 * Class Constructor
+	 * 
+	 * @param hostIP
+	 *            host IP address
+	 * @param username
+	 *            username
+	 * @param password
+	 *            password
+	 * @param portNumber
+	 *            SSH port number
+	 * @param privateKeyPath
+	 *            private key file path, null if password authentication is used
+	 */
+	public SSHEndpoint(String hostIP, String username, String password, int portNumber, String privateKeyPath) {
+		this.hostIP = hostIP;
+		this.username = username;
+		this.password = password;
+		this.portNumber = portNumber;
+		this.privateKeyPath = privateKeyPath;
+	}
+
+	@Override
+	public boolean equals(Object obj) {
+		if (this == obj) {
+			return true;
+		}
+		if (!(obj instanceof SSHEndpoint)) {
+			return false;
+		}
+		SSHEndpoint other = (SSHEndpoint) obj;
+		return portNumber == other.portNumber && hostIP.equals(other.hostIP) && username.equals(other.username);
+	}
+
+	@Override
+	public int hashCode() {
+		return (hostIP.hashCode() * 31 + username.hashCode()) * 31 + portNumber;
+	}
+
+	@Override
+	public String toString() {
+		return username + "@" + hostIP + ":" + portNumber;
+	}
+
+	public String getHostIP() {
+		return hostIP;
+	}
+
+	public String getUsername() {
+		return username;
+	}
+
+	public String getPassword() {
+		return password;
+	}
+
+	public int getPortNumber() {
+		return portNumber;
+	}
+
+	public String getPrivateKeyPath() {
+		return privateKeyPath;
+	}
+}
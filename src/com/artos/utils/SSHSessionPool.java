@@ -0,0 +1,488 @@
+/*******************************************************************************
+ * Copyright (C) 2018-2019 Arpit Shah and Artos Contributors
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ ******************************************************************************/
+package com.artos.utils;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.jcraft.jsch.Channel;
+import com.jcraft.jsch.ChannelExec;
+import com.jcraft.jsch.JSch;
+import com.jcraft.jsch.JSchException;
+import com.jcraft.jsch.Session;
+
+/**
+ * Executes remote commands using pool of authenticated SSH sessions. Sessions are kept per host, user name and port number and each command runs on
+ * its own exec channel, so concurrent commands to the same host share sessions instead of repeating the handshake. Standard output, standard error
+ * and exit status of each command are captured separately.
+ * 
+ * <pre>
+ * Example:
+ * SSHSessionPool pool = new SSHSessionPool();
+ * SSHEndpoint host = new SSHEndpoint("192.168.1.100", "root", "1234", 22);
+ * SSHCommandResult result = pool.execute(host, "uname -a", 5000);
+ * List&lt;SSHCommandResult&gt; resultList = pool.executeAll(host, Arrays.asList("uptime", "df -h", "free"), 5000);
+ * CompletableFuture&lt;SSHCommandResult&gt; future = pool.executeAsync(host, "dmesg", 10000);
+ * pool.close();
+ * </pre>
+ */
+public class SSHSessionPool implements AutoCloseable {
+
+	// Exit status arrives shortly after output ends, channel state is re-checked at this interval until then
+	private static final long CLOSE_CHECK_MILLISECONDS = 10;
+
+	private final int maxSessionsPerHost;
+	private final int maxChannelsPerSession;
+	private final ExecutorService executor;
+	private final ConcurrentMap<SSHEndpoint, HostSessions> hostMap = new ConcurrentHashMap<>();
+	private volatile boolean closed = false;
+	private volatile Charset charset = StandardCharsets.UTF_8;
+
+	/**
+	 * Class Constructor, allows 2 sessions per host, 8 channels per session and 16 concurrent asynchronous commands
+	 */
+	public SSHSessionPool() {
+		this(2, 8, 16);
+	}
+
+	/**
+	 * Class Constructor
+	 * 
+	 * @param maxSessionsPerHost
+	 *            maximum number of sessions opened to one endpoint
+	 * @param maxChannelsPerSession
+	 *            maximum number of concurrent commands per session, must not exceed server limit (OpenSSH MaxSessions is 10 by default)
+	 * @param threadCount
+	 *            number of threads executing asynchronous commands
+	 */
+	public SSHSessionPool(int maxSessionsPerHost, int maxChannelsPerSession, int threadCount) {
+		if (maxSessionsPerHost < 1 || maxChannelsPerSession < 1 || threadCount < 1) {
+			throw new IllegalArgumentException("Invalid pool size : sessions " + maxSessionsPerHost + ", channels " + maxChannelsPerSession
+					+ ", threads " + threadCount);
+		}
+		this.maxSessionsPerHost = maxSessionsPerHost;
+		this.maxChannelsPerSession = maxChannelsPerSession;
+		AtomicInteger threadNumber = new AtomicInteger();
+		this.executor = Executors.newFixedThreadPool(threadCount, r -> {
+			Thread thread = new Thread(r, "SSH-Pool-" + threadNumber.incrementAndGet());
+			thread.setDaemon(true);
+			return thread;
+		});
+	}
+
+	/**
+	 * Executes command and waits for it to finish. Timeout includes time spent waiting for a free channel.
+	 * 
+	 * @param endpoint
+	 *            SSH server and credentials
+	 * @param command
+	 *            command to execute
+	 * @param timeoutMilliseconds
+	 *            timeout value
+	 * @return command result, result is marked as timed out if command did not finish within timeout
+	 * @throws JSchException
+	 *             if session could not be established or channel could not be opened
+	 * @throws InterruptedException
+	 *             if any thread has interrupted the current thread
+	 */
+	public SSHCommandResult execute(SSHEndpoint endpoint, String command, long timeoutMilliseconds) throws JSchException, InterruptedException {
+		if (closed) {
+			throw new IllegalStateException("SSH session pool is closed");
+		}
+		long startTime = System.currentTimeMillis();
+		long deadline = startTime + timeoutMilliseconds;
+		HostSessions hostSessions = hostMap.computeIfAbsent(endpoint, HostSessions::new);
+
+		PooledSession pooledSession = hostSessions.acquire(deadline);
+		if (null == pooledSession) {
+			return new SSHCommandResult(command, "", "", -1, System.currentTimeMillis() - startTime, true);
+		}
+		try {
+			return execute(pooledSession.session, command, startTime, deadline);
+		} finally {
+			hostSessions.release(pooledSession);
+		}
+	}
+
+	/**
+	 * Executes command on exec channel of given session
+	 * 
+	 * @param session
+	 *            connected session
+	 * @param command
+	 *            command to execute
+	 * @param startTime
+	 *            time from which command duration is measured
+	 * @param deadline
+	 *            time by which command must finish
+	 * @return command result
+	 * @throws JSchException
+	 *             if channel could not be opened
+	 * @throws InterruptedException
+	 *             if any thread has interrupted the current thread
+	 */
+	SSHCommandResult execute(Session session, String command, long startTime, long deadline) throws JSchException, InterruptedException {
+		ChannelExec channel = (ChannelExec) openChannel(session, "exec");
+		try {
+			channel.setCommand(command);
+			channel.setInputStream(null);
+			CaptureStream stdout = new CaptureStream();
+			CaptureStream stderr = new CaptureStream();
+			channel.setOutputStream(stdout);
+			channel.setErrStream(stderr);
+			channel.connect();
+
+			boolean timedOut = !stdout.awaitClose(channel, deadline);
+			return new SSHCommandResult(command, stdout.decode(charset), stderr.decode(charset), timedOut ? -1 : channel.getExitStatus(),
+					System.currentTimeMillis() - startTime, timedOut);
+		} finally {
+			channel.disconnect();
+		}
+	}
+
+	/**
+	 * Executes command on pool thread
+	 * 
+	 * @param endpoint
+	 *            SSH server and credentials
+	 * @param command
+	 *            command to execute
+	 * @param timeoutMilliseconds
+	 *            timeout value
+	 * @return future which completes with command result, or exceptionally if session or channel could not be opened
+	 */
+	public CompletableFuture<SSHCommandResult> executeAsync(SSHEndpoint endpoint, String command, long timeoutMilliseconds) {
+		return CompletableFuture.supplyAsync(() -> {
+			try {
+				return execute(endpoint, command, timeoutMilliseconds);
+			} catch (JSchException | InterruptedException e) {
+				throw new CompletionException(e);
+			}
+		}, executor);
+	}
+
+	/**
+	 * Executes all commands concurrently and waits for all of them to finish
+	 * 
+	 * @param endpoint
+	 *            SSH server and credentials
+	 * @param commandList
+	 *            commands to execute
+	 * @param timeoutMilliseconds
+	 *            timeout of each command
+	 * @return command results in command list order
+	 * @throws JSchException
+	 *             if session could not be established or channel could not be opened
+	 * @throws InterruptedException
+	 *             if any thread has interrupted the current thread
+	 */
+	public List<SSHCommandResult> executeAll(SSHEndpoint endpoint, List<String> commandList, long timeoutMilliseconds)
+			throws JSchException, InterruptedException {
+		List<CompletableFuture<SSHCommandResult>> futureList = new ArrayList<>();
+		for (String command : commandList) {
+			futureList.add(executeAsync(endpoint, command, timeoutMilliseconds));
+		}
+		List<SSHCommandResult> resultList = new ArrayList<>();
+		for (CompletableFuture<SSHCommandResult> future : futureList) {
+			try {
+				resultList.add(future.get());
+			} catch (ExecutionException e) {
+				if (e.getCause() instanceof JSchException) {
+					throw (JSchException) e.getCause();
+				}
+				if (e.getCause() instanceof InterruptedException) {
+					throw (InterruptedException) e.getCause();
+				}
+				throw new RuntimeException(e.getCause());
+			}
+		}
+		return resultList;
+	}
+
+	/**
+	 * Reserves a channel on a pooled session and runs task with the session. Task must open and close its own channel.
+	 * 
+	 * @param endpoint
+	 *            SSH server and credentials
+	 * @param timeoutMilliseconds
+	 *            maximum time to wait for a free channel
+	 * @param task
+	 *            task to run
+	 * @return value returned by task
+	 * @throws Exception
+	 *             if session could not be established, no channel became free within timeout or task failed
+	 */
+	<T> T runWithSession(SSHEndpoint endpoint, long timeoutMilliseconds, SessionTask<T> task) throws Exception {
+		if (closed) {
+			throw new IllegalStateException("SSH session pool is closed");
+		}
+		HostSessions hostSessions = hostMap.computeIfAbsent(endpoint, HostSessions::new);
+		PooledSession pooledSession = hostSessions.acquire(System.currentTimeMillis() + timeoutMilliseconds);
+		if (null == pooledSession) {
+			throw new JSchException("Timed out waiting for free channel : " + endpoint);
+		}
+		try {
+			return task.run(pooledSession.session);
+		} finally {
+			hostSessions.release(pooledSession);
+		}
+	}
+
+	/**
+	 * Work done using a pooled session
+	 */
+	interface SessionTask<T> {
+		T run(Session session) throws Exception;
+	}
+
+	/**
+	 * Stops pool threads and disconnects all sessions
+	 */
+	@Override
+	public void close() {
+		closed = true;
+		executor.shutdownNow();
+		for (HostSessions hostSessions : hostMap.values()) {
+			hostSessions.disconnectAll();
+		}
+		hostMap.clear();
+	}
+
+	/**
+	 * Returns number of sessions held for endpoint, session which dropped is counted until its last channel is released
+	 * 
+	 * @param endpoint
+	 *            SSH server and credentials
+	 * @return number of sessions held by pool
+	 */
+	public int getSessionCount(SSHEndpoint endpoint) {
+		HostSessions hostSessions = hostMap.get(endpoint);
+		return null == hostSessions ? 0 : hostSessions.getSessionCount();
+	}
+
+	/**
+	 * Opens and authenticates new session. Subclass can override this method to apply its own session configuration, for example known hosts or
+	 * proxy.
+	 * 
+	 * @param endpoint
+	 *            SSH server and credentials
+	 * @return connected session
+	 * @throws JSchException
+	 *             if session could not be established
+	 */
+	protected Session openSession(SSHEndpoint endpoint) throws JSchException {
+		JSch jsch = new JSch();
+		if (null != endpoint.getPrivateKeyPath()) {
+			jsch.addIdentity(endpoint.getPrivateKeyPath());
+		}
+		Session session = jsch.getSession(endpoint.getUsername(), endpoint.getHostIP(), endpoint.getPortNumber());
+		session.setConfig("StrictHostKeyChecking", "no");
+		session.setPassword(endpoint.getPassword());
+		session.connect();
+		return session;
+	}
+
+	/**
+	 * Opens channel on pooled session, channel is connected by the caller. Subclass can override this method to configure channels before use.
+	 * 
+	 * @param session
+	 *            connected session
+	 * @param type
+	 *            channel type, for example "exec" or "sftp"
+	 * @return channel which is not connected yet
+	 * @throws JSchException
+	 *             if channel could not be opened
+	 */
+	protected Channel openChannel(Session session, String type) throws JSchException {
+		return session.openChannel(type);
+	}
+
+	// =================================================================================================
+	// Session bookkeeping
+	// =================================================================================================
+
+	/**
+	 * Session with number of channels currently in use, guarded by owning {@link HostSessions}
+	 */
+	private static final class PooledSession {
+		final Session session;
+		int activeChannels = 1;
+
+		PooledSession(Session session) {
+			this.session = session;
+		}
+	}
+
+	/**
+	 * Sessions of one endpoint. Commands wait for a free channel once all sessions are busy and session limit is reached. Session which dropped is
+	 * not handed out again and is removed once its last channel is released, it does not count against session limit in the meantime.
+	 */
+	private final class HostSessions {
+		private final SSHEndpoint endpoint;
+		private final List<PooledSession> sessionList = new ArrayList<>();
+		// Sessions being connected outside of the lock, counted against session limit
+		private int connectingCount = 0;
+
+		HostSessions(SSHEndpoint endpoint) {
+			this.endpoint = endpoint;
+		}
+
+		/**
+		 * Reserves channel on an existing session or on a new session if limit allows
+		 * 
+		 * @return session with reserved channel, null if no channel became free before deadline
+		 */
+		PooledSession acquire(long deadline) throws JSchException, InterruptedException {
+			synchronized (this) {
+				while (true) {
+					removeDisconnected();
+					int connectedCount = 0;
+					for (PooledSession pooledSession : sessionList) {
+						if (!pooledSession.session.isConnected()) {
+							continue;
+						}
+						connectedCount++;
+						if (pooledSession.activeChannels < maxChannelsPerSession) {
+							pooledSession.activeChannels++;
+							return pooledSession;
+						}
+					}
+					if (connectedCount + connectingCount < maxSessionsPerHost) {
+						connectingCount++;
+						break;
+					}
+					long remaining = deadline - System.currentTimeMillis();
+					if (remaining <= 0) {
+						return null;
+					}
+					wait(remaining);
+				}
+			}
+
+			// Handshake is done without holding the lock so commands on other sessions are not blocked
+			PooledSession pooledSession = null;
+			try {
+				pooledSession = new PooledSession(openSession(endpoint));
+				return pooledSession;
+			} finally {
+				synchronized (this) {
+					connectingCount--;
+					if (null != pooledSession) {
+						sessionList.add(pooledSession);
+					}
+					notifyAll();
+				}
+			}
+		}
+
+		synchronized void release(PooledSession pooledSession) {
+			pooledSession.activeChannels--;
+			removeDisconnected();
+			notifyAll();
+		}
+
+		synchronized int getSessionCount() {
+			return sessionList.size();
+		}
+
+		synchronized void disconnectAll() {
+			for (PooledSession pooledSession : sessionList) {
+				pooledSession.session.disconnect();
+			}
+			sessionList.clear();
+			notifyAll();
+		}
+
+		private void removeDisconnected() {
+			Iterator<PooledSession> it = sessionList.iterator();
+			while (it.hasNext()) {
+				PooledSession pooledSession = it.next();
+				if (!pooledSession.session.isConnected() && pooledSession.activeChannels == 0) {
+					pooledSession.session.disconnect();
+					it.remove();
+				}
+			}
+		}
+	}
+
+	/**
+	 * Collects command output, notifies waiting thread when channel closes the stream at end of output
+	 */
+	private static final class CaptureStream extends ByteArrayOutputStream {
+
+		@Override
+		public void close() {
+			synchronized (this) {
+				notifyAll();
+			}
+		}
+
+		/**
+		 * Waits until channel is closed
+		 * 
+		 * @return false if deadline is met before channel is closed
+		 */
+		synchronized boolean awaitClose(ChannelExec channel, long deadline) throws InterruptedException {
+			while (!channel.isClosed()) {
+				long remaining = deadline - System.currentTimeMillis();
+				if (remaining <= 0) {
+					return false;
+				}
+				wait(Math.min(remaining, CLOSE_CHECK_MILLISECONDS));
+			}
+			return true;
+		}
+
+		/**
+		 * Decodes output captured so far. Channel may still be writing if command timed out, so buffer is read under the same lock as write.
+		 */
+		synchronized String decode(Charset charset) {
+			return new String(buf, 0, count, charset);
+		}
+	}
+
+	public Charset getCharset() {
+		return charset;
+	}
+
+	/**
+	 * Sets charset used to decode command output
+	 * 
+	 * @param charset
+	 *            charset of command output
+	 */
+	public void setCharset(Charset charset) {
+		this.charset = charset;
+	}
+}
@@ -0,0 +1,258 @@
+/*******************************************************************************
+ * Copyright (C) 2018-2019 Arpit Shah and Artos Contributors
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ ******************************************************************************/
+package com.artos.utils;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CodingErrorAction;
+
+/**
+ * Reads shell output on a background thread in bulk and decodes it incrementally. Readers wait on received data instead of polling the stream, and
+ * characters which are not consumed by a read stay available for the next read. Number of unread characters is bounded, once the limit is reached
+ * reader thread stops reading so unread output stays in the channel window and the remote side is held back as it would be without this reader.
+ */
+public class ShellReader implements Runnable {
+
+	private static final int BUFFER_SIZE = 8192;
+	// Upper bound of a single wait so closed channel is noticed even if stream does not report end of stream
+	private static final long MAX_WAIT_MILLISECONDS = 1000;
+	private static final long CLOSE_GRACE_MILLISECONDS = 100;
+	static final int DEFAULT_MAX_PENDING_CHARS = 1024 * 1024;
+
+	private final InputStream in;
+	private final CharsetDecoder decoder;
+	private final Object lock = new Object();
+	// Decoded characters which are not consumed yet, guarded by lock
+	private final StringBuilder pending = new StringBuilder();
+	private final int maxPendingChars;
+	private volatile boolean endOfStream = false;
+	private volatile boolean closed = false;
+	private final Thread thread;
+
+	/**
+	 * Constructor, starts reader thread
+	 * 
+	 * @param in shell input stream
+	 * @param charset charset used to decode shell output
+	 * @param name reader thread name
+	 */
+	public ShellReader(InputStream in, Charset charset, String name) {
+		this(in, charset, name, DEFAULT_MAX_PENDING_CHARS);
+	}
+
+	/**
+	 * Constructor, starts reader thread
+	 * 
+	 * @param in shell input stream
+	 * @param charset charset used to decode shell output
+	 * @param name reader thread name
+	 * @param maxPendingChars number of unread characters after which reader thread stops reading until characters are consumed
+	 */
+	public ShellReader(InputStream in, Charset charset, String name, int maxPendingChars) {
+		if (maxPendingChars < 1) {
+			throw new IllegalArgumentException("Invalid pending limit : " + maxPendingChars);
+		}
+		this.in = in;
+		this.maxPendingChars = maxPendingChars;
+		this.decoder = charset.newDecoder().onMalformedInput(CodingErrorAction.REPLACE).onUnmappableCharacter(CodingErrorAction.REPLACE);
+		this.thread = new Thread(this, name);
+		thread.setDaemon(true);
+		thread.start();
+	}
+
+	@Override
+	public void run() {
+		byte[] data = new byte[BUFFER_SIZE];
+		ByteBuffer byteBuffer = ByteBuffer.wrap(data);
+		CharBuffer charBuffer = CharBuffer.allocate(BUFFER_SIZE);
+		try {
+			int count;
+			while (awaitSpace() && (count = in.read(data, byteBuffer.position(), byteBuffer.remaining())) != -1) {
+				byteBuffer.position(byteBuffer.position() + count);
+				byteBuffer.flip();
+				// Incomplete multi-byte character stays in byte buffer until rest of it arrives
+				decoder.decode(byteBuffer, charBuffer, false);
+				byteBuffer.compact();
+				charBuffer.flip();
+				synchronized (lock) {
+					pending.append(charBuffer);
+					lock.notifyAll();
+				}
+				charBuffer.clear();
+			}
+		} catch (IOException e) {
+			// Stream is closed when channel is disconnected
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		} finally {
+			synchronized (lock) {
+				endOfStream = true;
+				lock.notifyAll();
+			}
+		}
+	}
+
+	/**
+	 * Waits until number of unread characters is below the limit
+	 * 
+	 * @return false if reader is closed
+	 */
+	private boolean awaitSpace() throws InterruptedException {
+		synchronized (lock) {
+			while (pending.length() >= maxPendingChars && !closed) {
+				lock.wait();
+			}
+		}
+		return !closed;
+	}
+
+	/**
+	 * Stops reader thread once it is not blocked in stream read
+	 */
+	public void close() {
+		synchronized (lock) {
+			closed = true;
+			lock.notifyAll();
+		}
+	}
+
+	/**
+	 * Removes characters from pending buffer and wakes reader thread if it waits for space. Must be called while holding lock.
+	 */
+	private void consume(int count) {
+		boolean wasFull = pending.length() >= maxPendingChars;
+		pending.delete(0, count);
+		if (wasFull) {
+			lock.notifyAll();
+		}
+	}
+
+	/**
+	 * Reads until one of the patterns is received, timeout is met or stream is closed. Characters received after the pattern are kept for the next
+	 * read.
+	 * 
+	 * @param sb received characters are appended here
+	 * @param matcher matcher of expected patterns, matcher is reset before use
+	 * @param timeoutMilliseconds timeout, 0 or less waits until pattern is received or stream is closed
+	 * @param channelState reports whether channel is closed
+	 * @return index of received pattern, -1 if timeout is met or stream is closed
+	 * @throws InterruptedException if any thread has interrupted the current thread
+	 */
+	public int readUntil(StringBuilder sb, StreamPatternMatcher matcher, long timeoutMilliseconds, ChannelState channelState) throws InterruptedException {
+		matcher.reset();
+		long deadline = System.currentTimeMillis() + timeoutMilliseconds;
+		synchronized (lock) {
+			while (true) {
+				for (int i = 0; i < pending.length(); i++) {
+					int index = matcher.next(pending.charAt(i));
+					if (index != -1) {
+						sb.append(pending, 0, i + 1);
+						consume(i + 1);
+						return index;
+					}
+				}
+				sb.append(pending);
+				consume(pending.length());
+
+				if (!waitForData(deadline, timeoutMilliseconds > 0, channelState)) {
+					return -1;
+				}
+			}
+		}
+	}
+
+	/**
+	 * Reads everything received until timeout is met or stream is closed
+	 * 
+	 * @param sb received characters are appended here
+	 * @param timeoutMilliseconds timeout
+	 * @param channelState reports whether channel is closed
+	 * @return number of characters read
+	 * @throws InterruptedException if any thread has interrupted the current thread
+	 */
+	public int read(StringBuilder sb, long timeoutMilliseconds, ChannelState channelState) throws InterruptedException {
+		long deadline = System.currentTimeMillis() + timeoutMilliseconds;
+		int readCount = 0;
+		synchronized (lock) {
+			while (true) {
+				readCount += pending.length();
+				sb.append(pending);
+				consume(pending.length());
+
+				if (!waitForData(deadline, true, channelState)) {
+					return readCount;
+				}
+			}
+		}
+	}
+
+	/**
+	 * Waits until more data is received. Must be called while holding lock and only when no data is pending.
+	 * 
+	 * @return false if timeout is met or no more data will be received
+	 */
+	private boolean waitForData(long deadline, boolean useDeadline, ChannelState channelState) throws InterruptedException {
+		boolean closedSeen = false;
+		while (pending.length() == 0) {
+			if (endOfStream) {
+				return false;
+			}
+			long waitTime = MAX_WAIT_MILLISECONDS;
+			if (channelState.isClosed() && !isDataAvailable()) {
+				// Give reader thread a chance to hand over data it has already read from the stream
+				if (closedSeen) {
+					return false;
+				}
+				closedSeen = true;
+				waitTime = CLOSE_GRACE_MILLISECONDS;
+			}
+			if (useDeadline) {
+				long remaining = deadline - System.currentTimeMillis();
+				if (remaining <= 0) {
+					return false;
+				}
+				waitTime = Math.min(waitTime, remaining);
+			}
+			lock.wait(waitTime);
+		}
+		return true;
+	}
+
+	private boolean isDataAvailable() {
+		try {
+			return in.available() > 0;
+		} catch (IOException e) {
+			return false;
+		}
+	}
+
+	/**
+	 * Reports state of the channel the stream belongs to
+	 */
+	public interface ChannelState {
+		boolean isClosed();
+	}
+}
@@ -0,0 +1,185 @@
+/*******************************************************************************
+ * Copyright (C) 2018-2019 Arpit Shah and Artos Contributors
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ ******************************************************************************/
+package com.artos.utils;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+
+/**
+ * Finds any of the given patterns in a stream of characters using Aho-Corasick automaton. Characters are fed one at a time and each character is
+ * processed in constant time irrespective of how much data was received before, so the matcher can be used on outputs of any size without
+ * keeping them in memory.
+ * 
+ * <pre>
+ * Example:
+ * StreamPatternMatcher matcher = new StreamPatternMatcher("$ ", "# ", "Password:");
+ * for (char ch : received) {
+ * 	int index = matcher.next(ch);
+ * 	if (index != -1) {
+ * 		// matcher.getPattern(index) ends at ch
+ * 	}
+ * }
+ * </pre>
+ */
+public class StreamPatternMatcher {
+
+	// Transitions for 7 bit ASCII characters are pre-computed, others follow failure links
+	private static final int ASCII_SIZE = 128;
+
+	private final String[] patterns;
+	private final int[][] asciiTransition;
+	private final List<Map<Character, Integer>> trieTransition = new ArrayList<>();
+	private final int[] failure;
+	private final int[] matchIndex;
+	private int state = 0;
+
+	/**
+	 * Constructor
+	 * 
+	 * @param patterns one or more patterns to look for, patterns can not be null or empty
+	 */
+	public StreamPatternMatcher(String... patterns) {
+		if (null == patterns || patterns.length == 0) {
+			throw new IllegalArgumentException("At least one pattern is required");
+		}
+		this.patterns = patterns.clone();
+
+		// Build trie of all patterns
+		List<Integer> matchList = new ArrayList<>();
+		trieTransition.add(new HashMap<>());
+		matchList.add(-1);
+		for (int i = 0; i < patterns.length; i++) {
+			if (null == patterns[i] || patterns[i].isEmpty()) {
+				throw new IllegalArgumentException("Pattern can not be empty : index " + i);
+			}
+			int node = 0;
+			for (char ch : patterns[i].toCharArray()) {
+				Integer child = trieTransition.get(node).get(ch);
+				if (null == child) {
+					child = trieTransition.size();
+					trieTransition.get(node).put(ch, child);
+					trieTransition.add(new HashMap<>());
+					matchList.add(-1);
+				}
+				node = child;
+			}
+			// Duplicate pattern reports first occurrence
+			if (matchList.get(node) == -1) {
+				matchList.set(node, i);
+			}
+		}
+
+		int stateCount = trieTransition.size();
+		failure = new int[stateCount];
+		matchIndex = new int[stateCount];
+		asciiTransition = new int[stateCount][];
+		for (int i = 0; i < stateCount; i++) {
+			matchIndex[i] = matchList.get(i);
+		}
+
+		// Breadth first traversal so failure state of a node is always computed before the node
+		asciiTransition[0] = new int[ASCII_SIZE];
+		for (Map.Entry<Character, Integer> entry : trieTransition.get(0).entrySet()) {
+			if (entry.getKey() < ASCII_SIZE) {
+				asciiTransition[0][entry.getKey()] = entry.getValue();
+			}
+		}
+		Queue<Integer> queue = new ArrayDeque<>(trieTransition.get(0).values());
+		while (!queue.isEmpty()) {
+			int node = queue.poll();
+			int fail = failure[node];
+
+			// Pattern which is suffix of this node also matches here, lowest pattern index is reported
+			if (matchIndex[fail] != -1 && (matchIndex[node] == -1 || matchIndex[fail] < matchIndex[node])) {
+				matchIndex[node] = matchIndex[fail];
+			}
+
+			asciiTransition[node] = Arrays.copyOf(asciiTransition[fail], ASCII_SIZE);
+			for (Map.Entry<Character, Integer> entry : trieTransition.get(node).entrySet()) {
+				int child = entry.getValue();
+				failure[child] = transition(fail, entry.getKey());
+				if (entry.getKey() < ASCII_SIZE) {
+					asciiTransition[node][entry.getKey()] = child;
+				}
+				queue.add(child);
+			}
+		}
+	}
+
+	/**
+	 * Feeds next character of the stream
+	 * 
+	 * @param ch received character
+	 * @return index of the pattern which ends at this character, -1 if no pattern ends here
+	 */
+	public int next(char ch) {
+		state = transition(state, ch);
+		return matchIndex[state];
+	}
+
+	/**
+	 * Clears match progress so next character is treated as start of the stream
+	 */
+	public void reset() {
+		state = 0;
+	}
+
+	/**
+	 * Returns pattern
+	 * 
+	 * @param index pattern index as returned by {@link #next(char)}
+	 * @return pattern
+	 */
+	public String getPattern(int index) {
+		return patterns[index];
+	}
+
+	/**
+	 * Returns number of patterns
+	 * 
+	 * @return pattern count
+	 */
+	public int getPatternCount() {
+		return patterns.length;
+	}
+
+	private int transition(int node, char ch) {
+		if (ch < ASCII_SIZE) {
+			return asciiTransition[node][ch];
+		}
+		while (true) {
+			Integer child = trieTransition.get(node).get(ch);
+			if (null != child) {
+				return child;
+			}
+			if (node == 0) {
+				return 0;
+			}
+			node = failure[node];
+		}
+	}
+}
@@ -0,0 +1,425 @@
+/*******************************************************************************
+ * Copyright (C) 2018-2019 Arpit Shah and Artos Contributors
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ ******************************************************************************/
+package com.artos.utils;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.text.SimpleDateFormat;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Map.Entry;
+
+/**
+ * Converts report produced by {@link StreamReportWriter} into single HTML page. Report is processed one line at a time and each record is written
+ * to HTML as soon as it is read, only test nodes which are currently open and result counters are held in memory so large reports can be rendered
+ * without loading them. Rendering is not part of the test execution, it can be done at any time after (or even during) execution.
+ *
+ * <PRE>
+ * java -cp artos.jar com.artos.utils.StreamReportRenderer ./reporting/SN-123/xyz-report.jsonl [./xyz-report.html]
+ * </PRE>
+ */
+public class StreamReportRenderer {
+
+	private static final int BUFFER_SIZE = 64 * 1024;
+	private static final String[] STATUS_LIST = { "PASS", "FAIL", "SKIP", "KTF" };
+	// Result record follows end of the node, so names of recently finished nodes are kept
+	private static final int MAX_FINISHED_NODES = 1024;
+
+	/** Test node of the report */
+	private static class Node {
+		final String name;
+		final long startTime;
+
+		Node(String name, long startTime) {
+			this.name = name;
+			this.startTime = startTime;
+		}
+	}
+
+	/**
+	 * Renders report into HTML file next to the report, file extension is replaced with .html
+	 * 
+	 * @param reportFile report file
+	 * @return HTML file
+	 * @throws IOException if an I/O error occurs
+	 */
+	public File render(File reportFile) throws IOException {
+		String path = reportFile.getAbsolutePath();
+		int index = path.lastIndexOf(".");
+		File htmlFile = new File((index > path.lastIndexOf(File.separator) ? path.substring(0, index) : path) + ".html");
+		render(reportFile, htmlFile);
+		return htmlFile;
+	}
+
+	/**
+	 * Renders report into HTML file
+	 * 
+	 * @param reportFile report file
+	 * @param htmlFile destination HTML file, existing file is overwritten
+	 * @throws IOException if an I/O error occurs
+	 */
+	public void render(File reportFile, File htmlFile) throws IOException {
+		Map<Long, Node> openNodeMap = new HashMap<>();
+		Map<Long, Node> finishedNodeMap = new LinkedHashMap<Long, Node>() {
+			private static final long serialVersionUID = 1L;
+
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<Long, Node> eldest) {
+				return size() > MAX_FINISHED_NODES;
+			}
+		};
+		Map<String, Integer> testCaseCount = new LinkedHashMap<>();
+		Map<String, Integer> childCount = new LinkedHashMap<>();
+		for (String status : STATUS_LIST) {
+			testCaseCount.put(status, 0);
+			childCount.put(status, 0);
+		}
+		SimpleDateFormat timeFormat = new SimpleDateFormat("HH:mm:ss.SSS");
+		StringBuilder textBlocks = new StringBuilder();
+
+		try (BufferedReader reader = new BufferedReader(new InputStreamReader(new FileInputStream(reportFile), StandardCharsets.UTF_8), BUFFER_SIZE);
+				Writer writer = new BufferedWriter(new OutputStreamWriter(new FileOutputStream(htmlFile), StandardCharsets.UTF_8), BUFFER_SIZE)) {
+
+			writeHeader(writer, reportFile.getName());
+			String line;
+			int lineNumber = 0;
+			while ((line = reader.readLine()) != null) {
+				lineNumber++;
+				if (line.trim().isEmpty()) {
+					continue;
+				}
+				Map<String, String> record;
+				try {
+					record = parseLine(line);
+				} catch (IllegalArgumentException e) {
+					// Last line may be incomplete if execution was interrupted
+					System.err.println("[WARNING] : Stream report line " + lineNumber + " ignored : " + e.getMessage());
+					continue;
+				}
+
+				String type = record.getOrDefault("type", "");
+				long ts = parseLong(record.get("ts"));
+				long id = parseLong(record.get("id"));
+				Node node = openNodeMap.containsKey(id) ? openNodeMap.get(id) : finishedNodeMap.get(id);
+				String nodeName = null == node ? "" : node.name;
+				String status = record.get("status");
+				String msg = record.get("msg");
+
+				switch (type) {
+				case "test_start":
+					openNodeMap.put(id, new Node(record.get("name"), ts));
+					nodeName = record.get("name");
+					msg = join(record.get("desc"), record.get("author"));
+					break;
+				case "child_start":
+					openNodeMap.put(id, new Node(record.get("name"), ts));
+					nodeName = record.get("name");
+					msg = record.get("desc");
+					break;
+				case "test_end":
+				case "child_end":
+					if (null != openNodeMap.remove(id)) {
+						finishedNodeMap.put(id, node);
+						msg = "Duration : " + (ts - node.startTime) + " ms";
+					}
+					break;
+				case "unit_start":
+				case "unit_end":
+				case "skip":
+					msg = record.get("name");
+					break;
+				case "result":
+					if (null != status) {
+						Map<String, Integer> countMap = "child".equals(record.get("level")) ? childCount : testCaseCount;
+						countMap.merge(status, 1, Integer::sum);
+					}
+					break;
+				case "suite_start":
+				case "suite_end":
+					msg = record.get("name");
+					break;
+				case "loop":
+					msg = record.get("count");
+					break;
+				case "summary":
+				case "failure_highlight":
+					// Suite level text is shown after the event table
+					textBlocks.append("<pre>").append(escapeHtml(msg)).append("</pre>\n");
+					continue;
+				default:
+					break;
+				}
+
+				writer.write("<tr class=\"");
+				writer.write(null == status ? type : status.toLowerCase());
+				writer.write("\"><td>");
+				writer.write(0 == ts ? "" : timeFormat.format(new Date(ts)));
+				writer.write("</td><td>");
+				writer.write(escapeHtml(nodeName));
+				writer.write("</td><td>");
+				writer.write(escapeHtml(type));
+				writer.write("</td><td>");
+				writer.write(null == status ? "" : escapeHtml(status));
+				writer.write("</td><td>");
+				writer.write(escapeHtml(msg));
+				writer.write("</td></tr>\n");
+			}
+			writer.write("</table>\n");
+
+			writer.write("<h2 id=\"summary\">Summary</h2>\n<table>\n<tr><th></th>");
+			for (String status : testCaseCount.keySet()) {
+				writer.write("<th>" + status + "</th>");
+			}
+			writer.write("</tr>\n");
+			writeCount(writer, "Test Cases", testCaseCount);
+			writeCount(writer, "Child Test Cases", childCount);
+			writer.write("</table>\n");
+			writer.write(textBlocks.toString());
+			writer.write("</body>\n</html>\n");
+		}
+	}
+
+	// =================================================================================================
+	// HTML
+	// =================================================================================================
+
+	private void writeHeader(Writer writer, String title) throws IOException {
+		writer.write("<!DOCTYPE html>\n<html>\n<head>\n<meta charset=\"UTF-8\">\n<title>");
+		writer.write(escapeHtml(title));
+		writer.write("</title>\n<style>\n");
+		writer.write("body { font-family: sans-serif; font-size: 13px; }\n");
+		writer.write("table { border-collapse: collapse; }\n");
+		writer.write("td, th { border: 1px solid #ddd; padding: 2px 6px; text-align: left; vertical-align: top; white-space: pre-wrap; }\n");
+		writer.write("tr.test_start, tr.suite_start, tr.suite_end { font-weight: bold; background: #eef; }\n");
+		writer.write("tr.pass td:nth-child(4) { color: #2a2; }\n");
+		writer.write("tr.fail td:nth-child(4), tr.exception, tr.suite_exception { color: #c22; }\n");
+		writer.write("tr.skip td:nth-child(4) { color: #888; }\n");
+		writer.write("tr.ktf td:nth-child(4) { color: #c80; }\n");
+		writer.write("</style>\n</head>\n<body>\n<h1>");
+		writer.write(escapeHtml(title));
+		writer.write("</h1>\n<p><a href=\"#summary\">Summary</a></p>\n");
+		writer.write("<table>\n<tr><th>Time</th><th>Test</th><th>Event</th><th>Status</th><th>Message</th></tr>\n");
+	}
+
+	private void writeCount(Writer writer, String label, Map<String, Integer> countMap) throws IOException {
+		writer.write("<tr><td>" + label + "</td>");
+		for (Entry<String, Integer> entry : countMap.entrySet()) {
+			writer.write("<td>" + entry.getValue() + "</td>");
+		}
+		writer.write("</tr>\n");
+	}
+
+	private static String escapeHtml(String str) {
+		if (null == str) {
+			return "";
+		}
+		StringBuilder sb = new StringBuilder(str.length());
+		for (int i = 0; i < str.length(); i++) {
+			char c = str.charAt(i);
+			switch (c) {
+			case '<':
+				sb.append("&lt;");
+				break;
+			case '>':
+				sb.append("&gt;");
+				break;
+			case '&':
+				sb.append("&amp;");
+				break;
+			case '"':
+				sb.append("&quot;");
+				break;
+			default:
+				sb.append(c);
+			}
+		}
+		return sb.toString();
+	}
+
+	private static String join(String first, String second) {
+		if (null == second || second.isEmpty()) {
+			return first;
+		}
+		return (null == first ? "" : first) + " (" + second + ")";
+	}
+
+	private static long parseLong(String value) {
+		if (null == value) {
+			return 0;
+		}
+		try {
+			return Long.parseLong(value);
+		} catch (NumberFormatException e) {
+			return 0;
+		}
+	}
+
+	// =================================================================================================
+	// JSON
+	// =================================================================================================
+
+	/**
+	 * Parses one report line. Only flat objects with string and number values are supported which is all {@link StreamReportWriter} produces.
+	 * 
+	 * @param line JSON line
+	 * @return key value map, numbers are returned in their string form
+	 * @throws IllegalArgumentException if line is not a valid flat JSON object
+	 */
+	static Map<String, String> parseLine(String line) {
+		Map<String, String> map = new HashMap<>();
+		int[] pos = { skipWhitespace(line, 0) };
+		expect(line, pos, '{');
+		if (peek(line, pos) == '}') {
+			return map;
+		}
+		while (true) {
+			String key = parseString(line, pos);
+			expect(line, pos, ':');
+			String value;
+			if (peek(line, pos) == '"') {
+				value = parseString(line, pos);
+			} else {
+				int start = pos[0];
+				while (pos[0] < line.length() && ",} \t".indexOf(line.charAt(pos[0])) < 0) {
+					pos[0]++;
+				}
+				value = line.substring(start, pos[0]);
+				pos[0] = skipWhitespace(line, pos[0]);
+				if ("null".equals(value)) {
+					value = null;
+				}
+			}
+			map.put(key, value);
+			char c = peek(line, pos);
+			pos[0]++;
+			if (c == '}') {
+				return map;
+			} else if (c != ',') {
+				throw new IllegalArgumentException("Unexpected character at " + (pos[0] - 1));
+			}
+			pos[0] = skipWhitespace(line, pos[0]);
+		}
+	}
+
+	private static String parseString(String line, int[] pos) {
+		expect(line, pos, '"');
+		StringBuilder sb = new StringBuilder();
+		int i = pos[0];
+		while (i < line.length()) {
+			char c = line.charAt(i++);
+			if (c == '"') {
+				pos[0] = skipWhitespace(line, i);
+				return sb.toString();
+			}
+			if (c != '\\') {
+				sb.append(c);
+				continue;
+			}
+			if (i >= line.length()) {
+				break;
+			}
+			char e = line.charAt(i++);
+			switch (e) {
+			case 'n':
+				sb.append('\n');
+				break;
+			case 'r':
+				sb.append('\r');
+				break;
+			case 't':
+				sb.append('\t');
+				break;
+			case 'b':
+				sb.append('\b');
+				break;
+			case 'f':
+				sb.append('\f');
+				break;
+			case 'u':
+				if (i + 4 > line.length()) {
+					throw new IllegalArgumentException("Incomplete unicode escape");
+				}
+				try {
+					sb.append((char) Integer.parseInt(line.substring(i, i + 4), 16));
+				} catch (NumberFormatException ex) {
+					throw new IllegalArgumentException("Invalid unicode escape at " + i);
+				}
+				i += 4;
+				break;
+			default:
+				sb.append(e);
+			}
+		}
+		throw new IllegalArgumentException("Unterminated string");
+	}
+
+	private static void expect(String line, int[] pos, char expected) {
+		if (peek(line, pos) != expected) {
+			throw new IllegalArgumentException("Expected '" + expected + "' at " + pos[0]);
+		}
+		pos[0] = skipWhitespace(line, pos[0] + 1);
+	}
+
+	private static char peek(String line, int[] pos) {
+		if (pos[0] >= line.length()) {
+			throw new IllegalArgumentException("Unexpected end of line");
+		}
+		return line.charAt(pos[0]);
+	}
+
+	private static int skipWhitespace(String line, int index) {
+		while (index < line.length() && Character.isWhitespace(line.charAt(index))) {
+			index++;
+		}
+		return index;
+	}
+
+	/**
+	 * Renders report from command line
+	 * 
+	 * @param args report file path and optional HTML file path
+	 * @throws IOException if an I/O error occurs
+	 */
+	public static void main(String[] args) throws IOException {
+		if (args.length < 1) {
+			System.err.println("Usage : StreamReportRenderer <report.jsonl> [report.html]");
+			return;
+		}
+		StreamReportRenderer renderer = new StreamReportRenderer();
+		if (args.length > 1) {
+			renderer.render(new File(args[0]), new File(args[1]));
+			System.out.println(args[1]);
+		} else {
+			System.out.println(renderer.render(new File(args[0])).getAbsolutePath());
+		}
+	}
+}
@@ -0,0 +1,225 @@
+/*******************************************************************************
+ * Copyright (C) 2018-2019 Arpit Shah and Artos Contributors
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ ******************************************************************************/
+package com.artos.utils;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Append only test report which is written as one JSON object per line. Unlike Extent report nothing is kept in memory, each record is written
+ * to the file as soon as it is reported so memory usage stays constant regardless of number of test cases or number of log entries. Writer is
+ * shared by all threads of the test suite, records of the test cases which are executed in parallel are interleaved and are tied together using
+ * node id. Report can be converted to HTML using {@link StreamReportRenderer}.
+ *
+ * <PRE>
+ * {"type":"test_start","ts":1546300800000,"id":1,"name":"com.test.Test1","desc":"...","author":"..."}
+ * {"type":"result","ts":1546300800120,"id":1,"status":"PASS","msg":"..."}
+ * {"type":"test_end","ts":1546300800121,"id":1}
+ * </PRE>
+ */
+public class StreamReportWriter implements AutoCloseable {
+
+	private static final int BUFFER_SIZE = 64 * 1024;
+
+	private final File reportFile;
+	private final AtomicLong idSequence = new AtomicLong();
+	private Writer writer = null;
+
+	/**
+	 * Constructor, file is created when first record is written. Existing file is overwritten.
+	 * 
+	 * @param reportFile report file
+	 */
+	public StreamReportWriter(File reportFile) {
+		this.reportFile = reportFile;
+		if (reportFile.exists()) {
+			reportFile.delete();
+		}
+	}
+
+	/**
+	 * Returns new node id which is unique within this report
+	 * 
+	 * @return node id
+	 */
+	public long nextId() {
+		return idSequence.incrementAndGet();
+	}
+
+	/**
+	 * Creates new record of the given type with current time stamp. Record is written when {@link Record#write()} is called.
+	 * 
+	 * @param type record type
+	 * @return record
+	 */
+	public Record record(String type) {
+		return new Record(this, type);
+	}
+
+	/**
+	 * Appends one line to the report. File is (re)opened in append mode if it was closed by {@link #close()}.
+	 * 
+	 * @param line JSON line without line terminator
+	 */
+	synchronized void writeLine(String line) {
+		try {
+			if (null == writer) {
+				writer = new BufferedWriter(new OutputStreamWriter(new FileOutputStream(reportFile, true), StandardCharsets.UTF_8), BUFFER_SIZE);
+			}
+			writer.write(line);
+			writer.write('\n');
+		} catch (IOException e) {
+			System.err.println("[WARNING] : Could not write stream report " + reportFile.getAbsolutePath() + " : " + e.getMessage());
+		}
+	}
+
+	/** Writes buffered records to the file */
+	public synchronized void flush() {
+		if (null == writer) {
+			return;
+		}
+		try {
+			writer.flush();
+		} catch (IOException e) {
+			System.err.println("[WARNING] : Could not flush stream report " + reportFile.getAbsolutePath() + " : " + e.getMessage());
+		}
+	}
+
+	/** Writes buffered records and closes the file, file is reopened if more records are written later */
+	@Override
+	public synchronized void close() {
+		if (null == writer) {
+			return;
+		}
+		try {
+			writer.close();
+		} catch (IOException e) {
+			System.err.println("[WARNING] : Could not close stream report " + reportFile.getAbsolutePath() + " : " + e.getMessage());
+		}
+		writer = null;
+	}
+
+	/**
+	 * Escapes string so it can be used as JSON string value
+	 * 
+	 * @param sb string builder to which escaped value is appended
+	 * @param value string value
+	 */
+	static void appendEscaped(StringBuilder sb, String value) {
+		sb.append('"');
+		for (int i = 0; i < value.length(); i++) {
+			char c = value.charAt(i);
+			switch (c) {
+			case '"':
+				sb.append("\\\"");
+				break;
+			case '\\':
+				sb.append("\\\\");
+				break;
+			case '\n':
+				sb.append("\\n");
+				break;
+			case '\r':
+				sb.append("\\r");
+				break;
+			case '\t':
+				sb.append("\\t");
+				break;
+			default:
+				if (c < 0x20) {
+					sb.append(String.format("\\u%04x", (int) c));
+				} else {
+					sb.append(c);
+				}
+			}
+		}
+		sb.append('"');
+	}
+
+	// =================================================================================================
+	// Getter Setter
+	// =================================================================================================
+
+	public File getReportFile() {
+		return reportFile;
+	}
+
+	/**
+	 * Single report line, values are appended in the order they are added
+	 */
+	public static class Record {
+
+		private final StreamReportWriter reportWriter;
+		private final StringBuilder sb = new StringBuilder(128);
+
+		Record(StreamReportWriter reportWriter, String type) {
+			this.reportWriter = reportWriter;
+			sb.append('{');
+			appendEscaped(sb, "type");
+			sb.append(':');
+			appendEscaped(sb, type);
+			put("ts", System.currentTimeMillis());
+		}
+
+		/**
+		 * Adds string value, null value is not added
+		 * 
+		 * @param key key
+		 * @param value value
+		 * @return this record
+		 */
+		public Record put(String key, String value) {
+			if (null != value) {
+				sb.append(',');
+				appendEscaped(sb, key);
+				sb.append(':');
+				appendEscaped(sb, value);
+			}
+			return this;
+		}
+
+		/**
+		 * Adds numeric value
+		 * 
+		 * @param key key
+		 * @param value value
+		 * @return this record
+		 */
+		public Record put(String key, long value) {
+			sb.append(',');
+			appendEscaped(sb, key);
+			sb.append(':').append(value);
+			return this;
+		}
+
+		/** Appends record to the report */
+		public void write() {
+			reportWriter.writeLine(sb.toString() + "}");
+		}
+	}
+}
@@ -0,0 +1,215 @@
+/*******************************************************************************
+ * Copyright (C) 2018-2019 Arpit Shah and Artos Contributors
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ ******************************************************************************/
+package com.artos.utils;
+
+import java.io.IOException;
+import java.net.SocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.SocketChannel;
+import java.util.Arrays;
+import java.util.LinkedList;
+import java.util.Queue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Represents single client connection accepted by
+ * {@link TCPMultiClientServer}. Each connection maintains its own receive
+ * queue and receive buffer which holds bytes of incomplete message.
+ */
+public class TCPClientConnection {
+
+	private final TCPMultiClientServer server;
+	private final SocketChannel channel;
+	private final ReceiveQueue queue;
+	private final SocketAddress remoteAddress;
+	private final AtomicBoolean connected = new AtomicBoolean(true);
+	private volatile SelectionKey selectionKey;
+
+	// Data which could not be written without blocking, guarded by writeLock
+	private final Object writeLock = new Object();
+	private final Queue<ByteBuffer> pendingWriteQueue = new LinkedList<>();
+
+	// Only accessed by selector thread
+	private final ReceivePipeline pipeline;
+
+	TCPClientConnection(TCPMultiClientServer server, SocketChannel channel, ReceiveQueue queue, ReceivePipeline pipeline) throws IOException {
+		this.server = server;
+		this.channel = channel;
+		this.queue = queue;
+		this.pipeline = pipeline;
+		this.remoteAddress = channel.getRemoteAddress();
+	}
+
+	/**
+	 * Returns true if connection has not been closed
+	 */
+	public boolean isConnected() {
+		return connected.get() && channel.isOpen();
+	}
+
+	/**
+	 * Closes this connection and removes it from server client list
+	 */
+	public void disconnect() {
+		server.closeClient(this);
+	}
+
+	/**
+	 * Returns true if receive queue is not empty
+	 */
+	public boolean hasNextMsg() {
+		return !queue.isEmpty();
+	}
+
+	/**
+	 * Returns byte array from the queue, null is returned if queue is empty
+	 *
+	 * @return byte[] from queue or null
+	 */
+	public byte[] getNextMsg() {
+		return queue.poll();
+	}
+
+	/**
+	 * Polls the queue for msg, Function will block until msg arrives in the
+	 * queue or timeout has occurred. null is returned if no message received
+	 * within timeout period
+	 *
+	 * @param timeout
+	 *            msg timeout
+	 * @param timeunit
+	 *            timeunit
+	 * @return byte[] from queue, null is returned if timeout has occurred
+	 * @throws InterruptedException
+	 *             if any thread has interrupted the current thread.
+	 */
+	public byte[] getNextMsg(long timeout, TimeUnit timeunit) throws InterruptedException {
+		return queue.poll(timeout, timeunit);
+	}
+
+	/**
+	 * Send data to client in String format
+	 *
+	 * @param data
+	 *            data to be sent in String format
+	 * @throws IOException
+	 *             if an I/O error occurs.
+	 */
+	public void sendMsg(String data) throws IOException {
+		sendMsg(data.getBytes());
+	}
+
+	/**
+	 * Send byte array to client. Data is written immediately if socket can
+	 * accept it, remaining data is written by selector thread as soon as socket
+	 * becomes writable. Message order is always maintained.
+	 *
+	 * @param data
+	 *            data to be sent
+	 * @throws IOException
+	 *             if an I/O error occurs.
+	 */
+	public void sendMsg(byte[] data) throws IOException {
+		synchronized (writeLock) {
+			ByteBuffer buffer = ByteBuffer.wrap(data);
+			if (pendingWriteQueue.isEmpty()) {
+				channel.write(buffer);
+			}
+			if (buffer.hasRemaining()) {
+				// copy so user can reuse the array
+				pendingWriteQueue.add(ByteBuffer.wrap(Arrays.copyOfRange(data, buffer.position(), data.length)));
+				server.requestWrite(this);
+			}
+		}
+		server.notifySend(data);
+	}
+
+	/**
+	 * Clean receive queue
+	 */
+	public void cleanQueue() {
+		queue.clear();
+	}
+
+	/**
+	 * Writes pending data, invoked by selector thread when socket is writable
+	 *
+	 * @param key
+	 *            selection key of this connection
+	 * @throws IOException
+	 *             if an I/O error occurs.
+	 */
+	void flushPendingWrites(SelectionKey key) throws IOException {
+		synchronized (writeLock) {
+			while (!pendingWriteQueue.isEmpty()) {
+				ByteBuffer buffer = pendingWriteQueue.peek();
+				channel.write(buffer);
+				if (buffer.hasRemaining()) {
+					// socket buffer is full, wait for next writable event
+					return;
+				}
+				pendingWriteQueue.poll();
+			}
+			key.interestOps(SelectionKey.OP_READ);
+		}
+	}
+
+	/**
+	 * Marks connection as disconnected
+	 *
+	 * @return true if connection was connected before this call
+	 */
+	boolean markDisconnected() {
+		return connected.getAndSet(false);
+	}
+
+	// =================================================================================================
+	// Getter Setter
+	// =================================================================================================
+
+	public SocketChannel getChannel() {
+		return channel;
+	}
+
+	public ReceiveQueue getQueue() {
+		return queue;
+	}
+
+	public SocketAddress getRemoteAddress() {
+		return remoteAddress;
+	}
+
+	ReceivePipeline getPipeline() {
+		return pipeline;
+	}
+
+	SelectionKey getSelectionKey() {
+		return selectionKey;
+	}
+
+	void setSelectionKey(SelectionKey selectionKey) {
+		this.selectionKey = selectionKey;
+	}
+
+}
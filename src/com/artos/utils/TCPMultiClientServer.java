@@ -0,0 +1,457 @@
+/*******************************************************************************
+ * Copyright (C) 2018-2019 Arpit Shah and Artos Contributors
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ ******************************************************************************/
+package com.artos.utils;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedSelectorException;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
+import com.artos.framework.Enums.QueueOverflowPolicy;
+import com.artos.interfaces.ConnectableBufferParser;
+import com.artos.interfaces.ConnectableFilter;
+import com.artos.interfaces.ConnectableMessageParser;
+import com.artos.interfaces.RealTimeLoggable;
+
+/**
+ * This class listens for client connections and accepts any number of
+ * concurrent clients. Unlike {@link TCPServer}, all clients are served by a
+ * single non-blocking selector thread. Each accepted client is represented by
+ * {@link TCPClientConnection} which maintains its own receive queue.
+ *
+ * <PRE>
+ * Received data goes through same pipeline as {@link TCPServer}, per connection:
+ * - {@link ConnectableBufferParser} or {@link ConnectableMessageParser} separates concatenated messages, incomplete message is kept per connection
+ * - {@link ConnectableFilter} list drops unwanted messages
+ * - remaining messages are added to the connection receive queue
+ * </PRE>
+ *
+ * Selector thread never waits for queue space, so if a connection queue is
+ * full then message is dropped as per {@link QueueOverflowPolicy#DROP_NEWEST}
+ * unless {@link QueueOverflowPolicy#DROP_OLDEST} is configured. Dropped
+ * messages can be checked using {@link ReceiveQueue#getDroppedCount()}.
+ * Message parser and filters are only invoked from selector thread.
+ */
+public class TCPMultiClientServer {
+	int nPort;
+	ServerSocketChannel serverChannel;
+	Selector selector;
+	Thread selectorThread;
+	volatile boolean running = false;
+	List<ConnectableFilter> filterList = null;
+	RealTimeLoggable realTimeListener = null;
+	ConnectableMessageParser msgParser = null;
+	int queueCapacity = ReceiveQueue.DEFAULT_CAPACITY;
+	QueueOverflowPolicy overflowPolicy = QueueOverflowPolicy.DROP_NEWEST;
+
+	List<TCPClientConnection> clientList = new CopyOnWriteArrayList<>();
+	Queue<TCPClientConnection> pendingWriteQueue = new ConcurrentLinkedQueue<>();
+	final Object clientLock = new Object();
+	ConnectableBufferParser bufferParser = null;
+
+	/**
+	 * Constructor
+	 *
+	 * @param nPort
+	 *            Port Number, or 0 to use a port number that is automatically
+	 *            allocated
+	 */
+	public TCPMultiClientServer(int nPort) {
+		this.nPort = nPort;
+		this.filterList = null;
+	}
+
+	/**
+	 * Constructor. Every filter adds overheads in processing received messages
+	 * which may have impact on performance
+	 *
+	 * @param nPort
+	 *            Port Number, or 0 to use a port number that is automatically
+	 *            allocated
+	 * @param msgParser
+	 *            parser which is used to separate relevant msgs from received
+	 *            TCP byte array
+	 * @param filterList
+	 *            list of filters
+	 */
+	public TCPMultiClientServer(int nPort, ConnectableMessageParser msgParser, List<ConnectableFilter> filterList) {
+		this.nPort = nPort;
+		this.msgParser = msgParser;
+		this.filterList = filterList;
+	}
+
+	/**
+	 * Creates a server socket channel bound to the specified port and starts
+	 * selector thread. The method does not wait for client connection, use
+	 * {@link #waitForClients(int, long, TimeUnit)} if required.
+	 *
+	 * @throws IOException
+	 *             if an I/O error occurs when opening the socket.
+	 */
+	public void connect() throws IOException {
+		System.out.println("Listening on Port : " + nPort);
+
+		selector = Selector.open();
+		serverChannel = ServerSocketChannel.open();
+		serverChannel.configureBlocking(false);
+		serverChannel.bind(new InetSocketAddress(nPort));
+		serverChannel.register(selector, SelectionKey.OP_ACCEPT);
+
+		running = true;
+		selectorThread = new Thread(new Runnable() {
+			@Override
+			public void run() {
+				selectLoop();
+			}
+		}, "Artos_TCPServer_Selector_Thread");
+		selectorThread.start();
+	}
+
+	/**
+	 * Blocks until specified number of clients are connected or timeout has
+	 * occurred
+	 *
+	 * @param clientCount
+	 *            number of clients to wait for
+	 * @param timeout
+	 *            timeout
+	 * @param timeunit
+	 *            timeunit
+	 * @return true if required number of clients are connected, false if
+	 *         timeout has occurred
+	 * @throws InterruptedException
+	 *             if any thread has interrupted the current thread.
+	 */
+	public boolean waitForClients(int clientCount, long timeout, TimeUnit timeunit) throws InterruptedException {
+		long deadline = System.nanoTime() + timeunit.toNanos(timeout);
+		synchronized (clientLock) {
+			while (clientList.size() < clientCount) {
+				long remaining = TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime());
+				if (remaining <= 0) {
+					return false;
+				}
+				clientLock.wait(remaining);
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Returns true if server socket channel is open and selector thread is
+	 * running
+	 */
+	public boolean isConnected() {
+		return running && null != serverChannel && serverChannel.isOpen();
+	}
+
+	/**
+	 * Stops selector thread, closes all client connections and server socket
+	 * channel.
+	 *
+	 * @throws IOException
+	 *             if an I/O error occurs when closing the socket.
+	 * @throws InterruptedException
+	 *             if interrupted while waiting for selector thread to finish
+	 */
+	public void disconnect() throws IOException, InterruptedException {
+		running = false;
+		selector.wakeup();
+		selectorThread.join();
+
+		for (TCPClientConnection client : clientList) {
+			closeClient(client);
+		}
+		serverChannel.close();
+		selector.close();
+		System.out.println("Connection Closed");
+	}
+
+	/**
+	 * Send byte array to all connected clients
+	 *
+	 * @param data
+	 *            data to be sent
+	 * @throws IOException
+	 *             if an I/O error occurs.
+	 */
+	public void sendMsgToAll(byte[] data) throws IOException {
+		for (TCPClientConnection client : clientList) {
+			if (client.isConnected()) {
+				client.sendMsg(data);
+			}
+		}
+	}
+
+	// =================================================================================================
+	// Selector thread
+	// =================================================================================================
+	private void selectLoop() {
+		try {
+			while (running) {
+				selector.select();
+				registerPendingWrites();
+
+				Iterator<SelectionKey> it = selector.selectedKeys().iterator();
+				while (it.hasNext()) {
+					SelectionKey key = it.next();
+					it.remove();
+					if (!key.isValid()) {
+						continue;
+					}
+					if (key.isAcceptable()) {
+						acceptClient();
+						continue;
+					}
+
+					TCPClientConnection client = (TCPClientConnection) key.attachment();
+					try {
+						if (key.isReadable()) {
+							readFromClient(client);
+						}
+						if (key.isValid() && key.isWritable()) {
+							client.flushPendingWrites(key);
+						}
+					} catch (Exception e) {
+						if (client.isConnected()) {
+							e.printStackTrace();
+						}
+						closeClient(client);
+					}
+				}
+			}
+		} catch (ClosedSelectorException e) {
+			// Do nothing because if selector was closed then this exception is
+			// as expected
+		} catch (Exception e) {
+			e.printStackTrace();
+		}
+	}
+
+	private void acceptClient() throws IOException {
+		SocketChannel channel = serverChannel.accept();
+		if (null == channel) {
+			return;
+		}
+		channel.configureBlocking(false);
+
+		// Buffer parser is shared, byte array parser adapter keeps state so it is created per connection
+		ConnectableBufferParser parser = bufferParser;
+		if (null == parser && null != msgParser) {
+			parser = new MessageParserAdapter(msgParser);
+		}
+		ReceiveQueue queue = new ReceiveQueue(queueCapacity, overflowPolicy);
+		ReceivePipeline pipeline = new ReceivePipeline(ByteBuffer.allocateDirect(8 * 1024), parser, filterList, queue, false);
+		TCPClientConnection client = new TCPClientConnection(this, channel, queue, pipeline);
+		client.setSelectionKey(channel.register(selector, SelectionKey.OP_READ, client));
+
+		synchronized (clientLock) {
+			clientList.add(client);
+			clientLock.notifyAll();
+		}
+		System.out.println("Connected to " + client.getRemoteAddress());
+		notifyConnected();
+	}
+
+	private void readFromClient(TCPClientConnection client) throws Exception {
+		ReceivePipeline pipeline = client.getPipeline();
+		int read = pipeline.readFrom(client.getChannel());
+		if (read == -1) {
+			closeClient(client);
+			return;
+		}
+		if (read > 0) {
+			if (null != realTimeListener) {
+				notifyReceive(pipeline.getLastReadBytes());
+			}
+			// separate messages, apply filters and add them to the client queue
+			pipeline.process();
+		}
+	}
+
+	private void registerPendingWrites() {
+		TCPClientConnection client;
+		while (null != (client = pendingWriteQueue.poll())) {
+			SelectionKey key = client.getSelectionKey();
+			if (null != key && key.isValid()) {
+				key.interestOps(SelectionKey.OP_READ | SelectionKey.OP_WRITE);
+			}
+		}
+	}
+
+	/**
+	 * Requests selector thread to write pending data of the client once socket
+	 * becomes writable
+	 *
+	 * @param client
+	 *            client with pending data
+	 */
+	void requestWrite(TCPClientConnection client) {
+		pendingWriteQueue.add(client);
+		selector.wakeup();
+	}
+
+	/**
+	 * Closes client connection and removes it from the client list
+	 *
+	 * @param client
+	 *            client connection
+	 */
+	void closeClient(TCPClientConnection client) {
+		if (!client.markDisconnected()) {
+			return;
+		}
+		try {
+			client.getChannel().close();
+		} catch (IOException e) {
+			e.printStackTrace();
+		}
+		clientList.remove(client);
+		notifyDisconnected();
+		System.out.println("Connection Closed : " + client.getRemoteAddress());
+	}
+
+	// =================================================================================================
+	// Listener Notify
+	// =================================================================================================
+	void notifySend(byte[] data) {
+		if (null != realTimeListener) {
+			realTimeListener.send(data);
+		}
+	}
+
+	private void notifyReceive(byte[] data) {
+		if (null != realTimeListener) {
+			realTimeListener.receive(data);
+		}
+	}
+
+	private void notifyConnected() {
+		if (null != realTimeListener) {
+			realTimeListener.connected();
+		}
+	}
+
+	private void notifyDisconnected() {
+		if (null != realTimeListener) {
+			realTimeListener.disConnected();
+		}
+	}
+
+	// =================================================================================================
+	// Getter Setter
+	// =================================================================================================
+
+	/**
+	 * Returns list of currently connected clients
+	 *
+	 * @return read only list of {@link TCPClientConnection}
+	 */
+	public List<TCPClientConnection> getClientList() {
+		return Collections.unmodifiableList(clientList);
+	}
+
+	/**
+	 * Returns port server is bound to, useful if server was created with port 0
+	 *
+	 * @return local port number
+	 */
+	public int getLocalPort() {
+		return serverChannel.socket().getLocalPort();
+	}
+
+	public int getnPort() {
+		return nPort;
+	}
+
+	public void setnPort(int nPort) {
+		this.nPort = nPort;
+	}
+
+	public int getQueueCapacity() {
+		return queueCapacity;
+	}
+
+	/**
+	 * Sets receive queue capacity used for clients connected after this call
+	 *
+	 * @param queueCapacity
+	 *            maximum number of messages per client queue
+	 */
+	public void setQueueCapacity(int queueCapacity) {
+		this.queueCapacity = queueCapacity;
+	}
+
+	public QueueOverflowPolicy getOverflowPolicy() {
+		return overflowPolicy;
+	}
+
+	/**
+	 * Sets receive queue overflow policy used for clients connected after this
+	 * call. {@link QueueOverflowPolicy#BLOCK} behaves as
+	 * {@link QueueOverflowPolicy#DROP_NEWEST} because selector thread never
+	 * waits.
+	 *
+	 * @param overflowPolicy
+	 *            queue overflow policy
+	 */
+	public void setOverflowPolicy(QueueOverflowPolicy overflowPolicy) {
+		this.overflowPolicy = overflowPolicy;
+	}
+
+	public ConnectableBufferParser getBufferParser() {
+		return bufferParser;
+	}
+
+	/**
+	 * Sets {@code ByteBuffer} based message parser which separates messages
+	 * in place without creating intermediate byte arrays. Takes priority over
+	 * {@code ConnectableMessageParser}. Parser instance is shared by all
+	 * connections.
+	 *
+	 * @param bufferParser
+	 *            {@link ConnectableBufferParser} object (Example :
+	 *            {@link LengthPrefixFrameParser}, {@link DelimiterFrameParser})
+	 */
+	public void setBufferParser(ConnectableBufferParser bufferParser) {
+		this.bufferParser = bufferParser;
+	}
+
+	public RealTimeLoggable getRealTimeListener() {
+		return realTimeListener;
+	}
+
+	public void setRealTimeListener(RealTimeLoggable realTimeListener) {
+		this.realTimeListener = realTimeListener;
+	}
+
+}
@@ -24,23 +24,26 @@ package com.artos.utils;
 import java.io.BufferedReader;
 import java.io.DataOutputStream;
 import java.io.IOException;
+import java.io.InputStream;
 import java.net.ServerSocket;
 import java.net.Socket;
-import java.util.LinkedList;
+import java.nio.ByteBuffer;
 import java.util.List;
 import java.util.Queue;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.TimeUnit;
 
-import com.artos.framework.listener.RealTimeLogEventListener;
 import com.artos.interfaces.Connectable;
+import com.artos.interfaces.ConnectableBufferParser;
 import com.artos.interfaces.ConnectableFilter;
 import com.artos.interfaces.ConnectableMessageParser;
+import com.artos.interfaces.RealTimeLoggable;
 
 /**
  * This class listens for client connection and accepts single client connection
- * with server
+ * with server. Use {@link TCPMultiClientServer} if multiple concurrent clients
+ * are expected.
  * 
  * 
  *
@@ -51,10 +54,11 @@ public class TCPServer implements Connectable {
 	Socket serverSocket;
 	BufferedReader inFromClient;
 	DataOutputStream outToClient;
-	Queue<byte[]> queue = new LinkedList<byte[]>();
+	ReceiveQueue queue = new ReceiveQueue();
 	List<ConnectableFilter> filterList = null;
-	RealTimeLogEventListener realTimeListener = null;
+	RealTimeLoggable realTimeListener = null;
 	ConnectableMessageParser msgParser = null;
+	ConnectableBufferParser bufferParser = null;
 	Transform _transform = new Transform();
 
 	/**
@@ -167,7 +171,7 @@ public class TCPServer implements Connectable {
 	}
 
 	/**
-	 * Polls the queue for msg, Function will block until msg is polled from the
+	 * Polls the queue for msg, Function will block until msg arrives in the
 	 * queue or timeout has occurred. null is returned if no message received
 	 * within timeout period
 	 * 
@@ -182,23 +186,7 @@ public class TCPServer implements Connectable {
 	 *             exception is thrown.
 	 */
 	public byte[] getNextMsg(long timeout, TimeUnit timeunit) throws InterruptedException {
-		boolean isTimeout = false;
-		long startTime = System.nanoTime();
-		long finishTime;
-		long maxAllowedTime = TimeUnit.NANOSECONDS.convert(timeout, timeunit);
-
-		while (!isTimeout) {
-			if (hasNextMsg()) {
-				return queue.poll();
-			}
-			finishTime = System.nanoTime();
-			if ((finishTime - startTime) > maxAllowedTime) {
-				return null;
-			}
-			// Give system some time to do other things
-			Thread.sleep(10);
-		}
-		return null;
+		return queue.poll(timeout, timeunit);
 	}
 
 	/**
@@ -206,10 +194,7 @@ public class TCPServer implements Connectable {
 	 */
 	@Override
 	public byte[] getNextMsg() {
-		if (hasNextMsg()) {
-			return queue.poll();
-		}
-		return null;
+		return queue.poll();
 	}
 
 	/**
@@ -250,7 +235,7 @@ public class TCPServer implements Connectable {
 			@Override
 			public void run() {
 				try {
-					clientProcessingPool.submit(new ClientTask(serverSocket, queue, realTimeListener, filterList, msgParser));
+					clientProcessingPool.submit(new ClientTask(serverSocket, createPipeline(), realTimeListener));
 				} catch (Exception e) {
 					e.printStackTrace();
 				}
@@ -260,6 +245,15 @@ public class TCPServer implements Connectable {
 		serverThread.start();
 	}
 
+	private ReceivePipeline createPipeline() {
+		// Buffer parser takes priority, byte array parser is used through adapter
+		ConnectableBufferParser parser = bufferParser;
+		if (null == parser && null != msgParser) {
+			parser = new MessageParserAdapter(msgParser);
+		}
+		return new ReceivePipeline(ByteBuffer.allocate(16 * 1024), parser, filterList, queue, true);
+	}
+
 	// =================================================================================================
 	// Listener Notify
 	// =================================================================================================
@@ -293,10 +287,38 @@ public class TCPServer implements Connectable {
 		return serverSocket;
 	}
 
+	/**
+	 * Returns receive queue
+	 * 
+	 * @return receive queue
+	 * @deprecated kept so code compiled against earlier return type keeps linking, use {@link #getReceiveQueue()} which also provides receive
+	 *             statistics
+	 */
+	@Deprecated
 	public Queue<byte[]> getQueue() {
 		return queue;
 	}
 
+	/**
+	 * Returns receive queue together with its capacity, overflow policy and statistics
+	 * 
+	 * @return receive queue
+	 */
+	public ReceiveQueue getReceiveQueue() {
+		return queue;
+	}
+
+	/**
+	 * Sets receive queue, allows user to change queue capacity and overflow
+	 * policy. Must be set before connection is established.
+	 * 
+	 * @param queue
+	 *            {@link ReceiveQueue} object
+	 */
+	public void setQueue(ReceiveQueue queue) {
+		this.queue = queue;
+	}
+
 	public int getnPort() {
 		return nPort;
 	}
@@ -305,11 +327,29 @@ public class TCPServer implements Connectable {
 		this.nPort = nPort;
 	}
 
-	public RealTimeLogEventListener getRealTimeListener() {
+	public ConnectableBufferParser getBufferParser() {
+		return bufferParser;
+	}
+
+	/**
+	 * Sets {@code ByteBuffer} based message parser which separates messages
+	 * in place without creating intermediate byte arrays. Takes priority over
+	 * {@code ConnectableMessageParser}. Must be set before connection is
+	 * established.
+	 * 
+	 * @param bufferParser
+	 *            {@link ConnectableBufferParser} object (Example :
+	 *            {@link LengthPrefixFrameParser}, {@link DelimiterFrameParser})
+	 */
+	public void setBufferParser(ConnectableBufferParser bufferParser) {
+		this.bufferParser = bufferParser;
+	}
+
+	public RealTimeLoggable getRealTimeListener() {
 		return realTimeListener;
 	}
 
-	public void setRealTimeListener(RealTimeLogEventListener realTimeListener) {
+	public void setRealTimeListener(RealTimeLoggable realTimeListener) {
 		this.realTimeListener = realTimeListener;
 	}
 
@@ -326,57 +366,30 @@ class ClientTask implements Runnable {
 
 	private final Socket connector;
 	int read = -1;
-	byte[] buffer = new byte[4 * 1024]; // a read buffer of 4KiB
-	byte[] readData;
-	String redDataText;
-	Queue<byte[]> queue;
-	volatile RealTimeLogEventListener realTimeListener;
-	Transform _transform = new Transform();
-	volatile List<ConnectableFilter> filterList = null;
-	byte[] leftOverBytes = null;
-	volatile ConnectableMessageParser msgParser = null;
+	ReceivePipeline pipeline;
+	volatile RealTimeLoggable realTimeListener;
 
-	ClientTask(Socket connector, Queue<byte[]> queue, RealTimeLogEventListener realTimeListener, List<ConnectableFilter> filterList,
-			ConnectableMessageParser msgParser) {
+	ClientTask(Socket connector, ReceivePipeline pipeline, RealTimeLoggable realTimeListener) {
 		this.connector = connector;
-		this.queue = queue;
+		this.pipeline = pipeline;
 		this.realTimeListener = realTimeListener;
-		this.filterList = filterList;
-		this.msgParser = msgParser;
 	}
 
 	@Override
 	public void run() {
 		try {
-			while ((read = connector.getInputStream().read(buffer)) > -1) {
-				readData = new byte[read];
-				System.arraycopy(buffer, 0, readData, 0, read);
-				if (readData.length > 0) {
-					notifyReceive(readData);
-
-					/*
-					 * If user has not provided logic for msg parsing then do
-					 * simple filtering
-					 */
-					if (null == msgParser) {
-						applyFilter(readData);
-					} else {
-						/*
-						 * If user has provided message parsing logic then
-						 * assemble any left over data from previous byte[] to
-						 * readData and then put it through parsing logic to
-						 * separate each messages.
-						 */
-						if (null != leftOverBytes) {
-							readData = _transform.concat(leftOverBytes, readData);
-							leftOverBytes = null;
-						}
-						parseIncomingData(readData);
+			InputStream in = connector.getInputStream();
+			while ((read = pipeline.readFrom(in)) > -1) {
+				if (read > 0) {
+					if (null != realTimeListener) {
+						notifyReceive(pipeline.getLastReadBytes());
 					}
+					// separate messages, apply filters and add them to the queue
+					pipeline.process();
 				}
 			}
 		} catch (Exception e) {
-			if (connector.isClosed() && e.getMessage().contains("Socket closed")) {
+			if (connector.isClosed() && null != e.getMessage() && e.getMessage().contains("Socket closed")) {
 				// Do nothing because if connector was closed then this
 				// exception is as expected
 			} else {
@@ -385,31 +398,6 @@ class ClientTask implements Runnable {
 		}
 	}
 
-	private void parseIncomingData(byte[] readData) throws Exception {
-		List<byte[]> msgList = msgParser.parse(readData);
-		if (null != msgParser.getLeftOverBytes() && msgParser.getLeftOverBytes().length != 0) {
-			leftOverBytes = msgParser.getLeftOverBytes();
-		}
-		
-		for (byte[] msg : msgList) {
-			applyFilter(msg);
-		}
-	}
-
-	private void applyFilter(byte[] readData) throws Exception {
-		if (null != filterList && !filterList.isEmpty()) {
-			for (ConnectableFilter filter : filterList) {
-				if (filter.meetCriteria(readData)) {
-					// Do not add to queue if filter match is found
-					return;
-				}
-			}
-			queue.add(readData);
-		} else {
-			queue.add(readData);
-		}
-	}
-
 	private void notifyReceive(byte[] data) {
 		if (null != realTimeListener) {
 			realTimeListener.receive(data);
@@ -41,7 +41,6 @@ import com.artos.framework.Enums.ExceptionValue;
  */
 public class Transform {
 
-	static final String HEXES = "0123456789ABCDEF";
 	static final ByteOrder BYTE_ORDER_DEFAULT = ByteOrder.LITTLE_ENDIAN;
 	// ===================================================================
 	// Bytes related manipulation
@@ -183,22 +182,13 @@ public class Transform {
 		if (null == data) {
 			throw new NullPointerException();
 		}
-		StringBuilder hex = new StringBuilder();
-		if (bDisplaySize) {
-			hex.append("[" + data.length + "][");
-		}
-
-		int count = 1;
-		for (byte b : data) {
-			hex.append(HEXES.charAt((b & 0xF0) >> 4)).append(HEXES.charAt((b & 0x0F)));
-			if (bDisplaySize && count < data.length) {
-				hex.append(" ");
-			}
-			count++;
-		}
-		if (bDisplaySize) {
-			hex.append("]");
+		if (!bDisplaySize) {
+			return HexEncoder.toHexString(data);
 		}
+		StringBuilder hex = new StringBuilder(data.length * 3 + 16);
+		hex.append("[").append(data.length).append("][");
+		HexEncoder.appendHex(hex, data, 0, data.length, ' ');
+		hex.append("]");
 		return hex.toString();
 	}
 
@@ -28,16 +28,16 @@ import java.net.DatagramPacket;
 import java.net.DatagramSocket;
 import java.net.InetSocketAddress;
 import java.util.Arrays;
-import java.util.LinkedList;
 import java.util.List;
 import java.util.Queue;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.TimeUnit;
 
-import com.artos.framework.listener.RealTimeLogEventListener;
+import com.artos.framework.Enums.QueueOverflowPolicy;
 import com.artos.interfaces.Connectable;
 import com.artos.interfaces.ConnectableFilter;
+import com.artos.interfaces.RealTimeLoggable;
 
 /**
  * 
@@ -52,10 +52,11 @@ public class UDP implements Connectable {
 	DatagramSocket serverSocket;
 	BufferedReader inFromClient;
 	DataOutputStream outToClient;
-	Queue<byte[]> queue = new LinkedList<byte[]>();
+	// Blocked UDP receiver only makes kernel drop datagrams unnoticed, so oldest message is dropped and counted instead
+	Queue<byte[]> queue = new ReceiveQueue(ReceiveQueue.DEFAULT_CAPACITY, QueueOverflowPolicy.DROP_OLDEST);
 	Thread serverThread;
 	List<ConnectableFilter> filterList = null;
-	RealTimeLogEventListener realTimeListener = null;
+	RealTimeLoggable realTimeListener = null;
 	Transform _transform = new Transform();
 
 	/**
@@ -178,7 +179,7 @@ public class UDP implements Connectable {
 	}
 
 	/**
-	 * Polls the queue for msg, Function will block until msg is polled from the
+	 * Polls the queue for msg, Function will block until msg arrives in the
 	 * queue or timeout has occurred. null is returned if no message received within
 	 * timeout period
 	 * 
@@ -193,23 +194,23 @@ public class UDP implements Connectable {
 	 *             thrown.
 	 */
 	public byte[] getNextMsg(long timeout, TimeUnit timeunit) throws InterruptedException {
-		boolean isTimeout = false;
+		if (queue instanceof ReceiveQueue) {
+			return ((ReceiveQueue) queue).poll(timeout, timeunit);
+		}
+
+		// User supplied queue can not notify arrival, so it is polled
 		long startTime = System.nanoTime();
-		long finishTime;
 		long maxAllowedTime = TimeUnit.NANOSECONDS.convert(timeout, timeunit);
-
-		while (!isTimeout) {
+		while (true) {
 			if (hasNextMsg()) {
 				return queue.poll();
 			}
-			finishTime = System.nanoTime();
-			if ((finishTime - startTime) > maxAllowedTime) {
+			if ((System.nanoTime() - startTime) > maxAllowedTime) {
 				return null;
 			}
 			// Give system some time to do other things
 			Thread.sleep(10);
 		}
-		return null;
 	}
 
 	/**
@@ -217,10 +218,7 @@ public class UDP implements Connectable {
 	 */
 	@Override
 	public byte[] getNextMsg() {
-		if (hasNextMsg()) {
-			return queue.poll();
-		}
-		return null;
+		return queue.poll();
 	}
 
 	/**
@@ -328,10 +326,22 @@ public class UDP implements Connectable {
 		this.outToClient = outToClient;
 	}
 
+	/**
+	 * Returns receive queue, by default it is a {@link ReceiveQueue} which also provides receive statistics
+	 * 
+	 * @return receive queue
+	 */
 	public Queue<byte[]> getQueue() {
 		return queue;
 	}
 
+	/**
+	 * Sets receive queue. {@link ReceiveQueue} is recommended, any other queue is polled by {@link #getNextMsg(long, TimeUnit)} and must be thread
+	 * safe.
+	 * 
+	 * @param queue
+	 *            receive queue
+	 */
 	public void setQueue(Queue<byte[]> queue) {
 		this.queue = queue;
 	}
@@ -360,11 +370,11 @@ public class UDP implements Connectable {
 		return remoteSocketAddress;
 	}
 
-	public RealTimeLogEventListener getRealTimeListener() {
+	public RealTimeLoggable getRealTimeListener() {
 		return realTimeListener;
 	}
 
-	public void setRealTimeListener(RealTimeLogEventListener realTimeListener) {
+	public void setRealTimeListener(RealTimeLoggable realTimeListener) {
 		this.realTimeListener = realTimeListener;
 	}
 }
@@ -377,17 +387,17 @@ class UDPClientTask implements Runnable {
 	String redDataText;
 	Queue<byte[]> queue;
 	volatile List<ConnectableFilter> filterList = null;
-	volatile RealTimeLogEventListener realTimeListener;
+	volatile RealTimeLoggable realTimeListener;
 	Transform _transform = new Transform();
 
-	UDPClientTask(DatagramSocket connector, Queue<byte[]> queue, RealTimeLogEventListener realTimeListener) {
+	UDPClientTask(DatagramSocket connector, Queue<byte[]> queue, RealTimeLoggable realTimeListener) {
 		this.connector = connector;
 		this.queue = queue;
 		this.realTimeListener = realTimeListener;
 		this.filterList = null;
 	}
 
-	UDPClientTask(DatagramSocket connector, Queue<byte[]> queue, RealTimeLogEventListener realTimeListener, List<ConnectableFilter> filterList) {
+	UDPClientTask(DatagramSocket connector, Queue<byte[]> queue, RealTimeLoggable realTimeListener, List<ConnectableFilter> filterList) {
 		this.connector = connector;
 		this.queue = queue;
 		this.realTimeListener = realTimeListener;
@@ -417,7 +427,7 @@ class UDPClientTask implements Runnable {
 		System.out.println("Terminating thread");
 	}
 
-	private void applyFilter(byte[] readData) {
+	private void applyFilter(byte[] readData) throws InterruptedException {
 		if (null != filterList && !filterList.isEmpty()) {
 			for (ConnectableFilter filter : filterList) {
 				if (filter.meetCriteria(readData)) {
@@ -425,7 +435,9 @@ class UDPClientTask implements Runnable {
 					return;
 				}
 			}
-			queue.add(readData);
+		}
+		if (queue instanceof ReceiveQueue) {
+			((ReceiveQueue) queue).put(readData);
 		} else {
 			queue.add(readData);
 		}
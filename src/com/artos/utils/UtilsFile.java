@@ -21,14 +21,22 @@
  ******************************************************************************/
 package com.artos.utils;
 
+import java.io.BufferedOutputStream;
+import java.io.BufferedWriter;
 import java.io.File;
+import java.io.FileOutputStream;
 import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.CopyOption;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.nio.file.StandardCopyOption;
 
+import org.apache.logging.log4j.LogManager;
+
 /**
  * 
  * 
@@ -111,4 +119,110 @@ public class UtilsFile {
 		Files.copy(source.toPath(), dest.toPath(), overwrite ? new CopyOption[] { StandardCopyOption.REPLACE_EXISTING } : new CopyOption[] {});
 	}
 
+	/**
+	 * Writes content of a file, receives buffered stream of a temporary file
+	 */
+	@FunctionalInterface
+	public interface FileContentWriter {
+		void write(OutputStream out) throws IOException;
+	}
+
+	/**
+	 * Writes content of a text file, receives UTF-8 writer of a temporary file
+	 */
+	@FunctionalInterface
+	public interface TextContentWriter {
+		void write(BufferedWriter bw) throws IOException;
+	}
+
+	/**
+	 * Writes file atomically. Content is written to a temporary file in the same directory which then replaces destination file, so
+	 * readers (or a crashed run) never see partially written file. Parent directory is created if not present.
+	 * 
+	 * @param file
+	 *            destination file
+	 * @param writer
+	 *            writes file content
+	 * @throws IOException
+	 *             if file io fails, destination file is left unchanged
+	 */
+	public static void writeAtomic(File file, FileContentWriter writer) throws IOException {
+		File dir = file.getAbsoluteFile().getParentFile();
+		if (!dir.exists()) {
+			dir.mkdirs();
+		}
+		File tempFile = File.createTempFile(file.getName(), ".tmp", dir);
+		try {
+			try (OutputStream out = new BufferedOutputStream(new FileOutputStream(tempFile))) {
+				writer.write(out);
+			}
+			Files.move(tempFile.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+		} finally {
+			tempFile.delete();
+		}
+	}
+
+	/**
+	 * Writes UTF-8 text file atomically, see {@link #writeAtomic(File, FileContentWriter)}
+	 * 
+	 * @param file
+	 *            destination file
+	 * @param writer
+	 *            writes file content
+	 * @throws IOException
+	 *             if file io fails, destination file is left unchanged
+	 */
+	public static void writeTextAtomic(File file, TextContentWriter writer) throws IOException {
+		writeAtomic(file, out -> {
+			BufferedWriter bw = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+			writer.write(bw);
+			bw.flush();
+		});
+	}
+
+	/**
+	 * Writes file atomically, failure is logged as a warning instead of thrown. Used for files which only speed up the next run (caches,
+	 * history), where failing to write them must not fail current run.
+	 * 
+	 * @param file
+	 *            destination file
+	 * @param writer
+	 *            writes file content
+	 * @return true if file is written, false otherwise
+	 */
+	public static boolean tryWriteAtomic(File file, FileContentWriter writer) {
+		try {
+			writeAtomic(file, writer);
+			return true;
+		} catch (IOException e) {
+			logWriteFailure(file, e);
+			return false;
+		}
+	}
+
+	/**
+	 * Writes UTF-8 text file atomically, failure is logged as a warning instead of thrown, see
+	 * {@link #tryWriteAtomic(File, FileContentWriter)}
+	 * 
+	 * @param file
+	 *            destination file
+	 * @param writer
+	 *            writes file content
+	 * @return true if file is written, false otherwise
+	 */
+	public static boolean tryWriteTextAtomic(File file, TextContentWriter writer) {
+		try {
+			writeTextAtomic(file, writer);
+			return true;
+		} catch (IOException e) {
+			logWriteFailure(file, e);
+			return false;
+		}
+	}
+
+	private static void logWriteFailure(File file, IOException e) {
+		// Logger is looked up on failure only, so logger context is not created before framework configures it
+		LogManager.getLogger(UtilsFile.class).warn("[WARNING] : Could not write " + file.getPath() + " : " + e.getMessage());
+	}
+
 }
@@ -42,6 +42,8 @@ import org.apache.commons.compress.utils.IOUtils;
  */
 public class UtilsTar {
 
+	private static final int BUFFER_SIZE = 64 * 1024;
+
 	/**
 	 * Tar File
 	 * 
@@ -143,7 +145,7 @@ public class UtilsTar {
 				outputFile.getParentFile().mkdirs();
 				// outputFile.createNewFile();
 				FileOutputStream fos = new FileOutputStream(outputFile);
-				IOUtils.copy(tis, fos);
+				IOUtils.copy(tis, fos, BUFFER_SIZE);
 				fos.close();
 			}
 		}
@@ -177,7 +179,7 @@ public class UtilsTar {
 		if (sourceFile.isFile()) {
 			out.putArchiveEntry(new TarArchiveEntry(sourceFile, entry));
 			try (FileInputStream in = new FileInputStream(sourceFile)) {
-				IOUtils.copy(in, out);
+				IOUtils.copy(in, out, BUFFER_SIZE);
 			}
 			out.closeArchiveEntry();
 		} else if (sourceFile.isDirectory()) {
@@ -208,7 +210,7 @@ public class UtilsTar {
 		GZIPInputStream gZIPInputStream = new GZIPInputStream(fis);
 
 		FileOutputStream fos = new FileOutputStream(tarFile);
-		byte[] buffer = new byte[1024];
+		byte[] buffer = new byte[BUFFER_SIZE];
 		int len;
 		while ((len = gZIPInputStream.read(buffer)) > 0) {
 			fos.write(buffer, 0, len);
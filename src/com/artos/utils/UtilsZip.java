@@ -28,10 +28,10 @@ import java.io.FileInputStream;
 import java.io.FileOutputStream;
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.zip.ZipEntry;
 import java.util.zip.ZipInputStream;
-import java.util.zip.ZipOutputStream;
 
 /**
  * This class provides Zip related utilities
@@ -41,6 +41,8 @@ import java.util.zip.ZipOutputStream;
  */
 public class UtilsZip {
 
+	private static final int BUFFER_SIZE = 64 * 1024;
+
 	/**
 	 * 
 	 * @param source
@@ -51,12 +53,7 @@ public class UtilsZip {
 	 *             if an I/O error has occurred
 	 */
 	public static void zip(File source, File destFile) throws IOException {
-		FileOutputStream fos = new FileOutputStream(destFile);
-		ZipOutputStream zipOut = new ZipOutputStream(fos);
-
-		zipFile(source, source.getName(), zipOut);
-		zipOut.close();
-		fos.close();
+		new ParallelArchiver().zip(Collections.singletonList(source), destFile);
 	}
 
 	/**
@@ -69,36 +66,7 @@ public class UtilsZip {
 	 *             if file io fails
 	 */
 	public static void zip(List<File> source, File destFile) throws Exception {
-		FileOutputStream fos = new FileOutputStream(destFile);
-		ZipOutputStream zipOut = new ZipOutputStream(fos);
-
-		for (File f : source) {
-			zipFile(f, f.getName(), zipOut);
-		}
-		zipOut.close();
-		fos.close();
-	}
-
-	private static void zipFile(File fileToZip, String fileName, ZipOutputStream zipOut) throws IOException {
-		if (fileToZip.isHidden()) {
-			return;
-		}
-		if (fileToZip.isDirectory()) {
-			File[] children = fileToZip.listFiles();
-			for (File childFile : children) {
-				zipFile(childFile, fileName + "/" + childFile.getName(), zipOut);
-			}
-			return;
-		}
-		FileInputStream fis = new FileInputStream(fileToZip);
-		ZipEntry zipEntry = new ZipEntry(fileName);
-		zipOut.putNextEntry(zipEntry);
-		byte[] bytes = new byte[1024];
-		int length;
-		while ((length = fis.read(bytes)) >= 0) {
-			zipOut.write(bytes, 0, length);
-		}
-		fis.close();
+		new ParallelArchiver().zip(source, destFile);
 	}
 
 	/**
@@ -181,7 +149,7 @@ public class UtilsZip {
 
 		FileInputStream fis;
 		// buffer for read and write data to file
-		byte[] buffer = new byte[1024];
+		byte[] buffer = new byte[BUFFER_SIZE];
 		try {
 			fis = new FileInputStream(zipFile);
 			ZipInputStream zis = new ZipInputStream(fis);
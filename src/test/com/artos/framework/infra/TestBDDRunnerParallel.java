@@ -0,0 +1,181 @@
+package com.artos.framework.infra;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import com.artos.framework.Enums.TestStatus;
+import com.artos.framework.FWStaticStore;
+import com.artos.framework.parser.FrameworkConfigParser;
+
+public class TestBDDRunnerParallel {
+
+	private static final int ROW_COUNT = 4;
+
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+
+	private FrameworkConfigParser previousConfig;
+	private TestContext context;
+	private ExecutorService service;
+
+	/**
+	 * Step definitions record execution events, example rows wait for each other so rows pass only if they are executed in parallel
+	 */
+	public static class StepDefinitions {
+		static final List<String> eventList = Collections.synchronizedList(new ArrayList<>());
+		static volatile CyclicBarrier rowBarrier;
+
+		public void background(TestContext context) {
+			eventList.add("background");
+		}
+
+		public void row(TestContext context) throws Exception {
+			int index = context.getTestParameterIndex();
+			eventList.add("row" + context.getStepParameter("value"));
+			if (null != rowBarrier) {
+				rowBarrier.await(5, TimeUnit.SECONDS);
+			}
+			if (2 == index) {
+				context.setTestStatus(TestStatus.FAIL, "row " + index + " fails");
+			}
+		}
+	}
+
+	@Before
+	public void createContext() {
+		previousConfig = FWStaticStore.frameworkConfig;
+		FrameworkConfigParser config = new FrameworkConfigParser(false, null);
+		config.setEnableExtentReport(false);
+		config.setEnableStreamReport(false);
+		config.setEnableTextLog(false);
+		config.setEnableHTMLLog(false);
+		FWStaticStore.frameworkConfig = config;
+
+		OrganisedLog organisedLog = new OrganisedLog(folder.getRoot().getAbsolutePath(), "bdd", false, false, false, null);
+		context = new TestContext();
+		context.setOrganisedLogger(new LogWrapper(organisedLog.getLoggerContext(), 0));
+		service = Executors.newFixedThreadPool(ROW_COUNT);
+		StepDefinitions.eventList.clear();
+		StepDefinitions.rowBarrier = null;
+	}
+
+	@After
+	public void restoreConfig() {
+		service.shutdownNow();
+		FWStaticStore.frameworkConfig = previousConfig;
+	}
+
+	private static BDDStep step(String methodName) throws NoSuchMethodException {
+		BDDStep step = new BDDStep("Given", methodName, new LinkedHashMap<>());
+		step.setUnit(new TestUnitObjectWrapper(StepDefinitions.class.getMethod(methodName, TestContext.class), false, 0, "", 0));
+		return step;
+	}
+
+	private static BDDScenario scenario(String description, BDDStep step) {
+		BDDScenario scenario = new BDDScenario();
+		scenario.setScenarioDescription(description);
+		scenario.setGroupList(Arrays.asList(BDDRunner.PARALLEL_TAG));
+		scenario.setSteplist(new ArrayList<>(Arrays.asList(step)));
+		return scenario;
+	}
+
+	/** Background followed by Scenario Outline with {@link #ROW_COUNT} example rows */
+	private static List<BDDScenario> outlineGroup() throws NoSuchMethodException {
+		BDDScenario background = scenario("background", step("background"));
+		background.setBackground(true);
+		BDDScenario outline = scenario("outline", step("row"));
+		LinkedHashMap<String, List<String>> table = new LinkedHashMap<>();
+		table.put("value", new ArrayList<>());
+		for (int i = 0; i < ROW_COUNT; i++) {
+			table.get("value").add(String.valueOf(i));
+		}
+		outline.setGlobalDataTable(table);
+		return Arrays.asList(background, outline);
+	}
+
+	@Test
+	public void testExampleRowCount() throws Exception {
+		assertEquals(ROW_COUNT, BDDRunner.getExampleRowCount(outlineGroup().get(1)));
+		assertEquals(0, BDDRunner.getExampleRowCount(outlineGroup().get(0)));
+	}
+
+	@Test
+	public void testExampleRowsRunInParallel() throws Exception {
+		StepDefinitions.rowBarrier = new CyclicBarrier(ROW_COUNT);
+		List<BDDScenario> group = outlineGroup();
+		AtomicBoolean failureDetected = new AtomicBoolean();
+
+		new BDDRunner(context).runParallelGroups(service, Arrays.asList(group), failureDetected);
+
+		// Background is executed once before any row
+		assertEquals(ROW_COUNT + 1, StepDefinitions.eventList.size());
+		assertEquals("background", StepDefinitions.eventList.get(0));
+		assertEquals(Arrays.asList(TestStatus.PASS), group.get(0).getTestOutcomeList());
+
+		// Outcome is merged in row order irrespective of finishing order
+		assertEquals(Arrays.asList(TestStatus.PASS, TestStatus.PASS, TestStatus.FAIL, TestStatus.PASS), group.get(1).getTestOutcomeList());
+		// Background and three passing rows
+		assertEquals(4, context.getCurrentPassCount());
+		assertEquals(1, context.getCurrentFailCount());
+		assertTrue(failureDetected.get());
+	}
+
+	@Test
+	public void testScenarioTaskRunsRowsSequentially() throws Exception {
+		List<BDDScenario> group = outlineGroup();
+		TestContext workerContext = context.createWorkerContext();
+		AtomicBoolean failureDetected = new AtomicBoolean();
+
+		new ParallelScenarioTask(workerContext, group, failureDetected).run();
+
+		assertEquals(Arrays.asList("background", "row0", "row1", "row2", "row3"), StepDefinitions.eventList);
+		assertEquals(Arrays.asList(TestStatus.PASS, TestStatus.PASS, TestStatus.FAIL, TestStatus.PASS), group.get(1).getTestOutcomeList());
+		assertTrue(failureDetected.get());
+	}
+
+	@Test
+	public void testStopOnFailSkipsOutline() throws Exception {
+		FWStaticStore.frameworkConfig.setStopOnFail(true);
+		List<BDDScenario> group = outlineGroup();
+		ParallelScenarioTask outlineTask = new ParallelScenarioTask(context.createWorkerContext(), group, new AtomicBoolean(true), true);
+		ParallelExampleRowTask rowTask = new ParallelExampleRowTask(outlineTask, context.createWorkerContext(), group.get(1).copyForExecution(), 0);
+
+		outlineTask.run();
+		rowTask.run();
+		outlineTask.finishOutline();
+
+		assertFalse(outlineTask.outlineStarted);
+		assertTrue(StepDefinitions.eventList.isEmpty());
+		assertTrue(rowTask.rowScenario.getTestOutcomeList().isEmpty());
+	}
+
+	@Test
+	public void testStopOnFailAcrossGroups() throws Exception {
+		FWStaticStore.frameworkConfig.setStopOnFail(true);
+		List<BDDScenario> group = outlineGroup();
+
+		new BDDRunner(context).runParallelGroups(service, Arrays.asList(group), new AtomicBoolean(true));
+
+		assertTrue(StepDefinitions.eventList.isEmpty());
+		assertTrue(group.get(1).getTestOutcomeList().isEmpty());
+		assertEquals(0, context.getCurrentPassCount());
+	}
+}
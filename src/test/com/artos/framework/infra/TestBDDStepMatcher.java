@@ -0,0 +1,123 @@
+package test.com.artos.framework.infra;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import com.artos.framework.infra.BDDStepMatcher;
+import com.artos.framework.infra.BDDStepMatcher.Match;
+import com.artos.framework.infra.TestContext;
+import com.artos.framework.infra.TestUnitObjectWrapper;
+
+public class TestBDDStepMatcher {
+
+	private TestUnitObjectWrapper apples;
+	private TestUnitObjectWrapper applesInBasket;
+	private TestUnitObjectWrapper oranges;
+	private TestUnitObjectWrapper quoted;
+	private BDDStepMatcher matcher;
+
+	public static class StepDefinitions {
+		public void apples(TestContext context) {
+		}
+
+		public void applesInBasket(TestContext context) {
+		}
+
+		public void oranges(TestContext context) {
+		}
+
+		public void quoted(TestContext context) {
+		}
+	}
+
+	private static TestUnitObjectWrapper unit(String methodName) throws NoSuchMethodException {
+		return new TestUnitObjectWrapper(StepDefinitions.class.getMethod(methodName, TestContext.class), false, 0, "", 0);
+	}
+
+	@Before
+	public void createMatcher() throws Exception {
+		apples = unit("apples");
+		applesInBasket = unit("applesInBasket");
+		oranges = unit("oranges");
+		quoted = unit("quoted");
+
+		// Step definitions share leading words so they share trie path
+		Map<String, TestUnitObjectWrapper> stepDefinitionMap = new LinkedHashMap<>();
+		stepDefinitionMap.put("I have \"\" apples", apples);
+		stepDefinitionMap.put("I have \"\" apples in \"\" basket", applesInBasket);
+		stepDefinitionMap.put("I have oranges", oranges);
+		stepDefinitionMap.put("\"\" is quoted at \"\"", quoted);
+		matcher = new BDDStepMatcher(stepDefinitionMap);
+	}
+
+	private static void assertMatch(Match match, TestUnitObjectWrapper unit, String... parameters) {
+		assertSame(unit, match.getUnit());
+		assertEquals(Arrays.asList(parameters), match.getParameterList());
+	}
+
+	@Test
+	public void testParametersAreCaptured() {
+		assertMatch(matcher.match("I have \"5\" apples"), apples, "5");
+		assertMatch(matcher.match("I have \"5\" apples in \"red\" basket"), applesInBasket, "5", "red");
+		// Parameter may be empty, contain spaces or be at start and end of step
+		assertMatch(matcher.match("I have \"\" apples"), apples, "");
+		assertMatch(matcher.match("\"a b\" is quoted at \"end\""), quoted, "a b", "end");
+	}
+
+	@Test
+	public void testLiteralStep() {
+		assertMatch(matcher.match("I have oranges"), oranges);
+		// Surrounding white space is ignored
+		assertMatch(matcher.match("  I have oranges \t"), oranges);
+	}
+
+	@Test
+	public void testNoMatch() {
+		// Prefix of a step definition
+		assertNull(matcher.match("I have \"5\""));
+		assertNull(matcher.match("I have \"5\" apples in"));
+		// Longer than any step definition
+		assertNull(matcher.match("I have oranges and pears"));
+		// Literal text where step definition expects parameter and the other way round
+		assertNull(matcher.match("I have 5 apples"));
+		assertNull(matcher.match("I have \"oranges\""));
+		// Unclosed quote is literal text
+		assertNull(matcher.match("I have \"5 apples"));
+		// Matching is case sensitive
+		assertNull(matcher.match("i have oranges"));
+		assertNull(matcher.match(""));
+	}
+
+	@Test
+	public void testStepDefinitionCount() {
+		assertEquals(4, matcher.getStepDefinitionCount());
+
+		// Same step definition replaces existing one, white space is trimmed
+		TestUnitObjectWrapper replacement = apples;
+		matcher.add(" I have oranges ", replacement);
+		assertEquals(4, matcher.getStepDefinitionCount());
+		assertMatch(matcher.match("I have oranges"), replacement);
+
+		matcher.add("I have \"\" pears", oranges);
+		assertEquals(5, matcher.getStepDefinitionCount());
+		assertMatch(matcher.match("I have \"2\" pears"), oranges, "2");
+		// Existing step definitions on shared path are not affected
+		assertMatch(matcher.match("I have \"5\" apples"), apples, "5");
+	}
+
+	@Test
+	public void testEmptyMatcher() {
+		BDDStepMatcher empty = new BDDStepMatcher(Collections.emptyMap());
+		assertEquals(0, empty.getStepDefinitionCount());
+		assertNull(empty.match("I have oranges"));
+	}
+}
@@ -0,0 +1,223 @@
+package test.com.artos.framework.infra;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.InvalidObjectException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+import org.junit.Test;
+
+import com.artos.framework.infra.DataProviderRows;
+import com.artos.framework.infra.DataProviderRows.ConcurrentRow;
+
+public class TestDataProviderRows {
+
+	/**
+	 * Iterator which generates rows on demand and checks that rows are not pulled ahead of the execution window
+	 */
+	private static class LazyRows implements Iterator<Object[]> {
+		final int rowCount;
+		final int windowSize;
+		final AtomicInteger mergedCount;
+		final RuntimeException failure;
+		final int failAt;
+		int pulledCount = 0;
+
+		LazyRows(int rowCount, int windowSize, AtomicInteger mergedCount, int failAt) {
+			this.rowCount = rowCount;
+			this.windowSize = windowSize;
+			this.mergedCount = mergedCount;
+			this.failAt = failAt;
+			this.failure = new IllegalStateException("data provider failed");
+		}
+
+		@Override
+		public boolean hasNext() {
+			return pulledCount < rowCount;
+		}
+
+		@Override
+		public Object[] next() {
+			if (pulledCount == failAt) {
+				throw failure;
+			}
+			assertTrue("row pulled ahead of window", pulledCount - mergedCount.get() < windowSize);
+			return new Object[] { pulledCount++ };
+		}
+	}
+
+	@Test
+	public void testSupportedTypes() throws Exception {
+		AtomicBoolean closed = new AtomicBoolean();
+		try (DataProviderRows rows = new DataProviderRows(Stream.of(new Object[] { "a", 1 }, null, "b").onClose(() -> closed.set(true)))) {
+			assertArrayEquals(new Object[] { "a", 1 }, rows.next());
+			assertArrayEquals(new Object[0], rows.next());
+			assertArrayEquals(new Object[] { "b" }, rows.next());
+			assertFalse(rows.hasNext());
+		}
+		assertTrue(closed.get());
+
+		try (DataProviderRows rows = new DataProviderRows(new Object[][] { { 1 }, { 2 } })) {
+			assertArrayEquals(new Object[] { 1 }, rows.next());
+			assertArrayEquals(new Object[] { 2 }, rows.next());
+			assertFalse(rows.hasNext());
+		}
+		try (DataProviderRows rows = new DataProviderRows(null)) {
+			assertFalse(rows.hasNext());
+		}
+		try {
+			new DataProviderRows("not rows").close();
+			fail("unsupported type accepted");
+		} catch (InvalidObjectException e) {
+			assertTrue(e.getMessage().contains("java.lang.String"));
+		}
+	}
+
+	@Test
+	public void testRowOrderAndWindow() throws Exception {
+		int threadCount = 4;
+		int rowCount = 200;
+		AtomicInteger mergedCount = new AtomicInteger();
+		AtomicInteger running = new AtomicInteger();
+		AtomicInteger maxRunning = new AtomicInteger();
+		List<Integer> mergeOrder = Collections.synchronizedList(new ArrayList<>());
+		List<Integer> createOrder = new ArrayList<>();
+		Random random = new Random(7);
+
+		try (DataProviderRows rows = new DataProviderRows(new LazyRows(rowCount, threadCount * 2, mergedCount, -1))) {
+			rows.runConcurrently(threadCount, (row, index) -> {
+				assertEquals(index, row[0]);
+				createOrder.add(index);
+				int sleep = random.nextInt(3);
+				return new ConcurrentRow() {
+					volatile boolean finished = false;
+
+					@Override
+					public void run() throws Exception {
+						maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+						// Later rows often finish before earlier ones
+						Thread.sleep(sleep);
+						running.decrementAndGet();
+						finished = true;
+					}
+
+					@Override
+					public void merge() {
+						assertTrue(finished);
+						mergeOrder.add(index);
+						mergedCount.incrementAndGet();
+					}
+
+					@Override
+					public void abort() {
+						fail("row " + index + " aborted");
+					}
+				};
+			});
+		}
+
+		List<Integer> expected = new ArrayList<>();
+		for (int i = 0; i < rowCount; i++) {
+			expected.add(i);
+		}
+		assertEquals(expected, createOrder);
+		assertEquals(expected, mergeOrder);
+		assertTrue(maxRunning.get() <= threadCount);
+	}
+
+	@Test
+	public void testUnfinishedRowsAreAborted() throws Exception {
+		CountDownLatch releaseRow = new CountDownLatch(1);
+		AtomicInteger mergedCount = new AtomicInteger();
+		List<Integer> mergeList = Collections.synchronizedList(new ArrayList<>());
+		List<Integer> abortList = Collections.synchronizedList(new ArrayList<>());
+
+		// Row 1 ignores interrupt and is still running when data provider fails on row 4
+		try (DataProviderRows rows = new DataProviderRows(new LazyRows(10, 4, mergedCount, 4))) {
+			rows.runConcurrently(2, (row, index) -> new ConcurrentRow() {
+				@Override
+				public void run() throws Exception {
+					if (index == 1) {
+						while (true) {
+							try {
+								releaseRow.await();
+								return;
+							} catch (InterruptedException e) {
+								// keep running like a test which does not honour interrupt
+							}
+						}
+					}
+				}
+
+				@Override
+				public void merge() {
+					mergeList.add(index);
+					mergedCount.incrementAndGet();
+				}
+
+				@Override
+				public void abort() {
+					abortList.add(index);
+				}
+			});
+			fail("data provider failure not reported");
+		} catch (IllegalStateException e) {
+			assertEquals("data provider failed", e.getMessage());
+		}
+		assertTrue(abortList.contains(1));
+		assertTrue(mergeList.contains(0));
+		List<Integer> all = new ArrayList<>(mergeList);
+		all.addAll(abortList);
+		Collections.sort(all);
+		assertEquals(Arrays.asList(0, 1, 2, 3), all);
+
+		// Aborted row finishing later is not merged
+		releaseRow.countDown();
+		Thread.sleep(50);
+		assertFalse(mergeList.contains(1));
+	}
+
+	@Test
+	public void testRowFailureIsReported() throws Exception {
+		List<Integer> mergeList = Collections.synchronizedList(new ArrayList<>());
+		try (DataProviderRows rows = new DataProviderRows(new Object[][] { { 0 }, { 1 }, { 2 } })) {
+			rows.runConcurrently(1, (row, index) -> new ConcurrentRow() {
+				@Override
+				public void run() throws Exception {
+					if (index == 1) {
+						throw new IllegalArgumentException("row failed");
+					}
+				}
+
+				@Override
+				public void merge() {
+					mergeList.add(index);
+				}
+
+				@Override
+				public void abort() {
+				}
+			});
+			fail("row failure not reported");
+		} catch (ExecutionException e) {
+			assertEquals("row failed", e.getCause().getMessage());
+		}
+		// Failed row finished, so its outcome is merged in row order
+		assertEquals(0, mergeList.get(0).intValue());
+		assertEquals(1, mergeList.get(1).intValue());
+	}
+}
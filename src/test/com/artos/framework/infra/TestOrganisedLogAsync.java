@@ -0,0 +1,126 @@
+package com.artos.framework.infra;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Map;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.core.Appender;
+import org.apache.logging.log4j.core.LoggerContext;
+import org.apache.logging.log4j.core.appender.AsyncAppender;
+import org.apache.logging.log4j.core.appender.ConsoleAppender;
+import org.apache.logging.log4j.core.appender.RollingFileAppender;
+import org.apache.logging.log4j.core.config.Configuration;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import com.artos.framework.Enums.QueueOverflowPolicy;
+import com.artos.framework.FWStaticStore;
+import com.artos.framework.parser.FrameworkConfigParser;
+
+public class TestOrganisedLogAsync {
+
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+
+	private FrameworkConfigParser previousConfig;
+	private FrameworkConfigParser config;
+	private LoggerContext loggerContext;
+
+	@Before
+	public void createConfig() {
+		previousConfig = FWStaticStore.frameworkConfig;
+		config = new FrameworkConfigParser(false, null);
+		config.setEnableExtentReport(false);
+		config.setEnableStreamReport(false);
+		config.setEnableHTMLLog(false);
+		FWStaticStore.frameworkConfig = config;
+	}
+
+	@After
+	public void restoreConfig() {
+		if (null != loggerContext) {
+			loggerContext.stop();
+		}
+		FWStaticStore.frameworkConfig = previousConfig;
+	}
+
+	private LogWrapper createLogger() {
+		// Log4j keeps one context per class loader, stop context configured by earlier tests so configuration under test is applied
+		((LoggerContext) LogManager.getContext(false)).stop();
+		OrganisedLog organisedLog = new OrganisedLog(folder.getRoot().getAbsolutePath(), "async", false, true, false, null);
+		loggerContext = organisedLog.getLoggerContext();
+		return new LogWrapper(loggerContext, 0);
+	}
+
+	@Test
+	public void testFileAppendersAreWrapped() throws Exception {
+		config.setEnableAsyncLog(true);
+		config.setAsyncLogQueueSize(128);
+		config.setAsyncLogQueueFullPolicy(QueueOverflowPolicy.DROP_NEWEST);
+		LogWrapper logger = createLogger();
+		Configuration configuration = loggerContext.getConfiguration();
+
+		// Console stays synchronous, file appender is only reached through async appender
+		Map<String, Appender> appenderMap = configuration.getLoggerConfig(OrganisedLog.GENERAL_LOGGER_NAME_STX + 0).getAppenders();
+		assertTrue(appenderMap.get("console-log") instanceof ConsoleAppender);
+		assertFalse(appenderMap.containsKey("all-log-text0"));
+		AsyncAppender asyncAppender = (AsyncAppender) appenderMap.get("all-log-async0");
+		assertArrayEquals(new String[] { "all-log-text0" }, asyncAppender.getAppenderRefStrings());
+		assertEquals(128, asyncAppender.getQueueCapacity());
+		assertFalse(asyncAppender.isBlocking());
+		assertFalse(((RollingFileAppender) configuration.getAppender("all-log-text0")).getImmediateFlush());
+
+		for (String loggerName : new String[] { OrganisedLog.SUMMARY_LOGGER_NAME_STX + 0, OrganisedLog.REALTIME_LOGGER_NAME_STX + 0 }) {
+			for (Appender appender : configuration.getLoggerConfig(loggerName).getAppenders().values()) {
+				assertTrue(appender instanceof AsyncAppender);
+			}
+		}
+
+		// Log file is resolved through async appender
+		assertEquals(1, logger.getCurrentGeneralLogFiles().size());
+		assertEquals(1, logger.getCurrentSummaryLogFiles().size());
+		assertEquals(1, logger.getCurrentRealTimeLogFiles().size());
+	}
+
+	@Test
+	public void testQueuedEventsAreWritten() throws Exception {
+		config.setEnableAsyncLog(true);
+		LogWrapper logger = createLogger();
+		File logFile = logger.getCurrentGeneralLogFiles().get(0);
+		for (int i = 0; i < 1000; i++) {
+			logger.info("async event " + i);
+		}
+
+		// Stopping context drains the queue
+		loggerContext.stop();
+		String log = new String(Files.readAllBytes(logFile.toPath()), StandardCharsets.UTF_8);
+		assertTrue(log.contains("async event 0"));
+		assertTrue(log.contains("async event 999"));
+	}
+
+	@Test
+	public void testSynchronousByDefault() throws Exception {
+		LogWrapper logger = createLogger();
+		Configuration configuration = loggerContext.getConfiguration();
+
+		Map<String, Appender> appenderMap = configuration.getLoggerConfig(OrganisedLog.GENERAL_LOGGER_NAME_STX + 0).getAppenders();
+		assertTrue(appenderMap.get("all-log-text0") instanceof RollingFileAppender);
+		assertFalse(appenderMap.containsKey("all-log-async0"));
+		assertTrue(((RollingFileAppender) configuration.getAppender("all-log-text0")).getImmediateFlush());
+
+		// Every event is flushed as it is logged
+		logger.info("sync event");
+		String log = new String(Files.readAllBytes(logger.getCurrentGeneralLogFiles().get(0).toPath()), StandardCharsets.UTF_8);
+		assertTrue(log.contains("sync event"));
+	}
+}
@@ -0,0 +1,149 @@
+package com.artos.framework.infra;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import com.artos.framework.Enums.TestStatus;
+import com.artos.framework.FWStaticStore;
+import com.artos.framework.parser.FrameworkConfigParser;
+
+public class TestRunnerTestUnitsRows {
+
+	private static final int ROW_COUNT = 8;
+	private static final int THREAD_COUNT = 4;
+
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+
+	private FrameworkConfigParser previousConfig;
+	private TestContext context;
+
+	/**
+	 * Test unit records parameters it was executed with. Earlier rows sleep longer so rows finish in reverse order, row 5 fails.
+	 */
+	public static class RowTest {
+		static final List<String> executionList = Collections.synchronizedList(new ArrayList<>());
+		static final List<String> threadList = Collections.synchronizedList(new ArrayList<>());
+		static volatile CyclicBarrier barrier;
+
+		public static Object[][] rows(TestContext context) {
+			Object[][] rows = new Object[ROW_COUNT][];
+			for (int i = 0; i < ROW_COUNT; i++) {
+				rows[i] = new Object[] { "value" + i, i };
+			}
+			return rows;
+		}
+
+		public void unit(TestContext context) throws Exception {
+			int index = context.getTestUnitParameterIndex();
+			executionList.add(index + ":" + context.getParameterisedObject1() + ":" + context.getParameterisedObject2());
+			threadList.add(Thread.currentThread().getName());
+			if (null != barrier && index < THREAD_COUNT) {
+				// First rows only pass if they are executed at the same time
+				barrier.await(5, TimeUnit.SECONDS);
+			}
+			Thread.sleep((ROW_COUNT - index) * 5);
+			if (5 == index) {
+				context.setTestStatus(TestStatus.FAIL, "row " + index + " fails");
+			}
+		}
+	}
+
+	@Before
+	public void createContext() throws Exception {
+		previousConfig = FWStaticStore.frameworkConfig;
+		FrameworkConfigParser config = new FrameworkConfigParser(false, null);
+		config.setEnableExtentReport(false);
+		config.setEnableStreamReport(false);
+		config.setEnableTextLog(false);
+		config.setEnableHTMLLog(false);
+		FWStaticStore.frameworkConfig = config;
+
+		OrganisedLog organisedLog = new OrganisedLog(folder.getRoot().getAbsolutePath(), "rows", false, false, false, null);
+		context = new TestContext();
+		context.setOrganisedLogger(new LogWrapper(organisedLog.getLoggerContext(), 0));
+		Map<String, TestDataProvider> dataProviderMap = new HashMap<>();
+		dataProviderMap.put("ROWS", new TestDataProvider(RowTest.class.getMethod("rows", TestContext.class), "ROWS", RowTest.class, true));
+		context.setDataProviderMap(dataProviderMap);
+
+		RowTest.executionList.clear();
+		RowTest.threadList.clear();
+		RowTest.barrier = null;
+	}
+
+	@After
+	public void restoreConfig() {
+		FWStaticStore.frameworkConfig = previousConfig;
+	}
+
+	private TestUnitObjectWrapper runUnit(int threadCount) throws Exception {
+		TestUnitObjectWrapper unit = new TestUnitObjectWrapper(RowTest.class.getMethod("unit", TestContext.class), false, 0, "ROWS", 0);
+		unit.setDataProviderThreadCount(threadCount);
+		TestObjectWrapper t = new TestObjectWrapper(RowTest.class, false, 0, "", 0);
+		t.setTestUnitList(new ArrayList<>(Arrays.asList(unit)));
+		new RunnerTestUnits(context, new ArrayList<>()).runSingleThreadUnits(t);
+		return unit;
+	}
+
+	private static List<TestStatus> expectedOutcomes() {
+		List<TestStatus> expected = new ArrayList<>();
+		for (int i = 0; i < ROW_COUNT; i++) {
+			expected.add(5 == i ? TestStatus.FAIL : TestStatus.PASS);
+		}
+		return expected;
+	}
+
+	@Test
+	public void testConcurrentRowsAreMergedInRowOrder() throws Exception {
+		RowTest.barrier = new CyclicBarrier(THREAD_COUNT);
+		TestUnitObjectWrapper unit = runUnit(THREAD_COUNT);
+
+		// Each row is executed once with its own parameters and index
+		List<String> executed = new ArrayList<>(RowTest.executionList);
+		Collections.sort(executed);
+		List<String> expected = new ArrayList<>();
+		for (int i = 0; i < ROW_COUNT; i++) {
+			expected.add(i + ":value" + i + ":" + i);
+		}
+		assertEquals(expected, executed);
+		assertTrue(new HashSet<>(RowTest.threadList).size() > 1);
+
+		// Outcome list follows row order although later rows finish first
+		assertEquals(expectedOutcomes(), unit.getTestUnitOutcomeList());
+		assertEquals(ROW_COUNT, context.getTotalUnitTestCount());
+		assertEquals(ROW_COUNT - 1, context.getCurrentUnitPassCount());
+		assertEquals(1, context.getCurrentUnitFailCount());
+		assertEquals(TestStatus.FAIL, context.getCurrentTestStatus());
+	}
+
+	@Test
+	public void testSameOutcomeAsSequentialRun() throws Exception {
+		TestUnitObjectWrapper unit = runUnit(1);
+
+		List<String> expected = new ArrayList<>();
+		for (int i = 0; i < ROW_COUNT; i++) {
+			expected.add(i + ":value" + i + ":" + i);
+		}
+		assertEquals(expected, RowTest.executionList);
+		assertEquals(expectedOutcomes(), unit.getTestUnitOutcomeList());
+		assertEquals(ROW_COUNT - 1, context.getCurrentUnitPassCount());
+		assertEquals(1, context.getCurrentUnitFailCount());
+		assertEquals(TestStatus.FAIL, context.getCurrentTestStatus());
+	}
+}
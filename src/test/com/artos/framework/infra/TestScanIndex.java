@@ -0,0 +1,215 @@
+package test.com.artos.framework.infra;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.lang.reflect.Method;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.HashSet;
+import java.util.jar.Attributes;
+import java.util.jar.JarOutputStream;
+import java.util.jar.Manifest;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import com.artos.annotation.BeforeTest;
+import com.artos.annotation.DataProvider;
+import com.artos.annotation.StepDefinition;
+import com.artos.annotation.TestCase;
+import com.artos.annotation.Unit;
+import com.artos.framework.infra.ScanIndex;
+import com.artos.framework.infra.TestContext;
+
+public class TestScanIndex {
+
+	private static final String PACKAGE_NAME = "test.com.artos.framework.infra";
+
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+
+	public static class ScanIndexFixtureBase {
+		@Unit
+		public void baseUnit(TestContext context) {
+		}
+	}
+
+	@TestCase
+	public static class ScanIndexFixture extends ScanIndexFixtureBase {
+		@BeforeTest
+		public void beforeTest(TestContext context) {
+		}
+
+		@Unit
+		public void unit1(TestContext context) {
+		}
+
+		@Unit(dataprovider = "rows")
+		public void unit2(TestContext context, String value, int count) {
+		}
+
+		@DataProvider(name = "rows")
+		public Object[][] rows(TestContext context) {
+			return new Object[][] { { "a", 1 } };
+		}
+
+		@StepDefinition("a step")
+		public void step(TestContext context) {
+		}
+
+		public void notATestMethod() {
+		}
+	}
+
+	private static String write(ScanIndex index, String fingerprint) throws IOException {
+		StringWriter sw = new StringWriter();
+		try (BufferedWriter bw = new BufferedWriter(sw)) {
+			index.write(bw, fingerprint);
+		}
+		return sw.toString();
+	}
+
+	private static ScanIndex read(String text, String packageName, String fingerprint) throws Exception {
+		return ScanIndex.read(new BufferedReader(new StringReader(text)), packageName, fingerprint);
+	}
+
+	private static void assertSameIndex(ScanIndex expected, ScanIndex actual) {
+		assertEquals(expected.getTestCaseList(), actual.getTestCaseList());
+		for (Class<?> cl : expected.getTestCaseList()) {
+			assertEquals(expected.getTestMethodList(cl), actual.getTestMethodList(cl));
+		}
+		assertEquals(expected.getDataProviderList(), actual.getDataProviderList());
+		assertEquals(expected.getStepDefinitionList(), actual.getStepDefinitionList());
+	}
+
+	@Test
+	public void testScan() throws Exception {
+		ScanIndex index = ScanIndex.scan(PACKAGE_NAME);
+		assertTrue(index.getTestCaseList().contains(ScanIndexFixture.class));
+		assertFalse(index.getTestCaseList().contains(ScanIndexFixtureBase.class));
+
+		// Methods of the class are listed before methods of its super class
+		HashSet<Method> expected = new HashSet<>();
+		expected.add(ScanIndexFixture.class.getMethod("beforeTest", TestContext.class));
+		expected.add(ScanIndexFixture.class.getMethod("unit1", TestContext.class));
+		expected.add(ScanIndexFixture.class.getMethod("unit2", TestContext.class, String.class, int.class));
+		assertEquals(expected, new HashSet<>(index.getTestMethodList(ScanIndexFixture.class).subList(0, 3)));
+		assertEquals(ScanIndexFixtureBase.class.getMethod("baseUnit", TestContext.class), index.getTestMethodList(ScanIndexFixture.class).get(3));
+
+		assertTrue(index.getDataProviderList().contains(ScanIndexFixture.class.getMethod("rows", TestContext.class)));
+		assertTrue(index.getStepDefinitionList().contains(ScanIndexFixture.class.getMethod("step", TestContext.class)));
+	}
+
+	@Test
+	public void testWriteReadRoundTrip() throws Exception {
+		ScanIndex index = ScanIndex.scan(PACKAGE_NAME);
+		String text = write(index, "fp1");
+		assertTrue(text.contains("unit2(com.artos.framework.infra.TestContext,java.lang.String,int)"));
+
+		ScanIndex readIndex = read(text, PACKAGE_NAME, "fp1");
+		assertSameIndex(index, readIndex);
+
+		// Build time index has no fingerprint and is trusted as it is
+		assertSameIndex(index, read(write(index, null), PACKAGE_NAME, null));
+	}
+
+	@Test
+	public void testMismatchedHeaderIsRejected() throws Exception {
+		String text = write(ScanIndex.scan(PACKAGE_NAME), "fp1");
+
+		assertNull(read(text, PACKAGE_NAME, "fp2"));
+		assertNull(read(text, "com.artos.framework", "fp1"));
+		assertNull(read(text.replace("version 1", "version 0"), PACKAGE_NAME, "fp1"));
+		// Build time index without fingerprint
+		assertNull(read(write(ScanIndex.scan(PACKAGE_NAME), null), PACKAGE_NAME, "fp1"));
+	}
+
+	@Test
+	public void testStaleFingerprintTriggersRescan() throws Exception {
+		File cacheFile = new File(folder.getRoot(), "scan.idx");
+		ScanIndex index = ScanIndex.loadOrScan(PACKAGE_NAME, cacheFile, "fp1");
+		assertTrue(cacheFile.isFile());
+		assertSameIndex(index, ScanIndex.loadOrScan(PACKAGE_NAME, cacheFile, "fp1"));
+
+		ScanIndex.loadOrScan(PACKAGE_NAME, cacheFile, "fp2");
+		String text = new String(Files.readAllBytes(cacheFile.toPath()), StandardCharsets.UTF_8);
+		assertTrue(text.contains("fingerprint fp2"));
+	}
+
+	@Test
+	public void testUnresolvedMethodTriggersRescan() throws Exception {
+		File cacheFile = new File(folder.getRoot(), "scan.idx");
+		ScanIndex index = ScanIndex.scan(PACKAGE_NAME);
+		// Method was renamed but classpath fingerprint did not change
+		String text = write(index, "fp1").replace("#unit1(", "#removedUnit(");
+		Files.write(cacheFile.toPath(), text.getBytes(StandardCharsets.UTF_8));
+		try {
+			read(text, PACKAGE_NAME, "fp1");
+			fail("Unresolved method must be reported");
+		} catch (NoSuchMethodException e) {
+			// expected
+		}
+
+		ScanIndex loadedIndex = ScanIndex.loadOrScan(PACKAGE_NAME, cacheFile, "fp1");
+		assertTrue(loadedIndex.getTestMethodList(ScanIndexFixture.class).contains(ScanIndexFixture.class.getMethod("unit1", TestContext.class)));
+		String rewritten = new String(Files.readAllBytes(cacheFile.toPath()), StandardCharsets.UTF_8);
+		assertFalse(rewritten.contains("removedUnit"));
+		assertTrue(rewritten.contains("#unit1("));
+	}
+
+	private static File writeJar(File jar, String classPath) throws IOException {
+		Manifest manifest = new Manifest();
+		manifest.getMainAttributes().put(Attributes.Name.MANIFEST_VERSION, "1.0");
+		if (null != classPath) {
+			manifest.getMainAttributes().put(Attributes.Name.CLASS_PATH, classPath);
+		}
+		try (JarOutputStream jos = new JarOutputStream(new FileOutputStream(jar), manifest)) {
+			// manifest only
+		}
+		return jar;
+	}
+
+	@Test
+	public void testFingerprintIncludesManifestClassPath() throws Exception {
+		File libDir = folder.newFolder("lib");
+		File dep = writeJar(new File(libDir, "dep.jar"), null);
+		File launcher = writeJar(folder.newFile("launcher.jar"), "lib/dep.jar lib/missing.jar http://example.com/remote.jar");
+		dep.setLastModified(1000000000000L);
+
+		String fingerprint = ScanIndex.fingerprint(PACKAGE_NAME, launcher.getPath());
+		assertEquals(fingerprint, ScanIndex.fingerprint(PACKAGE_NAME, launcher.getPath()));
+
+		// Jar referenced only from manifest was replaced
+		dep.setLastModified(1100000000000L);
+		String changed = ScanIndex.fingerprint(PACKAGE_NAME, launcher.getPath());
+		assertFalse(fingerprint.equals(changed));
+
+		// Jar referenced from manifest appeared
+		writeJar(new File(libDir, "missing.jar"), null);
+		assertFalse(changed.equals(ScanIndex.fingerprint(PACKAGE_NAME, launcher.getPath())));
+	}
+
+	@Test
+	public void testFingerprintManifestCycle() throws Exception {
+		File a = new File(folder.getRoot(), "a.jar");
+		File b = new File(folder.getRoot(), "b.jar");
+		writeJar(a, "b.jar");
+		writeJar(b, "a.jar");
+		String fingerprint = ScanIndex.fingerprint(PACKAGE_NAME, a.getPath());
+		assertEquals(64, fingerprint.length());
+		assertEquals(fingerprint, ScanIndex.fingerprint(PACKAGE_NAME, a.getPath() + File.pathSeparator + b.getPath()));
+	}
+
+}
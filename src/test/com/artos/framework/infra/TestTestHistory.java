@@ -0,0 +1,152 @@
+package test.com.artos.framework.infra;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import com.artos.framework.Enums.TestStatus;
+import com.artos.framework.infra.TestHistory;
+import com.artos.framework.infra.TestHistory.Record;
+
+public class TestTestHistory {
+
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+
+	private static Record newRecord(long duration) {
+		return new Record(0, 0, 0, TestStatus.PASS).update(duration, TestStatus.PASS);
+	}
+
+	@Test
+	public void testUpdateAveragesFirstRuns() {
+		Record record = newRecord(1000);
+		assertEquals(1000, record.getDuration());
+		assertEquals(1, record.getRunCount());
+
+		record = record.update(2000, TestStatus.PASS);
+		assertEquals(1500, record.getDuration());
+		record = record.update(3000, TestStatus.FAIL);
+		assertEquals(2000, record.getDuration());
+		assertEquals(3000, record.getLastDuration());
+		assertEquals(3, record.getRunCount());
+		assertEquals(TestStatus.FAIL, record.getStatus());
+	}
+
+	@Test
+	public void testUpdateSmoothsAfterWindow() {
+		Record record = newRecord(1000);
+		for (int i = 0; i < 9; i++) {
+			record = record.update(1000, TestStatus.PASS);
+		}
+		assertEquals(1000, record.getDuration());
+
+		// One slow run only moves expected duration by a fifth of the difference
+		record = record.update(6000, TestStatus.PASS);
+		assertEquals(2000, record.getDuration());
+		assertEquals(6000, record.getLastDuration());
+		assertEquals(11, record.getRunCount());
+	}
+
+	@Test
+	public void testSkipKeepsDuration() {
+		Record record = newRecord(1000).update(5, TestStatus.SKIP);
+		assertEquals(1000, record.getDuration());
+		assertEquals(1000, record.getLastDuration());
+		assertEquals(1, record.getRunCount());
+		assertEquals(TestStatus.SKIP, record.getStatus());
+	}
+
+	@Test
+	public void testIsRegression() {
+		Record previous = new Record(1000, 1000, 3, TestStatus.PASS);
+		assertFalse(TestHistory.isRegression(previous, 1500, TestStatus.PASS, 50));
+		assertTrue(TestHistory.isRegression(previous, 1501, TestStatus.PASS, 50));
+		assertTrue(TestHistory.isRegression(previous, 1501, TestStatus.FAIL, 50));
+
+		// Disabled, skipped or without history
+		assertFalse(TestHistory.isRegression(previous, 5000, TestStatus.PASS, 0));
+		assertFalse(TestHistory.isRegression(previous, 5000, TestStatus.SKIP, 50));
+		assertFalse(TestHistory.isRegression(null, 5000, TestStatus.PASS, 50));
+		assertFalse(TestHistory.isRegression(new Record(0, 0, 0, TestStatus.PASS), 5000, TestStatus.PASS, 50));
+	}
+
+	@Test
+	public void testIsRegressionIgnoresTimingNoise() {
+		Record previous = new Record(50, 50, 3, TestStatus.PASS);
+		// Three times slower but only 99 ms difference
+		assertFalse(TestHistory.isRegression(previous, 149, TestStatus.PASS, 50));
+		assertTrue(TestHistory.isRegression(previous, 150, TestStatus.PASS, 50));
+	}
+
+	@Test
+	public void testLoadVersion1AndVersion2() throws IOException {
+		File file = folder.newFile("test_history.txt");
+		List<String> lines = Arrays.asList("# Artos test history v2", "com.a.Old1\t-", "test\tcom.a.Old\t1200\tFAIL", "test\tcom.a.New\t800\t900\t7\tKTF",
+				"unit\tcom.a.New#unit1\t300\t250\t7\tPASS", "unit\tcom.a.Old#unit1\t300");
+		Files.write(file.toPath(), lines, StandardCharsets.UTF_8);
+
+		TestHistory history = new TestHistory(file);
+		Record old = history.getTest("com.a.Old");
+		assertEquals(1200, old.getDuration());
+		assertEquals(1200, old.getLastDuration());
+		assertEquals(1, old.getRunCount());
+		assertEquals(TestStatus.FAIL, old.getStatus());
+
+		Record record = history.getTest("com.a.New");
+		assertEquals(800, record.getDuration());
+		assertEquals(900, record.getLastDuration());
+		assertEquals(7, record.getRunCount());
+		assertEquals(TestStatus.KTF, record.getStatus());
+		assertEquals(250, history.getUnit("com.a.New#unit1").getLastDuration());
+		assertNull(history.getUnit("com.a.Old#unit1"));
+		assertEquals(2, history.getSkippedLineCount());
+	}
+
+	@Test
+	public void testMalformedLinesAreSkipped() throws IOException {
+		File file = folder.newFile("test_history.txt");
+		List<String> lines = Arrays.asList("test\tcom.a.First\t100\t100\t1\tPASS", "test\tcom.a.Number\tabc\t100\t1\tPASS",
+				"test\tcom.a.Status\t100\t100\t1\tBROKEN", "", "unit\tcom.a.Count#unit1\t100\t100\t1.5\tPASS",
+				"unit\tcom.a.Last#unit1\t200\t200\t2\tFAIL");
+		Files.write(file.toPath(), lines, StandardCharsets.UTF_8);
+
+		// Lines after a malformed line are still loaded
+		TestHistory history = new TestHistory(file);
+		assertEquals(3, history.getSkippedLineCount());
+		assertEquals(100, history.getTest("com.a.First").getDuration());
+		assertNull(history.getTest("com.a.Number"));
+		assertNull(history.getTest("com.a.Status"));
+		assertNull(history.getUnit("com.a.Count#unit1"));
+		assertEquals(TestStatus.FAIL, history.getUnit("com.a.Last#unit1").getStatus());
+	}
+
+	@Test
+	public void testSaveAndLoad() throws IOException {
+		File file = new File(folder.getRoot(), "test_history.txt");
+		TestHistory history = new TestHistory(file);
+		assertNull(history.recordTest("com.a.Test", 400, TestStatus.PASS));
+		assertEquals(400, history.recordTest("com.a.Test", 600, TestStatus.FAIL).getDuration());
+		history.recordUnit("com.a.Test#unit1", 100, TestStatus.PASS);
+		history.save();
+
+		TestHistory loaded = new TestHistory(file);
+		Record record = loaded.getTest("com.a.Test");
+		assertEquals(500, record.getDuration());
+		assertEquals(600, record.getLastDuration());
+		assertEquals(2, record.getRunCount());
+		assertEquals(TestStatus.FAIL, record.getStatus());
+		assertEquals(100, loaded.getUnit("com.a.Test#unit1").getDuration());
+	}
+}
@@ -0,0 +1,176 @@
+package com.artos.framework.infra;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.artos.framework.FWStaticStore;
+import com.artos.framework.parser.FrameworkConfigParser;
+
+public class TestTestMethodInvoker {
+
+	private FrameworkConfigParser previousConfig;
+
+	public static class Target {
+		int count = 0;
+
+		public void unit(TestContext context) {
+			count++;
+		}
+
+		public String echo(String value) {
+			return "echo:" + value;
+		}
+
+		public int twice(int value) {
+			return value * 2;
+		}
+
+		public static String staticUnit(String value) {
+			return "static:" + value;
+		}
+
+		public void fails(String value) {
+			throw new IllegalStateException(value);
+		}
+
+		public void castFails(Object value) {
+			// ClassCastException thrown by the method itself is not an argument problem
+			String s = (String) value;
+			s.length();
+		}
+	}
+
+	private static class Hidden {
+		@SuppressWarnings("unused")
+		public String echo(String value) {
+			return "hidden:" + value;
+		}
+	}
+
+	private static TestMethodInvoker invoker(Class<?> cls, String name, Class<?> parameterType) throws NoSuchMethodException {
+		return new TestMethodInvoker(cls.getMethod(name, parameterType));
+	}
+
+	@Before
+	public void setConfig() {
+		previousConfig = FWStaticStore.frameworkConfig;
+		FWStaticStore.frameworkConfig = new FrameworkConfigParser(false, null);
+	}
+
+	@After
+	public void restoreConfig() {
+		FWStaticStore.frameworkConfig = previousConfig;
+	}
+
+	@Test
+	public void testInstanceHandle() throws Exception {
+		Target target = new Target();
+		TestMethodInvoker unit = invoker(Target.class, "unit", TestContext.class);
+		assertNull(unit.invoke(target, null));
+		assertNull(unit.invoke(target, new TestContext()));
+		assertEquals(2, target.count);
+
+		assertEquals("echo:a", invoker(Target.class, "echo", String.class).invoke(target, "a"));
+		// Primitive parameter accepts its wrapper and primitive result is boxed
+		assertEquals(6, invoker(Target.class, "twice", int.class).invoke(target, 3));
+	}
+
+	@Test
+	public void testStaticHandle() throws Exception {
+		TestMethodInvoker invoker = invoker(Target.class, "staticUnit", String.class);
+		// Instance is ignored for static method
+		assertEquals("static:a", invoker.invoke(null, "a"));
+		assertEquals("static:b", invoker.invoke("not a target", "b"));
+	}
+
+	@Test
+	public void testReflectionFallback() throws Exception {
+		Method method = Hidden.class.getMethod("echo", String.class);
+		method.setAccessible(true);
+		assertEquals("hidden:a", new TestMethodInvoker(method).invoke(new Hidden(), "a"));
+	}
+
+	@Test
+	public void testMethodExceptionIsWrapped() throws Exception {
+		Target target = new Target();
+		try {
+			invoker(Target.class, "fails", String.class).invoke(target, "boom");
+			fail("Exception must be reported");
+		} catch (InvocationTargetException e) {
+			assertTrue(e.getCause() instanceof IllegalStateException);
+			assertEquals("boom", e.getCause().getMessage());
+		}
+		try {
+			invoker(Target.class, "castFails", Object.class).invoke(target, 1);
+			fail("Exception must be reported");
+		} catch (InvocationTargetException e) {
+			assertTrue(e.getCause() instanceof ClassCastException);
+		}
+	}
+
+	@Test
+	public void testWrongTypesAreIllegalArguments() throws Exception {
+		Target target = new Target();
+		TestMethodInvoker echo = invoker(Target.class, "echo", String.class);
+		assertIllegalArgument(echo, "not a target", "a");
+		assertIllegalArgument(echo, target, 1);
+		assertIllegalArgument(invoker(Target.class, "twice", int.class), target, null);
+		assertIllegalArgument(invoker(Target.class, "twice", int.class), target, 1L);
+
+		try {
+			echo.invoke(null, "a");
+			fail("Null instance must be reported");
+		} catch (NullPointerException e) {
+			// expected, same as reflection
+		}
+	}
+
+	private static void assertIllegalArgument(TestMethodInvoker invoker, Object instance, Object argument) throws Exception {
+		try {
+			invoker.invoke(instance, argument);
+			fail("Wrong type must be reported");
+		} catch (IllegalArgumentException e) {
+			// expected, same as reflection
+		}
+	}
+
+	@Test
+	public void testInvokerIsShared() throws Exception {
+		Method method = Target.class.getMethod("unit", TestContext.class);
+		assertSame(TestMethodInvoker.of(method), TestMethodInvoker.of(method));
+		assertNull(TestMethodInvoker.of(null));
+	}
+
+	@Test
+	public void testInstanceReuse() throws Exception {
+		TestContext context = new TestContext();
+		TestContext worker = context.createWorkerContext();
+		TestMethodInvoker unit = TestMethodInvoker.of(Target.class.getMethod("unit", TestContext.class));
+
+		FWStaticStore.frameworkConfig.setReuseTestClassInstance(true);
+		Object instance = context.getTestClassInstance(Target.class);
+		// Worker contexts share instances of test suite context
+		assertSame(instance, worker.getTestClassInstance(Target.class));
+		unit.invoke(context.getTestClassInstance(Target.class), context);
+		unit.invoke(worker.getTestClassInstance(Target.class), worker);
+		assertEquals(2, ((Target) instance).count);
+
+		FWStaticStore.frameworkConfig.setReuseTestClassInstance(false);
+		Object fresh = context.getTestClassInstance(Target.class);
+		assertNotSame(instance, fresh);
+		assertNotSame(fresh, context.getTestClassInstance(Target.class));
+		unit.invoke(fresh, context);
+		assertEquals(1, ((Target) fresh).count);
+	}
+}
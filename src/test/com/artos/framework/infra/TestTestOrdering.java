@@ -0,0 +1,142 @@
+package com.artos.framework.infra;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import com.artos.framework.Enums.TestExecutionOrder;
+import com.artos.framework.Enums.TestStatus;
+
+public class TestTestOrdering {
+
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+
+	public static class Units {
+		public void a(TestContext context) {
+		}
+
+		public void b(TestContext context) {
+		}
+
+		public void c(TestContext context) {
+		}
+
+		public void d(TestContext context) {
+		}
+	}
+
+	private static TestObjectWrapper test(Class<?> cls, int sequence) {
+		return new TestObjectWrapper(cls, false, sequence, "", 0);
+	}
+
+	private static TestUnitObjectWrapper unit(String name, int sequence) throws NoSuchMethodException {
+		return new TestUnitObjectWrapper(Units.class.getMethod(name, TestContext.class), false, sequence, "", 0);
+	}
+
+	private static List<Class<?>> classList(List<TestObjectWrapper> testList) {
+		List<Class<?>> list = new ArrayList<>();
+		for (TestObjectWrapper t : testList) {
+			list.add(t.getTestClassObject());
+		}
+		return list;
+	}
+
+	private TestHistory history(String... lines) throws IOException {
+		File file = folder.newFile("test_history.txt");
+		Files.write(file.toPath(), Arrays.asList(lines), StandardCharsets.UTF_8);
+		return new TestHistory(file);
+	}
+
+	@Test
+	public void testSortBySequenceIsStable() {
+		List<TestObjectWrapper> testList = Arrays.asList(test(String.class, 3), test(ArrayList.class, 1), test(Integer.class, 2),
+				test(List.class, 1), test(Long.class, 2));
+
+		// Equal sequence numbers keep scan order
+		assertEquals(Arrays.asList(ArrayList.class, List.class, Integer.class, Long.class, String.class),
+				classList(TestOrdering.sortBySequence(testList, false)));
+		// Packages sorted by name, sequence order within package
+		assertEquals(Arrays.asList(Integer.class, Long.class, String.class, ArrayList.class, List.class),
+				classList(TestOrdering.sortBySequence(testList, true)));
+		// Original list is not modified
+		assertEquals(String.class, testList.get(0).getTestClassObject());
+	}
+
+	@Test
+	public void testSortUnitsBySequence() throws Exception {
+		List<TestUnitObjectWrapper> unitList = Arrays.asList(unit("a", 2), unit("b", 1), unit("c", 2), unit("d", 0));
+		List<String> names = new ArrayList<>();
+		for (TestUnitObjectWrapper unit : TestOrdering.sortUnitsBySequence(unitList)) {
+			names.add(unit.getTestUnitMethod().getName());
+		}
+		assertEquals(Arrays.asList("d", "b", "a", "c"), names);
+		assertEquals("a", unitList.get(0).getTestUnitMethod().getName());
+	}
+
+	@Test
+	public void testSequenceOrderIsUnchanged() throws Exception {
+		TestHistory history = history("test\tjava.lang.String\t900\t900\t2\tFAIL");
+		List<TestObjectWrapper> testList = Arrays.asList(test(Integer.class, 1), test(String.class, 2));
+		List<TestObjectWrapper> orderedList = TestOrdering.order(testList, TestExecutionOrder.SEQUENCE, history);
+		assertEquals(Arrays.asList(Integer.class, String.class), classList(orderedList));
+		assertSame(testList.get(0), orderedList.get(0));
+	}
+
+	@Test
+	public void testLongestFirst() throws IOException {
+		TestHistory history = history("test\tjava.lang.String\t100\t100\t2\tPASS", "test\tjava.lang.Integer\t300\t300\t2\tPASS",
+				"test\tjava.lang.Long\t300\t300\t2\tPASS", "test\tjava.lang.Short\t900\t900\t0\tPASS");
+
+		List<TestObjectWrapper> testList = new ArrayList<>();
+		for (Class<?> cl : Arrays.asList(String.class, Integer.class, Object.class, Long.class, Short.class, Byte.class)) {
+			testList.add(test(cl, 1));
+		}
+
+		List<TestObjectWrapper> orderedList = TestOrdering.order(testList, TestExecutionOrder.LONGEST_FIRST, history);
+		// Tests without history (or without completed run) first, equal durations keep their original order
+		assertEquals(Arrays.asList(Object.class, Short.class, Byte.class, Integer.class, Long.class, String.class), classList(orderedList));
+		// Original list is not modified
+		assertEquals(String.class, testList.get(0).getTestClassObject());
+	}
+
+	@Test
+	public void testFailedFirst() throws IOException {
+		TestHistory history = history("test\tjava.lang.String\t100\t100\t2\tPASS", "test\tjava.lang.Integer\t300\t300\t2\tFAIL",
+				"test\tjava.lang.Long\t300\t300\t2\tKTF", "test\tjava.lang.Short\t900\t900\t1\tFAIL");
+
+		List<TestObjectWrapper> testList = new ArrayList<>();
+		for (Class<?> cl : Arrays.asList(String.class, Integer.class, Object.class, Long.class, Short.class)) {
+			testList.add(test(cl, 1));
+		}
+
+		// Failed tests first in original order, everything else including tests without history keeps original order
+		List<TestObjectWrapper> orderedList = TestOrdering.order(testList, TestExecutionOrder.FAILED_FIRST, history);
+		assertEquals(Arrays.asList(Integer.class, Short.class, String.class, Object.class, Long.class), classList(orderedList));
+	}
+
+	@Test
+	public void testRecordedHistoryIsUsed() {
+		TestHistory history = new TestHistory(null);
+		history.recordTest("java.lang.String", 100, TestStatus.PASS);
+		history.recordTest("java.lang.Integer", 500, TestStatus.PASS);
+		history.recordTest("java.lang.Long", 50, TestStatus.FAIL);
+
+		List<TestObjectWrapper> testList = Arrays.asList(test(String.class, 1), test(Integer.class, 2), test(Long.class, 3));
+		assertEquals(Arrays.asList(Integer.class, String.class, Long.class),
+				classList(TestOrdering.order(testList, TestExecutionOrder.LONGEST_FIRST, history)));
+		assertEquals(Arrays.asList(Long.class, String.class, Integer.class),
+				classList(TestOrdering.order(testList, TestExecutionOrder.FAILED_FIRST, history)));
+	}
+}
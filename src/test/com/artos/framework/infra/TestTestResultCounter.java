@@ -0,0 +1,138 @@
+package com.artos.framework.infra;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.artos.framework.Enums.Importance;
+import com.artos.framework.Enums.TestStatus;
+import com.artos.framework.FWStaticStore;
+import com.artos.framework.parser.FrameworkConfigParser;
+
+public class TestTestResultCounter {
+
+	private static final int THREAD_COUNT = 8;
+	private static final int RECORD_COUNT = 20000;
+
+	private FrameworkConfigParser previousConfig;
+	private ExecutorService service;
+
+	@Before
+	public void createService() {
+		previousConfig = FWStaticStore.frameworkConfig;
+		FWStaticStore.frameworkConfig = new FrameworkConfigParser(false, null);
+		service = Executors.newFixedThreadPool(THREAD_COUNT);
+	}
+
+	@After
+	public void shutdownService() {
+		service.shutdownNow();
+		FWStaticStore.frameworkConfig = previousConfig;
+	}
+
+	/**
+	 * Runs task on all threads at the same time and waits for all of them
+	 */
+	private void runConcurrently(Runnable task) throws Exception {
+		CountDownLatch start = new CountDownLatch(1);
+		List<Future<?>> futureList = new ArrayList<>();
+		for (int i = 0; i < THREAD_COUNT; i++) {
+			futureList.add(service.submit(() -> {
+				start.await();
+				task.run();
+				return null;
+			}));
+		}
+		start.countDown();
+		for (Future<?> future : futureList) {
+			future.get(30, TimeUnit.SECONDS);
+		}
+	}
+
+	private static void recordAll(TestResultCounter counter) {
+		for (int i = 0; i < RECORD_COUNT; i++) {
+			TestStatus status = TestStatus.values()[i % TestStatus.values().length];
+			counter.record(status, Importance.values()[i % Importance.values().length]);
+		}
+	}
+
+	private static void assertCounts(TestResultCounter counter, long multiplier) {
+		assertEquals(RECORD_COUNT * multiplier, counter.getTotalCount());
+		long statusTotal = 0;
+		for (TestStatus status : TestStatus.values()) {
+			statusTotal += counter.getCount(status);
+		}
+		assertEquals(RECORD_COUNT * multiplier, statusTotal);
+
+		// Recompute expected failure count per importance sequentially
+		TestResultCounter expected = new TestResultCounter();
+		recordAll(expected);
+		for (Importance importance : Importance.values()) {
+			assertEquals(expected.getFailCount(importance) * multiplier, counter.getFailCount(importance));
+		}
+		assertEquals(expected.getCount(TestStatus.FAIL) * multiplier, counter.getCount(TestStatus.FAIL));
+	}
+
+	@Test
+	public void testConcurrentRecordKeepsAllUpdates() throws Exception {
+		TestResultCounter counter = new TestResultCounter();
+		runConcurrently(() -> recordAll(counter));
+		assertCounts(counter, THREAD_COUNT);
+	}
+
+	@Test
+	public void testConcurrentRollUp() throws Exception {
+		TestResultCounter total = new TestResultCounter();
+		runConcurrently(() -> {
+			TestResultCounter suite = new TestResultCounter();
+			recordAll(suite);
+			total.add(suite);
+		});
+		assertCounts(total, THREAD_COUNT);
+	}
+
+	@Test
+	public void testWorkerContextsShareUnitCounter() throws Exception {
+		TestContext context = new TestContext();
+		runConcurrently(() -> recordAll(context.createWorkerContext().getUnitCounter()));
+		assertCounts(context.getUnitCounter(), THREAD_COUNT);
+		assertEquals(RECORD_COUNT * THREAD_COUNT, context.getTotalUnitTestCount());
+		assertEquals(context.getUnitCounter().getCount(TestStatus.PASS), context.getCurrentUnitPassCount());
+	}
+
+	@Test
+	@SuppressWarnings("deprecation")
+	public void testDeprecatedSetters() throws Exception {
+		TestContext context = new TestContext() {
+			{
+				setTotalFatalCount(3);
+				setTotalUndefinedCount(4);
+				setTotalUnitTestCount(10);
+				setCurrentUnitPassCount(6);
+				setCurrentUnitKTFCount(2);
+				setTotalUnitHighCount(5);
+			}
+		};
+		assertEquals(3, context.getTotalFatalCount());
+		assertEquals(4, context.getTotalUndefinedCount());
+		assertEquals(10, context.getTotalUnitTestCount());
+		assertEquals(6, context.getCurrentUnitPassCount());
+		assertEquals(2, context.getCurrentUnitKTFCount());
+		assertEquals(5, context.getTotalUnitHighCount());
+
+		// Outcomes recorded after a set are added to the set value
+		context.getUnitCounter().record(TestStatus.PASS, Importance.UNDEFINED);
+		assertEquals(7, context.getCurrentUnitPassCount());
+		assertEquals(11, context.getTotalUnitTestCount());
+	}
+}
@@ -0,0 +1,221 @@
+package com.artos.framework.infra;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.apache.logging.log4j.core.LoggerContext;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.artos.framework.FWStaticStore;
+import com.artos.framework.parser.FrameworkConfigParser;
+
+public class TestTestTimeoutExecutor {
+
+	private static final Pattern STOP_PATTERN = Pattern.compile("Timed out (.+) stopped (\\d+) ms after it was cancelled");
+
+	private FrameworkConfigParser previousConfig;
+	private RecordingLogger logger;
+	private CountDownLatch release;
+	private int baselineStuckCount;
+
+	/**
+	 * Logger which keeps warnings so tests can check what executor reported
+	 */
+	private static class RecordingLogger extends LogWrapper {
+		final List<String> warningList = Collections.synchronizedList(new ArrayList<>());
+
+		RecordingLogger() {
+			super(new LoggerContext("timeout"), 0);
+		}
+
+		@Override
+		public void warn(String msg) {
+			warningList.add(msg);
+		}
+	}
+
+	@Before
+	public void createLogger() {
+		previousConfig = FWStaticStore.frameworkConfig;
+		FrameworkConfigParser config = new FrameworkConfigParser(false, null);
+		config.setEnableExtentReport(false);
+		config.setEnableStreamReport(false);
+		FWStaticStore.frameworkConfig = config;
+		logger = new RecordingLogger();
+		release = new CountDownLatch(1);
+		baselineStuckCount = TestTimeoutExecutor.getStuckTaskCount();
+	}
+
+	@After
+	public void releaseTasks() throws Exception {
+		release.countDown();
+		FWStaticStore.frameworkConfig = previousConfig;
+		awaitStuckCount(baselineStuckCount);
+	}
+
+	/**
+	 * Task which ignores interrupt and keeps running until test releases it
+	 */
+	private void ignoreInterrupt(AtomicBoolean interrupted) {
+		while (true) {
+			try {
+				release.await();
+				return;
+			} catch (InterruptedException e) {
+				interrupted.set(true);
+			}
+		}
+	}
+
+	private static void awaitStuckCount(int count) throws InterruptedException {
+		long deadline = System.currentTimeMillis() + 5000;
+		while (TestTimeoutExecutor.getStuckTaskCount() != count) {
+			assertTrue("stuck task count not reached in time", System.currentTimeMillis() < deadline);
+			Thread.sleep(5);
+		}
+	}
+
+	/**
+	 * Waits for stop report of provided task and returns reported stop duration in milliseconds
+	 */
+	private long awaitStopReport(String taskName) throws InterruptedException {
+		long deadline = System.currentTimeMillis() + 5000;
+		while (System.currentTimeMillis() < deadline) {
+			synchronized (logger.warningList) {
+				for (String warning : logger.warningList) {
+					Matcher matcher = STOP_PATTERN.matcher(warning);
+					if (matcher.matches() && matcher.group(1).equals(taskName)) {
+						return Long.parseLong(matcher.group(2));
+					}
+				}
+			}
+			Thread.sleep(5);
+		}
+		fail("stop of " + taskName + " not reported");
+		return -1;
+	}
+
+	private int countStopReports() {
+		int count = 0;
+		synchronized (logger.warningList) {
+			for (String warning : logger.warningList) {
+				if (STOP_PATTERN.matcher(warning).matches()) {
+					count++;
+				}
+			}
+		}
+		return count;
+	}
+
+	@Test
+	public void testTaskFinishedWithinTimeout() throws Exception {
+		AtomicReference<String> threadName = new AtomicReference<>();
+		assertTrue(TestTimeoutExecutor.run(() -> {
+			threadName.set(Thread.currentThread().getName());
+			return null;
+		}, 5000, "quick", logger));
+		assertTrue(threadName.get().startsWith("Artos_Timeout_Thread_"));
+		assertTrue(logger.warningList.isEmpty());
+		assertEquals(baselineStuckCount, TestTimeoutExecutor.getStuckTaskCount());
+	}
+
+	@Test
+	public void testTaskExceptionIsReported() throws Exception {
+		try {
+			TestTimeoutExecutor.run(() -> {
+				throw new IllegalStateException("unit failed");
+			}, 5000, "failing", logger);
+			fail("exception not reported");
+		} catch (ExecutionException e) {
+			assertEquals("unit failed", e.getCause().getMessage());
+		}
+		assertTrue(logger.warningList.isEmpty());
+	}
+
+	@Test
+	public void testTaskHonouringInterruptIsCancelled() throws Exception {
+		CountDownLatch interrupted = new CountDownLatch(1);
+		assertFalse(TestTimeoutExecutor.run(() -> {
+			try {
+				Thread.sleep(30000);
+			} catch (InterruptedException e) {
+				interrupted.countDown();
+				throw e;
+			}
+			return null;
+		}, 50, "honouring", logger));
+
+		assertTrue(interrupted.await(5, TimeUnit.SECONDS));
+		assertTrue(awaitStopReport("honouring") < 5000);
+		awaitStuckCount(baselineStuckCount);
+	}
+
+	@Test
+	public void testTaskIgnoringInterruptStaysStuck() throws Exception {
+		AtomicBoolean interrupted = new AtomicBoolean();
+		assertFalse(TestTimeoutExecutor.run(() -> {
+			ignoreInterrupt(interrupted);
+			return null;
+		}, 50, "ignoring", logger));
+
+		// Task is interrupted but keeps its thread until it returns
+		Thread.sleep(200);
+		assertTrue(interrupted.get());
+		assertEquals(baselineStuckCount + 1, TestTimeoutExecutor.getStuckTaskCount());
+		assertTrue(logger.warningList.isEmpty());
+
+		release.countDown();
+		assertTrue(awaitStopReport("ignoring") >= 200);
+		awaitStuckCount(baselineStuckCount);
+	}
+
+	@Test
+	public void testDedicatedThreadFallback() throws Exception {
+		// Fill every pooled thread with a cancelled task which ignores interrupt, task cancelled before it started does not hold a thread
+		AtomicBoolean interrupted = new AtomicBoolean();
+		int stuckTarget = baselineStuckCount + TestTimeoutExecutor.MAX_THREAD_COUNT;
+		int submitted = 0;
+		while (TestTimeoutExecutor.getStuckTaskCount() < stuckTarget) {
+			assertFalse(TestTimeoutExecutor.run(() -> {
+				ignoreInterrupt(interrupted);
+				return null;
+			}, 5, "stuck " + submitted++, logger));
+		}
+		assertEquals(stuckTarget, TestTimeoutExecutor.getStuckTaskCount());
+
+		AtomicReference<String> threadName = new AtomicReference<>();
+		assertTrue(TestTimeoutExecutor.run(() -> {
+			threadName.set(Thread.currentThread().getName());
+			return null;
+		}, 5000, "fallback", logger));
+		assertTrue(threadName.get().startsWith("Artos_Timeout_Dedicated_Thread_"));
+		assertTrue(logger.warningList.contains("All " + TestTimeoutExecutor.MAX_THREAD_COUNT + " timeout threads are busy ("
+				+ stuckTarget + " timed out tests did not stop after cancellation), running fallback"
+				+ " on dedicated thread"));
+
+		// Every stuck task reports its stop once released
+		release.countDown();
+		awaitStuckCount(baselineStuckCount);
+		long deadline = System.currentTimeMillis() + 5000;
+		while (countStopReports() < TestTimeoutExecutor.MAX_THREAD_COUNT) {
+			assertTrue("stop of stuck tasks not reported", System.currentTimeMillis() < deadline);
+			Thread.sleep(5);
+		}
+		assertEquals(TestTimeoutExecutor.MAX_THREAD_COUNT, countStopReports());
+	}
+}
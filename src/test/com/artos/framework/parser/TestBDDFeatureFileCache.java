@@ -0,0 +1,116 @@
+package com.artos.framework.parser;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import com.artos.framework.infra.BDDScenario;
+import com.artos.framework.infra.BDDStep;
+
+public class TestBDDFeatureFileCache {
+
+	private static final String FEATURE_NAME = "cache_test.feature";
+
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+
+	private File cacheDir;
+
+	@Before
+	public void createCacheDir() throws IOException {
+		cacheDir = folder.newFolder("cache");
+	}
+
+	private File createFeatureFile() throws IOException {
+		File f = new File(folder.getRoot(), FEATURE_NAME);
+		Files.write(f.toPath(),
+				Arrays.asList("Feature: login", "Background: setup", "Given a user", "| id |", "| 7  |", "@Smoke", "Scenario Outline: login with \"<name>\"",
+						"When user enters \"<name>\" and \"secret\"", "| key | value |", "| a   | <name> |", "| b   |        |", "Then user is logged in",
+						"Examples:", "| name  | role |", "| bob   | admin |", "| alice | \u00e9diteur |", "", "@Regression", "Scenario: logout",
+						"Given user is logged in", "When user clicks \"logout\"", "Then login page is shown"));
+		return f;
+	}
+
+	private List<BDDScenario> parse(File f, boolean useCache) {
+		return new BDDFeatureFileParser(f, Arrays.asList("*"), useCache ? cacheDir : null).getFeature().getScenarios();
+	}
+
+	private static void assertSameScenarios(List<BDDScenario> expected, List<BDDScenario> actual) {
+		assertEquals(expected.size(), actual.size());
+		for (int i = 0; i < expected.size(); i++) {
+			BDDScenario e = expected.get(i);
+			BDDScenario a = actual.get(i);
+			assertEquals(e.isBackground(), a.isBackground());
+			assertEquals(e.getScenarioDescription(), a.getScenarioDescription());
+			assertEquals(e.getGroupList(), a.getGroupList());
+			assertEquals(e.getGlobalDataTable(), a.getGlobalDataTable());
+			assertEquals(new ArrayList<>(e.getGlobalDataTable().keySet()), new ArrayList<>(a.getGlobalDataTable().keySet()));
+			assertEquals(e.getSteplist().size(), a.getSteplist().size());
+			for (int j = 0; j < e.getSteplist().size(); j++) {
+				BDDStep es = e.getSteplist().get(j);
+				BDDStep as = a.getSteplist().get(j);
+				assertEquals(es.getStepAction(), as.getStepAction());
+				assertEquals(es.getStepDescription(), as.getStepDescription());
+				assertEquals(es.getInlineParameterList(), as.getInlineParameterList());
+				assertEquals(es.hasGlobalReference(), as.hasGlobalReference());
+				assertEquals(es.getLocalDataTable(), as.getLocalDataTable());
+				assertEquals(new ArrayList<>(es.getLocalDataTable().keySet()), new ArrayList<>(as.getLocalDataTable().keySet()));
+			}
+		}
+	}
+
+	@Test
+	public void testCachedParseMatchesFreshParse() throws IOException {
+		File f = createFeatureFile();
+		List<BDDScenario> expected = parse(f, false);
+		assertNull(new BDDFeatureFileCache(f, cacheDir).read(null));
+
+		// First parse writes cache, second parse is served from it
+		assertSameScenarios(expected, parse(f, true));
+		assertEquals(1, cacheDir.list().length);
+		assertNotNull(new BDDFeatureFileCache(f, cacheDir).read(null));
+		assertSameScenarios(expected, parse(f, true));
+	}
+
+	@Test
+	public void testTouchedFileUsesCache() throws IOException {
+		File f = createFeatureFile();
+		List<BDDScenario> expected = parse(f, false);
+		byte[] content = Files.readAllBytes(f.toPath());
+
+		// Cache a marker scenario for current content, so result shows whether cache was used
+		BDDScenario marker = new BDDScenario();
+		marker.setScenarioDescription("from cache");
+		marker.setGroupList(new ArrayList<>(Arrays.asList("*")));
+		new BDDFeatureFileCache(f, cacheDir).write(Arrays.asList(marker), content);
+
+		// Same content, different last modified time, content hash decides
+		f.setLastModified(f.lastModified() + 10_000);
+		assertNull(new BDDFeatureFileCache(f, cacheDir).read(null));
+		assertNotNull(new BDDFeatureFileCache(f, cacheDir).read(content));
+		List<BDDScenario> touched = parse(f, true);
+		assertEquals(1, touched.size());
+		assertEquals("from cache", touched.get(0).getScenarioDescription());
+
+		// Cache is rewritten with new last modified time, cheap check hits again
+		assertNotNull(new BDDFeatureFileCache(f, cacheDir).read(null));
+
+		// Changed content is parsed again
+		Files.write(f.toPath(), Arrays.asList("# changed"), StandardOpenOption.APPEND);
+		f.setLastModified(f.lastModified() + 20_000);
+		assertSameScenarios(expected, parse(f, true));
+	}
+}
@@ -0,0 +1,111 @@
+package test.com.artos.framework.parser;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import com.artos.exception.InvalidDataException;
+import com.artos.framework.Enums.QueueOverflowPolicy;
+import com.artos.framework.parser.FrameworkConfigParser;
+import com.artos.framework.parser.TestScriptParser;
+import com.artos.framework.parser.TestSuite;
+
+public class TestFrameworkConfigParser {
+
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+
+	private File writeConfig(String loggerProperties, String featureProperties) throws IOException {
+		File file = folder.newFile();
+		String xml = "<?xml version=\"1.0\" encoding=\"UTF-8\" standalone=\"no\"?>\n<configuration>\n  <logger>\n" + loggerProperties
+				+ "  </logger>\n  <features>\n" + featureProperties + "  </features>\n</configuration>\n";
+		Files.write(file.toPath(), xml.getBytes(StandardCharsets.UTF_8));
+		return file;
+	}
+
+	private static String property(String name, String value) {
+		return "    <property name=\"" + name + "\">" + value + "</property>\n";
+	}
+
+	private FrameworkConfigParser readFeature(String name, String value) throws IOException {
+		return new FrameworkConfigParser(writeConfig("", property(name, value)), false, null);
+	}
+
+	private FrameworkConfigParser readLogger(String... properties) throws IOException {
+		StringBuilder sb = new StringBuilder();
+		for (int i = 0; i < properties.length; i += 2) {
+			sb.append(property(properties[i], properties[i + 1]));
+		}
+		return new FrameworkConfigParser(writeConfig(sb.toString(), ""), false, null);
+	}
+
+	private List<TestSuite> readScript(String suiteAttributes) throws Exception {
+		File file = folder.newFile();
+		String xml = "<?xml version=\"1.0\" encoding=\"UTF-8\" standalone=\"no\"?>\n<configuration version=\"1\">\n  <suite name=\"Suite\" "
+				+ suiteAttributes + ">\n    <tests>\n      <test name=\"a.Test\"/>\n    </tests>\n  </suite>\n</configuration>\n";
+		Files.write(file.toPath(), xml.getBytes(StandardCharsets.UTF_8));
+		return new TestScriptParser().readTestScript(file);
+	}
+
+	@Test
+	public void testParallelTestThreadCount() throws Exception {
+		assertEquals(4, readFeature("parallelTestThreadCount", " 4 ").getParallelTestThreadCount());
+		// Invalid value falls back to sequential execution
+		for (String invalid : Arrays.asList("0", "-2", "four", "")) {
+			assertEquals(1, readFeature("parallelTestThreadCount", invalid).getParallelTestThreadCount());
+		}
+		assertEquals(1, new FrameworkConfigParser(writeConfig("", ""), false, null).getParallelTestThreadCount());
+	}
+
+	@Test
+	public void testSuiteParallelThreadCount() throws Exception {
+		assertEquals(3, readScript("parallelthreadcount=\"3\"").get(0).getParallelThreadCount());
+		// Not provided, framework configuration is used
+		assertEquals(0, readScript("").get(0).getParallelThreadCount());
+		// Invalid count runs test cases sequentially
+		assertEquals(1, readScript("parallelthreadcount=\"0\"").get(0).getParallelThreadCount());
+		try {
+			readScript("parallelthreadcount=\"many\"");
+			fail("invalid thread count accepted");
+		} catch (InvalidDataException e) {
+			assertEquals("Invalid Parallel Thread Count : many", e.getMessage());
+		}
+	}
+
+	@Test
+	public void testAsyncLogConfig() throws Exception {
+		FrameworkConfigParser config = readLogger("enableAsyncLog", "true", "asyncLogQueueSize", "256", "asyncLogQueueFullPolicy", " drop_newest ");
+		assertTrue(config.isEnableAsyncLog());
+		assertEquals(256, config.getAsyncLogQueueSize());
+		assertEquals(QueueOverflowPolicy.DROP_NEWEST, config.getAsyncLogQueueFullPolicy());
+
+		// Defaults when properties are not provided
+		config = readLogger();
+		assertFalse(config.isEnableAsyncLog());
+		assertEquals(8192, config.getAsyncLogQueueSize());
+		assertEquals(QueueOverflowPolicy.BLOCK, config.getAsyncLogQueueFullPolicy());
+	}
+
+	@Test
+	public void testInvalidAsyncLogConfigFallsBack() throws Exception {
+		for (String invalid : Arrays.asList("0", "-1", "big")) {
+			assertEquals(8192, readLogger("asyncLogQueueSize", invalid).getAsyncLogQueueSize());
+		}
+		// DROP_OLDEST is not supported by async appender
+		for (String invalid : Arrays.asList("DROP_OLDEST", "discard")) {
+			assertEquals(QueueOverflowPolicy.BLOCK, readLogger("asyncLogQueueFullPolicy", invalid).getAsyncLogQueueFullPolicy());
+		}
+	}
+}
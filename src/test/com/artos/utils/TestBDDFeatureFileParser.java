@@ -0,0 +1,73 @@
+package test.com.artos.utils;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import com.artos.framework.infra.BDDScenario;
+import com.artos.framework.infra.BDDStep;
+import com.artos.framework.parser.BDDFeatureFileParser;
+
+public class TestBDDFeatureFileParser {
+
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+
+	private File createFeatureFile(String... lines) throws IOException {
+		File f = folder.newFile("test.feature");
+		Files.write(f.toPath(), Arrays.asList(lines));
+		return f;
+	}
+
+	@Test
+	public void testScenarioStepsAndTables() throws IOException {
+		File f = createFeatureFile("Feature: login", "  # comment", "Background: setup", "Given a user", "", "@Smoke  @regression",
+				"Scenario Outline: login with \"<name>\"", "When user enters \"<name>\" and \"secret\"", "| key | value |", "| a   | <name> |",
+				"Then user is logged in", "Examples:", "| name |", "| bob  |", "| | alice |");
+
+		List<BDDScenario> scenarioList = new BDDFeatureFileParser(f, Arrays.asList("*"), false).getFeature().getScenarios();
+		assertEquals(2, scenarioList.size());
+		assertTrue(scenarioList.get(0).isBackground());
+		assertEquals("setup", scenarioList.get(0).getScenarioDescription());
+
+		BDDScenario scenario = scenarioList.get(1);
+		assertFalse(scenario.isBackground());
+		assertEquals("login with \"<name>\"", scenario.getScenarioDescription());
+		assertEquals(Arrays.asList("*", "SMOKE", "REGRESSION"), scenario.getGroupList());
+		assertEquals(Arrays.asList("bob", ""), scenario.getGlobalDataTable().get("name"));
+
+		BDDStep step = scenario.getSteplist().get(0);
+		assertEquals("When", step.getStepAction());
+		assertEquals("user enters \"<name>\" and \"secret\"", step.getStepDescription());
+		assertEquals(Arrays.asList("<name>", "secret"), step.getInlineParameterList());
+		assertTrue(step.hasGlobalReference());
+		assertEquals(Arrays.asList("key", "value"), Arrays.asList(step.getLocalDataTable().keySet().toArray()));
+		assertEquals(Arrays.asList("<name>"), step.getLocalDataTable().get("value"));
+		assertEquals("Then", scenario.getSteplist().get(1).getStepAction());
+	}
+
+	@Test
+	public void testGroupFilterAndBackground() throws IOException {
+		File f = createFeatureFile("Background: setup", "Given a user", "@one", "Scenario: first", "Given x", "@two", "Scenario: second", "Given y",
+				"Scenario: third", "Given z");
+
+		List<BDDScenario> scenarioList = new BDDFeatureFileParser(f, Arrays.asList("ONE", "T.*"), false).getFeature().getScenarios();
+		assertEquals(4, scenarioList.size());
+		assertEquals("first", scenarioList.get(1).getScenarioDescription());
+		assertEquals("second", scenarioList.get(3).getScenarioDescription());
+		// Background is shared by all scenarios
+		assertSame(scenarioList.get(0), scenarioList.get(2));
+	}
+
+}
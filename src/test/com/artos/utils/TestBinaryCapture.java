@@ -0,0 +1,149 @@
+package test.com.artos.utils;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Test;
+
+import com.artos.framework.Enums.CaptureDirection;
+import com.artos.framework.listener.BinaryCaptureListener;
+import com.artos.interfaces.RealTimeLoggable;
+import com.artos.utils.BinaryCaptureReader;
+import com.artos.utils.BinaryCaptureWriter;
+import com.artos.utils.CaptureRecord;
+
+public class TestBinaryCapture {
+
+	@Test
+	public void testWriteAndRead() throws IOException {
+		File file = File.createTempFile("artos_capture", ".bin");
+		file.deleteOnExit();
+
+		// small buffer so records cross buffer boundary and large frame bypasses buffer
+		byte[] largeFrame = new byte[500];
+		largeFrame[499] = 0x55;
+		long before = System.currentTimeMillis();
+		try (BinaryCaptureWriter writer = new BinaryCaptureWriter(file, 64)) {
+			for (int i = 0; i < 20; i++) {
+				writer.write(CaptureDirection.SEND, new byte[] { (byte) i, 1, 2 });
+			}
+			writer.write(CaptureDirection.RECEIVE, largeFrame);
+			assertEquals(21, writer.getRecordCount());
+		}
+		assertEquals(BinaryCaptureWriter.FILE_HEADER_SIZE + 20 * (BinaryCaptureWriter.RECORD_HEADER_SIZE + 3)
+				+ BinaryCaptureWriter.RECORD_HEADER_SIZE + 500, file.length());
+
+		try (BinaryCaptureReader reader = new BinaryCaptureReader(file)) {
+			assertTrue(reader.getCaptureStartTime() >= before);
+			long lastTimestamp = 0;
+			for (int i = 0; i < 20; i++) {
+				CaptureRecord record = reader.next();
+				assertEquals(CaptureDirection.SEND, record.getDirection());
+				assertArrayEquals(new byte[] { (byte) i, 1, 2 }, record.getData());
+				assertTrue(record.getTimestamp() >= lastTimestamp);
+				lastTimestamp = record.getTimestamp();
+			}
+			CaptureRecord record = reader.next();
+			assertEquals(CaptureDirection.RECEIVE, record.getDirection());
+			assertArrayEquals(largeFrame, record.getData());
+			assertNull(reader.next());
+		}
+	}
+
+	@Test
+	public void testTruncatedRecordIgnored() throws IOException {
+		File file = File.createTempFile("artos_capture", ".bin");
+		file.deleteOnExit();
+
+		try (BinaryCaptureWriter writer = new BinaryCaptureWriter(file)) {
+			writer.write(CaptureDirection.SEND, new byte[] { 1 });
+			writer.write(CaptureDirection.RECEIVE, new byte[] { 2, 3, 4 });
+		}
+		// simulate capture which was not closed properly
+		try (RandomAccessFile raf = new RandomAccessFile(file, "rw")) {
+			raf.setLength(file.length() - 1);
+		}
+
+		try (BinaryCaptureReader reader = new BinaryCaptureReader(file)) {
+			assertArrayEquals(new byte[] { 1 }, reader.next().getData());
+			assertNull(reader.next());
+		}
+	}
+
+	@Test
+	public void testCorruptedRecordLength() throws IOException {
+		File file = File.createTempFile("artos_capture", ".bin");
+		file.deleteOnExit();
+
+		try (BinaryCaptureWriter writer = new BinaryCaptureWriter(file)) {
+			writer.write(CaptureDirection.SEND, new byte[] { 1 });
+			writer.write(CaptureDirection.RECEIVE, new byte[] { 2, 3, 4 });
+		}
+		// length field of second record claims far more data than file holds
+		try (RandomAccessFile raf = new RandomAccessFile(file, "rw")) {
+			raf.seek(BinaryCaptureWriter.FILE_HEADER_SIZE + BinaryCaptureWriter.RECORD_HEADER_SIZE + 1 + 9);
+			raf.writeInt(Integer.MAX_VALUE);
+		}
+
+		try (BinaryCaptureReader reader = new BinaryCaptureReader(file)) {
+			assertArrayEquals(new byte[] { 1 }, reader.next().getData());
+			try {
+				reader.next();
+				fail("corrupted record length accepted");
+			} catch (IOException e) {
+				assertTrue(e.getMessage().startsWith("Corrupted capture record"));
+			}
+		}
+	}
+
+	@Test
+	public void testListenerReplay() throws IOException {
+		File file = File.createTempFile("artos_capture", ".bin");
+		file.deleteOnExit();
+
+		BinaryCaptureListener capture = new BinaryCaptureListener(file);
+		capture.connected();
+		capture.send(new byte[] { 1 });
+		capture.receive(new byte[] { 2 });
+		capture.disConnected();
+		capture.close();
+
+		final List<String> events = new ArrayList<>();
+		RealTimeLoggable listener = new RealTimeLoggable() {
+			@Override
+			public void connected() {
+				events.add("connected");
+			}
+
+			@Override
+			public void disConnected() {
+				events.add("disConnected");
+			}
+
+			@Override
+			public void send(byte[] data) {
+				events.add("send " + data[0]);
+			}
+
+			@Override
+			public void receive(byte[] data) {
+				events.add("receive " + data[0]);
+			}
+		};
+
+		try (BinaryCaptureReader reader = new BinaryCaptureReader(file)) {
+			assertEquals(4, reader.replay(listener));
+		}
+		assertEquals("[connected, send 1, receive 2, disConnected]", events.toString());
+	}
+
+}
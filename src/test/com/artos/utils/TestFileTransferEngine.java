@@ -0,0 +1,467 @@
+package test.com.artos.utils;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.logging.log4j.core.LoggerContext;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import com.artos.framework.FWStaticStore;
+import com.artos.framework.infra.LogWrapper;
+import com.artos.framework.infra.TestContext;
+import com.artos.framework.parser.FrameworkConfigParser;
+import com.artos.utils.FileTransferEngine;
+import com.artos.utils.FileTransferResult;
+import com.artos.utils.HexEncoder;
+import com.artos.utils.SCP.SCPTransferDirection;
+import com.artos.utils.SSHEndpoint;
+import com.artos.utils.SSHSessionPool;
+import com.jcraft.jsch.Channel;
+import com.jcraft.jsch.ChannelExec;
+import com.jcraft.jsch.ChannelSftp;
+import com.jcraft.jsch.JSch;
+import com.jcraft.jsch.JSchException;
+import com.jcraft.jsch.Session;
+import com.jcraft.jsch.SftpATTRS;
+import com.jcraft.jsch.SftpException;
+import com.jcraft.jsch.SftpProgressMonitor;
+
+public class TestFileTransferEngine {
+
+	private static final SSHEndpoint ENDPOINT = new SSHEndpoint("127.0.0.1", "root", "1234", 22);
+	private static final int FILE_SIZE = 1024 * 1024 + 123;
+	private static final int PARTIAL_SIZE = 300 * 1024;
+
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+
+	private FrameworkConfigParser previousConfig;
+	private FakePool pool;
+	private FileTransferEngine engine;
+	private File remoteDir;
+	private File localDir;
+	private File remoteFile;
+	private byte[] content;
+
+	/**
+	 * Context which logs through default log4j configuration, no log files are created
+	 */
+	private static class LocalContext extends TestContext {
+		LocalContext() {
+			setOrganisedLogger(new LogWrapper(new LoggerContext("transfer"), 0));
+		}
+	}
+
+	/**
+	 * Pool whose "remote" side is the local file system. Remote paths are local absolute paths, sha256sum is calculated locally unless checksum is
+	 * made unavailable, download stream can be made to fail after given number of bytes.
+	 */
+	private static class FakePool extends SSHSessionPool {
+		volatile boolean checksumAvailable = true;
+		volatile long failGetAfterBytes = -1;
+		final AtomicInteger getCount = new AtomicInteger();
+
+		FakePool() {
+			super(1, 4, 1);
+		}
+
+		@Override
+		protected Session openSession(SSHEndpoint endpoint) throws JSchException {
+			Session session = new JSch().getSession(endpoint.getUsername(), endpoint.getHostIP(), endpoint.getPortNumber());
+			try {
+				Field field = Session.class.getDeclaredField("isConnected");
+				field.setAccessible(true);
+				field.setBoolean(session, true);
+			} catch (ReflectiveOperationException e) {
+				throw new IllegalStateException(e);
+			}
+			return session;
+		}
+
+		@Override
+		protected Channel openChannel(Session session, String type) throws JSchException {
+			if ("sftp".equals(type)) {
+				return new FakeSftpChannel(this);
+			}
+			return new FakeExecChannel(this);
+		}
+	}
+
+	private static class FakeSftpChannel extends ChannelSftp {
+		final FakePool pool;
+
+		FakeSftpChannel(FakePool pool) {
+			this.pool = pool;
+		}
+
+		private static SftpException noSuchFile(String path) {
+			return new SftpException(ChannelSftp.SSH_FX_NO_SUCH_FILE, "No such file : " + path);
+		}
+
+		@Override
+		public void connect() {
+		}
+
+		@Override
+		public void disconnect() {
+		}
+
+		@Override
+		public SftpATTRS stat(String path) throws SftpException {
+			File f = new File(path);
+			if (!f.exists()) {
+				throw noSuchFile(path);
+			}
+			try {
+				Constructor<SftpATTRS> constructor = SftpATTRS.class.getDeclaredConstructor();
+				constructor.setAccessible(true);
+				SftpATTRS attrs = constructor.newInstance();
+				attrs.setSIZE(f.length());
+				attrs.setPERMISSIONS(0644);
+				// Setter keeps permission bits only, file type is set directly
+				Field permissions = SftpATTRS.class.getDeclaredField("permissions");
+				permissions.setAccessible(true);
+				permissions.setInt(attrs, (f.isDirectory() ? 040000 : 0100000) | 0644);
+				attrs.setACMODTIME((int) (f.lastModified() / 1000), (int) (f.lastModified() / 1000));
+				return attrs;
+			} catch (ReflectiveOperationException e) {
+				throw new IllegalStateException(e);
+			}
+		}
+
+		@Override
+		public InputStream get(String path) throws SftpException {
+			try {
+				return new FileInputStream(path);
+			} catch (IOException e) {
+				throw noSuchFile(path);
+			}
+		}
+
+		@Override
+		public InputStream get(String path, SftpProgressMonitor monitor, long skip) throws SftpException {
+			InputStream in = get(path);
+			try {
+				in.skip(skip);
+			} catch (IOException e) {
+				throw new SftpException(ChannelSftp.SSH_FX_FAILURE, e.getMessage());
+			}
+			if (pool.getCount.getAndIncrement() > 0 || pool.failGetAfterBytes < 0) {
+				return in;
+			}
+			// First download is interrupted, like a connection which dropped
+			return new FilterInputStream(in) {
+				long remaining = pool.failGetAfterBytes;
+
+				@Override
+				public int read(byte[] b, int off, int len) throws IOException {
+					if (remaining <= 0) {
+						throw new IOException("connection lost");
+					}
+					int count = super.read(b, off, (int) Math.min(len, remaining));
+					remaining -= Math.max(count, 0);
+					return count;
+				}
+			};
+		}
+
+		@Override
+		public void put(InputStream src, String dst, int mode) throws SftpException {
+			try {
+				Files.copy(src, new File(dst).toPath(), StandardCopyOption.REPLACE_EXISTING);
+			} catch (IOException e) {
+				throw new SftpException(ChannelSftp.SSH_FX_FAILURE, e.getMessage());
+			}
+		}
+
+		@Override
+		public OutputStream put(String dst, SftpProgressMonitor monitor, int mode, long offset) throws SftpException {
+			try {
+				return new FileOutputStream(dst, ChannelSftp.APPEND == mode);
+			} catch (IOException e) {
+				throw noSuchFile(dst);
+			}
+		}
+
+		@Override
+		public void rm(String path) throws SftpException {
+			if (!new File(path).delete()) {
+				throw noSuchFile(path);
+			}
+		}
+
+		@Override
+		public void rename(String oldPath, String newPath) throws SftpException {
+			if (!new File(oldPath).renameTo(new File(newPath))) {
+				throw noSuchFile(oldPath);
+			}
+		}
+	}
+
+	/**
+	 * Exec channel which only understands {@code sha256sum 'path'}
+	 */
+	private static class FakeExecChannel extends ChannelExec {
+		final FakePool pool;
+		String command;
+		OutputStream out;
+		OutputStream err;
+		int exitStatus;
+
+		FakeExecChannel(FakePool pool) {
+			this.pool = pool;
+		}
+
+		@Override
+		public void setCommand(String command) {
+			this.command = command;
+		}
+
+		@Override
+		public void setOutputStream(OutputStream out) {
+			this.out = out;
+		}
+
+		@Override
+		public void setErrStream(OutputStream err) {
+			this.err = err;
+		}
+
+		@Override
+		public void connect() throws JSchException {
+			String path = command.substring("sha256sum '".length(), command.length() - 1);
+			try {
+				if (!pool.checksumAvailable) {
+					err.write("sha256sum: command not found".getBytes(StandardCharsets.UTF_8));
+					exitStatus = 127;
+				} else {
+					out.write((sha256(Files.readAllBytes(new File(path).toPath())) + "  " + path + "\n").getBytes(StandardCharsets.UTF_8));
+					exitStatus = 0;
+				}
+			} catch (IOException e) {
+				exitStatus = 1;
+			}
+		}
+
+		@Override
+		public boolean isClosed() {
+			return true;
+		}
+
+		@Override
+		public int getExitStatus() {
+			return exitStatus;
+		}
+
+		@Override
+		public void disconnect() {
+		}
+	}
+
+	private static String sha256(byte[] data) {
+		try {
+			return HexEncoder.toHexString(MessageDigest.getInstance("SHA-256").digest(data));
+		} catch (Exception e) {
+			throw new IllegalStateException(e);
+		}
+	}
+
+	@Before
+	public void createEngine() throws IOException {
+		previousConfig = FWStaticStore.frameworkConfig;
+		FrameworkConfigParser config = new FrameworkConfigParser(false, null);
+		config.setEnableExtentReport(false);
+		config.setEnableStreamReport(false);
+		config.setEnableTextLog(false);
+		config.setEnableHTMLLog(false);
+		FWStaticStore.frameworkConfig = config;
+
+		pool = new FakePool();
+		engine = new FileTransferEngine(new LocalContext(), pool, 1);
+		remoteDir = folder.newFolder("remote");
+		localDir = folder.newFolder("local");
+		content = new byte[FILE_SIZE];
+		new Random(3).nextBytes(content);
+		remoteFile = new File(remoteDir, "image.bin");
+		Files.write(remoteFile.toPath(), content);
+	}
+
+	@After
+	public void closeEngine() {
+		engine.close();
+		pool.close();
+		FWStaticStore.frameworkConfig = previousConfig;
+	}
+
+	/**
+	 * Leaves .part and .part.info files like an earlier run which stopped after writing partial content
+	 */
+	private static void writePartial(File destFile, byte[] partial, long sourceSize, long sourceLastModified) throws IOException {
+		Files.write(new File(destFile.getPath() + ".part").toPath(), partial);
+		String partInfo = sourceSize + "\t" + sourceLastModified;
+		Files.write(new File(destFile.getPath() + ".part.info").toPath(), partInfo.getBytes(StandardCharsets.UTF_8));
+	}
+
+	/** SFTP reports modification time in seconds */
+	private long remoteMTime() {
+		return remoteFile.lastModified() / 1000 * 1000;
+	}
+
+	private static void assertTransferred(File destFile, byte[] expected) throws IOException {
+		assertArrayEquals(expected, Files.readAllBytes(destFile.toPath()));
+		assertFalse(new File(destFile.getPath() + ".part").exists());
+		assertFalse(new File(destFile.getPath() + ".part.info").exists());
+	}
+
+	@Test
+	public void testDownloadResumesEarlierRun() throws Exception {
+		File destFile = new File(localDir, "image.bin");
+		writePartial(destFile, Arrays.copyOf(content, PARTIAL_SIZE), FILE_SIZE, remoteMTime());
+
+		FileTransferResult result = engine.transfer(ENDPOINT, SCPTransferDirection.COPY_TO_LOCAL, remoteFile.getPath(), localDir.getPath());
+
+		assertTransferred(destFile, content);
+		assertEquals(destFile.getPath(), result.getDestFilePath());
+		assertEquals(FILE_SIZE, result.getFileSize());
+		assertEquals(PARTIAL_SIZE, result.getResumedBytes());
+		assertEquals(FILE_SIZE - PARTIAL_SIZE, result.getTransferredBytes());
+		assertEquals(1, result.getAttemptCount());
+		assertTrue(result.isChecksumVerified());
+		assertEquals(sha256(content), result.getChecksum());
+	}
+
+	@Test
+	public void testUploadResumesEarlierRun() throws Exception {
+		File srcFile = new File(localDir, "upload.bin");
+		Files.write(srcFile.toPath(), content);
+		File destFile = new File(remoteDir, "upload.bin");
+		// Local source modification time is used as it is
+		writePartial(destFile, Arrays.copyOf(content, PARTIAL_SIZE), FILE_SIZE, srcFile.lastModified());
+
+		FileTransferResult result = engine.transfer(ENDPOINT, SCPTransferDirection.COPY_TO_REMOTE, srcFile.getPath(), remoteDir.getPath());
+
+		assertTransferred(destFile, content);
+		assertEquals(PARTIAL_SIZE, result.getResumedBytes());
+		assertEquals(FILE_SIZE - PARTIAL_SIZE, result.getTransferredBytes());
+		assertTrue(result.isChecksumVerified());
+	}
+
+	@Test
+	public void testMismatchedPartialIsNotResumed() throws Exception {
+		File destFile = new File(localDir, "image.bin");
+		// Source changed since partial file was written
+		byte[] stale = new byte[PARTIAL_SIZE];
+		Arrays.fill(stale, (byte) 0x55);
+		writePartial(destFile, stale, FILE_SIZE, remoteMTime() - 5000);
+
+		FileTransferResult result = engine.transfer(ENDPOINT, SCPTransferDirection.COPY_TO_LOCAL, remoteFile.getPath(), localDir.getPath());
+
+		assertTransferred(destFile, content);
+		assertEquals(0, result.getResumedBytes());
+		assertEquals(FILE_SIZE, result.getTransferredBytes());
+		assertEquals(1, result.getAttemptCount());
+		assertTrue(result.isChecksumVerified());
+	}
+
+	@Test
+	public void testUnverifiedResumeRestarts() throws Exception {
+		pool.checksumAvailable = false;
+		File destFile = new File(localDir, "image.bin");
+		// Part info matches but content does not, without remote checksum resumed bytes can not be trusted
+		byte[] corrupt = Arrays.copyOf(content, PARTIAL_SIZE);
+		corrupt[10] ^= 0x01;
+		writePartial(destFile, corrupt, FILE_SIZE, remoteMTime());
+
+		FileTransferResult result = engine.transfer(ENDPOINT, SCPTransferDirection.COPY_TO_LOCAL, remoteFile.getPath(), localDir.getPath());
+
+		assertTransferred(destFile, content);
+		assertFalse(result.isChecksumVerified());
+		assertEquals(0, result.getResumedBytes());
+		// Restart fallback does not count as failed attempt
+		assertEquals(1, result.getAttemptCount());
+		assertEquals(FILE_SIZE - PARTIAL_SIZE + FILE_SIZE, result.getTransferredBytes());
+		assertEquals(sha256(content), result.getChecksum());
+	}
+
+	@Test
+	public void testInterruptedTransferResumes() throws Exception {
+		pool.failGetAfterBytes = PARTIAL_SIZE;
+		File destFile = new File(localDir, "image.bin");
+
+		FileTransferResult result = engine.transfer(ENDPOINT, SCPTransferDirection.COPY_TO_LOCAL, remoteFile.getPath(), localDir.getPath());
+
+		assertTransferred(destFile, content);
+		assertEquals(2, result.getAttemptCount());
+		// Bytes of the failed attempt of this run are counted as transferred, not resumed
+		assertEquals(0, result.getResumedBytes());
+		assertEquals(FILE_SIZE, result.getTransferredBytes());
+		assertTrue(result.isChecksumVerified());
+	}
+
+	@Test
+	public void testInterruptedTransferWithoutRetryKeepsPartial() throws Exception {
+		pool.failGetAfterBytes = PARTIAL_SIZE;
+		engine.setMaxRetries(0);
+		File destFile = new File(localDir, "image.bin");
+		try {
+			engine.transfer(ENDPOINT, SCPTransferDirection.COPY_TO_LOCAL, remoteFile.getPath(), localDir.getPath());
+			fail("Interrupted transfer must fail without retry");
+		} catch (IOException e) {
+			assertEquals("connection lost", e.getMessage());
+		}
+		// Partial file is kept for a later run
+		assertFalse(destFile.exists());
+		assertArrayEquals(Arrays.copyOf(content, PARTIAL_SIZE), Files.readAllBytes(new File(destFile.getPath() + ".part").toPath()));
+
+		FileTransferResult result = engine.transfer(ENDPOINT, SCPTransferDirection.COPY_TO_LOCAL, remoteFile.getPath(), localDir.getPath());
+		assertTransferred(destFile, content);
+		assertEquals(PARTIAL_SIZE, result.getResumedBytes());
+	}
+
+	@Test
+	public void testMissingSource() throws Exception {
+		try {
+			engine.transfer(ENDPOINT, SCPTransferDirection.COPY_TO_LOCAL, new File(remoteDir, "missing.bin").getPath(), localDir.getPath());
+			fail("Missing source must be reported");
+		} catch (IOException e) {
+			assertTrue(e.getMessage().startsWith("File not found"));
+		}
+	}
+
+	@Test
+	public void testUnknownPartInfoIsNotResumed() throws Exception {
+		// Partial file whose source can not be identified is transferred again
+		File destFile = new File(localDir, "image.bin");
+		Files.write(new File(destFile.getPath() + ".part").toPath(), Arrays.copyOf(content, PARTIAL_SIZE));
+		Files.copy(new ByteArrayInputStream(new byte[] { 0 }), new File(destFile.getPath() + ".part.info").toPath());
+
+		FileTransferResult result = engine.transfer(ENDPOINT, SCPTransferDirection.COPY_TO_LOCAL, remoteFile.getPath(), localDir.getPath());
+		assertTransferred(destFile, content);
+		assertEquals(0, result.getResumedBytes());
+	}
+}
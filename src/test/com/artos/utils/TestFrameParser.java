@@ -0,0 +1,124 @@
+package test.com.artos.utils;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Test;
+
+import com.artos.interfaces.ConnectableBufferParser;
+import com.artos.interfaces.ConnectableMessageParser;
+import com.artos.utils.DelimiterFrameParser;
+import com.artos.utils.LengthPrefixFrameParser;
+import com.artos.utils.MessageParserAdapter;
+
+public class TestFrameParser {
+
+	private byte[] toByteArray(ByteBuffer frame) {
+		byte[] data = new byte[frame.remaining()];
+		frame.get(data);
+		return data;
+	}
+
+	@Test
+	public void testLengthPrefixBigEndian() {
+		ConnectableBufferParser parser = new LengthPrefixFrameParser(2, ByteOrder.BIG_ENDIAN);
+		ByteBuffer buffer = ByteBuffer.wrap(new byte[] { 0, 2, 10, 11, 0, 1, 12, 0, 3, 13 });
+
+		assertArrayEquals(new byte[] { 0, 2, 10, 11 }, toByteArray(parser.nextFrame(buffer)));
+		assertArrayEquals(new byte[] { 0, 1, 12 }, toByteArray(parser.nextFrame(buffer)));
+		// incomplete frame must not be consumed
+		assertNull(parser.nextFrame(buffer));
+		assertEquals(7, buffer.position());
+	}
+
+	@Test
+	public void testLengthPrefixOffsetAndAdjustment() {
+		// 1 byte type, 2 byte little endian length which includes complete message
+		ConnectableBufferParser parser = new LengthPrefixFrameParser(1, 2, ByteOrder.LITTLE_ENDIAN, -3);
+		ByteBuffer buffer = ByteBuffer.wrap(new byte[] { 7, 5, 0, 1, 2, 8 });
+
+		assertArrayEquals(new byte[] { 7, 5, 0, 1, 2 }, toByteArray(parser.nextFrame(buffer)));
+		assertNull(parser.nextFrame(buffer));
+		assertEquals(5, buffer.position());
+	}
+
+	@Test(expected = IllegalStateException.class)
+	public void testLengthPrefixMaxFrameLength() {
+		LengthPrefixFrameParser parser = new LengthPrefixFrameParser(4, ByteOrder.BIG_ENDIAN);
+		parser.setMaxFrameLength(100);
+		parser.nextFrame(ByteBuffer.wrap(new byte[] { 0, 0, 1, 0, 1 }));
+	}
+
+	@Test
+	public void testDelimiter() {
+		ConnectableBufferParser parser = new DelimiterFrameParser("\r\n".getBytes());
+		ByteBuffer buffer = ByteBuffer.wrap("abc\r\n\r\nde\r".getBytes());
+
+		assertArrayEquals("abc".getBytes(), toByteArray(parser.nextFrame(buffer)));
+		assertArrayEquals(new byte[0], toByteArray(parser.nextFrame(buffer)));
+		assertNull(parser.nextFrame(buffer));
+		assertEquals(7, buffer.position());
+	}
+
+	@Test
+	public void testDelimiterKept() {
+		ConnectableBufferParser parser = new DelimiterFrameParser(new byte[] { 0x7E }, false);
+		ByteBuffer buffer = ByteBuffer.wrap(new byte[] { 1, 2, 0x7E, 3 });
+
+		assertArrayEquals(new byte[] { 1, 2, 0x7E }, toByteArray(parser.nextFrame(buffer)));
+		assertNull(parser.nextFrame(buffer));
+	}
+
+	@Test
+	public void testMessageParserAdapter() {
+		// byte array parser which separates messages using 0 as terminator
+		ConnectableMessageParser msgParser = new ConnectableMessageParser() {
+			byte[] leftOverBytes;
+
+			@Override
+			public List<byte[]> parse(byte[] data) {
+				List<byte[]> msgList = new ArrayList<>();
+				int start = 0;
+				for (int i = 0; i < data.length; i++) {
+					if (data[i] == 0) {
+						msgList.add(Arrays.copyOfRange(data, start, i));
+						start = i + 1;
+					}
+				}
+				leftOverBytes = Arrays.copyOfRange(data, start, data.length);
+				return msgList;
+			}
+
+			@Override
+			public byte[] getLeftOverBytes() {
+				return leftOverBytes;
+			}
+		};
+
+		ConnectableBufferParser parser = new MessageParserAdapter(msgParser);
+		ByteBuffer buffer = ByteBuffer.allocate(16);
+		buffer.put(new byte[] { 1, 0, 2, 0, 3 });
+		buffer.flip();
+
+		assertArrayEquals(new byte[] { 1 }, toByteArray(parser.nextFrame(buffer)));
+		assertArrayEquals(new byte[] { 2 }, toByteArray(parser.nextFrame(buffer)));
+		assertNull(parser.nextFrame(buffer));
+		// left over bytes stay in the buffer
+		assertEquals(1, buffer.remaining());
+
+		// more data arrives
+		buffer.compact();
+		buffer.put(new byte[] { 4, 0 });
+		buffer.flip();
+		assertArrayEquals(new byte[] { 3, 4 }, toByteArray(parser.nextFrame(buffer)));
+		assertNull(parser.nextFrame(buffer));
+	}
+
+}
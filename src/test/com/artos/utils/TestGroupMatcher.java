@@ -0,0 +1,47 @@
+package test.com.artos.utils;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+
+import org.junit.Test;
+
+import com.artos.framework.infra.GroupMatcher;
+
+public class TestGroupMatcher {
+
+	@Test
+	public void testLiteralAndRegex() {
+		GroupMatcher matcher = new GroupMatcher(Arrays.asList("SMOKE", "REG.*"));
+		assertTrue(matcher.matches(Arrays.asList("*", "SMOKE")));
+		assertTrue(matcher.matches(Arrays.asList("*", "REGRESSION")));
+		assertFalse(matcher.matches(Arrays.asList("*", "SLOW")));
+
+		// "*" is not a valid regular expression but must still match literally
+		matcher = new GroupMatcher(Arrays.asList("*"));
+		assertTrue(matcher.matches(Arrays.asList("*", "SLOW")));
+	}
+
+	@Test
+	public void testIncludeExcludeExpression() {
+		GroupMatcher matcher = new GroupMatcher(Arrays.asList("SMOKE & !SLOW", "NIGHTLY", "!FLAKY"));
+		assertTrue(matcher.matches(Arrays.asList("*", "SMOKE")));
+		assertFalse(matcher.matches(Arrays.asList("*", "SMOKE", "SLOW")));
+		assertTrue(matcher.matches(Arrays.asList("*", "NIGHTLY", "SLOW")));
+		assertFalse(matcher.matches(Arrays.asList("*", "NIGHTLY", "FLAKY")));
+
+		// Only exclusions, everything else is selected
+		matcher = new GroupMatcher(Arrays.asList("!FLAKY"));
+		assertTrue(matcher.matches(Arrays.asList("*")));
+		assertFalse(matcher.matches(Arrays.asList("*", "FLAKY")));
+	}
+
+	@Test
+	public void testNullAndEmpty() {
+		assertFalse(new GroupMatcher(null).matches(Arrays.asList("*")));
+		assertFalse(new GroupMatcher(Arrays.asList()).matches(Arrays.asList("*")));
+		assertFalse(new GroupMatcher(Arrays.asList("*")).matches(null));
+	}
+
+}
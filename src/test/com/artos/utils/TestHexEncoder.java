@@ -0,0 +1,43 @@
+package test.com.artos.utils;
+
+import static org.junit.Assert.assertEquals;
+
+import org.junit.Test;
+
+import com.artos.utils.HexEncoder;
+
+public class TestHexEncoder {
+
+	@Test
+	public void testAllByteValues() {
+		byte[] data = new byte[256];
+		StringBuilder expected = new StringBuilder();
+		for (int i = 0; i < data.length; i++) {
+			data[i] = (byte) i;
+			expected.append(String.format("%02X", i));
+		}
+		assertEquals(expected.toString(), HexEncoder.toHexString(data));
+	}
+
+	@Test
+	public void testEncodeIntoArray() {
+		char[] dest = new char[6];
+		dest[0] = '[';
+		dest[5] = ']';
+		int written = HexEncoder.encode(new byte[] { 0x00, 0x7F, (byte) 0x80, 0x01 }, 1, 2, dest, 1);
+		assertEquals(4, written);
+		assertEquals("[7F80]", new String(dest));
+	}
+
+	@Test
+	public void testAppendWithSeparator() {
+		StringBuilder sb = new StringBuilder("Res: ");
+		HexEncoder.appendHex(sb, new byte[] { 0x01, 0x02, (byte) 0xFF }, 0, 3, ' ');
+		assertEquals("Res: 01 02 FF", sb.toString());
+
+		// empty data leaves builder untouched
+		HexEncoder.appendHex(sb, new byte[0]);
+		assertEquals("Res: 01 02 FF", sb.toString());
+	}
+
+}
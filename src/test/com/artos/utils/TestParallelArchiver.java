@@ -0,0 +1,125 @@
+package test.com.artos.utils;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+
+import org.apache.commons.compress.archivers.tar.TarArchiveEntry;
+import org.apache.commons.compress.archivers.tar.TarArchiveInputStream;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import com.artos.utils.ParallelArchiver;
+
+public class TestParallelArchiver {
+
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+
+	private File createReportDir() throws IOException {
+		File reportDir = folder.newFolder("reporting");
+		new File(reportDir, "suite").mkdirs();
+		Files.write(new File(reportDir, "summary.txt").toPath(), "PASS:10 FAIL:0".getBytes());
+		// larger than one gzip block, random so it does not compress
+		byte[] large = new byte[3 * 1024 * 1024 + 17];
+		new Random(1).nextBytes(large);
+		Files.write(new File(reportDir, "suite/capture.bin").toPath(), large);
+		return reportDir;
+	}
+
+	private byte[] readAll(InputStream in) throws IOException {
+		ByteArrayOutputStream bos = new ByteArrayOutputStream();
+		byte[] buffer = new byte[8192];
+		int count;
+		while ((count = in.read(buffer)) != -1) {
+			bos.write(buffer, 0, count);
+		}
+		return bos.toByteArray();
+	}
+
+	private Map<String, byte[]> readTgz(File tgz) throws IOException {
+		Map<String, byte[]> content = new HashMap<>();
+		try (TarArchiveInputStream tarIn = new TarArchiveInputStream(new GZIPInputStream(Files.newInputStream(tgz.toPath())))) {
+			TarArchiveEntry entry;
+			while ((entry = tarIn.getNextTarEntry()) != null) {
+				content.put(entry.getName(), readAll(tarIn));
+			}
+		}
+		return content;
+	}
+
+	@Test
+	public void testZip() throws IOException {
+		File reportDir = createReportDir();
+		File zip = new File(folder.getRoot(), "reporting.zip");
+
+		assertEquals(2, new ParallelArchiver(4).zip(Collections.singletonList(reportDir), zip));
+		try (ZipFile zipFile = new ZipFile(zip)) {
+			Map<String, byte[]> content = new HashMap<>();
+			Enumeration<? extends ZipEntry> entries = zipFile.entries();
+			while (entries.hasMoreElements()) {
+				ZipEntry entry = entries.nextElement();
+				content.put(entry.getName(), readAll(zipFile.getInputStream(entry)));
+			}
+			assertEquals(2, content.size());
+			assertArrayEquals("PASS:10 FAIL:0".getBytes(), content.get("reporting/summary.txt"));
+			assertArrayEquals(Files.readAllBytes(new File(reportDir, "suite/capture.bin").toPath()), content.get("reporting/suite/capture.bin"));
+		}
+	}
+
+	@Test
+	public void testTarGZMultipleBlocks() throws IOException {
+		File reportDir = createReportDir();
+		File tgz = new File(folder.getRoot(), "reporting.tgz");
+
+		assertEquals(2, new ParallelArchiver(4).tarGZ(Arrays.asList(reportDir), tgz));
+		Map<String, byte[]> content = readTgz(tgz);
+		assertEquals(2, content.size());
+		assertArrayEquals("PASS:10 FAIL:0".getBytes(), content.get("reporting/summary.txt"));
+		assertArrayEquals(Files.readAllBytes(new File(reportDir, "suite/capture.bin").toPath()), content.get("reporting/suite/capture.bin"));
+	}
+
+	@Test
+	public void testIncremental() throws IOException {
+		File reportDir = createReportDir();
+		File index = new File(folder.getRoot(), "reporting.index");
+		ParallelArchiver archiver = new ParallelArchiver(2);
+
+		assertEquals(2, archiver.tarGZ(Arrays.asList(reportDir), new File(folder.getRoot(), "run1.tgz"), index));
+
+		// new log file and changed summary
+		Files.write(new File(reportDir, "suite/run2.log").toPath(), "log".getBytes());
+		File summary = new File(reportDir, "summary.txt");
+		Files.write(summary.toPath(), "PASS:11 FAIL:0".getBytes());
+		summary.setLastModified(summary.lastModified() + 2000);
+
+		File run2 = new File(folder.getRoot(), "run2.tgz");
+		assertEquals(2, archiver.tarGZ(Arrays.asList(reportDir), run2, index));
+		Map<String, byte[]> content = readTgz(run2);
+		assertEquals(2, content.size());
+		assertArrayEquals("PASS:11 FAIL:0".getBytes(), content.get("reporting/summary.txt"));
+		assertArrayEquals("log".getBytes(), content.get("reporting/suite/run2.log"));
+
+		// nothing changed, archive is not created
+		File run3 = new File(folder.getRoot(), "run3.zip");
+		assertEquals(0, archiver.zip(Arrays.asList(reportDir), run3, index));
+		assertFalse(run3.exists());
+	}
+
+}
@@ -0,0 +1,109 @@
+package test.com.artos.utils;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+
+import com.artos.framework.Enums.QueueOverflowPolicy;
+import com.artos.utils.ReceiveQueue;
+
+public class TestReceiveQueue {
+
+	@Test
+	public void testOrderAcrossGrowth() throws InterruptedException {
+		ReceiveQueue queue = new ReceiveQueue(100, QueueOverflowPolicy.BLOCK);
+		for (int i = 0; i < 50; i++) {
+			queue.put(new byte[] { (byte) i });
+		}
+		// poll half so ring buffer wraps while growing
+		for (int i = 0; i < 25; i++) {
+			assertArrayEquals(new byte[] { (byte) i }, queue.poll());
+		}
+		for (int i = 50; i < 100; i++) {
+			queue.put(new byte[] { (byte) i });
+		}
+		assertEquals(75, queue.size());
+		for (int i = 25; i < 100; i++) {
+			assertArrayEquals(new byte[] { (byte) i }, queue.poll());
+		}
+		assertNull(queue.poll());
+		assertEquals(100, queue.getReceivedCount());
+		assertEquals(100, queue.getDeliveredCount());
+		assertEquals(75, queue.getMaxDepth());
+	}
+
+	@Test
+	public void testDropNewest() throws InterruptedException {
+		ReceiveQueue queue = new ReceiveQueue(2, QueueOverflowPolicy.DROP_NEWEST);
+		queue.put(new byte[] { 1 });
+		queue.put(new byte[] { 2 });
+		queue.put(new byte[] { 3 });
+		assertFalse(queue.offer(new byte[] { 4 }));
+		assertEquals(2, queue.getDroppedCount());
+		assertArrayEquals(new byte[] { 1 }, queue.poll());
+		assertArrayEquals(new byte[] { 2 }, queue.poll());
+	}
+
+	@Test
+	public void testDropOldest() throws InterruptedException {
+		ReceiveQueue queue = new ReceiveQueue(2, QueueOverflowPolicy.DROP_OLDEST);
+		queue.put(new byte[] { 1 });
+		queue.put(new byte[] { 2 });
+		queue.put(new byte[] { 3 });
+		assertTrue(queue.offer(new byte[] { 4 }));
+		assertEquals(2, queue.getDroppedCount());
+		assertArrayEquals(new byte[] { 3 }, queue.poll());
+		assertArrayEquals(new byte[] { 4 }, queue.poll());
+		assertEquals(2, queue.getDeliveredCount());
+	}
+
+	@Test
+	public void testPollWakesOnArrival() throws InterruptedException {
+		final ReceiveQueue queue = new ReceiveQueue();
+		Thread producer = new Thread(new Runnable() {
+			@Override
+			public void run() {
+				try {
+					Thread.sleep(50);
+					queue.put(new byte[] { 1 });
+				} catch (InterruptedException e) {
+					e.printStackTrace();
+				}
+			}
+		});
+		producer.start();
+		assertArrayEquals(new byte[] { 1 }, queue.poll(5, TimeUnit.SECONDS));
+		producer.join();
+
+		// timeout
+		assertNull(queue.poll(10, TimeUnit.MILLISECONDS));
+	}
+
+	@Test
+	public void testBlockPolicyWaitsForSpace() throws InterruptedException {
+		final ReceiveQueue queue = new ReceiveQueue(1, QueueOverflowPolicy.BLOCK);
+		queue.put(new byte[] { 1 });
+		Thread producer = new Thread(new Runnable() {
+			@Override
+			public void run() {
+				try {
+					queue.put(new byte[] { 2 });
+				} catch (InterruptedException e) {
+					e.printStackTrace();
+				}
+			}
+		});
+		producer.start();
+		assertArrayEquals(new byte[] { 1 }, queue.poll(5, TimeUnit.SECONDS));
+		assertArrayEquals(new byte[] { 2 }, queue.poll(5, TimeUnit.SECONDS));
+		producer.join();
+		assertEquals(0, queue.getDroppedCount());
+	}
+
+}
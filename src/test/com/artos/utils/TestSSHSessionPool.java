@@ -0,0 +1,258 @@
+package test.com.artos.utils;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.reflect.Field;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.After;
+import org.junit.Test;
+
+import com.artos.utils.SSHCommandResult;
+import com.artos.utils.SSHEndpoint;
+import com.artos.utils.SSHSessionPool;
+import com.jcraft.jsch.Channel;
+import com.jcraft.jsch.ChannelExec;
+import com.jcraft.jsch.JSch;
+import com.jcraft.jsch.JSchException;
+import com.jcraft.jsch.Session;
+
+public class TestSSHSessionPool {
+
+	private static final SSHEndpoint ENDPOINT = new SSHEndpoint("127.0.0.1", "root", "1234", 22);
+
+	private FakePool pool;
+
+	@After
+	public void closePool() {
+		if (null != pool) {
+			pool.release.countDown();
+			pool.close();
+		}
+	}
+
+	/**
+	 * Session is not really connected, its connected flag is set so pool treats it as connected
+	 */
+	private static void setConnected(Session session, boolean connected) {
+		try {
+			Field field = Session.class.getDeclaredField("isConnected");
+			field.setAccessible(true);
+			field.setBoolean(session, connected);
+		} catch (ReflectiveOperationException e) {
+			throw new IllegalStateException(e);
+		}
+	}
+
+	/**
+	 * Pool which hands out fake sessions and exec channels. Commands starting with "block" wait for release latch, commands starting with "hang"
+	 * keep writing output and never finish.
+	 */
+	private static class FakePool extends SSHSessionPool {
+		final List<Session> openedList = new ArrayList<>();
+		final Map<Session, AtomicInteger> activeMap = new ConcurrentHashMap<>();
+		final Map<Session, Integer> maxActiveMap = new ConcurrentHashMap<>();
+		final Map<String, Session> commandSessionMap = new ConcurrentHashMap<>();
+		final AtomicInteger connectedChannels = new AtomicInteger();
+		final CountDownLatch release = new CountDownLatch(1);
+
+		FakePool(int maxSessionsPerHost, int maxChannelsPerSession, int threadCount) {
+			super(maxSessionsPerHost, maxChannelsPerSession, threadCount);
+		}
+
+		@Override
+		protected Session openSession(SSHEndpoint endpoint) throws JSchException {
+			Session session = new JSch().getSession(endpoint.getUsername(), endpoint.getHostIP(), endpoint.getPortNumber());
+			setConnected(session, true);
+			synchronized (openedList) {
+				openedList.add(session);
+			}
+			activeMap.put(session, new AtomicInteger());
+			return session;
+		}
+
+		@Override
+		protected Channel openChannel(Session session, String type) throws JSchException {
+			assertEquals("exec", type);
+			return new FakeExecChannel(this, session);
+		}
+
+		int getOpenedCount() {
+			synchronized (openedList) {
+				return openedList.size();
+			}
+		}
+	}
+
+	private static class FakeExecChannel extends ChannelExec {
+		final FakePool pool;
+		final Session session;
+		volatile String command;
+		volatile OutputStream out;
+		volatile boolean closed = false;
+
+		FakeExecChannel(FakePool pool, Session session) {
+			this.pool = pool;
+			this.session = session;
+		}
+
+		@Override
+		public void setCommand(String command) {
+			this.command = command;
+		}
+
+		@Override
+		public void setOutputStream(OutputStream out) {
+			this.out = out;
+		}
+
+		@Override
+		public void setErrStream(OutputStream err) {
+		}
+
+		@Override
+		public void connect() throws JSchException {
+			pool.commandSessionMap.put(command, session);
+			int active = pool.activeMap.get(session).incrementAndGet();
+			pool.maxActiveMap.merge(session, active, Math::max);
+			pool.connectedChannels.incrementAndGet();
+
+			Thread thread = new Thread(() -> {
+				try {
+					out.write(("out:" + command).getBytes(StandardCharsets.UTF_8));
+					if (command.startsWith("block")) {
+						pool.release.await();
+					}
+					while (command.startsWith("hang") && !closed) {
+						out.write("....".getBytes(StandardCharsets.UTF_8));
+						Thread.sleep(1);
+					}
+				} catch (IOException | InterruptedException e) {
+					// test is over
+				}
+				if (!command.startsWith("hang")) {
+					finish();
+				}
+			});
+			thread.setDaemon(true);
+			thread.start();
+		}
+
+		private synchronized void finish() {
+			if (!closed) {
+				closed = true;
+				pool.activeMap.get(session).decrementAndGet();
+			}
+		}
+
+		@Override
+		public boolean isClosed() {
+			return closed;
+		}
+
+		@Override
+		public int getExitStatus() {
+			return 0;
+		}
+
+		@Override
+		public void disconnect() {
+			finish();
+			super.disconnect();
+		}
+	}
+
+	private static void awaitConnectedChannels(FakePool pool, int count) throws InterruptedException {
+		long deadline = System.currentTimeMillis() + 5000;
+		while (pool.connectedChannels.get() < count) {
+			assertTrue("channels not connected in time", System.currentTimeMillis() < deadline);
+			Thread.sleep(5);
+		}
+	}
+
+	@Test
+	public void testSessionReuse() throws Exception {
+		pool = new FakePool(2, 8, 4);
+		for (int i = 0; i < 3; i++) {
+			SSHCommandResult result = pool.execute(ENDPOINT, "cmd" + i, 5000);
+			assertTrue(result.isSuccess());
+			assertEquals("out:cmd" + i, result.getStdout());
+		}
+		assertEquals(1, pool.getOpenedCount());
+		assertEquals(1, pool.getSessionCount(ENDPOINT));
+	}
+
+	@Test
+	public void testChannelCap() throws Exception {
+		pool = new FakePool(2, 2, 8);
+		List<CompletableFuture<SSHCommandResult>> futureList = new ArrayList<>();
+		for (int i = 0; i < 4; i++) {
+			futureList.add(pool.executeAsync(ENDPOINT, "block" + i, 5000));
+		}
+		awaitConnectedChannels(pool, 4);
+
+		// Both sessions are full, so next command times out waiting for a channel
+		SSHCommandResult result = pool.execute(ENDPOINT, "late", 200);
+		assertTrue(result.isTimedOut());
+		assertEquals(-1, result.getExitStatus());
+		assertEquals(2, pool.getOpenedCount());
+
+		pool.release.countDown();
+		for (CompletableFuture<SSHCommandResult> future : futureList) {
+			assertTrue(future.get(5, TimeUnit.SECONDS).isSuccess());
+		}
+		for (Integer maxActive : pool.maxActiveMap.values()) {
+			assertEquals(2, maxActive.intValue());
+		}
+		assertEquals(2, pool.getSessionCount(ENDPOINT));
+	}
+
+	@Test
+	public void testDisconnectedSessionEviction() throws Exception {
+		pool = new FakePool(1, 8, 4);
+		CompletableFuture<SSHCommandResult> busy = pool.executeAsync(ENDPOINT, "block", 5000);
+		awaitConnectedChannels(pool, 1);
+		Session dropped = pool.commandSessionMap.get("block");
+		setConnected(dropped, false);
+
+		// Dropped session is not handed out and does not count against session limit while its channel is in use
+		assertTrue(pool.execute(ENDPOINT, "next", 5000).isSuccess());
+		Session replacement = pool.commandSessionMap.get("next");
+		assertNotSame(dropped, replacement);
+		assertEquals(2, pool.getSessionCount(ENDPOINT));
+
+		// Dropped session is removed once its last channel is released
+		pool.release.countDown();
+		busy.get(5, TimeUnit.SECONDS);
+		assertEquals(1, pool.getSessionCount(ENDPOINT));
+		assertTrue(pool.execute(ENDPOINT, "after", 5000).isSuccess());
+		assertSame(replacement, pool.commandSessionMap.get("after"));
+		assertEquals(2, pool.getOpenedCount());
+	}
+
+	@Test
+	public void testTimeoutCapturesPartialOutput() throws Exception {
+		pool = new FakePool(1, 1, 1);
+		// Channel keeps writing while result is decoded
+		SSHCommandResult result = pool.execute(ENDPOINT, "hang", 200);
+		assertTrue(result.isTimedOut());
+		assertFalse(result.isSuccess());
+		assertEquals(-1, result.getExitStatus());
+		assertTrue(result.getStdout().startsWith("out:hang"));
+		assertTrue(result.getStdout().substring("out:hang".length()).matches("\\.*"));
+	}
+}
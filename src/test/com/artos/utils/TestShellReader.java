@@ -0,0 +1,114 @@
+package test.com.artos.utils;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.PipedInputStream;
+import java.io.PipedOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.Test;
+
+import com.artos.utils.ShellReader;
+import com.artos.utils.StreamPatternMatcher;
+
+public class TestShellReader {
+
+	private static final ShellReader.ChannelState OPEN = () -> false;
+
+	@Test
+	public void testPatternSplitAcrossReads() throws IOException, InterruptedException {
+		PipedOutputStream out = new PipedOutputStream();
+		ShellReader reader = new ShellReader(new PipedInputStream(out), StandardCharsets.UTF_8, "TestShellReader");
+		out.write("user@host:~".getBytes(StandardCharsets.UTF_8));
+		out.flush();
+		Thread.sleep(50);
+		out.write("$ ".getBytes(StandardCharsets.UTF_8));
+		out.flush();
+
+		StringBuilder sb = new StringBuilder();
+		assertEquals(1, reader.readUntil(sb, new StreamPatternMatcher("# ", "~$ "), 5000, OPEN));
+		assertEquals("user@host:~$ ", sb.toString());
+		reader.close();
+	}
+
+	@Test
+	public void testMultiByteCharacterSplitAcrossReads() throws IOException, InterruptedException {
+		PipedOutputStream out = new PipedOutputStream();
+		ShellReader reader = new ShellReader(new PipedInputStream(out), StandardCharsets.UTF_8, "TestShellReader");
+		// e acute is encoded as 0xC3 0xA9
+		out.write(new byte[] { 'c', 'a', 'f', (byte) 0xC3 });
+		out.flush();
+		Thread.sleep(50);
+		out.write(new byte[] { (byte) 0xA9, '>' });
+		out.flush();
+
+		StringBuilder sb = new StringBuilder();
+		assertEquals(0, reader.readUntil(sb, new StreamPatternMatcher(">"), 5000, OPEN));
+		assertEquals("caf\u00e9>", sb.toString());
+		reader.close();
+	}
+
+	@Test
+	public void testLeftOverKeptForNextRead() throws IOException, InterruptedException {
+		PipedOutputStream out = new PipedOutputStream();
+		ShellReader reader = new ShellReader(new PipedInputStream(out), StandardCharsets.UTF_8, "TestShellReader");
+		out.write("one#two#three".getBytes(StandardCharsets.UTF_8));
+		out.flush();
+
+		StringBuilder sb = new StringBuilder();
+		StreamPatternMatcher matcher = new StreamPatternMatcher("#");
+		assertEquals(0, reader.readUntil(sb, matcher, 5000, OPEN));
+		assertEquals("one#", sb.toString());
+		sb.setLength(0);
+		assertEquals(0, reader.readUntil(sb, matcher, 5000, OPEN));
+		assertEquals("two#", sb.toString());
+		sb.setLength(0);
+		assertEquals(5, reader.read(sb, 100, OPEN));
+		assertEquals("three", sb.toString());
+
+		// pattern not received within timeout
+		sb.setLength(0);
+		assertEquals(-1, reader.readUntil(sb, matcher, 50, OPEN));
+		assertEquals("", sb.toString());
+		reader.close();
+	}
+
+	@Test
+	public void testUnreadOutputIsBounded() throws InterruptedException {
+		final AtomicLong readByteCount = new AtomicLong();
+		// Endless output which nobody reads
+		InputStream in = new InputStream() {
+			@Override
+			public int read() {
+				readByteCount.incrementAndGet();
+				return 'a';
+			}
+
+			@Override
+			public int read(byte[] b, int off, int len) {
+				for (int i = 0; i < len; i++) {
+					b[off + i] = 'a';
+				}
+				readByteCount.addAndGet(len);
+				return len;
+			}
+		};
+		ShellReader reader = new ShellReader(in, StandardCharsets.UTF_8, "TestShellReader", 100);
+		Thread.sleep(200);
+		long countWhileFull = readByteCount.get();
+		assertTrue("Read " + countWhileFull + " bytes", countWhileFull <= 2 * 8192);
+		Thread.sleep(100);
+		assertEquals(countWhileFull, readByteCount.get());
+
+		// Consuming output lets reader continue
+		StringBuilder sb = new StringBuilder();
+		assertTrue(reader.read(sb, 50, OPEN) >= 100);
+		assertTrue(readByteCount.get() > countWhileFull);
+		reader.close();
+	}
+
+}
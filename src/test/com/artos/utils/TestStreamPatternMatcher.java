@@ -0,0 +1,74 @@
+package test.com.artos.utils;
+
+import static org.junit.Assert.assertEquals;
+
+import org.junit.Test;
+
+import com.artos.utils.StreamPatternMatcher;
+
+public class TestStreamPatternMatcher {
+
+	private int feed(StreamPatternMatcher matcher, String data) {
+		for (int i = 0; i < data.length(); i++) {
+			int index = matcher.next(data.charAt(i));
+			if (index != -1) {
+				return i;
+			}
+		}
+		return -1;
+	}
+
+	@Test
+	public void testSinglePatternWithOverlap() {
+		StreamPatternMatcher matcher = new StreamPatternMatcher("aab");
+		// "aaab" requires failure link to keep partial match
+		assertEquals(3, feed(matcher, "aaab"));
+		matcher.reset();
+		assertEquals(-1, feed(matcher, "abab"));
+	}
+
+	@Test
+	public void testMultiplePatterns() {
+		StreamPatternMatcher matcher = new StreamPatternMatcher("Password:", "# ", "$ ");
+		String output = "Last login: today\r\nroot@host:~# ";
+		int index = -1;
+		for (int i = 0; i < output.length() && index == -1; i++) {
+			index = matcher.next(output.charAt(i));
+			if (index != -1) {
+				assertEquals(output.length() - 1, i);
+			}
+		}
+		assertEquals("# ", matcher.getPattern(index));
+	}
+
+	@Test
+	public void testReportedPatternIndex() {
+		StreamPatternMatcher matcher = new StreamPatternMatcher("she", "he", "hers");
+		int index = -1;
+		for (char ch : "ushe".toCharArray()) {
+			index = matcher.next(ch);
+		}
+		// both "she" and "he" end here, lowest index is reported
+		assertEquals(0, index);
+
+		matcher.reset();
+		for (char ch : "ahe".toCharArray()) {
+			index = matcher.next(ch);
+		}
+		assertEquals(1, index);
+	}
+
+	@Test
+	public void testNonAsciiPattern() {
+		StreamPatternMatcher matcher = new StreamPatternMatcher("\u00FCber>", "\u2192 ");
+		assertEquals(8, feed(matcher, "ab \u00FC\u00FCber>"));
+		matcher.reset();
+		assertEquals(2, feed(matcher, "x\u2192 "));
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testEmptyPattern() {
+		new StreamPatternMatcher("# ", "");
+	}
+
+}
@@ -0,0 +1,69 @@
+package test.com.artos.utils;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import com.artos.utils.StreamReportRenderer;
+import com.artos.utils.StreamReportWriter;
+
+public class TestStreamReport {
+
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+
+	@Test
+	public void testWriterAppendsAfterClose() throws IOException {
+		File file = new File(folder.getRoot(), "report.jsonl");
+		StreamReportWriter writer = new StreamReportWriter(file);
+		long id = writer.nextId();
+		writer.record("test_start").put("id", id).put("name", "a\"b\\c\nd").put("desc", null).write();
+		writer.close();
+		// summary is written after test suite is finished
+		writer.record("summary").put("msg", "done").write();
+		writer.close();
+
+		List<String> lines = Files.readAllLines(file.toPath(), StandardCharsets.UTF_8);
+		assertEquals(2, lines.size());
+		assertTrue(lines.get(0).startsWith("{\"type\":\"test_start\",\"ts\":"));
+		assertTrue(lines.get(0).endsWith(",\"id\":1,\"name\":\"a\\\"b\\\\c\\nd\"}"));
+		assertTrue(lines.get(1).contains("\"msg\":\"done\""));
+	}
+
+	@Test
+	public void testRenderInterleavedTests() throws IOException {
+		File file = new File(folder.getRoot(), "report.jsonl");
+		StreamReportWriter writer = new StreamReportWriter(file);
+		writer.record("test_start").put("id", 1).put("name", "Test<1>").write();
+		writer.record("test_start").put("id", 2).put("name", "Test2").write();
+		writer.record("child_start").put("id", 3).put("parent", 2).put("name", "row0").write();
+		writer.record("child_end").put("id", 3).write();
+		writer.record("result").put("id", 3).put("level", "child").put("status", "FAIL").put("msg", "").write();
+		writer.record("test_end").put("id", 1).write();
+		writer.record("result").put("id", 1).put("level", "test").put("status", "PASS").put("msg", "").write();
+		writer.record("test_end").put("id", 2).write();
+		writer.record("result").put("id", 2).put("level", "test").put("status", "FAIL").put("msg", "").write();
+		writer.close();
+		// incomplete line of interrupted execution is ignored
+		Files.write(file.toPath(), "{\"type\":\"test_st".getBytes(StandardCharsets.UTF_8), StandardOpenOption.APPEND);
+
+		File htmlFile = new StreamReportRenderer().render(file);
+		assertEquals("report.html", htmlFile.getName());
+		String html = new String(Files.readAllBytes(htmlFile.toPath()), StandardCharsets.UTF_8);
+		assertTrue(html.contains("<td>Test&lt;1&gt;</td><td>result</td><td>PASS</td>"));
+		assertTrue(html.contains("<td>row0</td><td>result</td><td>FAIL</td>"));
+		assertTrue(html.contains("<tr><td>Test Cases</td><td>1</td><td>1</td><td>0</td><td>0</td></tr>"));
+		assertTrue(html.contains("<tr><td>Child Test Cases</td><td>0</td><td>1</td><td>0</td><td>0</td></tr>"));
+	}
+
+}
@@ -0,0 +1,268 @@
+package test.com.artos.utils;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.After;
+import org.junit.Test;
+
+import com.artos.framework.Enums.QueueOverflowPolicy;
+import com.artos.interfaces.ConnectableFilter;
+import com.artos.interfaces.ConnectableMessageParser;
+import com.artos.utils.TCPClientConnection;
+import com.artos.utils.TCPMultiClientServer;
+
+public class TestTCPMultiClientServer {
+
+	private static final int CLIENT_COUNT = 6;
+	private static final int MSG_COUNT = 200;
+
+	private TCPMultiClientServer server;
+	private final List<Socket> socketList = new ArrayList<>();
+	private ExecutorService service;
+
+	@After
+	public void close() throws Exception {
+		if (null != service) {
+			service.shutdownNow();
+		}
+		for (Socket socket : socketList) {
+			socket.close();
+		}
+		if (null != server && server.isConnected()) {
+			server.disconnect();
+		}
+	}
+
+	/**
+	 * Separates new line terminated messages, incomplete message is returned as left over bytes
+	 */
+	private static class LineParser implements ConnectableMessageParser {
+		byte[] leftOverBytes = new byte[0];
+
+		@Override
+		public List<byte[]> parse(byte[] data) {
+			List<byte[]> msgList = new ArrayList<>();
+			int start = 0;
+			for (int i = 0; i < data.length; i++) {
+				if (data[i] == '\n') {
+					msgList.add(Arrays.copyOfRange(data, start, i));
+					start = i + 1;
+				}
+			}
+			leftOverBytes = Arrays.copyOfRange(data, start, data.length);
+			return msgList;
+		}
+
+		@Override
+		public byte[] getLeftOverBytes() {
+			return leftOverBytes;
+		}
+	}
+
+	/**
+	 * Drops comment messages
+	 */
+	private static class CommentFilter implements ConnectableFilter {
+		@Override
+		public boolean meetCriteria(byte[] data) {
+			return data.length > 0 && data[0] == '#';
+		}
+	}
+
+	private void startServer() throws IOException {
+		server = new TCPMultiClientServer(0, new LineParser(), Arrays.asList(new CommentFilter()));
+		server.connect();
+	}
+
+	private Socket connectClient() throws IOException {
+		Socket socket = new Socket(InetAddress.getLoopbackAddress(), server.getLocalPort());
+		socket.setTcpNoDelay(true);
+		socketList.add(socket);
+		return socket;
+	}
+
+	/**
+	 * Returns server side connection of provided client socket
+	 */
+	private TCPClientConnection findConnection(Socket socket) {
+		for (TCPClientConnection connection : server.getClientList()) {
+			if (connection.getRemoteAddress().equals(socket.getLocalSocketAddress())) {
+				return connection;
+			}
+		}
+		return null;
+	}
+
+	private static byte[] bytes(String str) {
+		return str.getBytes(StandardCharsets.UTF_8);
+	}
+
+	private static byte[] readBytes(InputStream in, int length) throws IOException {
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		byte[] buffer = new byte[length];
+		while (out.size() < length) {
+			int read = in.read(buffer, 0, length - out.size());
+			assertTrue("connection closed", read != -1);
+			out.write(buffer, 0, read);
+		}
+		return out.toByteArray();
+	}
+
+	/**
+	 * Writes all messages of one client in random sized fragments so messages are split across reads, comment lines are mixed in
+	 */
+	private static void sendFragmented(Socket socket, int clientIndex, long seed) throws IOException, InterruptedException {
+		ByteArrayOutputStream stream = new ByteArrayOutputStream();
+		for (int i = 0; i < MSG_COUNT; i++) {
+			stream.write(bytes("client" + clientIndex + "-msg" + i + "\n"));
+			if (i % 10 == 0) {
+				stream.write(bytes("#comment" + clientIndex + "\n"));
+			}
+		}
+		byte[] data = stream.toByteArray();
+		Random random = new Random(seed);
+		OutputStream out = socket.getOutputStream();
+		int position = 0;
+		while (position < data.length) {
+			int length = Math.min(1 + random.nextInt(40), data.length - position);
+			out.write(data, position, length);
+			out.flush();
+			position += length;
+			if (random.nextInt(8) == 0) {
+				// Give selector a chance to read a partial message
+				Thread.sleep(1);
+			}
+		}
+	}
+
+	@Test
+	public void testConcurrentClientsHaveSeparateQueues() throws Exception {
+		startServer();
+		List<Socket> clients = new ArrayList<>();
+		for (int i = 0; i < CLIENT_COUNT; i++) {
+			clients.add(connectClient());
+		}
+		assertTrue(server.waitForClients(CLIENT_COUNT, 5, TimeUnit.SECONDS));
+		assertEquals(CLIENT_COUNT, server.getClientList().size());
+
+		// All clients send at the same time
+		service = Executors.newFixedThreadPool(CLIENT_COUNT);
+		CountDownLatch start = new CountDownLatch(1);
+		List<Future<?>> futureList = new ArrayList<>();
+		for (int i = 0; i < CLIENT_COUNT; i++) {
+			int clientIndex = i;
+			futureList.add(service.submit(() -> {
+				start.await();
+				sendFragmented(clients.get(clientIndex), clientIndex, clientIndex);
+				return null;
+			}));
+		}
+		start.countDown();
+		for (Future<?> future : futureList) {
+			future.get(30, TimeUnit.SECONDS);
+		}
+
+		// Every connection queue holds only its own messages, complete and in order, without comments
+		for (int i = 0; i < CLIENT_COUNT; i++) {
+			TCPClientConnection connection = findConnection(clients.get(i));
+			assertNotNull(connection);
+			for (int j = 0; j < MSG_COUNT; j++) {
+				byte[] msg = connection.getNextMsg(5, TimeUnit.SECONDS);
+				assertNotNull("client" + i + " message " + j + " not received", msg);
+				assertEquals("client" + i + "-msg" + j, new String(msg, StandardCharsets.UTF_8));
+			}
+			assertNull(connection.getNextMsg(50, TimeUnit.MILLISECONDS));
+			assertEquals(MSG_COUNT, connection.getQueue().getReceivedCount());
+			assertEquals(0, connection.getQueue().getDroppedCount());
+		}
+	}
+
+	@Test
+	public void testSendToClient() throws Exception {
+		startServer();
+		Socket first = connectClient();
+		Socket second = connectClient();
+		assertTrue(server.waitForClients(2, 5, TimeUnit.SECONDS));
+
+		findConnection(first).sendMsg("first only");
+		server.sendMsgToAll(bytes("all"));
+
+		assertArrayEquals(bytes("first onlyall"), readBytes(first.getInputStream(), "first onlyall".length()));
+		assertArrayEquals(bytes("all"), readBytes(second.getInputStream(), "all".length()));
+	}
+
+	@Test
+	public void testQueueOverflowIsPerConnection() throws Exception {
+		startServer();
+		server.setQueueCapacity(2);
+		server.setOverflowPolicy(QueueOverflowPolicy.DROP_NEWEST);
+		Socket busy = connectClient();
+		Socket quiet = connectClient();
+		assertTrue(server.waitForClients(2, 5, TimeUnit.SECONDS));
+
+		busy.getOutputStream().write(bytes("a\nb\nc\nd\ne\n"));
+		quiet.getOutputStream().write(bytes("x\n"));
+
+		TCPClientConnection busyConnection = findConnection(busy);
+		TCPClientConnection quietConnection = findConnection(quiet);
+		long deadline = System.currentTimeMillis() + 5000;
+		while (busyConnection.getQueue().getReceivedCount() < 5 || quietConnection.getQueue().getReceivedCount() < 1) {
+			assertTrue("messages not received in time", System.currentTimeMillis() < deadline);
+			Thread.sleep(5);
+		}
+
+		// Newest messages of full queue are dropped, other connection is not affected
+		assertEquals(3, busyConnection.getQueue().getDroppedCount());
+		assertArrayEquals(bytes("a"), busyConnection.getNextMsg());
+		assertArrayEquals(bytes("b"), busyConnection.getNextMsg());
+		assertNull(busyConnection.getNextMsg());
+		assertEquals(0, quietConnection.getQueue().getDroppedCount());
+		assertArrayEquals(bytes("x"), quietConnection.getNextMsg());
+	}
+
+	@Test
+	public void testClientDisconnect() throws Exception {
+		startServer();
+		Socket leaving = connectClient();
+		Socket staying = connectClient();
+		assertTrue(server.waitForClients(2, 5, TimeUnit.SECONDS));
+		TCPClientConnection leavingConnection = findConnection(leaving);
+
+		// Incomplete message of closed client is never delivered
+		leaving.getOutputStream().write(bytes("done\nincomplete"));
+		leaving.close();
+		long deadline = System.currentTimeMillis() + 5000;
+		while (server.getClientList().size() != 1) {
+			assertTrue("disconnect not detected in time", System.currentTimeMillis() < deadline);
+			Thread.sleep(5);
+		}
+		assertFalse(leavingConnection.isConnected());
+		assertArrayEquals(bytes("done"), leavingConnection.getNextMsg());
+		assertNull(leavingConnection.getNextMsg());
+
+		staying.getOutputStream().write(bytes("still here\n"));
+		assertArrayEquals(bytes("still here"), findConnection(staying).getNextMsg(5, TimeUnit.SECONDS));
+	}
+}
@@ -0,0 +1,71 @@
+package test.com.artos.utils;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Arrays;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import com.artos.utils.UtilsFile;
+
+public class TestUtilsFile {
+
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+
+	@Test
+	public void testWriteAtomicCreatesParentDir() throws IOException {
+		File file = new File(folder.getRoot(), "a/b/data.bin");
+		UtilsFile.writeAtomic(file, out -> out.write(new byte[] { 1, 2, 3 }));
+		assertArrayEquals(new byte[] { 1, 2, 3 }, Files.readAllBytes(file.toPath()));
+		// Only destination file is left in directory
+		assertEquals(1, file.getParentFile().list().length);
+	}
+
+	@Test
+	public void testWriteTextAtomicReplacesFile() throws IOException {
+		File file = folder.newFile("data.txt");
+		Files.write(file.toPath(), Arrays.asList("old"), StandardCharsets.UTF_8);
+		UtilsFile.writeTextAtomic(file, bw -> {
+			bw.write("new é");
+			bw.newLine();
+		});
+		assertEquals(Arrays.asList("new é"), Files.readAllLines(file.toPath(), StandardCharsets.UTF_8));
+		assertEquals(1, folder.getRoot().list().length);
+	}
+
+	@Test
+	public void testFailedWriteKeepsFile() throws IOException {
+		File file = folder.newFile("data.txt");
+		Files.write(file.toPath(), Arrays.asList("old"), StandardCharsets.UTF_8);
+		try {
+			UtilsFile.writeTextAtomic(file, bw -> {
+				bw.write("partial");
+				throw new IOException("disk full");
+			});
+			fail("failure not reported");
+		} catch (IOException e) {
+			assertEquals("disk full", e.getMessage());
+		}
+		assertEquals(Arrays.asList("old"), Files.readAllLines(file.toPath(), StandardCharsets.UTF_8));
+		// Temporary file is removed
+		assertEquals(1, folder.getRoot().list().length);
+
+		assertFalse(UtilsFile.tryWriteAtomic(file, out -> {
+			throw new IOException("disk full");
+		}));
+		assertEquals(Arrays.asList("old"), Files.readAllLines(file.toPath(), StandardCharsets.UTF_8));
+		assertTrue(UtilsFile.tryWriteTextAtomic(file, bw -> bw.write("new")));
+		assertEquals(Arrays.asList("new"), Files.readAllLines(file.toPath(), StandardCharsets.UTF_8));
+	}
+}